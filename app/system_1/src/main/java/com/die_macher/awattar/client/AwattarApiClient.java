@@ -1,35 +1,168 @@
 package com.die_macher.awattar.client;
 
 import com.die_macher.awattar.config.AwattarConfig;
-import com.die_macher.awattar.dto.MarketDataDto;
+import com.die_macher.awattar.model.MarketPriceSeries;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
-import org.springframework.web.client.RestTemplate;
 
 @Component
 public class AwattarApiClient {
   private static final Logger logger = LoggerFactory.getLogger(AwattarApiClient.class);
 
-  private final RestTemplate restTemplate;
+  private final HttpClient httpClient;
+  private final ObjectMapper objectMapper;
   private final AwattarConfig config;
 
-  public AwattarApiClient(RestTemplate restTemplate, AwattarConfig config) {
-    this.restTemplate = restTemplate;
+  public AwattarApiClient(HttpClient httpClient, ObjectMapper objectMapper, AwattarConfig config) {
+    this.httpClient = httpClient;
+    this.objectMapper = objectMapper;
     this.config = config;
   }
 
-  public MarketDataDto fetchMarketDataFor(long startMillis) {
+  /**
+   * Fetches 24 hours of market data starting at the given time. Blocks for at most the configured
+   * request timeout.
+   *
+   * @param startMillis start of the requested range in milliseconds since epoch
+   * @return the market data, or null if the request failed or timed out
+   */
+  public MarketPriceSeries fetchMarketDataFor(long startMillis) {
     try {
-      long endMillis = startMillis + 24 * 60 * 60 * 1000; // 24 hours later
-      String url = config.getApiBaseUrl() + "?start=" + startMillis + "&end=" + endMillis;
-      logger.info("Calling aWATTar API: {}", url);
-      ResponseEntity<MarketDataDto> response = restTemplate.getForEntity(url, MarketDataDto.class);
-      return response.getBody();
-    } catch (Exception e) {
+      return fetchMarketDataForAsync(startMillis).get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      logger.error("Interrupted while fetching market data");
+      return null;
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      logger.error("Error fetching market data: {}", cause.getMessage(), cause);
+      return null;
+    } catch (RuntimeException e) {
       logger.error("Error fetching market data: {}", e.getMessage(), e);
       return null;
     }
   }
+
+  /**
+   * Fetches 24 hours of market data starting at the given time without blocking the caller. The
+   * returned future fails with a {@link java.util.concurrent.TimeoutException} if the complete
+   * response has not arrived within the configured request timeout.
+   *
+   * @param startMillis start of the requested range in milliseconds since epoch
+   * @return future completing with the market data
+   */
+  public CompletableFuture<MarketPriceSeries> fetchMarketDataForAsync(long startMillis) {
+    long endMillis = startMillis + 24 * 60 * 60 * 1000; // 24 hours later
+    String url = config.getApiBaseUrl() + "?start=" + startMillis + "&end=" + endMillis;
+    logger.info("Calling aWATTar API: {}", url);
+
+    HttpRequest request =
+        HttpRequest.newBuilder(URI.create(url))
+            .timeout(config.getRequestTimeout())
+            .header("Accept", "application/json")
+            .header("Accept-Encoding", "gzip")
+            .GET()
+            .build();
+
+    return httpClient
+        .sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+        .thenApply(this::parse)
+        .orTimeout(config.getRequestTimeout().toMillis(), TimeUnit.MILLISECONDS);
+  }
+
+  private MarketPriceSeries parse(HttpResponse<byte[]> response) {
+    if (response.statusCode() / 100 != 2) {
+      throw new IllegalStateException("aWATTar API returned status " + response.statusCode());
+    }
+    byte[] body = response.body();
+    if (body == null || body.length == 0) {
+      return null;
+    }
+    boolean gzip =
+        response
+            .headers()
+            .firstValue("Content-Encoding")
+            .filter("gzip"::equalsIgnoreCase)
+            .isPresent();
+    try (InputStream in =
+            gzip
+                ? new GZIPInputStream(new ByteArrayInputStream(body))
+                : new ByteArrayInputStream(body);
+        JsonParser parser = objectMapper.getFactory().createParser(in)) {
+      return readSeries(parser);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Invalid aWATTar API response", e);
+    }
+  }
+
+  /**
+   * Streams the response straight into primitive arrays. Only {@code object} and the price fields
+   * of the {@code data} entries are read; everything else is skipped without being bound.
+   */
+  private static MarketPriceSeries readSeries(JsonParser parser) throws IOException {
+    JsonToken token = parser.nextToken();
+    if (token == null || token == JsonToken.VALUE_NULL) {
+      return null;
+    }
+    expect(parser, token, JsonToken.START_OBJECT);
+
+    MarketPriceSeries.Builder builder = MarketPriceSeries.builder(24);
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      String field = parser.currentName();
+      JsonToken value = parser.nextToken();
+      if ("object".equals(field) && value == JsonToken.VALUE_STRING) {
+        builder.object(parser.getText());
+      } else if ("data".equals(field) && value == JsonToken.START_ARRAY) {
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+          readPrice(parser, builder);
+        }
+      } else {
+        parser.skipChildren();
+      }
+    }
+    return builder.build();
+  }
+
+  private static void readPrice(JsonParser parser, MarketPriceSeries.Builder builder)
+      throws IOException {
+    long start = 0;
+    long end = 0;
+    double price = 0;
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      String field = parser.currentName();
+      parser.nextToken();
+      switch (field) {
+        case "start_timestamp" -> start = parser.getValueAsLong();
+        case "end_timestamp" -> end = parser.getValueAsLong();
+        case "marketprice" -> price = parser.getValueAsDouble();
+        case "unit" -> builder.unit(parser.getValueAsString());
+        default -> parser.skipChildren();
+      }
+    }
+    builder.add(start, end, price);
+  }
+
+  private static void expect(JsonParser parser, JsonToken actual, JsonToken expected)
+      throws IOException {
+    if (actual != expected) {
+      throw new IOException(
+          "Expected " + expected + " but found " + actual + " at " + parser.currentLocation());
+    }
+  }
 }
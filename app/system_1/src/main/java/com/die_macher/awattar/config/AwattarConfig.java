@@ -1,5 +1,6 @@
 package com.die_macher.awattar.config;
 
+import java.time.Duration;
 import lombok.Getter;
 import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
@@ -13,5 +14,10 @@ public class AwattarConfig {
   private double energyPerPart = 0.2;
   private int partsPerHour = 5;
   private int productionHours = 3;
+  private int forecastDays = 7;
   private String apiBaseUrl = "https://api.awattar.at/v1/marketdata";
+  private String storePath = "data/awattar-prices.bin";
+  private Duration connectTimeout = Duration.ofSeconds(5);
+  private Duration requestTimeout = Duration.ofSeconds(10);
+  private int retainedFinishedJobs = 100;
 }
@@ -0,0 +1,23 @@
+package com.die_macher.awattar.config;
+
+import java.net.http.HttpClient;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Provides the HTTP client used for the aWATTar API. The JDK client keeps connections alive in its
+ * own pool, negotiates HTTP/2 where the server supports it and bounds connection setup with the
+ * configured connect timeout.
+ */
+@Configuration
+public class AwattarHttpClientConfig {
+
+  @Bean
+  public HttpClient awattarHttpClient(AwattarConfig config) {
+    return HttpClient.newBuilder()
+        .version(HttpClient.Version.HTTP_2)
+        .connectTimeout(config.getConnectTimeout())
+        .followRedirects(HttpClient.Redirect.NORMAL)
+        .build();
+  }
+}
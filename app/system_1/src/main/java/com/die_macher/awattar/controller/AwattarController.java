@@ -2,12 +2,20 @@ package com.die_macher.awattar.controller;
 
 import com.die_macher.awattar.model.MarketData;
 import com.die_macher.awattar.model.MarketData.MarketPrice;
+import com.die_macher.awattar.model.MarketDataStatus;
+import com.die_macher.awattar.model.MarketTimeFormat;
 import com.die_macher.awattar.model.OptimalProductionWindow;
 import com.die_macher.awattar.service.AwattarService;
+import java.time.LocalDate;
+import java.util.List;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 /**
@@ -17,6 +25,7 @@ import org.springframework.web.bind.annotation.RestController;
 @RestController
 @RequestMapping("/api/awattar")
 public class AwattarController {
+  private static final String RETRY_AFTER_SECONDS = "120";
 
   private final AwattarService awattarService;
 
@@ -64,18 +73,75 @@ public class AwattarController {
   }
 
   /**
-   * Retrieves the optimal time window for electricity production based on market prices.
+   * Retrieves the optimal time window for electricity production based on market prices. Without
+   * parameters the configured number of consecutive production hours is used.
    *
-   * @return ResponseEntity containing the optimal production window if available, or a 404 Not
-   *     Found response
+   * @param duration optional number of production hours
+   * @param contiguous whether the production hours must be consecutive
+   * @return ResponseEntity containing the optimal production window if available, a 400 Bad
+   *     Request response for non-positive durations, a 503 Service Unavailable response while
+   *     market data is still being loaded, or a 404 Not Found response
    */
   @GetMapping("/optimal-window")
-  public ResponseEntity<OptimalProductionWindow> getOptimalProductionWindow() {
-    OptimalProductionWindow window = awattarService.getOptimalProductionWindow();
+  public ResponseEntity<OptimalProductionWindow> getOptimalProductionWindow(
+      @RequestParam(required = false) Integer duration,
+      @RequestParam(defaultValue = "true") boolean contiguous) {
+    if (duration != null && duration <= 0) {
+      return ResponseEntity.badRequest().build();
+    }
+    int hours = duration == null ? 0 : duration;
+    OptimalProductionWindow window =
+        duration == null && contiguous
+            ? awattarService.getOptimalProductionWindow()
+            : awattarService.getOptimalProductionWindow(hours, contiguous);
     if (window != null) {
       return ResponseEntity.ok(window);
+    } else if (awattarService.getMarketDataStatus() == MarketDataStatus.PENDING) {
+      return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+          .header(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS)
+          .build();
     } else {
       return ResponseEntity.notFound().build();
     }
   }
+
+  /**
+   * Retrieves the loading state of the market data, e.g. to check whether the startup loader is
+   * still waiting for tomorrow's prices.
+   *
+   * @return ResponseEntity containing the current market data status
+   */
+  @GetMapping("/status")
+  public ResponseEntity<MarketDataStatus> getMarketDataStatus() {
+    return ResponseEntity.ok(awattarService.getMarketDataStatus());
+  }
+
+  /**
+   * Retrieves stored hourly prices for cost analytics. The data is read from the local price store
+   * and never fetched from the API.
+   *
+   * @param from first day of the range (inclusive)
+   * @param to last day of the range (inclusive)
+   * @return ResponseEntity containing the stored prices, a 400 Bad Request response if the range is
+   *     reversed, or a 404 Not Found response if no prices are stored for the range
+   */
+  @GetMapping("/history")
+  public ResponseEntity<MarketData> getPriceHistory(
+      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+    if (to.isBefore(from)) {
+      return ResponseEntity.badRequest().build();
+    }
+    List<MarketPrice> prices =
+        awattarService.getPriceHistory(
+            from.atStartOfDay(MarketTimeFormat.VIENNA).toInstant().toEpochMilli(),
+            to.plusDays(1).atStartOfDay(MarketTimeFormat.VIENNA).toInstant().toEpochMilli());
+    if (prices.isEmpty()) {
+      return ResponseEntity.notFound().build();
+    }
+    MarketData history = new MarketData();
+    history.setObject("list");
+    history.setData(prices);
+    return ResponseEntity.ok(history);
+  }
 }
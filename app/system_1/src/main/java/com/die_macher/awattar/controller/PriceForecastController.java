@@ -0,0 +1,66 @@
+package com.die_macher.awattar.controller;
+
+import com.die_macher.awattar.model.PriceForecast;
+import com.die_macher.awattar.model.ProductionPlan;
+import com.die_macher.awattar.service.PriceForecaster;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST controller for multi-day price forecasts and the production plans derived from them. Beyond
+ * the hours published by aWATTar all prices are predictions.
+ */
+@RestController
+@RequestMapping("/api/awattar/forecast")
+public class PriceForecastController {
+
+  private final PriceForecaster priceForecaster;
+
+  /**
+   * Constructs a PriceForecastController with the required forecaster dependency.
+   *
+   * @param priceForecaster The forecaster providing predicted prices and plans
+   */
+  @Autowired
+  public PriceForecastController(PriceForecaster priceForecaster) {
+    this.priceForecaster = priceForecaster;
+  }
+
+  /**
+   * Returns published and predicted hourly prices from the current hour onwards.
+   *
+   * @param days length of the forecast horizon in days
+   * @return ResponseEntity containing the forecast, or a 400 Bad Request response for an
+   *     unsupported horizon
+   */
+  @GetMapping
+  public ResponseEntity<PriceForecast> getForecast(@RequestParam(defaultValue = "7") int days) {
+    try {
+      return ResponseEntity.ok(priceForecaster.forecast(days));
+    } catch (IllegalArgumentException e) {
+      return ResponseEntity.badRequest().build();
+    }
+  }
+
+  /**
+   * Allocates the given number of parts to the cheapest predicted hours.
+   *
+   * @param parts number of parts to produce
+   * @param days length of the planning horizon in days
+   * @return ResponseEntity containing the plan, or a 400 Bad Request response for invalid
+   *     parameters
+   */
+  @GetMapping("/plan")
+  public ResponseEntity<ProductionPlan> getPlan(
+      @RequestParam int parts, @RequestParam(defaultValue = "7") int days) {
+    try {
+      return ResponseEntity.ok(priceForecaster.plan(parts, days));
+    } catch (IllegalArgumentException e) {
+      return ResponseEntity.badRequest().build();
+    }
+  }
+}
@@ -0,0 +1,59 @@
+package com.die_macher.awattar.controller;
+
+import com.die_macher.awattar.model.ProductionJob;
+import com.die_macher.awattar.service.ProductionScheduler;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST controller for queueing pick-and-place production jobs. Jobs are started automatically in
+ * the cheapest market hours instead of immediately.
+ */
+@RestController
+@RequestMapping("/api/awattar/production-jobs")
+public class ProductionJobController {
+
+  private final ProductionScheduler productionScheduler;
+
+  /**
+   * Constructs a ProductionJobController with the required scheduler dependency.
+   *
+   * @param productionScheduler The scheduler that plans and releases the jobs
+   */
+  @Autowired
+  public ProductionJobController(ProductionScheduler productionScheduler) {
+    this.productionScheduler = productionScheduler;
+  }
+
+  /**
+   * Queues a production job for the given number of cubes.
+   *
+   * @param cubes number of cubes on the stack
+   * @return ResponseEntity containing the queued job, or a 400 Bad Request response for invalid
+   *     cube counts
+   */
+  @PostMapping
+  public ResponseEntity<ProductionJob> submitJob(@RequestParam int cubes) {
+    if (cubes <= 0) {
+      return ResponseEntity.badRequest().build();
+    }
+    return ResponseEntity.status(HttpStatus.CREATED).body(productionScheduler.submit(cubes));
+  }
+
+  /**
+   * Lists all production jobs with their planned windows and status.
+   *
+   * @return ResponseEntity containing all known jobs
+   */
+  @GetMapping
+  public ResponseEntity<List<ProductionJob>> getJobs() {
+    return ResponseEntity.ok(productionScheduler.getJobs());
+  }
+}
@@ -0,0 +1,16 @@
+package com.die_macher.awattar.event;
+
+import com.die_macher.awattar.model.MarketData;
+import lombok.Getter;
+import org.springframework.context.ApplicationEvent;
+
+/** Published whenever the cached aWATTar market data has been replaced with fresh prices. */
+@Getter
+public class MarketDataUpdatedEvent extends ApplicationEvent {
+  private final MarketData marketData;
+
+  public MarketDataUpdatedEvent(Object source, MarketData marketData) {
+    super(source);
+    this.marketData = marketData;
+  }
+}
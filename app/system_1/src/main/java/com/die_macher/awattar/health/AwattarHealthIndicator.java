@@ -0,0 +1,39 @@
+package com.die_macher.awattar.health;
+
+import com.die_macher.awattar.model.MarketDataStatus;
+import com.die_macher.awattar.service.AwattarService;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reports whether aWATTar market data is available. The application itself is usable while prices
+ * are still loading, so a pending load is reported as {@code UNKNOWN} rather than {@code DOWN}.
+ * Missing prices only degrade production planning, so a failed load stays {@code UP} and is
+ * reported in the details instead of failing the aggregate health of the robot service.
+ */
+@Component
+public class AwattarHealthIndicator implements HealthIndicator {
+
+  private final AwattarService awattarService;
+
+  public AwattarHealthIndicator(AwattarService awattarService) {
+    this.awattarService = awattarService;
+  }
+
+  @Override
+  public Health health() {
+    MarketDataStatus status = awattarService.getMarketDataStatus();
+    Status healthStatus =
+        switch (status) {
+          case READY, NOT_LOADED, FAILED -> Status.UP;
+          case PENDING -> Status.UNKNOWN;
+        };
+    Health.Builder health = Health.status(healthStatus).withDetail("marketData", status);
+    if (status == MarketDataStatus.FAILED) {
+      health.withDetail("error", "Market data for tomorrow could not be loaded");
+    }
+    return health.build();
+  }
+}
@@ -4,12 +4,13 @@ import com.die_macher.awattar.dto.MarketDataDto;
 import com.die_macher.awattar.dto.MarketPriceDto;
 import com.die_macher.awattar.dto.OptimalProductionWindowDto;
 import com.die_macher.awattar.model.MarketData;
+import com.die_macher.awattar.model.MarketPriceSeries;
 import com.die_macher.awattar.model.OptimalProductionWindow;
 import java.util.List;
 import java.util.stream.Collectors;
 import org.springframework.stereotype.Component;
 
-/** Mapper class for converting between DTOs and domain models. */
+/** Mapper class for converting domain models to DTOs and parsed price series to domain models. */
 @Component
 public class AwattarMapper {
 
@@ -46,37 +47,13 @@ public class AwattarMapper {
     return dto;
   }
 
-  /** Converts a MarketDataDto to a MarketData domain model. */
-  public MarketData toModel(MarketDataDto dto) {
-    if (dto == null) {
+  /** Converts a columnar MarketPriceSeries to a MarketData domain model. */
+  public MarketData toModel(MarketPriceSeries series) {
+    if (series == null) {
       return null;
     }
 
-    MarketData model = new MarketData();
-    model.setObject(dto.getObject());
-
-    if (dto.getData() != null) {
-      List<MarketData.MarketPrice> prices =
-          dto.getData().stream().map(this::toModel).collect(Collectors.toList());
-      model.setData(prices);
-    }
-
-    return model;
-  }
-
-  /** Converts a MarketPriceDto to a MarketPrice domain model. */
-  public MarketData.MarketPrice toModel(MarketPriceDto dto) {
-    if (dto == null) {
-      return null;
-    }
-
-    MarketData.MarketPrice model = new MarketData.MarketPrice();
-    model.setStartTimestamp(dto.getStart_timestamp());
-    model.setEndTimestamp(dto.getEnd_timestamp());
-    model.setMarketprice(dto.getMarketprice());
-    model.setUnit(dto.getUnit());
-
-    return model;
+    return MarketData.of(series);
   }
 
   /** Converts an OptimalProductionWindow domain model to an OptimalProductionWindowDto. */
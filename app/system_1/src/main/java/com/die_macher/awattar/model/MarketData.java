@@ -1,10 +1,7 @@
 package com.die_macher.awattar.model;
 
-import java.time.Instant;
-import java.time.LocalDateTime;
-import java.time.ZoneId;
-import java.time.format.DateTimeFormatter;
 import java.util.List;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -18,6 +15,42 @@ public class MarketData {
   private String object;
   private List<MarketPrice> data;
 
+  /** Columnar form of {@link #data} when it was parsed from a series, otherwise null. */
+  @Getter(AccessLevel.NONE)
+  @Setter(AccessLevel.NONE)
+  private MarketPriceSeries series;
+
+  /**
+   * Creates market data from a parsed price series. The series is kept, so window computations
+   * read it directly instead of rebuilding it from the price objects.
+   *
+   * @param series the parsed prices
+   * @return market data with one price object per hour of the series
+   */
+  public static MarketData of(MarketPriceSeries series) {
+    MarketData marketData = new MarketData();
+    marketData.setObject(series.getObject());
+    marketData.data = series.toMarketPrices();
+    marketData.series = series;
+    return marketData;
+  }
+
+  public void setData(List<MarketPrice> data) {
+    this.data = data;
+    this.series = null;
+  }
+
+  /**
+   * Returns the prices as a columnar series, reusing the parsed series if the data was not
+   * replaced since.
+   *
+   * @return the series, empty if there is no data
+   */
+  public MarketPriceSeries toSeries() {
+    MarketPriceSeries parsed = series;
+    return parsed != null ? parsed : MarketPriceSeries.of(data);
+  }
+
   /**
    * Returns the current market price from the data list.
    *
@@ -64,9 +97,7 @@ public class MarketData {
      * @return The formatted date and time string
      */
     private String formatTimestamp(long timestamp) {
-      LocalDateTime dateTime =
-          LocalDateTime.ofInstant(Instant.ofEpochMilli(timestamp), ZoneId.of("Europe/Vienna"));
-      return dateTime.format(DateTimeFormatter.ofPattern("dd.MM.yyyy HH:mm"));
+      return MarketTimeFormat.format(timestamp);
     }
 
     /**
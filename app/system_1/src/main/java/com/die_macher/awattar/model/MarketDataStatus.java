@@ -0,0 +1,13 @@
+package com.die_macher.awattar.model;
+
+/** Loading state of the cached aWATTar market data. */
+public enum MarketDataStatus {
+  /** No market data has been loaded yet; it is fetched on demand. */
+  NOT_LOADED,
+  /** The background startup loader is still waiting for tomorrow's prices. */
+  PENDING,
+  /** Market data is cached and an optimal production window is available. */
+  READY,
+  /** The startup loader gave up; data is fetched on demand again. */
+  FAILED
+}
@@ -0,0 +1,169 @@
+package com.die_macher.awattar.model;
+
+import com.die_macher.awattar.model.MarketData.MarketPrice;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import lombok.Getter;
+
+/**
+ * Columnar, immutable representation of hourly market prices. Start timestamps, end timestamps and
+ * prices are kept in parallel primitive arrays so that window computations can scan them without
+ * touching an object per hour.
+ */
+public final class MarketPriceSeries {
+  private static final double MWH_TO_KWH = 1000.0;
+
+  @Getter private final String object;
+  @Getter private final String unit;
+  private final long[] startTimestamps;
+  private final long[] endTimestamps;
+  private final double[] marketprices;
+
+  private MarketPriceSeries(
+      String object, String unit, long[] startTimestamps, long[] endTimestamps, double[] prices) {
+    this.object = object;
+    this.unit = unit;
+    this.startTimestamps = startTimestamps;
+    this.endTimestamps = endTimestamps;
+    this.marketprices = prices;
+  }
+
+  /**
+   * Creates a series from market price objects.
+   *
+   * @param prices hourly prices in chronological order, may be null
+   * @return the series
+   */
+  public static MarketPriceSeries of(List<MarketPrice> prices) {
+    Builder builder = builder(prices == null ? 0 : prices.size());
+    if (prices != null) {
+      for (MarketPrice price : prices) {
+        builder
+            .unit(price.getUnit())
+            .add(price.getStartTimestamp(), price.getEndTimestamp(), price.getMarketprice());
+      }
+    }
+    return builder.build();
+  }
+
+  public static Builder builder(int expectedSize) {
+    return new Builder(expectedSize);
+  }
+
+  public int size() {
+    return startTimestamps.length;
+  }
+
+  public boolean isEmpty() {
+    return startTimestamps.length == 0;
+  }
+
+  public long getStartTimestamp(int index) {
+    return startTimestamps[index];
+  }
+
+  public long getEndTimestamp(int index) {
+    return endTimestamps[index];
+  }
+
+  /**
+   * Returns the price of an hour in EUR/MWh.
+   *
+   * @param index hour index
+   * @return the price as published by aWATTar
+   */
+  public double getMarketprice(int index) {
+    return marketprices[index];
+  }
+
+  /**
+   * Returns the price of an hour converted from EUR/MWh to EUR/kWh.
+   *
+   * @param index hour index
+   * @return the price in EUR per kWh
+   */
+  public double getPriceInEurPerKwh(int index) {
+    return marketprices[index] / MWH_TO_KWH;
+  }
+
+  /**
+   * Materializes a single hour as a market price object, e.g. for REST responses.
+   *
+   * @param index hour index
+   * @return a new MarketPrice
+   */
+  public MarketPrice toMarketPrice(int index) {
+    MarketPrice price = new MarketPrice();
+    price.setStartTimestamp(startTimestamps[index]);
+    price.setEndTimestamp(endTimestamps[index]);
+    price.setMarketprice(marketprices[index]);
+    price.setUnit(unit);
+    return price;
+  }
+
+  /**
+   * Materializes all hours as market price objects.
+   *
+   * @return a new mutable list
+   */
+  public List<MarketPrice> toMarketPrices() {
+    List<MarketPrice> prices = new ArrayList<>(size());
+    for (int i = 0; i < size(); i++) {
+      prices.add(toMarketPrice(i));
+    }
+    return prices;
+  }
+
+  /** Collects hourly prices into growable primitive arrays. */
+  public static final class Builder {
+    private String object;
+    private String unit;
+    private long[] startTimestamps;
+    private long[] endTimestamps;
+    private double[] marketprices;
+    private int size;
+
+    private Builder(int expectedSize) {
+      int capacity = Math.max(expectedSize, 1);
+      startTimestamps = new long[capacity];
+      endTimestamps = new long[capacity];
+      marketprices = new double[capacity];
+    }
+
+    public Builder object(String object) {
+      this.object = object;
+      return this;
+    }
+
+    public Builder unit(String unit) {
+      if (unit != null) {
+        this.unit = unit;
+      }
+      return this;
+    }
+
+    public Builder add(long startTimestamp, long endTimestamp, double marketprice) {
+      if (size == startTimestamps.length) {
+        int capacity = size * 2;
+        startTimestamps = Arrays.copyOf(startTimestamps, capacity);
+        endTimestamps = Arrays.copyOf(endTimestamps, capacity);
+        marketprices = Arrays.copyOf(marketprices, capacity);
+      }
+      startTimestamps[size] = startTimestamp;
+      endTimestamps[size] = endTimestamp;
+      marketprices[size] = marketprice;
+      size++;
+      return this;
+    }
+
+    public MarketPriceSeries build() {
+      return new MarketPriceSeries(
+          object,
+          unit,
+          Arrays.copyOf(startTimestamps, size),
+          Arrays.copyOf(endTimestamps, size),
+          Arrays.copyOf(marketprices, size));
+    }
+  }
+}
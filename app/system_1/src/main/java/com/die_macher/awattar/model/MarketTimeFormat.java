@@ -0,0 +1,51 @@
+package com.die_macher.awattar.model;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Shared time zone and formatting for market data. aWATTar publishes hourly prices, so almost every
+ * formatted timestamp is the start or end of an hour; those strings are cached per timestamp and
+ * serializing a day of prices formats each hour at most once.
+ */
+public final class MarketTimeFormat {
+  /** Time zone of the Austrian electricity market. */
+  public static final ZoneId VIENNA = ZoneId.of("Europe/Vienna");
+
+  /** Formatter for human-readable timestamps, e.g. "01.01.2025 13:00". */
+  public static final DateTimeFormatter FORMATTER =
+      DateTimeFormatter.ofPattern("dd.MM.yyyy HH:mm").withZone(VIENNA);
+
+  private static final long HOUR_MILLIS = 3_600_000L;
+
+  /** Bound for the hour cache, roughly three months of hourly timestamps. */
+  static final int MAX_CACHED_HOURS = 2_048;
+
+  private static final ConcurrentMap<Long, String> HOUR_CACHE = new ConcurrentHashMap<>();
+
+  private MarketTimeFormat() {}
+
+  /**
+   * Formats a timestamp in Vienna local time.
+   *
+   * @param timestamp The timestamp in milliseconds since epoch
+   * @return The timestamp formatted as "dd.MM.yyyy HH:mm"
+   */
+  public static String format(long timestamp) {
+    if (timestamp % HOUR_MILLIS != 0) {
+      return FORMATTER.format(Instant.ofEpochMilli(timestamp));
+    }
+    String cached = HOUR_CACHE.get(timestamp);
+    if (cached == null) {
+      if (HOUR_CACHE.size() >= MAX_CACHED_HOURS) {
+        HOUR_CACHE.clear();
+      }
+      cached = FORMATTER.format(Instant.ofEpochMilli(timestamp));
+      HOUR_CACHE.put(timestamp, cached);
+    }
+    return cached;
+  }
+}
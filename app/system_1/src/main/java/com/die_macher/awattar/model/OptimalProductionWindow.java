@@ -1,9 +1,5 @@
 package com.die_macher.awattar.model;
 
-import java.time.Instant;
-import java.time.ZoneId;
-import java.time.ZonedDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.List;
 import lombok.Getter;
 
@@ -80,8 +76,6 @@ public class OptimalProductionWindow {
       // Handling of invalid timestamps
       return "Invalid date";
     }
-    Instant instant = Instant.ofEpochMilli(timestamp);
-    ZonedDateTime dateTime = instant.atZone(ZoneId.of("Europe/Berlin"));
-    return dateTime.format(DateTimeFormatter.ofPattern("dd.MM.yyyy HH:mm"));
+    return MarketTimeFormat.format(timestamp);
   }
 }
@@ -0,0 +1,65 @@
+package com.die_macher.awattar.model;
+
+import java.util.List;
+import lombok.Getter;
+
+/**
+ * Hourly prices for the planning horizon. Hours already published by aWATTar carry their real
+ * price; later hours are predicted from the weekday and hour-of-day profile of past prices.
+ */
+@Getter
+public class PriceForecast {
+  private final long generatedTimestamp;
+  private final List<Hour> hours;
+
+  public PriceForecast(long generatedTimestamp, List<Hour> hours) {
+    this.generatedTimestamp = generatedTimestamp;
+    this.hours = hours;
+  }
+
+  /**
+   * Returns the number of hours with published prices at the start of the horizon.
+   *
+   * @return number of published hours
+   */
+  public int getPublishedHours() {
+    return (int) hours.stream().filter(Hour::isPublished).count();
+  }
+
+  /** A single hour of the forecast. */
+  @Getter
+  public static class Hour {
+    private final long startTimestamp;
+    private final long endTimestamp;
+    private final double marketprice;
+    private final boolean published;
+
+    /**
+     * Constructs a forecast hour.
+     *
+     * @param startTimestamp start of the hour in milliseconds since epoch
+     * @param endTimestamp end of the hour in milliseconds since epoch
+     * @param marketprice published or predicted price in EUR/MWh
+     * @param published whether the price was published by aWATTar
+     */
+    public Hour(long startTimestamp, long endTimestamp, double marketprice, boolean published) {
+      this.startTimestamp = startTimestamp;
+      this.endTimestamp = endTimestamp;
+      this.marketprice = marketprice;
+      this.published = published;
+    }
+
+    public String getStartTimeFormatted() {
+      return MarketTimeFormat.format(startTimestamp);
+    }
+
+    /**
+     * Returns the price in EUR per kWh.
+     *
+     * @return The price converted from EUR/MWh to EUR/kWh
+     */
+    public double getPriceInEurPerKwh() {
+      return marketprice / 1000.0;
+    }
+  }
+}
@@ -0,0 +1,83 @@
+package com.die_macher.awattar.model;
+
+import lombok.Getter;
+
+/**
+ * A queued pick-and-place run for a stack of cubes. The job is planned into one or more
+ * consecutive market hours by the production scheduler and released once its planned start is
+ * reached.
+ */
+@Getter
+public class ProductionJob {
+
+  /** Lifecycle of a production job. */
+  public enum Status {
+    /** Waiting for market data with enough free capacity. */
+    QUEUED,
+    /** Assigned to a production window but not yet started. */
+    PLANNED,
+    /** Handed over to the pick-and-place process. */
+    RUNNING,
+    COMPLETED,
+    FAILED
+  }
+
+  private final long id;
+  private final int cubeCount;
+  private final long submittedTimestamp;
+
+  private volatile Status status = Status.QUEUED;
+  private volatile long plannedStartTimestamp;
+  private volatile long plannedEndTimestamp;
+  private volatile double estimatedCost;
+
+  public ProductionJob(long id, int cubeCount, long submittedTimestamp) {
+    this.id = id;
+    this.cubeCount = cubeCount;
+    this.submittedTimestamp = submittedTimestamp;
+  }
+
+  /**
+   * Assigns the job to a production window.
+   *
+   * @param startTimestamp planned start in milliseconds since epoch
+   * @param endTimestamp end of the last market hour used by the job
+   * @param cost estimated energy cost in EUR
+   */
+  public void plan(long startTimestamp, long endTimestamp, double cost) {
+    this.plannedStartTimestamp = startTimestamp;
+    this.plannedEndTimestamp = endTimestamp;
+    this.estimatedCost = cost;
+    this.status = Status.PLANNED;
+  }
+
+  /** Drops the current plan, e.g. because the new prices no longer cover it. */
+  public void unplan() {
+    this.plannedStartTimestamp = 0;
+    this.plannedEndTimestamp = 0;
+    this.estimatedCost = 0;
+    this.status = Status.QUEUED;
+  }
+
+  public void markRunning() {
+    this.status = Status.RUNNING;
+  }
+
+  public void markCompleted() {
+    this.status = Status.COMPLETED;
+  }
+
+  public void markFailed() {
+    this.status = Status.FAILED;
+  }
+
+  /**
+   * Returns whether the job still waits for execution and may therefore be re-planned.
+   *
+   * @return true if the job is queued or planned
+   */
+  public boolean isPending() {
+    Status current = status;
+    return current == Status.QUEUED || current == Status.PLANNED;
+  }
+}
@@ -0,0 +1,44 @@
+package com.die_macher.awattar.model;
+
+import java.util.List;
+import lombok.Getter;
+
+/**
+ * Allocation of a number of parts to the cheapest hours of the forecast horizon. Hours are listed
+ * in chronological order; parts that do not fit into the horizon are reported as unallocated.
+ */
+@Getter
+public class ProductionPlan {
+  private final int requiredParts;
+  private final int unallocatedParts;
+  private final List<Allocation> allocations;
+  private final double estimatedCost;
+
+  /**
+   * Constructs a ProductionPlan.
+   *
+   * @param requiredParts number of parts that were requested
+   * @param unallocatedParts number of parts that did not fit into the horizon
+   * @param allocations planned hours in chronological order
+   * @param estimatedCost estimated energy cost of all allocated parts in EUR
+   */
+  public ProductionPlan(
+      int requiredParts, int unallocatedParts, List<Allocation> allocations, double estimatedCost) {
+    this.requiredParts = requiredParts;
+    this.unallocatedParts = unallocatedParts;
+    this.allocations = allocations;
+    this.estimatedCost = estimatedCost;
+  }
+
+  /** Parts assigned to a single hour. */
+  @Getter
+  public static class Allocation {
+    private final PriceForecast.Hour hour;
+    private final int parts;
+
+    public Allocation(PriceForecast.Hour hour, int parts) {
+      this.hour = hour;
+      this.parts = parts;
+    }
+  }
+}
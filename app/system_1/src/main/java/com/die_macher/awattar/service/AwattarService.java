@@ -1,7 +1,10 @@
 package com.die_macher.awattar.service;
 
 import com.die_macher.awattar.model.MarketData;
+import com.die_macher.awattar.model.MarketData.MarketPrice;
+import com.die_macher.awattar.model.MarketDataStatus;
 import com.die_macher.awattar.model.OptimalProductionWindow;
+import java.util.List;
 
 public interface AwattarService {
   MarketData fetchCurrentMarketData();
@@ -10,5 +13,11 @@ public interface AwattarService {
 
   OptimalProductionWindow getOptimalProductionWindow();
 
+  OptimalProductionWindow getOptimalProductionWindow(int durationHours, boolean contiguous);
+
   double getCurrentPartCost();
+
+  MarketDataStatus getMarketDataStatus();
+
+  List<MarketPrice> getPriceHistory(long fromMillis, long toMillis);
 }
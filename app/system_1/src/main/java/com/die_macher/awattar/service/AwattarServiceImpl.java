@@ -2,21 +2,31 @@ package com.die_macher.awattar.service;
 
 import com.die_macher.awattar.client.AwattarApiClient;
 import com.die_macher.awattar.config.AwattarConfig;
-import com.die_macher.awattar.dto.MarketDataDto;
+import com.die_macher.awattar.event.MarketDataUpdatedEvent;
 import com.die_macher.awattar.mapper.AwattarMapper;
 import com.die_macher.awattar.model.MarketData;
 import com.die_macher.awattar.model.MarketData.MarketPrice;
+import com.die_macher.awattar.model.MarketDataStatus;
+import com.die_macher.awattar.model.MarketPriceSeries;
+import com.die_macher.awattar.model.MarketTimeFormat;
 import com.die_macher.awattar.model.OptimalProductionWindow;
-import jakarta.annotation.PostConstruct;
+import com.die_macher.awattar.store.PriceStore;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Clock;
 import java.time.LocalTime;
-import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.time.temporal.ChronoUnit;
-import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.ApplicationEventPublisherAware;
+import org.springframework.context.event.EventListener;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
@@ -24,18 +34,25 @@ import org.springframework.stereotype.Service;
  * Service for retrieving and processing electricity market data from the Awattar API. Provides
  * functionality to fetch current and future market prices, and calculate optimal production windows
  * based on electricity costs.
+ *
+ * <p>The market data, its optimizer and the optimal window are replaced together as one immutable
+ * {@link MarketSnapshot}, so request threads never see a window calculated for other prices than
+ * the ones they read.
  */
 @Service
-public class AwattarServiceImpl implements AwattarService {
+public class AwattarServiceImpl implements AwattarService, ApplicationEventPublisherAware {
   private static final Logger logger = LoggerFactory.getLogger(AwattarServiceImpl.class);
-  private static final String VIENNA_TIMEZONE = "Europe/Vienna";
 
   private final AwattarApiClient apiClient;
   private final AwattarMapper mapper;
   private final AwattarConfig config;
+  private final CurrentPriceCache currentPriceCache;
+  private final PriceStore priceStore;
 
-  private MarketData cachedMarketData;
-  private OptimalProductionWindow optimalWindow;
+  private volatile MarketSnapshot snapshot;
+  private ApplicationEventPublisher eventPublisher;
+  private volatile MarketDataStatus status = MarketDataStatus.NOT_LOADED;
+  private Thread startupLoader;
 
   /** Constructs an AwattarService with the required dependencies. */
   @Autowired
@@ -44,17 +61,76 @@ public class AwattarServiceImpl implements AwattarService {
     this.apiClient = apiClient;
     this.mapper = mapper;
     this.config = config;
+    this.currentPriceCache =
+        new CurrentPriceCache(
+            this::loadCurrentMarketData,
+            Clock.system(MarketTimeFormat.VIENNA),
+            runnable -> Thread.ofVirtual().name("awattar-price-refresh").start(runnable));
+    this.priceStore = openPriceStore(config.getStorePath());
   }
 
   /**
-   * Initializes the service on application startup. If it's after 1 PM, attempts to load market
-   * data for tomorrow.
+   * Opens the local price store. Without a configured path, or if the file cannot be opened, the
+   * service works without persistence.
+   */
+  private static PriceStore openPriceStore(String storePath) {
+    if (storePath == null || storePath.isBlank()) {
+      return null;
+    }
+    try {
+      return PriceStore.open(Path.of(storePath));
+    } catch (IOException e) {
+      logger.warn("Price store {} could not be opened, prices will not be persisted", storePath, e);
+      return null;
+    }
+  }
+
+  @Override
+  public void setApplicationEventPublisher(ApplicationEventPublisher eventPublisher) {
+    this.eventPublisher = eventPublisher;
+  }
+
+  /**
+   * Restores the stored prices from the current hour onwards and starts loading market data in the
+   * background once the application is ready, so that waiting for tomorrow's prices does not hold
+   * up the application context.
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  public synchronized void startBackgroundLoading() {
+    restoreFromStore();
+    if (startupLoader == null) {
+      startupLoader = Thread.ofVirtual().name("awattar-startup-loader").start(this::initOnStartup);
+    }
+  }
+
+  /** Stops a still running startup loader and closes the price store. */
+  @PreDestroy
+  public synchronized void shutdown() {
+    if (startupLoader != null) {
+      startupLoader.interrupt();
+    }
+    if (priceStore != null) {
+      try {
+        priceStore.close();
+      } catch (IOException e) {
+        logger.warn("Price store could not be closed", e);
+      }
+    }
+  }
+
+  /**
+   * Loads market data for tomorrow if it's after 1 PM. Runs on the startup loader thread and
+   * retries until the prices are published.
    */
-  @PostConstruct
   public void initOnStartup() {
     // Check if it's after 1 PM
     LocalTime now = getNow();
     if (now.isAfter(LocalTime.of(13, 0))) {
+      if (loadTomorrowFromStore()) {
+        logger.info("Market data for tomorrow loaded from the local price store.");
+        return;
+      }
+      status = MarketDataStatus.PENDING;
       logger.info(
           "Starting initialization: It's after 1 PM, attempting to load market data for tomorrow...");
       boolean success = false;
@@ -65,8 +141,7 @@ public class AwattarServiceImpl implements AwattarService {
         if (data != null
             && data.getData() != null
             && data.getData().size() >= config.getProductionHours()) {
-          cachedMarketData = data;
-          calculateOptimalProductionWindow();
+          calculateOptimalProductionWindow(data);
           success = true;
           logger.info("Market data for tomorrow successfully loaded and processed.");
         } else {
@@ -84,7 +159,8 @@ public class AwattarServiceImpl implements AwattarService {
         }
       }
       if (!success) {
-        logger.error("Market data could not be loaded after {} attempts.", maxTries);
+        status = MarketDataStatus.FAILED;
+        logger.error("Market data could not be loaded after {} attempts.", tries);
       }
     }
   }
@@ -105,23 +181,39 @@ public class AwattarServiceImpl implements AwattarService {
    * @return current LocalTime in Vienna timezone
    */
   protected LocalTime getNow() {
-    return LocalTime.now(ZoneId.of(VIENNA_TIMEZONE));
+    return LocalTime.now(MarketTimeFormat.VIENNA);
   }
 
   /**
-   * Fetches market data for the current hour and onwards.
+   * Returns market data for the current hour and onwards. Prices are served from the in-memory
+   * cache and only fetched from the API when no cached hour covers the current time.
    *
    * @return MarketData object containing current price information
    */
   @Override
   public MarketData fetchCurrentMarketData() {
+    return currentPriceCache.currentMarketData();
+  }
+
+  /** Refreshes the cached current prices shortly before the hour rolls over. */
+  @Scheduled(cron = "0 55 * * * *")
+  public void refreshCurrentPrices() {
+    currentPriceCache.refreshInBackground();
+  }
+
+  /**
+   * Fetches market data for the current hour and onwards from the API.
+   *
+   * @return MarketData object containing current price information
+   */
+  private MarketData loadCurrentMarketData() {
     ZonedDateTime nowHour =
-        ZonedDateTime.now(ZoneId.of(VIENNA_TIMEZONE)).truncatedTo(ChronoUnit.HOURS);
+        ZonedDateTime.now(MarketTimeFormat.VIENNA).truncatedTo(ChronoUnit.HOURS);
     long startMillis = nowHour.toInstant().toEpochMilli();
 
-    // Use the API client to fetch DTO and convert to domain model
-    MarketDataDto dto = apiClient.fetchMarketDataFor(startMillis);
-    return mapper.toModel(dto);
+    // Use the API client to fetch the price series and convert to domain model
+    MarketPriceSeries series = apiClient.fetchMarketDataFor(startMillis);
+    return persist(mapper.toModel(series));
   }
 
   /**
@@ -132,89 +224,144 @@ public class AwattarServiceImpl implements AwattarService {
   @Override
   public MarketData fetchTomorrowMarketData() {
     ZonedDateTime tomorrowMidnight =
-        ZonedDateTime.now(ZoneId.of(VIENNA_TIMEZONE)).plusDays(1).truncatedTo(ChronoUnit.DAYS);
+        ZonedDateTime.now(MarketTimeFormat.VIENNA).plusDays(1).truncatedTo(ChronoUnit.DAYS);
     long tomorrowMillis = tomorrowMidnight.toInstant().toEpochMilli();
 
-    // Use the API client to fetch DTO and convert to domain model
-    MarketDataDto dto = apiClient.fetchMarketDataFor(tomorrowMillis);
-    return mapper.toModel(dto);
+    // Use the API client to fetch the price series and convert to domain model
+    MarketPriceSeries series = apiClient.fetchMarketDataFor(tomorrowMillis);
+    return persist(mapper.toModel(series));
   }
 
-  /** Updates market data once daily at 2 PM */
-  @Scheduled(cron = "0 0 14 * * *")
-  public void updateMarketData() {
-    logger.info("Updating market data for tomorrow...");
-    cachedMarketData = fetchTomorrowMarketData();
-    calculateOptimalProductionWindow();
+  /**
+   * Appends freshly fetched prices to the local price store.
+   *
+   * @param data market data returned by the API, may be null
+   * @return the same market data
+   */
+  private MarketData persist(MarketData data) {
+    if (priceStore != null && data != null && data.getData() != null) {
+      try {
+        priceStore.append(data.getData());
+      } catch (IOException e) {
+        logger.warn("Market data could not be written to the price store", e);
+      }
+    }
+    return data;
   }
 
   /**
-   * Calculates the optimal production window (consecutive hours with the lowest electricity costs)
+   * Reads stored prices starting within the given range.
+   *
+   * @return the stored prices, or an empty list if there is no store or reading fails
    */
-  void calculateOptimalProductionWindow() {
-    if (cachedMarketData == null
-        || cachedMarketData.getData() == null
-        || cachedMarketData.getData().size() < config.getProductionHours()) {
-      logger.warn("Insufficient market data for calculating the optimal production window");
-      return;
+  private List<MarketPrice> readStore(long fromMillis, long toMillis) {
+    if (priceStore == null) {
+      return List.of();
     }
+    try {
+      return priceStore.read(fromMillis, toMillis);
+    } catch (IOException e) {
+      logger.warn("Price store could not be read", e);
+      return List.of();
+    }
+  }
 
-    List<MarketPrice> prices = cachedMarketData.getData();
-    double lowestCost = Double.MAX_VALUE;
-    int bestStartIndex = 0;
-
-    // Find the cheapest time window of PRODUCTION_HOURS consecutive hours
-    for (int i = 0; i <= prices.size() - config.getProductionHours(); i++) {
-      double windowCost = 0;
-      for (int j = i; j < i + config.getProductionHours(); j++) {
-        windowCost += prices.get(j).getMarketprice();
-      }
+  /** Uses the stored prices from the current hour onwards until fresh data has been fetched. */
+  private void restoreFromStore() {
+    long nowHour =
+        ZonedDateTime.now(MarketTimeFormat.VIENNA)
+            .truncatedTo(ChronoUnit.HOURS)
+            .toInstant()
+            .toEpochMilli();
+    List<MarketPrice> stored = readStore(nowHour, nowHour + TimeUnit.DAYS.toMillis(2));
+    if (snapshot == null && stored.size() >= config.getProductionHours()) {
+      calculateOptimalProductionWindow(toMarketData(stored));
+      logger.info("Restored {} hourly prices from the local price store", stored.size());
+    }
+  }
 
-      if (windowCost < lowestCost) {
-        lowestCost = windowCost;
-        bestStartIndex = i;
-      }
+  /**
+   * Uses tomorrow's prices from the store if all hours of that day have been stored.
+   *
+   * @return true if tomorrow's market data was loaded without calling the API
+   */
+  private boolean loadTomorrowFromStore() {
+    ZonedDateTime tomorrowMidnight =
+        ZonedDateTime.now(MarketTimeFormat.VIENNA).plusDays(1).truncatedTo(ChronoUnit.DAYS);
+    long from = tomorrowMidnight.toInstant().toEpochMilli();
+    long to = tomorrowMidnight.plusDays(1).toInstant().toEpochMilli();
+    List<MarketPrice> stored = readStore(from, to);
+    if (stored.isEmpty()
+        || stored.getFirst().getStartTimestamp() != from
+        || stored.getLast().getEndTimestamp() != to
+        || stored.size() < config.getProductionHours()) {
+      return false;
     }
+    calculateOptimalProductionWindow(toMarketData(stored));
+    return true;
+  }
 
-    // Create the optimal production window
-    MarketPrice startPrice = prices.get(bestStartIndex);
-    MarketPrice endPrice = prices.get(bestStartIndex + config.getProductionHours() - 1);
+  private static MarketData toMarketData(List<MarketPrice> prices) {
+    MarketData data = new MarketData();
+    data.setObject("list");
+    data.setData(prices);
+    return data;
+  }
 
-    List<MarketPrice> windowPrices = new ArrayList<>();
-    for (int i = bestStartIndex; i < bestStartIndex + config.getProductionHours(); i++) {
-      windowPrices.add(prices.get(i));
-    }
+  /** Updates market data once daily at 2 PM */
+  @Scheduled(cron = "0 0 14 * * *")
+  public void updateMarketData() {
+    logger.info("Updating market data for tomorrow...");
+    calculateOptimalProductionWindow(fetchTomorrowMarketData());
+  }
 
-    double totalCost = calculateProductionCost(windowPrices);
-    double avgPricePerKwh =
-        windowPrices.stream().mapToDouble(MarketPrice::getPriceInEurPerKwh).average().orElse(0);
+  /**
+   * Calculates the optimal production window (consecutive hours with the lowest electricity costs)
+   * and publishes it together with the market data it was calculated for. Insufficient data keeps
+   * the previous snapshot.
+   *
+   * @param data freshly loaded market data, may be null
+   * @return the new optimal window, or null if the data does not cover the production hours
+   */
+  OptimalProductionWindow calculateOptimalProductionWindow(MarketData data) {
+    if (data == null
+        || data.getData() == null
+        || data.getData().size() < config.getProductionHours()) {
+      logger.warn("Insufficient market data for calculating the optimal production window");
+      return null;
+    }
 
-    optimalWindow =
-        new OptimalProductionWindow(
-            startPrice.getStartTimestamp(),
-            endPrice.getEndTimestamp(),
-            windowPrices,
-            totalCost,
-            avgPricePerKwh);
+    ProductionWindowOptimizer optimizer =
+        new ProductionWindowOptimizer(data, this::calculateProductionCost);
+    OptimalProductionWindow optimalWindow =
+        optimizer.cheapestContiguous(config.getProductionHours());
+    snapshot = new MarketSnapshot(data, optimizer, optimalWindow);
+    status = MarketDataStatus.READY;
 
     if (logger.isInfoEnabled()) {
       logger.info(
           "Optimal production window calculated: {} to {}, Cost: {} EUR",
-          startPrice.getStartTimeFormatted(),
-          endPrice.getEndTimeFormatted(),
-          String.format("%.2f", totalCost));
+          optimalWindow.getStartTimeFormatted(),
+          optimalWindow.getEndTimeFormatted(),
+          String.format("%.2f", optimalWindow.getTotalCost()));
+    }
+
+    if (eventPublisher != null) {
+      eventPublisher.publishEvent(new MarketDataUpdatedEvent(this, data));
     }
+    return optimalWindow;
   }
 
   /**
-   * Calculates the production costs for a given time window
+   * Calculates the production costs for a given time window, producing at full rate in every hour
+   * of the window
    *
    * @param prices List of market prices in the time window
    * @return Total cost in EUR
    */
   private double calculateProductionCost(List<MarketPrice> prices) {
     double totalCost;
-    int totalParts = config.getPartsPerHour() * config.getProductionHours();
+    int totalParts = config.getPartsPerHour() * prices.size();
     double totalEnergy = config.getEnergyPerPart() * totalParts;
 
     // Calculate the average price per kWh in the time window
@@ -228,18 +375,42 @@ public class AwattarServiceImpl implements AwattarService {
   }
 
   /**
-   * Returns the currently calculated optimal production window
+   * Returns the currently calculated optimal production window. While the startup loader is still
+   * pending only the cached window is returned.
    *
    * @return OptimalProductionWindow or null if not yet calculated
    */
   @Override
   public OptimalProductionWindow getOptimalProductionWindow() {
-    if (optimalWindow == null) {
+    MarketSnapshot current = snapshot;
+    if (current == null && status != MarketDataStatus.PENDING) {
       // First load market data, then calculate!
-      cachedMarketData = fetchTomorrowMarketData();
-      calculateOptimalProductionWindow();
+      return calculateOptimalProductionWindow(fetchTomorrowMarketData());
     }
-    return optimalWindow;
+    return current == null ? null : current.optimalWindow();
+  }
+
+  /**
+   * Returns the cheapest production window of the given duration. Each window is computed once per
+   * duration and market data snapshot.
+   *
+   * @param durationHours number of production hours, or 0 for the configured production hours
+   * @param contiguous whether the hours must be consecutive
+   * @return OptimalProductionWindow or null if not enough market data is available
+   */
+  @Override
+  public OptimalProductionWindow getOptimalProductionWindow(int durationHours, boolean contiguous) {
+    MarketSnapshot current = snapshot;
+    if (current == null && status != MarketDataStatus.PENDING) {
+      calculateOptimalProductionWindow(fetchTomorrowMarketData());
+      current = snapshot;
+    }
+    if (current == null) {
+      return null;
+    }
+    int hours = durationHours > 0 ? durationHours : config.getProductionHours();
+    ProductionWindowOptimizer optimizer = current.optimizer();
+    return contiguous ? optimizer.cheapestContiguous(hours) : optimizer.cheapestHours(hours);
   }
 
   /**
@@ -261,4 +432,35 @@ public class AwattarServiceImpl implements AwattarService {
     logger.warn("Could not calculate current part cost: price data unavailable");
     return -1;
   }
+
+  /**
+   * Returns the loading state of the cached market data.
+   *
+   * @return current MarketDataStatus
+   */
+  @Override
+  public MarketDataStatus getMarketDataStatus() {
+    return status;
+  }
+
+  /**
+   * Returns the stored hourly prices starting within the given range, without calling the API.
+   *
+   * @param fromMillis start of the range in milliseconds since epoch (inclusive)
+   * @param toMillis end of the range in milliseconds since epoch (exclusive)
+   * @return stored prices in chronological order
+   */
+  @Override
+  public List<MarketPrice> getPriceHistory(long fromMillis, long toMillis) {
+    return readStore(fromMillis, toMillis);
+  }
+
+  /**
+   * Market data together with everything derived from it. Published through a single volatile
+   * field and never modified afterwards.
+   */
+  private record MarketSnapshot(
+      MarketData marketData,
+      ProductionWindowOptimizer optimizer,
+      OptimalProductionWindow optimalWindow) {}
 }
@@ -0,0 +1,122 @@
+package com.die_macher.awattar.service;
+
+import com.die_macher.awattar.model.MarketData;
+import com.die_macher.awattar.model.MarketData.MarketPrice;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * In-memory cache for the hourly prices starting at the current hour. Lookups binary-search the
+ * sorted start timestamps of the cached horizon, so a request only reaches the aWATTar API when no
+ * cached hour covers the current time. Once a snapshot is older than the refresh interval it is
+ * still served while a single background refresh replaces it (stale-while-revalidate).
+ */
+class CurrentPriceCache {
+  private static final Logger logger = LoggerFactory.getLogger(CurrentPriceCache.class);
+  static final Duration REFRESH_INTERVAL = Duration.ofHours(1);
+
+  private final Supplier<MarketData> loader;
+  private final Clock clock;
+  private final Executor refreshExecutor;
+  private final AtomicBoolean refreshing = new AtomicBoolean();
+
+  private volatile Snapshot snapshot;
+
+  /** Immutable view of one fetched horizon with its start timestamps for binary search. */
+  private record Snapshot(MarketData marketData, long[] startTimestamps, long fetchedAt) {
+
+    static Snapshot of(MarketData marketData, long fetchedAt) {
+      List<MarketPrice> prices = marketData.getData();
+      long[] starts = new long[prices.size()];
+      for (int i = 0; i < starts.length; i++) {
+        starts[i] = prices.get(i).getStartTimestamp();
+      }
+      return new Snapshot(marketData, starts, fetchedAt);
+    }
+
+    /** Returns the index of the hour containing the timestamp, or -1 if it is not cached. */
+    int indexOf(long timestamp) {
+      int index = Arrays.binarySearch(startTimestamps, timestamp);
+      if (index < 0) {
+        index = -index - 2;
+      }
+      if (index < 0 || timestamp >= marketData.getData().get(index).getEndTimestamp()) {
+        return -1;
+      }
+      return index;
+    }
+  }
+
+  CurrentPriceCache(Supplier<MarketData> loader, Clock clock, Executor refreshExecutor) {
+    this.loader = loader;
+    this.clock = clock;
+    this.refreshExecutor = refreshExecutor;
+  }
+
+  /**
+   * Returns the prices from the current hour onwards. Serves the cached horizon if it covers the
+   * current time and loads synchronously otherwise.
+   *
+   * @return market data whose first entry is the current hour, or null if none could be loaded
+   */
+  MarketData currentMarketData() {
+    long now = clock.millis();
+    Snapshot current = snapshot;
+    int index = current == null ? -1 : current.indexOf(now);
+    if (index < 0) {
+      return load(now);
+    }
+    if (now - current.fetchedAt() >= REFRESH_INTERVAL.toMillis()) {
+      refreshInBackground();
+    }
+    return sliceFrom(current.marketData(), index);
+  }
+
+  /** Reloads the horizon asynchronously unless a refresh is already running. */
+  void refreshInBackground() {
+    if (!refreshing.compareAndSet(false, true)) {
+      return;
+    }
+    try {
+      refreshExecutor.execute(
+          () -> {
+            try {
+              load(clock.millis());
+            } catch (RuntimeException e) {
+              logger.warn("Background refresh of current prices failed", e);
+            } finally {
+              refreshing.set(false);
+            }
+          });
+    } catch (RuntimeException e) {
+      refreshing.set(false);
+      throw e;
+    }
+  }
+
+  private MarketData load(long now) {
+    MarketData marketData = loader.get();
+    if (marketData != null && marketData.getData() != null && !marketData.getData().isEmpty()) {
+      snapshot = Snapshot.of(marketData, now);
+    }
+    return marketData;
+  }
+
+  private static MarketData sliceFrom(MarketData marketData, int index) {
+    if (index == 0) {
+      return marketData;
+    }
+    List<MarketPrice> prices = marketData.getData();
+    MarketData slice = new MarketData();
+    slice.setObject(marketData.getObject());
+    slice.setData(prices.subList(index, prices.size()));
+    return slice;
+  }
+}
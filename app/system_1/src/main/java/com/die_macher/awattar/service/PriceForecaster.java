@@ -0,0 +1,262 @@
+package com.die_macher.awattar.service;
+
+import com.die_macher.awattar.config.AwattarConfig;
+import com.die_macher.awattar.event.MarketDataUpdatedEvent;
+import com.die_macher.awattar.model.MarketData;
+import com.die_macher.awattar.model.MarketData.MarketPrice;
+import com.die_macher.awattar.model.MarketTimeFormat;
+import com.die_macher.awattar.model.PriceForecast;
+import com.die_macher.awattar.model.ProductionPlan;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Predicts hourly prices several days ahead and allocates production to the cheapest predicted
+ * hours. Published aWATTar prices are used as they are; later hours come from a weekday and
+ * hour-of-day profile of the persisted history.
+ *
+ * <p>The forecast horizon is maintained incrementally: new prices only update their profile slot,
+ * expired hours are dropped as the horizon rolls forward, and only hours whose price changed are
+ * re-sorted in the price-ordered index used for planning.
+ */
+@Service
+public class PriceForecaster {
+  private static final Logger logger = LoggerFactory.getLogger(PriceForecaster.class);
+  private static final long HOUR_MILLIS = Duration.ofHours(1).toMillis();
+
+  /** How much history seeds the profile on first use. */
+  static final Duration HISTORY = Duration.ofDays(8 * 7);
+
+  private static final Comparator<PriceForecast.Hour> BY_PRICE =
+      Comparator.comparingDouble(PriceForecast.Hour::getMarketprice)
+          .thenComparingLong(PriceForecast.Hour::getStartTimestamp);
+
+  private final AwattarService awattarService;
+  private final AwattarConfig config;
+  private final Clock clock;
+
+  private final PriceProfile profile = new PriceProfile();
+  private final NavigableMap<Long, MarketPrice> publishedPrices = new TreeMap<>();
+  private final NavigableMap<Long, PriceForecast.Hour> horizon = new TreeMap<>();
+  private final NavigableSet<PriceForecast.Hour> hoursByPrice = new TreeSet<>(BY_PRICE);
+  private boolean initialized;
+  private MarketData updateBeforeInitialized;
+
+  /** Constructs a PriceForecaster using the system clock in the market time zone. */
+  @Autowired
+  public PriceForecaster(AwattarService awattarService, AwattarConfig config) {
+    this(awattarService, config, Clock.system(MarketTimeFormat.VIENNA));
+  }
+
+  PriceForecaster(AwattarService awattarService, AwattarConfig config, Clock clock) {
+    this.awattarService = awattarService;
+    this.config = config;
+    this.clock = clock;
+  }
+
+  /**
+   * Returns published and predicted prices from the current hour onwards.
+   *
+   * @param days length of the horizon in days, at most {@code awattar.forecast-days}
+   * @return the forecast in chronological order
+   */
+  public PriceForecast forecast(int days) {
+    long end = horizonEnd(days);
+    Seed seed = isInitialized() ? null : loadSeed();
+    synchronized (this) {
+      initialize(seed);
+      rollHorizon();
+      return new PriceForecast(clock.millis(), List.copyOf(horizon.headMap(end, false).values()));
+    }
+  }
+
+  /**
+   * Allocates the given number of parts to the cheapest hours of the forecast horizon, using at
+   * most {@code partsPerHour} parts per hour.
+   *
+   * @param parts number of parts to produce
+   * @param days length of the horizon in days, at most {@code awattar.forecast-days}
+   * @return the production plan
+   */
+  public ProductionPlan plan(int parts, int days) {
+    if (parts <= 0) {
+      throw new IllegalArgumentException("Parts must be positive: " + parts);
+    }
+    long end = horizonEnd(days);
+    Seed seed = isInitialized() ? null : loadSeed();
+    synchronized (this) {
+      initialize(seed);
+      rollHorizon();
+      return allocate(parts, end);
+    }
+  }
+
+  private ProductionPlan allocate(int parts, long end) {
+    int capacity = config.getPartsPerHour();
+    if (capacity <= 0) {
+      logger.warn("Cannot plan production: parts per hour must be positive");
+      return new ProductionPlan(parts, parts, List.of(), 0.0);
+    }
+
+    List<ProductionPlan.Allocation> allocations = new ArrayList<>();
+    int remaining = parts;
+    double cost = 0.0;
+    for (PriceForecast.Hour hour : hoursByPrice) {
+      if (remaining == 0) {
+        break;
+      }
+      if (hour.getStartTimestamp() >= end) {
+        continue;
+      }
+      int load = Math.min(remaining, capacity);
+      allocations.add(new ProductionPlan.Allocation(hour, load));
+      cost += load * config.getEnergyPerPart() * hour.getPriceInEurPerKwh();
+      remaining -= load;
+    }
+    allocations.sort(Comparator.comparingLong(a -> a.getHour().getStartTimestamp()));
+    return new ProductionPlan(parts, remaining, allocations, cost);
+  }
+
+  /**
+   * Feeds freshly published prices into the profile and the horizon.
+   *
+   * @param event the market data update
+   */
+  @EventListener
+  public synchronized void onMarketDataUpdated(MarketDataUpdatedEvent event) {
+    if (!initialized) {
+      // The first forecast request loads history and current prices itself, but they may have
+      // been fetched before this update.
+      updateBeforeInitialized = event.getMarketData();
+      return;
+    }
+    merge(event.getMarketData());
+    rollHorizon();
+  }
+
+  /** Moves the horizon forward at the start of every hour. */
+  @Scheduled(cron = "0 0 * * * *")
+  public synchronized void onHourStarted() {
+    if (initialized) {
+      rollHorizon();
+    }
+  }
+
+  private long horizonEnd(int days) {
+    if (days <= 0 || days > config.getForecastDays()) {
+      throw new IllegalArgumentException(
+          "Forecast days must be between 1 and " + config.getForecastDays() + ": " + days);
+    }
+    return currentHour() + days * 24 * HOUR_MILLIS;
+  }
+
+  private synchronized boolean isInitialized() {
+    return initialized;
+  }
+
+  /** Stored history and the current aWATTar horizon, loaded without holding the lock. */
+  private record Seed(List<MarketPrice> history, MarketData current) {}
+
+  private Seed loadSeed() {
+    long now = currentHour();
+    return new Seed(
+        awattarService.getPriceHistory(now - HISTORY.toMillis(), now),
+        awattarService.fetchCurrentMarketData());
+  }
+
+  /** Seeds the profile once; a seed loaded by a concurrent first request is discarded. */
+  private void initialize(Seed seed) {
+    if (initialized) {
+      return;
+    }
+    int learned = profile.incorporate(seed.history());
+    merge(seed.current());
+    merge(updateBeforeInitialized);
+    updateBeforeInitialized = null;
+    initialized = true;
+    logger.info("Initialized price forecast from {} hours of history", learned);
+  }
+
+  private void merge(MarketData marketData) {
+    if (marketData == null || marketData.getData() == null) {
+      return;
+    }
+    profile.incorporate(marketData.getData());
+    for (MarketPrice price : marketData.getData()) {
+      publishedPrices.put(price.getStartTimestamp(), price);
+    }
+  }
+
+  /**
+   * Drops hours that have passed and brings every hour of the configured horizon up to date.
+   * Hours whose price did not change keep their position in the price index.
+   */
+  private void rollHorizon() {
+    long first = currentHour();
+    long end = first + config.getForecastDays() * 24 * HOUR_MILLIS;
+
+    publishedPrices.headMap(first, false).clear();
+    removeAll(horizon.headMap(first, false));
+    removeAll(horizon.tailMap(end, true));
+
+    for (long start = first; start < end; start += HOUR_MILLIS) {
+      PriceForecast.Hour next = hourAt(start);
+      PriceForecast.Hour current = horizon.get(start);
+      if (current != null && next != null && sameHour(current, next)) {
+        continue;
+      }
+      if (current != null) {
+        hoursByPrice.remove(current);
+        horizon.remove(start);
+      }
+      if (next != null) {
+        horizon.put(start, next);
+        hoursByPrice.add(next);
+      }
+    }
+  }
+
+  private PriceForecast.Hour hourAt(long start) {
+    MarketPrice published = publishedPrices.get(start);
+    if (published != null) {
+      return new PriceForecast.Hour(
+          start, published.getEndTimestamp(), published.getMarketprice(), true);
+    }
+    double predicted = profile.predict(start);
+    if (Double.isNaN(predicted)) {
+      return null;
+    }
+    return new PriceForecast.Hour(start, start + HOUR_MILLIS, predicted, false);
+  }
+
+  private void removeAll(NavigableMap<Long, PriceForecast.Hour> range) {
+    for (PriceForecast.Hour hour : range.values()) {
+      hoursByPrice.remove(hour);
+    }
+    range.clear();
+  }
+
+  private static boolean sameHour(PriceForecast.Hour a, PriceForecast.Hour b) {
+    return a.isPublished() == b.isPublished()
+        && a.getEndTimestamp() == b.getEndTimestamp()
+        && Double.compare(a.getMarketprice(), b.getMarketprice()) == 0;
+  }
+
+  /** Market hours are whole UTC hours in every Vienna offset. */
+  private long currentHour() {
+    return clock.millis() / HOUR_MILLIS * HOUR_MILLIS;
+  }
+}
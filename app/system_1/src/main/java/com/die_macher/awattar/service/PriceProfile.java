@@ -0,0 +1,89 @@
+package com.die_macher.awattar.service;
+
+import com.die_macher.awattar.model.MarketData.MarketPrice;
+import com.die_macher.awattar.model.MarketTimeFormat;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.util.List;
+
+/**
+ * Typical price per weekday and hour of day, learned from observed market prices. Each of the 168
+ * slots keeps an exponentially weighted moving average, so recent weeks count more than old ones
+ * and a new price updates its slot in constant time. Every hour is incorporated at most once.
+ */
+final class PriceProfile {
+  static final int SLOTS = 7 * 24;
+
+  /** Weight of a new observation in its slot average. */
+  static final double SMOOTHING = 0.3;
+
+  private final double[] averages = new double[SLOTS];
+  private final boolean[] observed = new boolean[SLOTS];
+  private long watermark = Long.MIN_VALUE;
+  private double overallSum;
+  private int overallCount;
+
+  /**
+   * Adds all prices starting after the last incorporated hour.
+   *
+   * @param prices hourly prices in ascending order, may be null
+   * @return number of newly incorporated hours
+   */
+  int incorporate(List<MarketPrice> prices) {
+    if (prices == null) {
+      return 0;
+    }
+    int added = 0;
+    for (MarketPrice price : prices) {
+      if (price.getStartTimestamp() <= watermark) {
+        continue;
+      }
+      int slot = slotOf(price.getStartTimestamp());
+      double value = price.getMarketprice();
+      if (observed[slot]) {
+        averages[slot] += SMOOTHING * (value - averages[slot]);
+      } else {
+        averages[slot] = value;
+        observed[slot] = true;
+      }
+      overallSum += value;
+      overallCount++;
+      watermark = price.getStartTimestamp();
+      added++;
+    }
+    return added;
+  }
+
+  /**
+   * Predicts the price of the hour starting at the given time. Slots without observations fall
+   * back to the mean of all observed prices.
+   *
+   * @param startMillis hour start in milliseconds since epoch
+   * @return predicted price in EUR/MWh, or NaN if nothing has been observed yet
+   */
+  double predict(long startMillis) {
+    int slot = slotOf(startMillis);
+    if (observed[slot]) {
+      return averages[slot];
+    }
+    return overallCount == 0 ? Double.NaN : overallSum / overallCount;
+  }
+
+  boolean isEmpty() {
+    return overallCount == 0;
+  }
+
+  /**
+   * Returns the start of the latest incorporated hour.
+   *
+   * @return timestamp in milliseconds, or {@link Long#MIN_VALUE} if empty
+   */
+  long getWatermark() {
+    return watermark;
+  }
+
+  static int slotOf(long startMillis) {
+    ZonedDateTime time = Instant.ofEpochMilli(startMillis).atZone(MarketTimeFormat.VIENNA);
+    return (time.getDayOfWeek().getValue() - 1) * 24 + time.getHour();
+  }
+}
@@ -0,0 +1,301 @@
+package com.die_macher.awattar.service;
+
+import com.die_macher.awattar.config.AwattarConfig;
+import com.die_macher.awattar.event.MarketDataUpdatedEvent;
+import com.die_macher.awattar.model.MarketData;
+import com.die_macher.awattar.model.MarketData.MarketPrice;
+import com.die_macher.awattar.model.MarketTimeFormat;
+import com.die_macher.awattar.model.ProductionJob;
+import com.die_macher.pick_and_place.service.api.PickAndPlaceService;
+import jakarta.annotation.PreDestroy;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Queues production jobs and releases them into the cheapest market hours. Each hour can take at
+ * most {@code partsPerHour} cubes; a job larger than that spans consecutive hours. Pending jobs are
+ * re-planned in submission order whenever new market data arrives. Only the most recently finished
+ * jobs are kept, up to {@code retainedFinishedJobs}.
+ */
+@Service
+public class ProductionScheduler {
+  private static final Logger logger = LoggerFactory.getLogger(ProductionScheduler.class);
+
+  private final AwattarService awattarService;
+  private final PickAndPlaceService pickAndPlaceService;
+  private final AwattarConfig config;
+  private final Clock clock;
+  private final ExecutorService productionExecutor;
+
+  private final AtomicLong jobIdCounter = new AtomicLong(1);
+  private final List<ProductionJob> jobs = new ArrayList<>();
+  private final NavigableMap<Long, MarketPrice> pricesByStart = new TreeMap<>();
+
+  /** Constructs a ProductionScheduler running released jobs on a dedicated thread. */
+  @Autowired
+  public ProductionScheduler(
+      AwattarService awattarService,
+      PickAndPlaceService pickAndPlaceService,
+      AwattarConfig config) {
+    this(
+        awattarService,
+        pickAndPlaceService,
+        config,
+        Clock.system(MarketTimeFormat.VIENNA),
+        Executors.newSingleThreadExecutor(
+            runnable -> {
+              Thread thread = new Thread(runnable, "production-scheduler");
+              thread.setDaemon(true);
+              return thread;
+            }));
+  }
+
+  ProductionScheduler(
+      AwattarService awattarService,
+      PickAndPlaceService pickAndPlaceService,
+      AwattarConfig config,
+      Clock clock,
+      ExecutorService productionExecutor) {
+    this.awattarService = awattarService;
+    this.pickAndPlaceService = pickAndPlaceService;
+    this.config = config;
+    this.clock = clock;
+    this.productionExecutor = productionExecutor;
+  }
+
+  /**
+   * Queues a new production job and plans it into the cheapest free market hours.
+   *
+   * @param cubeCount number of cubes on the stack to process
+   * @return the queued job
+   */
+  public ProductionJob submit(int cubeCount) {
+    if (cubeCount <= 0) {
+      throw new IllegalArgumentException("Cube count must be positive: " + cubeCount);
+    }
+    // Fetched outside the lock, a slow aWATTar request must not block releases and updates.
+    MarketData fetched = hasUpcomingPrices() ? null : awattarService.fetchCurrentMarketData();
+
+    ProductionJob job;
+    synchronized (this) {
+      mergePrices(fetched);
+      job = new ProductionJob(jobIdCounter.getAndIncrement(), cubeCount, clock.millis());
+      jobs.add(job);
+      replan();
+    }
+
+    logger.info(
+        "Queued production job {} for {} cubes ({})", job.getId(), cubeCount, job.getStatus());
+    return job;
+  }
+
+  /**
+   * Returns a snapshot of the pending, running and most recently finished production jobs in
+   * submission order.
+   *
+   * @return list of jobs
+   */
+  public synchronized List<ProductionJob> getJobs() {
+    return List.copyOf(jobs);
+  }
+
+  /**
+   * Adds freshly published prices to the planning horizon and re-plans all pending jobs.
+   *
+   * @param event the market data update
+   */
+  @EventListener
+  public synchronized void onMarketDataUpdated(MarketDataUpdatedEvent event) {
+    mergePrices(event.getMarketData());
+    replan();
+  }
+
+  /** Hands every planned job whose start has been reached over to the pick-and-place process. */
+  @Scheduled(fixedDelayString = "${awattar.scheduler.release-check-millis:60000}")
+  public synchronized void releaseDueJobs() {
+    long now = clock.millis();
+    for (ProductionJob job : jobs) {
+      if (job.getStatus() == ProductionJob.Status.PLANNED
+          && job.getPlannedStartTimestamp() <= now) {
+        job.markRunning();
+        logger.info("Releasing production job {} ({} cubes)", job.getId(), job.getCubeCount());
+        productionExecutor.execute(() -> run(job));
+      }
+    }
+    pruneFinishedJobs();
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    productionExecutor.shutdownNow();
+  }
+
+  private void run(ProductionJob job) {
+    try {
+      pickAndPlaceService.startPickAndPlace(job.getCubeCount());
+      job.markCompleted();
+    } catch (RuntimeException e) {
+      logger.error("Production job {} failed", job.getId(), e);
+      job.markFailed();
+    }
+  }
+
+  /** Drops the oldest completed and failed jobs beyond the configured number to keep. */
+  private void pruneFinishedJobs() {
+    long excess =
+        jobs.stream().filter(ProductionScheduler::isFinished).count()
+            - config.getRetainedFinishedJobs();
+    Iterator<ProductionJob> iterator = jobs.iterator();
+    while (excess > 0 && iterator.hasNext()) {
+      if (isFinished(iterator.next())) {
+        iterator.remove();
+        excess--;
+      }
+    }
+  }
+
+  private static boolean isFinished(ProductionJob job) {
+    ProductionJob.Status status = job.getStatus();
+    return status == ProductionJob.Status.COMPLETED || status == ProductionJob.Status.FAILED;
+  }
+
+  private synchronized boolean hasUpcomingPrices() {
+    return !upcomingPrices().isEmpty();
+  }
+
+  private void mergePrices(MarketData marketData) {
+    if (marketData == null || marketData.getData() == null) {
+      return;
+    }
+    for (MarketPrice price : marketData.getData()) {
+      pricesByStart.put(price.getStartTimestamp(), price);
+    }
+  }
+
+  /** Returns all market hours that have not ended yet, dropping expired ones. */
+  private List<MarketPrice> upcomingPrices() {
+    long now = clock.millis();
+    pricesByStart.values().removeIf(price -> price.getEndTimestamp() <= now);
+    return new ArrayList<>(pricesByStart.values());
+  }
+
+  /**
+   * Greedily assigns pending jobs, oldest first, to the cheapest run of consecutive hours that
+   * still has enough capacity. Running jobs keep the capacity they already occupy.
+   */
+  private void replan() {
+    int capacity = config.getPartsPerHour();
+    if (capacity <= 0) {
+      logger.warn("Cannot plan production jobs: parts per hour must be positive");
+      return;
+    }
+
+    List<MarketPrice> slots = upcomingPrices();
+    int[] used = new int[slots.size()];
+    for (ProductionJob job : jobs) {
+      if (job.getStatus() == ProductionJob.Status.RUNNING) {
+        int start = indexOfSlot(slots, job.getPlannedStartTimestamp());
+        if (start >= 0) {
+          occupy(used, start, job.getCubeCount(), capacity);
+        }
+      }
+    }
+
+    long now = clock.millis();
+    for (ProductionJob job : jobs) {
+      if (!job.isPending()) {
+        continue;
+      }
+      int start = findCheapestStart(slots, used, job.getCubeCount(), capacity);
+      if (start < 0) {
+        job.unplan();
+        continue;
+      }
+      int hours = hoursNeeded(job.getCubeCount(), capacity);
+      occupy(used, start, job.getCubeCount(), capacity);
+      job.plan(
+          Math.max(slots.get(start).getStartTimestamp(), now),
+          slots.get(start + hours - 1).getEndTimestamp(),
+          energyCost(slots, start, job.getCubeCount(), capacity));
+    }
+  }
+
+  private int findCheapestStart(List<MarketPrice> slots, int[] used, int cubes, int capacity) {
+    int hours = hoursNeeded(cubes, capacity);
+    int bestStart = -1;
+    double lowestCost = Double.MAX_VALUE;
+
+    for (int start = 0; start + hours <= slots.size(); start++) {
+      if (fits(slots, used, start, cubes, capacity)) {
+        double cost = energyCost(slots, start, cubes, capacity);
+        if (cost < lowestCost) {
+          lowestCost = cost;
+          bestStart = start;
+        }
+      }
+    }
+    return bestStart;
+  }
+
+  private boolean fits(List<MarketPrice> slots, int[] used, int start, int cubes, int capacity) {
+    int remaining = cubes;
+    for (int i = start; remaining > 0; i++) {
+      if (i > start && slots.get(i).getStartTimestamp() != slots.get(i - 1).getEndTimestamp()) {
+        return false;
+      }
+      int load = Math.min(remaining, capacity);
+      if (used[i] + load > capacity) {
+        return false;
+      }
+      remaining -= load;
+    }
+    return true;
+  }
+
+  private double energyCost(List<MarketPrice> slots, int start, int cubes, int capacity) {
+    double cost = 0;
+    int remaining = cubes;
+    for (int i = start; remaining > 0; i++) {
+      int load = Math.min(remaining, capacity);
+      cost += load * config.getEnergyPerPart() * slots.get(i).getPriceInEurPerKwh();
+      remaining -= load;
+    }
+    return cost;
+  }
+
+  private static void occupy(int[] used, int start, int cubes, int capacity) {
+    int remaining = cubes;
+    for (int i = start; remaining > 0 && i < used.length; i++) {
+      int load = Math.min(remaining, capacity);
+      used[i] += load;
+      remaining -= load;
+    }
+  }
+
+  private static int hoursNeeded(int cubes, int capacity) {
+    return (cubes + capacity - 1) / capacity;
+  }
+
+  private static int indexOfSlot(List<MarketPrice> slots, long timestamp) {
+    for (int i = 0; i < slots.size(); i++) {
+      MarketPrice slot = slots.get(i);
+      if (slot.getStartTimestamp() <= timestamp && timestamp < slot.getEndTimestamp()) {
+        return i;
+      }
+    }
+    return -1;
+  }
+}
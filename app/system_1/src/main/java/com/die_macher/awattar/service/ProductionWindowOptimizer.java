@@ -0,0 +1,151 @@
+package com.die_macher.awattar.service;
+
+import com.die_macher.awattar.model.MarketData;
+import com.die_macher.awattar.model.MarketData.MarketPrice;
+import com.die_macher.awattar.model.MarketPriceSeries;
+import com.die_macher.awattar.model.OptimalProductionWindow;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Answers "cheapest window of k hours" queries for one snapshot of market data. Prefix sums over
+ * the hourly prices give every window sum in constant time, so the cheapest contiguous k-hour
+ * window is found in a single O(n) pass over the start positions. For non-contiguous selection the
+ * hours are sorted by price once and the cheapest k hours are simply the first k entries. Windows
+ * are built on first request and cached per duration, so an instance acts as the result cache for
+ * its market data snapshot and only the durations actually asked for are ever computed. Sums and
+ * ordering are computed on the columnar {@link MarketPriceSeries} the prices were parsed into;
+ * price objects are only touched to build the windows.
+ *
+ * <p>Instances are shared between request threads. A window computed twice by racing threads is
+ * identical, so the caches need no locking.
+ */
+final class ProductionWindowOptimizer {
+  private static final double MWH_TO_KWH = 1000.0;
+
+  private final List<MarketPrice> prices;
+  private final MarketPriceSeries series;
+  private final ToDoubleFunction<List<MarketPrice>> costFunction;
+
+  /** prefixSums[i] is the sum of the first i prices in EUR/MWh. */
+  private final double[] prefixSums;
+
+  /** Indices of all hours ordered by ascending price, ties broken by time. */
+  private final int[] indicesByPrice;
+
+  /** sortedPrefixSums[k] is the sum of the k cheapest prices in EUR/MWh. */
+  private final double[] sortedPrefixSums;
+
+  private final AtomicReferenceArray<OptimalProductionWindow> contiguousWindows;
+  private final AtomicReferenceArray<OptimalProductionWindow> cheapestHoursWindows;
+
+  /**
+   * Precomputes the prefix sums and the price order of a snapshot in O(n log n).
+   *
+   * @param source market data snapshot, may be null
+   * @param costFunction energy-weighted production cost in EUR for a selection of hours
+   */
+  ProductionWindowOptimizer(MarketData source, ToDoubleFunction<List<MarketPrice>> costFunction) {
+    List<MarketPrice> sourcePrices = source == null ? null : source.getData();
+    this.prices = sourcePrices == null ? List.of() : List.copyOf(sourcePrices);
+    this.series = source == null ? MarketPriceSeries.of(null) : source.toSeries();
+    this.costFunction = costFunction;
+
+    int n = series.size();
+    prefixSums = new double[n + 1];
+    for (int i = 0; i < n; i++) {
+      prefixSums[i + 1] = prefixSums[i] + series.getMarketprice(i);
+    }
+
+    Integer[] order = new Integer[n];
+    for (int i = 0; i < n; i++) {
+      order[i] = i;
+    }
+    Arrays.sort(
+        order,
+        Comparator.<Integer>comparingDouble(series::getMarketprice)
+            .thenComparingInt(i -> i));
+    indicesByPrice = new int[n];
+    sortedPrefixSums = new double[n + 1];
+    for (int i = 0; i < n; i++) {
+      indicesByPrice[i] = order[i];
+      sortedPrefixSums[i + 1] = sortedPrefixSums[i] + series.getMarketprice(order[i]);
+    }
+
+    contiguousWindows = new AtomicReferenceArray<>(n + 1);
+    cheapestHoursWindows = new AtomicReferenceArray<>(n + 1);
+  }
+
+  /**
+   * Returns the cheapest window of consecutive hours.
+   *
+   * @param hours window length in hours
+   * @return the window, or null if fewer than {@code hours} prices are available
+   */
+  OptimalProductionWindow cheapestContiguous(int hours) {
+    if (hours < 1 || hours > series.size()) {
+      return null;
+    }
+    OptimalProductionWindow window = contiguousWindows.get(hours);
+    if (window == null) {
+      window = buildContiguous(hours);
+      contiguousWindows.set(hours, window);
+    }
+    return window;
+  }
+
+  /**
+   * Returns the cheapest hours regardless of whether they are adjacent, in chronological order.
+   *
+   * @param hours number of hours to select
+   * @return the selection, or null if fewer than {@code hours} prices are available
+   */
+  OptimalProductionWindow cheapestHours(int hours) {
+    if (hours < 1 || hours > series.size()) {
+      return null;
+    }
+    OptimalProductionWindow window = cheapestHoursWindows.get(hours);
+    if (window == null) {
+      window = buildCheapestHours(hours);
+      cheapestHoursWindows.set(hours, window);
+    }
+    return window;
+  }
+
+  /** Scans every start once; the earliest window wins on equal sums. */
+  private OptimalProductionWindow buildContiguous(int hours) {
+    int bestStart = 0;
+    double lowestSum = Double.MAX_VALUE;
+    for (int start = 0; start + hours <= series.size(); start++) {
+      double sum = prefixSums[start + hours] - prefixSums[start];
+      if (sum < lowestSum) {
+        lowestSum = sum;
+        bestStart = start;
+      }
+    }
+    return toWindow(new ArrayList<>(prices.subList(bestStart, bestStart + hours)), lowestSum);
+  }
+
+  private OptimalProductionWindow buildCheapestHours(int hours) {
+    int[] selected = Arrays.copyOf(indicesByPrice, hours);
+    Arrays.sort(selected);
+    List<MarketPrice> selectedPrices = new ArrayList<>(hours);
+    for (int index : selected) {
+      selectedPrices.add(prices.get(index));
+    }
+    return toWindow(selectedPrices, sortedPrefixSums[hours]);
+  }
+
+  private OptimalProductionWindow toWindow(List<MarketPrice> windowPrices, double priceSum) {
+    return new OptimalProductionWindow(
+        windowPrices.getFirst().getStartTimestamp(),
+        windowPrices.getLast().getEndTimestamp(),
+        windowPrices,
+        costFunction.applyAsDouble(windowPrices),
+        priceSum / MWH_TO_KWH / windowPrices.size());
+  }
+}
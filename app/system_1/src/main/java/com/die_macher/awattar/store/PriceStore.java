@@ -0,0 +1,209 @@
+package com.die_macher.awattar.store;
+
+import com.die_macher.awattar.model.MarketData.MarketPrice;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Append-only file store for hourly market prices. Every hour is a fixed-width 24 byte record
+ * (start timestamp, end timestamp, price in EUR/MWh) behind an 8 byte header. Records are only
+ * appended in ascending start order, so reads memory-map the file and binary-search the start
+ * timestamps without parsing anything.
+ */
+public final class PriceStore implements Closeable {
+  private static final Logger logger = LoggerFactory.getLogger(PriceStore.class);
+
+  static final int MAGIC = 0x41575450; // "AWTP"
+  static final int VERSION = 1;
+  static final int HEADER_SIZE = 8;
+  static final int RECORD_SIZE = 24;
+  private static final String UNIT = "Eur/MWh";
+
+  private final Path path;
+  private final FileChannel channel;
+
+  private long recordCount;
+  private MappedByteBuffer mapped;
+  private long mappedRecords = -1;
+
+  private PriceStore(Path path, FileChannel channel, long recordCount) {
+    this.path = path;
+    this.channel = channel;
+    this.recordCount = recordCount;
+  }
+
+  /**
+   * Opens the store at the given path, creating it if necessary. A partially written trailing
+   * record, e.g. after a crash, is cut off.
+   *
+   * @param path location of the store file
+   * @return the opened store
+   * @throws IOException if the file cannot be opened or is not a price store
+   */
+  public static PriceStore open(Path path) throws IOException {
+    Path parent = path.toAbsolutePath().getParent();
+    if (parent != null) {
+      Files.createDirectories(parent);
+    }
+    FileChannel channel =
+        FileChannel.open(
+            path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    try {
+      long size = channel.size();
+      if (size < HEADER_SIZE) {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).putInt(VERSION).flip();
+        channel.truncate(0);
+        channel.write(header, 0);
+        channel.force(true);
+        size = HEADER_SIZE;
+      } else {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        channel.read(header, 0);
+        header.flip();
+        if (header.getInt() != MAGIC || header.getInt() != VERSION) {
+          throw new IOException("Not a price store: " + path);
+        }
+      }
+
+      long records = (size - HEADER_SIZE) / RECORD_SIZE;
+      long validSize = HEADER_SIZE + records * RECORD_SIZE;
+      if (validSize != size) {
+        logger.warn("Truncating incomplete record at the end of {}", path);
+        channel.truncate(validSize);
+      }
+      return new PriceStore(path, channel, records);
+    } catch (IOException | RuntimeException e) {
+      channel.close();
+      throw e;
+    }
+  }
+
+  /**
+   * Appends all prices that start after the last stored hour. Hours already stored are skipped,
+   * since published prices do not change.
+   *
+   * @param prices hourly prices in ascending order
+   * @return number of appended records
+   * @throws IOException if writing fails
+   */
+  public synchronized int append(List<MarketPrice> prices) throws IOException {
+    long lastStart = recordCount == 0 ? Long.MIN_VALUE : startAt(recordCount - 1);
+    ByteBuffer buffer = ByteBuffer.allocate(prices.size() * RECORD_SIZE);
+    int appended = 0;
+    for (MarketPrice price : prices) {
+      if (price.getStartTimestamp() > lastStart) {
+        buffer
+            .putLong(price.getStartTimestamp())
+            .putLong(price.getEndTimestamp())
+            .putDouble(price.getMarketprice());
+        lastStart = price.getStartTimestamp();
+        appended++;
+      }
+    }
+    if (appended == 0) {
+      return 0;
+    }
+
+    buffer.flip();
+    long position = HEADER_SIZE + recordCount * RECORD_SIZE;
+    while (buffer.hasRemaining()) {
+      position += channel.write(buffer, position);
+    }
+    channel.force(false);
+    recordCount += appended;
+    return appended;
+  }
+
+  /**
+   * Reads all stored hours starting within the given range.
+   *
+   * @param fromInclusive lower bound for the start timestamp in milliseconds since epoch
+   * @param toExclusive upper bound for the start timestamp in milliseconds since epoch
+   * @return prices in ascending order, empty if none are stored
+   * @throws IOException if the file cannot be mapped
+   */
+  public synchronized List<MarketPrice> read(long fromInclusive, long toExclusive)
+      throws IOException {
+    if (recordCount == 0 || fromInclusive >= toExclusive) {
+      return List.of();
+    }
+    remapIfGrown();
+    List<MarketPrice> prices = new ArrayList<>();
+    for (long i = lowerBound(fromInclusive); i < recordCount; i++) {
+      long start = startAt(i);
+      if (start >= toExclusive) {
+        break;
+      }
+      int offset = recordOffset(i);
+      MarketPrice price = new MarketPrice();
+      price.setStartTimestamp(start);
+      price.setEndTimestamp(mapped.getLong(offset + Long.BYTES));
+      price.setMarketprice(mapped.getDouble(offset + 2 * Long.BYTES));
+      price.setUnit(UNIT);
+      prices.add(price);
+    }
+    return prices;
+  }
+
+  /**
+   * Returns the number of stored hours.
+   *
+   * @return record count
+   */
+  public synchronized long size() {
+    return recordCount;
+  }
+
+  public Path getPath() {
+    return path;
+  }
+
+  @Override
+  public synchronized void close() throws IOException {
+    mapped = null;
+    channel.close();
+  }
+
+  /** Returns the index of the first record starting at or after the timestamp. */
+  private long lowerBound(long timestamp) throws IOException {
+    long low = 0;
+    long high = recordCount;
+    while (low < high) {
+      long mid = (low + high) >>> 1;
+      if (startAt(mid) < timestamp) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  private long startAt(long index) throws IOException {
+    remapIfGrown();
+    return mapped.getLong(recordOffset(index));
+  }
+
+  private void remapIfGrown() throws IOException {
+    if (mappedRecords != recordCount) {
+      mapped =
+          channel.map(
+              FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE + recordCount * RECORD_SIZE);
+      mappedRecords = recordCount;
+    }
+  }
+
+  private static int recordOffset(long index) {
+    return Math.toIntExact(HEADER_SIZE + index * RECORD_SIZE);
+  }
+}
@@ -4,5 +4,5 @@ import org.springframework.boot.context.properties.EnableConfigurationProperties
 import org.springframework.context.annotation.Configuration;
 
 @Configuration
-@EnableConfigurationProperties(RobotConfiguration.class)
+@EnableConfigurationProperties({RobotConfiguration.class, PickAndPlaceTimings.class})
 public class PickAndPlaceConfig {}
@@ -0,0 +1,28 @@
+package com.die_macher.pick_and_place.config;
+
+import jakarta.validation.constraints.NotNull;
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Wait times used by the pick and place orchestrator. The defaults match the values the robot cell
+ * was tuned with; benchmarks and tests may shorten them to measure the remaining phases.
+ */
+@Validated
+@ConfigurationProperties(prefix = "pick-and-place.timing")
+public record PickAndPlaceTimings(
+    @DefaultValue("25s") @NotNull Duration initialStabilization,
+    @DefaultValue("10s") @NotNull Duration cameraStabilization,
+    @DefaultValue("10s") @NotNull Duration returnStabilization,
+    @DefaultValue("10s") @NotNull Duration colorDetectionTimeout) {
+
+  public static PickAndPlaceTimings defaults() {
+    return new PickAndPlaceTimings(
+        Duration.ofSeconds(25),
+        Duration.ofSeconds(10),
+        Duration.ofSeconds(10),
+        Duration.ofSeconds(10));
+  }
+}
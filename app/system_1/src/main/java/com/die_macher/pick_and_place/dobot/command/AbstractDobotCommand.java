@@ -2,6 +2,7 @@ package com.die_macher.pick_and_place.dobot.command;
 
 import com.die_macher.pick_and_place.dobot.config.DobotSerialConnector;
 import com.die_macher.pick_and_place.dobot.exception.DobotCommunicationException;
+import com.die_macher.pick_and_place.dobot.exception.DobotCommunicationException.ErrorType;
 import com.die_macher.pick_and_place.dobot.protocol.DobotProtocol;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -59,6 +60,9 @@ public abstract class AbstractDobotCommand<T> implements DobotCommand<T> {
    * <p>7. **Return Result**: If successful, the parsed response is returned. If parsing fails, it
    * logs an error and throws a `DobotCommunicationException`.
    *
+   * <p>Every execution is timed and recorded in {@link DobotCommandMetrics}, tagged with the
+   * command type, the queued flag and the outcome.
+   *
    * @param connector The {@link DobotSerialConnector} instance to communicate with the Dobot.
    * @return The parsed object of type {@code T} that represents the command's response.
    * @throws DobotCommunicationException if there is an error during communication, message sending,
@@ -66,22 +70,41 @@ public abstract class AbstractDobotCommand<T> implements DobotCommand<T> {
    */
   @Override
   public T execute(DobotSerialConnector connector) throws DobotCommunicationException {
+    long start = System.nanoTime();
+    byte[] command = createMessage();
+    String outcome = DobotCommandMetrics.OUTCOME_SUCCESS;
+
+    try {
+      return sendAndReceive(connector, command);
+    } catch (DobotCommunicationException e) {
+      outcome = DobotCommandMetrics.outcomeOf(e.getErrorType());
+      throw e;
+    } finally {
+      DobotCommandMetrics.recordExecution(
+          getCommandType(), isQueued(command), outcome, System.nanoTime() - start);
+    }
+  }
+
+  private T sendAndReceive(DobotSerialConnector connector, byte[] command)
+      throws DobotCommunicationException {
     if (!connector.isConnected()) {
-      throw new DobotCommunicationException("Not connected to Dobot");
+      throw new DobotCommunicationException("Not connected to Dobot", ErrorType.NOT_CONNECTED);
     }
 
-    byte[] command = createMessage();
     if (!connector.sendData(command)) {
-      throw new DobotCommunicationException("Failed to send command to Dobot");
+      throw new DobotCommunicationException(
+          "Failed to send command to Dobot", ErrorType.SEND_FAILED);
     }
 
     byte[] response = connector.readData(RESPONSE_TIMEOUT_MS);
     if (response == null || response.length == 0) {
-      throw new DobotCommunicationException("No response received for command");
+      throw new DobotCommunicationException(
+          "No response received for command", ErrorType.NO_RESPONSE);
     }
 
     if (!DobotProtocol.validateResponseFormat(response, getCommandType())) {
-      throw new DobotCommunicationException("Invalid response format for command");
+      throw new DobotCommunicationException(
+          "Invalid response format for command", ErrorType.INVALID_RESPONSE);
     }
 
     try {
@@ -91,7 +114,31 @@ public abstract class AbstractDobotCommand<T> implements DobotCommand<T> {
     } catch (Exception e) {
       String errorMessage = "Failed to parse response for command: " + getCommandType();
       LOGGER.error(errorMessage, e);
-      throw new DobotCommunicationException(errorMessage);
+      throw new DobotCommunicationException(errorMessage, ErrorType.PARSE_FAILED);
     }
   }
+
+  /**
+   * Whether the command may safely be sent again after a failed round trip. Commands that are
+   * placed in the Dobot's queue are not, since a lost acknowledgement does not tell whether the
+   * command was already enqueued.
+   *
+   * @return true if repeating the command leaves the Dobot in the same state
+   */
+  boolean isIdempotent() {
+    return !isQueued(createMessage());
+  }
+
+  /**
+   * Reads the queued flag from the control byte of an outgoing message.
+   *
+   * @param message the message sent to the Dobot
+   * @return true if the command is placed in the Dobot's command queue
+   */
+  static boolean isQueued(byte[] message) {
+    return message != null
+        && message.length > DobotProtocol.Indices.CONTROL_INDEX
+        && (message[DobotProtocol.Indices.CONTROL_INDEX] & DobotProtocol.ControlBits.IS_QUEUED)
+            != 0;
+  }
 }
@@ -1,38 +1,141 @@
 package com.die_macher.pick_and_place.dobot.command;
 
 import com.die_macher.pick_and_place.dobot.command.impl.*;
+import com.die_macher.pick_and_place.dobot.config.DobotProperties;
 import com.die_macher.pick_and_place.dobot.config.DobotSerialConnector;
 import com.die_macher.pick_and_place.dobot.exception.DobotCommunicationException;
+import com.die_macher.pick_and_place.dobot.exception.DobotCommunicationException.ErrorType;
 import com.die_macher.pick_and_place.dobot.protocol.api.PTPModes;
+import java.util.function.BooleanSupplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 /**
  * Factory for creating and executing Dobot commands. Encapsulates the command pattern
  * implementation and provides a convenient API for the service layer to interact with the Dobot.
+ *
+ * <p>Failed round trips are recovered here: the receive buffer is flushed to get back in sync with
+ * the frame boundaries, idempotent commands are retried with bounded exponential backoff, and the
+ * serial port is reopened after {@link DobotProperties.Retry#getReconnectThreshold()} consecutive
+ * failures.
+ *
+ * <p>All round trips and reconnects run under the executor's lock. Anything else that reopens the
+ * port goes through {@link #runExclusively(BooleanSupplier)}, so the port is never opened or closed
+ * by two threads at once or while a command waits for its response.
  */
 @Component
 public class DobotCommandExecutor {
+  private static final Logger LOGGER = LoggerFactory.getLogger(DobotCommandExecutor.class);
+
   private final DobotSerialConnector connector;
+  private final DobotProperties properties;
+  private int consecutiveFailures;
 
   /**
-   * Constructs a new DobotCommandExecutor with the given connector.
+   * Constructs a new DobotCommandExecutor with the given connector and default retry settings.
    *
    * @param connector the serial connector for communication with the Dobot
    */
   public DobotCommandExecutor(DobotSerialConnector connector) {
+    this(connector, new DobotProperties());
+  }
+
+  /**
+   * Constructs a new DobotCommandExecutor with the given connector.
+   *
+   * @param connector the serial connector for communication with the Dobot
+   * @param properties the Dobot properties providing the retry settings
+   */
+  @Autowired
+  public DobotCommandExecutor(DobotSerialConnector connector, DobotProperties properties) {
     this.connector = connector;
+    this.properties = properties;
   }
 
   /**
-   * Executes a command and returns its result.
+   * Executes a command and returns its result. Idempotent commands are retried on failure, all
+   * other commands are attempted once.
    *
    * @param command the command to execute
    * @param <T> the type of result returned by the command
    * @return the command result
    * @throws DobotCommunicationException if communication with the device fails
    */
-  private <T> T executeCommand(DobotCommand<T> command) throws DobotCommunicationException {
-    return command.execute(connector);
+  private synchronized <T> T executeCommand(AbstractDobotCommand<T> command)
+      throws DobotCommunicationException {
+    DobotProperties.Retry retry = properties.getRetry();
+    int maxAttempts = command.isIdempotent() ? retry.getMaxAttempts() : 1;
+    long backoffMillis = retry.getInitialBackoffMillis();
+
+    for (int attempt = 1; ; attempt++) {
+      try {
+        T result = command.execute(connector);
+        consecutiveFailures = 0;
+        return result;
+      } catch (DobotCommunicationException e) {
+        recover(e, retry);
+
+        if (attempt >= maxAttempts) {
+          throw e;
+        }
+
+        LOGGER.warn(
+            "Command {} failed ({}), retrying in {} ms (attempt {}/{})",
+            command.getCommandType(),
+            e.getMessage(),
+            backoffMillis,
+            attempt + 1,
+            maxAttempts);
+        DobotCommandMetrics.recordRetry(
+            command.getCommandType(), DobotCommandMetrics.outcomeOf(e.getErrorType()));
+
+        sleep(backoffMillis, e);
+        backoffMillis = Math.min(backoffMillis * 2, retry.getMaxBackoffMillis());
+      }
+    }
+  }
+
+  /**
+   * Runs an action while no command is in flight and no other thread can reopen the port.
+   *
+   * @param action the action, for example closing and reopening the serial port
+   * @return the result of the action
+   */
+  public synchronized boolean runExclusively(BooleanSupplier action) {
+    return action.getAsBoolean();
+  }
+
+  /**
+   * Brings the link back into a defined state after a failed round trip. A late, partial or
+   * corrupted response would otherwise be read as the answer to the next command.
+   */
+  private void recover(DobotCommunicationException e, DobotProperties.Retry retry) {
+    consecutiveFailures++;
+
+    if (e.getErrorType() == ErrorType.NO_RESPONSE
+        || e.getErrorType() == ErrorType.INVALID_RESPONSE
+        || e.getErrorType() == ErrorType.PARSE_FAILED) {
+      connector.clearInputBuffer();
+    }
+
+    if (consecutiveFailures >= retry.getReconnectThreshold()) {
+      LOGGER.warn("{} consecutive Dobot command failures, reopening port", consecutiveFailures);
+      boolean reconnected = connector.reconnect();
+      DobotCommandMetrics.recordReconnect(reconnected);
+      consecutiveFailures = 0;
+    }
+  }
+
+  private static void sleep(long millis, DobotCommunicationException cause)
+      throws DobotCommunicationException {
+    try {
+      Thread.sleep(millis);
+    } catch (InterruptedException interrupted) {
+      Thread.currentThread().interrupt();
+      throw cause;
+    }
   }
 
   /**
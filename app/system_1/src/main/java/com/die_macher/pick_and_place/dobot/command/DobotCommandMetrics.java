@@ -0,0 +1,76 @@
+package com.die_macher.pick_and_place.dobot.command;
+
+import com.die_macher.pick_and_place.dobot.exception.DobotCommunicationException.ErrorType;
+import com.die_macher.pick_and_place.dobot.protocol.DobotProtocol;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records Dobot command metrics. Commands are plain objects created per call, so the meters are
+ * registered with Micrometer's global registry, which Spring Boot wires to the Actuator registry.
+ *
+ * <p>Meters:
+ *
+ * <ul>
+ *   <li>{@code dobot.command} – timer per command, queued flag and outcome
+ *   <li>{@code dobot.command.failures} – counter of failed executions per command, queued flag and
+ *       outcome
+ *   <li>{@code dobot.command.retries} – counter of repeated commands per command and the outcome
+ *       that caused the retry
+ *   <li>{@code dobot.connection.reconnects} – counter of port reopen attempts per result
+ * </ul>
+ */
+final class DobotCommandMetrics {
+  static final String COMMAND_TIMER = "dobot.command";
+  static final String FAILURE_COUNTER = "dobot.command.failures";
+  static final String RETRY_COUNTER = "dobot.command.retries";
+  static final String RECONNECT_COUNTER = "dobot.connection.reconnects";
+  static final String OUTCOME_SUCCESS = "success";
+
+  private DobotCommandMetrics() {}
+
+  static void recordExecution(
+      DobotProtocol.Commands command, boolean queued, String outcome, long durationNanos) {
+    Timer.builder(COMMAND_TIMER)
+        .description("Round trip time of Dobot commands")
+        .tag("command", command.name())
+        .tag("queued", String.valueOf(queued))
+        .tag("outcome", outcome)
+        .register(Metrics.globalRegistry)
+        .record(durationNanos, TimeUnit.NANOSECONDS);
+
+    if (!OUTCOME_SUCCESS.equals(outcome)) {
+      Counter.builder(FAILURE_COUNTER)
+          .description("Failed Dobot command executions")
+          .tag("command", command.name())
+          .tag("queued", String.valueOf(queued))
+          .tag("outcome", outcome)
+          .register(Metrics.globalRegistry)
+          .increment();
+    }
+  }
+
+  static void recordRetry(DobotProtocol.Commands command, String outcome) {
+    Counter.builder(RETRY_COUNTER)
+        .description("Dobot commands sent again after a failed round trip")
+        .tag("command", command.name())
+        .tag("outcome", outcome)
+        .register(Metrics.globalRegistry)
+        .increment();
+  }
+
+  static void recordReconnect(boolean successful) {
+    Counter.builder(RECONNECT_COUNTER)
+        .description("Serial port reopen attempts")
+        .tag("result", successful ? OUTCOME_SUCCESS : "failure")
+        .register(Metrics.globalRegistry)
+        .increment();
+  }
+
+  static String outcomeOf(ErrorType errorType) {
+    return errorType.name().toLowerCase(Locale.ROOT);
+  }
+}
@@ -1,8 +1,10 @@
 package com.die_macher.pick_and_place.dobot.config;
 
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
@@ -19,4 +21,41 @@ public class DobotProperties {
   @Min(value = 1000)
   @Max(value = 10000)
   private int timeoutMillis;
+
+  @Valid @NotNull private Retry retry = new Retry();
+
+  @Valid @NotNull private Reconnect reconnect = new Reconnect();
+
+  /** Recovery settings for failed command round trips. */
+  @Data
+  public static class Retry {
+
+    /** Attempts per idempotent command, including the first one. */
+    @Min(value = 1)
+    @Max(value = 10)
+    private int maxAttempts = 3;
+
+    /** Wait before the first retry; doubled for every further attempt. */
+    @Min(value = 0)
+    private long initialBackoffMillis = 10;
+
+    @Min(value = 0)
+    private long maxBackoffMillis = 80;
+
+    /** Consecutive failed round trips after which the serial port is reopened. */
+    @Min(value = 1)
+    private int reconnectThreshold = 3;
+  }
+
+  /** Backoff of the supervisor that reopens a lost serial port. */
+  @Data
+  public static class Reconnect {
+
+    /** Wait before the second reopen attempt; doubled for every further attempt. */
+    @Min(value = 10)
+    private long initialDelayMillis = 500;
+
+    @Min(value = 10)
+    private long maxDelayMillis = 30000;
+  }
 }
@@ -1,6 +1,8 @@
 package com.die_macher.pick_and_place.dobot.config;
 
 import com.fazecast.jSerialComm.SerialPort;
+import com.fazecast.jSerialComm.SerialPortDataListener;
+import com.fazecast.jSerialComm.SerialPortEvent;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
@@ -11,13 +13,21 @@ import org.slf4j.LoggerFactory;
 /**
  * Handles low-level serial communication with the Dobot device. This class is responsible for
  * opening/closing connections and sending/receiving raw bytes.
+ *
+ * <p>Opening and closing the port is synchronized, and the port is only published once it is open,
+ * so other threads never see a half-opened port. Sending and receiving are not synchronized; the
+ * {@link com.die_macher.pick_and_place.dobot.command.DobotCommandExecutor} runs one round trip at a
+ * time.
  */
 public class DobotSerialConnector {
   private static final Logger LOGGER = LoggerFactory.getLogger(DobotSerialConnector.class);
 
-  private SerialPort serialPort;
-  private InputStream inputStream;
-  private OutputStream outputStream;
+  private volatile SerialPort serialPort;
+  private volatile InputStream inputStream;
+  private volatile OutputStream outputStream;
+  private volatile String portName;
+  private volatile int timeout;
+  private volatile Runnable connectionLostListener;
 
   /**
    * Opens a connection to the specified serial port.
@@ -26,27 +36,31 @@ public class DobotSerialConnector {
    * @param timeout the connection timeout in milliseconds
    * @return true if connection was successful, false otherwise
    */
-  public boolean connect(String portName, int timeout) {
+  public synchronized boolean connect(String portName, int timeout) {
     LOGGER.info("Connecting to Dobot on port: {}", portName);
+    this.portName = portName;
+    this.timeout = timeout;
 
     // List available ports
     logAvailablePorts();
 
     // Open port
-    serialPort = SerialPort.getCommPort(portName);
-    serialPort.setBaudRate(115200);
-    serialPort.setNumDataBits(8);
-    serialPort.setNumStopBits(1);
-    serialPort.setParity(SerialPort.NO_PARITY);
-    serialPort.setComPortTimeouts(SerialPort.TIMEOUT_READ_SEMI_BLOCKING, timeout, timeout);
-
-    if (!serialPort.openPort()) {
+    SerialPort port = SerialPort.getCommPort(portName);
+    port.setBaudRate(115200);
+    port.setNumDataBits(8);
+    port.setNumStopBits(1);
+    port.setParity(SerialPort.NO_PARITY);
+    port.setComPortTimeouts(SerialPort.TIMEOUT_READ_SEMI_BLOCKING, timeout, timeout);
+
+    if (!port.openPort()) {
       LOGGER.error("Failed to open serial port: {}", portName);
       return false;
     }
 
-    inputStream = serialPort.getInputStream();
-    outputStream = serialPort.getOutputStream();
+    inputStream = port.getInputStream();
+    outputStream = port.getOutputStream();
+    port.addDataListener(new PortDisconnectedListener());
+    serialPort = port;
 
     LOGGER.info("Successfully connected to port: {}", portName);
     return true;
@@ -61,9 +75,29 @@ public class DobotSerialConnector {
     }
   }
 
+  /**
+   * Registers a callback that is invoked when the port is lost, either reported by the driver as
+   * disconnected or detected through a failed write.
+   *
+   * @param listener the callback, or null to remove it
+   */
+  public void setConnectionLostListener(Runnable listener) {
+    this.connectionLostListener = listener;
+  }
+
+  private void notifyConnectionLost() {
+    Runnable listener = connectionLostListener;
+    if (listener != null) {
+      listener.run();
+    }
+  }
+
   /** Disconnects from the serial port. */
-  public void disconnect() {
-    if (serialPort != null && serialPort.isOpen()) {
+  public synchronized void disconnect() {
+    SerialPort port = serialPort;
+    if (port != null && port.isOpen()) {
+      port.removeDataListener();
+
       try {
         if (inputStream != null) inputStream.close();
         if (outputStream != null) outputStream.close();
@@ -71,11 +105,55 @@ public class DobotSerialConnector {
         LOGGER.error("Error closing streams: {}", e.getMessage(), e);
       }
 
-      serialPort.closePort();
+      port.closePort();
       LOGGER.info("Disconnected from Dobot");
     }
   }
 
+  /**
+   * Closes and reopens the serial port last passed to {@link #connect(String, int)}.
+   *
+   * @return true if the port could be reopened, false otherwise
+   */
+  public synchronized boolean reconnect() {
+    if (portName == null) {
+      LOGGER.error("Cannot reconnect: No port was connected before");
+      return false;
+    }
+
+    LOGGER.warn("Reconnecting to Dobot on port: {}", portName);
+    disconnect();
+    if (!connect(portName, timeout)) {
+      notifyConnectionLost();
+      return false;
+    }
+    return true;
+  }
+
+  /**
+   * Discards all bytes waiting in the receive buffer. Used to resynchronize with the frame
+   * boundaries after a late or corrupted response.
+   */
+  public void clearInputBuffer() {
+    SerialPort port = serialPort;
+    if (port == null || !port.isOpen()) {
+      return;
+    }
+
+    try {
+      port.flushIOBuffers();
+
+      int available = inputStream.available();
+      while (available > 0) {
+        long skipped = inputStream.skip(available);
+        LOGGER.debug("Discarded {} stale bytes from input buffer", skipped);
+        available = skipped > 0 ? inputStream.available() : 0;
+      }
+    } catch (IOException e) {
+      LOGGER.error("Error clearing input buffer: {}", e.getMessage(), e);
+    }
+  }
+
   /**
    * Sends raw bytes to the device.
    *
@@ -83,7 +161,8 @@ public class DobotSerialConnector {
    * @return true if sending was successful, false otherwise
    */
   public boolean sendData(byte[] data) {
-    if (serialPort == null || !serialPort.isOpen()) {
+    SerialPort port = serialPort;
+    if (port == null || !port.isOpen()) {
       LOGGER.error("Cannot send data: Serial port not open");
       return false;
     }
@@ -97,6 +176,7 @@ public class DobotSerialConnector {
       return true;
     } catch (IOException e) {
       LOGGER.error("Error sending data: {}", e.getMessage(), e);
+      notifyConnectionLost();
       return false;
     }
   }
@@ -108,7 +188,8 @@ public class DobotSerialConnector {
    * @return byte array containing the read data, or null if no data available
    */
   public byte[] readData(int timeout) {
-    if (serialPort == null || !serialPort.isOpen()) {
+    SerialPort port = serialPort;
+    if (port == null || !port.isOpen()) {
       LOGGER.error("Cannot read data: Serial port not open");
       return null;
     }
@@ -153,9 +234,27 @@ public class DobotSerialConnector {
    * @return true if connected, false otherwise
    */
   public boolean isConnected() {
-    final boolean isConnected = serialPort != null && serialPort.isOpen();
+    SerialPort port = serialPort;
+    final boolean isConnected = port != null && port.isOpen();
     LOGGER.debug("Dobot connection status: {}", isConnected ? "Connected" : "Not Connected");
 
     return isConnected;
   }
+
+  /** Forwards the driver's disconnect notification to the connection lost listener. */
+  private final class PortDisconnectedListener implements SerialPortDataListener {
+
+    @Override
+    public int getListeningEvents() {
+      return SerialPort.LISTENING_EVENT_PORT_DISCONNECTED;
+    }
+
+    @Override
+    public void serialEvent(SerialPortEvent event) {
+      if (event.getEventType() == SerialPort.LISTENING_EVENT_PORT_DISCONNECTED) {
+        LOGGER.error("Serial port {} was disconnected", portName);
+        notifyConnectionLost();
+      }
+    }
+  }
 }
@@ -1,9 +1,30 @@
 package com.die_macher.pick_and_place.dobot.exception;
 
+import lombok.Getter;
+
 /** Exception thrown when communication with the Dobot device fails. */
+@Getter
 public class DobotCommunicationException extends Exception {
 
+  /** Classifies where in the request/response cycle the communication failed. */
+  public enum ErrorType {
+    NOT_CONNECTED,
+    CONNECTION_FAILED,
+    SEND_FAILED,
+    NO_RESPONSE,
+    INVALID_RESPONSE,
+    PARSE_FAILED,
+    UNKNOWN
+  }
+
+  private final ErrorType errorType;
+
   public DobotCommunicationException(String message) {
+    this(message, ErrorType.UNKNOWN);
+  }
+
+  public DobotCommunicationException(String message, ErrorType errorType) {
     super(message);
+    this.errorType = errorType;
   }
 }
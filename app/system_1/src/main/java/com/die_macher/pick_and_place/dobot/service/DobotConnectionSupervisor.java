@@ -0,0 +1,113 @@
+package com.die_macher.pick_and_place.dobot.service;
+
+import com.die_macher.pick_and_place.dobot.command.DobotCommandExecutor;
+import com.die_macher.pick_and_place.dobot.config.DobotProperties;
+import com.die_macher.pick_and_place.dobot.config.DobotSerialConnector;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Reopens the Dobot serial port in the background after it was lost. Attempts are repeated with
+ * exponential backoff until the port is open again and the restore action (ping, re-sending cached
+ * parameters) succeeds. Each attempt holds the command executor exclusively, so it never races a
+ * command or the executor's own reconnect.
+ */
+class DobotConnectionSupervisor {
+  private static final Logger LOGGER = LoggerFactory.getLogger(DobotConnectionSupervisor.class);
+
+  private final DobotSerialConnector connector;
+  private final DobotCommandExecutor commandExecutor;
+  private final DobotProperties properties;
+  private final BooleanSupplier restoreAction;
+  private final AtomicBoolean recovering = new AtomicBoolean(false);
+  private final ScheduledExecutorService scheduler =
+      Executors.newSingleThreadScheduledExecutor(
+          runnable -> {
+            Thread thread = new Thread(runnable, "dobot-connection-supervisor");
+            thread.setDaemon(true);
+            return thread;
+          });
+  private long nextDelayMillis;
+
+  /**
+   * @param connector the connector to watch and reopen
+   * @param commandExecutor the executor sending commands over the connector
+   * @param properties the Dobot properties providing port and backoff settings
+   * @param restoreAction invoked on the supervisor thread once the port is open again; returns
+   *     true when the Dobot is ready for work
+   */
+  DobotConnectionSupervisor(
+      DobotSerialConnector connector,
+      DobotCommandExecutor commandExecutor,
+      DobotProperties properties,
+      BooleanSupplier restoreAction) {
+    this.connector = connector;
+    this.commandExecutor = commandExecutor;
+    this.properties = properties;
+    this.restoreAction = restoreAction;
+  }
+
+  /** Subscribes to connection loss notifications of the connector. */
+  void start() {
+    connector.setConnectionLostListener(this::connectionLost);
+  }
+
+  /**
+   * Starts recovery unless it is already running. Safe to call from any thread, including the
+   * serial driver's event thread.
+   */
+  void connectionLost() {
+    if (scheduler.isShutdown() || !recovering.compareAndSet(false, true)) {
+      return;
+    }
+
+    LOGGER.warn("Dobot connection lost, starting reconnect supervisor");
+    scheduler.execute(this::attemptReconnect);
+  }
+
+  boolean isRecovering() {
+    return recovering.get();
+  }
+
+  /** Stops all pending reconnect attempts. */
+  void shutdown() {
+    connector.setConnectionLostListener(null);
+    scheduler.shutdownNow();
+  }
+
+  private void attemptReconnect() {
+    DobotProperties.Reconnect settings = properties.getReconnect();
+
+    try {
+      if (commandExecutor.runExclusively(this::reopen)) {
+        LOGGER.info("Dobot connection restored on port: {}", properties.getPortName());
+        nextDelayMillis = 0;
+        recovering.set(false);
+        return;
+      }
+    } catch (RuntimeException e) {
+      LOGGER.error("Error while reconnecting to Dobot: {}", e.getMessage(), e);
+    }
+
+    nextDelayMillis =
+        nextDelayMillis == 0
+            ? settings.getInitialDelayMillis()
+            : Math.min(nextDelayMillis * 2, settings.getMaxDelayMillis());
+    LOGGER.warn("Reconnect to Dobot failed, next attempt in {} ms", nextDelayMillis);
+
+    if (!scheduler.isShutdown()) {
+      scheduler.schedule(this::attemptReconnect, nextDelayMillis, TimeUnit.MILLISECONDS);
+    }
+  }
+
+  private boolean reopen() {
+    connector.disconnect();
+    return connector.connect(properties.getPortName(), properties.getTimeoutMillis())
+        && restoreAction.getAsBoolean();
+  }
+}
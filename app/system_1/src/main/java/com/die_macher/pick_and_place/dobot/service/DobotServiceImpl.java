@@ -16,6 +16,10 @@ import org.springframework.stereotype.Service;
 /**
  * Service implementation for interacting with the Dobot device. Manages connection, communication,
  * and execution of commands.
+ *
+ * <p>A {@link DobotConnectionSupervisor} reopens the serial port whenever it is lost or the initial
+ * connection fails. After reconnecting, the last home, movement and lift parameters are sent again
+ * and queue execution is resumed.
  */
 @Service
 public class DobotServiceImpl implements DobotService {
@@ -24,18 +28,32 @@ public class DobotServiceImpl implements DobotService {
   private final DobotProperties properties;
   private final DobotSerialConnector connector;
   private final DobotCommandExecutor commandExecutor;
-  private boolean isInitialized = false;
+  private final DobotConnectionSupervisor supervisor;
+  private volatile boolean isInitialized = false;
+
+  // Parameters re-sent after a reconnect, updated only once the Dobot accepted them
+  private volatile HomeParameters homeParameters;
+  private volatile MovementParameters movementParameters;
+  private volatile LiftParameters liftParameters;
 
   @Autowired
   public DobotServiceImpl(DobotProperties properties, DobotSerialConnector connector) {
     this.properties = properties;
     this.connector = connector;
-    this.commandExecutor = new DobotCommandExecutor(connector);
+    this.commandExecutor = new DobotCommandExecutor(connector, properties);
+    this.supervisor =
+        new DobotConnectionSupervisor(
+            connector, commandExecutor, properties, this::restoreConnection);
   }
 
-  /** Initializes the Dobot connection after the bean is created. */
+  /**
+   * Initializes the Dobot connection after the bean is created. If the Dobot cannot be reached, the
+   * connection supervisor keeps retrying in the background.
+   */
   @PostConstruct
   public void initialize() {
+    supervisor.start();
+
     try {
       connectToDobot();
 
@@ -53,14 +71,68 @@ public class DobotServiceImpl implements DobotService {
     } catch (Exception e) {
       LOGGER.error("Error initializing Dobot: {}", e.getMessage(), e);
     }
+
+    if (!isInitialized) {
+      supervisor.connectionLost();
+    }
   }
 
   /** Cleans up the connection to Dobot when the bean is destroyed. */
   @PreDestroy
   public void cleanup() {
+    supervisor.shutdown();
     disconnectFromDobot();
   }
 
+  /**
+   * Brings a reopened connection back into the state before the loss. Called by the connection
+   * supervisor on its own thread.
+   *
+   * @return true if the Dobot responds and all cached parameters were applied
+   */
+  private boolean restoreConnection() {
+    if (!pingDobot()) {
+      return false;
+    }
+
+    try {
+      HomeParameters home = homeParameters;
+      if (home != null
+          && !commandExecutor.setDefaultHomeCommand(
+              home.x(), home.y(), home.z(), home.r(), false)) {
+        LOGGER.warn("Dobot rejected the restored home parameters");
+        return false;
+      }
+
+      MovementParameters movement = movementParameters;
+      if (movement != null
+          && !commandExecutor.setMovementConfig(
+              movement.xyzVelocity(),
+              movement.rVelocity(),
+              movement.xyzAcceleration(),
+              movement.rAcceleration(),
+              false)) {
+        LOGGER.warn("Dobot rejected the restored movement parameters");
+        return false;
+      }
+
+      LiftParameters lift = liftParameters;
+      if (lift != null
+          && !commandExecutor.setLiftHeight(lift.jumpHeight(), lift.maxHeight(), false)) {
+        LOGGER.warn("Dobot rejected the restored lift parameters");
+        return false;
+      }
+
+      // The Dobot keeps its command queue while the USB link is down, resume executing it
+      commandExecutor.executeQueue();
+      isInitialized = true;
+      return true;
+    } catch (DobotCommunicationException e) {
+      LOGGER.warn("Failed to restore Dobot parameters: {}", e.getMessage(), e);
+      return false;
+    }
+  }
+
   /**
    * Connects to the Dobot device.
    *
@@ -77,7 +149,8 @@ public class DobotServiceImpl implements DobotService {
 
     if (!connected) {
       throw new DobotCommunicationException(
-          "Failed to connect to Dobot on port: " + properties.getPortName());
+          "Failed to connect to Dobot on port: " + properties.getPortName(),
+          DobotCommunicationException.ErrorType.CONNECTION_FAILED);
     }
   }
 
@@ -180,7 +253,11 @@ public class DobotServiceImpl implements DobotService {
           "Setting Dobot's relative lift height: {} with absolut max height {}",
           jumpHeight,
           maxHeight);
-      return commandExecutor.setLiftHeight(jumpHeight, maxHeight, true);
+      boolean result = commandExecutor.setLiftHeight(jumpHeight, maxHeight, true);
+      if (result) {
+        liftParameters = new LiftParameters(jumpHeight, maxHeight);
+      }
+      return result;
     } catch (DobotCommunicationException e) {
       LOGGER.error("Failed to set lift height: {}", e.getMessage(), e);
       return false;
@@ -245,7 +322,11 @@ public class DobotServiceImpl implements DobotService {
   public boolean setDefaultHome(float x, float y, float z, float r) {
     try {
       LOGGER.debug("Setting default home position for Dobot: [X={}, Y={}, Z={}, R={}]", x, y, z, r);
-      return commandExecutor.setDefaultHomeCommand(x, y, z, r, true);
+      boolean result = commandExecutor.setDefaultHomeCommand(x, y, z, r, true);
+      if (result) {
+        homeParameters = new HomeParameters(x, y, z, r);
+      }
+      return result;
     } catch (DobotCommunicationException e) {
       LOGGER.error("Failed to set default home: {}", e.getMessage(), e);
       return false;
@@ -273,8 +354,14 @@ public class DobotServiceImpl implements DobotService {
           xyzAcceleration,
           rAcceleration);
 
-      return commandExecutor.setMovementConfig(
-          xyzVelocity, rVelocity, xyzAcceleration, rAcceleration, true);
+      boolean result =
+          commandExecutor.setMovementConfig(
+              xyzVelocity, rVelocity, xyzAcceleration, rAcceleration, true);
+      if (result) {
+        movementParameters =
+            new MovementParameters(xyzVelocity, rVelocity, xyzAcceleration, rAcceleration);
+      }
+      return result;
     } catch (DobotCommunicationException e) {
       LOGGER.error("Failed to set movement configuration: {}", e.getMessage(), e);
       return false;
@@ -329,4 +416,11 @@ public class DobotServiceImpl implements DobotService {
       return false;
     }
   }
+
+  private record HomeParameters(float x, float y, float z, float r) {}
+
+  private record MovementParameters(
+      float xyzVelocity, float rVelocity, float xyzAcceleration, float rAcceleration) {}
+
+  private record LiftParameters(float jumpHeight, float maxHeight) {}
 }
@@ -1,30 +1,122 @@
 package com.die_macher.pick_and_place.service;
 
 import com.die_macher.pick_and_place.config.RobotConfiguration;
+import java.util.Arrays;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+/**
+ * Heights for approaching, picking and lifting cubes. The configuration does not change at
+ * runtime, so all heights for stack positions below {@link #TABLE_SIZE} are computed once when the
+ * calculator is created and movements only look them up. Positions outside the tables fall back to
+ * the same arithmetic.
+ */
 @Service
 public class HeightCalculator {
+  /** Number of stack positions covered by the lookup tables. */
+  public static final int TABLE_SIZE = 16;
+
   private final RobotConfiguration.PhysicalConstants constants;
+  private final float cameraHeight;
+
+  private final float[] approachHeights = new float[TABLE_SIZE];
+  private final float[] pickupHeights = new float[TABLE_SIZE];
+
+  /** Lift for the jump from the camera to a stack, indexed by the highest stack. */
+  private final float[] cameraToStackLiftHeights = new float[TABLE_SIZE];
+
+  /** Lift for the jump from a stack back to the start, indexed by stack and highest stack. */
+  private final float[][] stackToStartLiftHeights = new float[TABLE_SIZE][TABLE_SIZE];
 
   @Autowired
   public HeightCalculator(RobotConfiguration config) {
     this.constants = config.physicalConstants();
+    this.cameraHeight = config.positions().camera().z();
+
+    for (int position = 0; position < TABLE_SIZE; position++) {
+      approachHeights[position] = computeApproachHeight(position);
+      pickupHeights[position] = computePickupHeight(position);
+    }
+    for (int maxStack = 0; maxStack < TABLE_SIZE; maxStack++) {
+      cameraToStackLiftHeights[maxStack] = calculateLiftHeight(cameraHeight, maxStack);
+      for (int position = 0; position < TABLE_SIZE; position++) {
+        stackToStartLiftHeights[position][maxStack] =
+            calculateLiftHeight(pickupHeights[position], maxStack);
+      }
+    }
   }
 
   public float calculateApproachHeight(int stackPosition) {
-    return stackPosition * constants.cubeHeight() + constants.offset() + constants.absoluteFloor();
+    return inTable(stackPosition)
+        ? approachHeights[stackPosition]
+        : computeApproachHeight(stackPosition);
   }
 
   public float calculatePickupHeight(int stackPosition) {
-    return stackPosition * constants.cubeHeight()
-        + constants.absoluteFloor()
-        - stackPosition * 0.75F;
+    return inTable(stackPosition)
+        ? pickupHeights[stackPosition]
+        : computePickupHeight(stackPosition);
   }
 
   public float calculateLiftHeight(float prevHeight, int stackPosition) {
     float rawLift = (stackPosition * constants.cubeHeight() + constants.cubeHeight()) - prevHeight;
     return Math.max(rawLift, 0f);
   }
+
+  /**
+   * Returns the lift height for jumping from the camera to a stack.
+   *
+   * @param maxStackHeight height of the highest stack the jump has to clear
+   * @return lift height
+   */
+  public float calculateCameraToStackLiftHeight(int maxStackHeight) {
+    return inTable(maxStackHeight)
+        ? cameraToStackLiftHeights[maxStackHeight]
+        : calculateLiftHeight(cameraHeight, maxStackHeight);
+  }
+
+  /**
+   * Returns the lift height for jumping from a stack back to the start point.
+   *
+   * @param stackPosition position the cube was placed at
+   * @param maxStackHeight height of the highest stack the jump has to clear
+   * @return lift height
+   */
+  public float calculateStackToStartLiftHeight(int stackPosition, int maxStackHeight) {
+    return inTable(stackPosition) && inTable(maxStackHeight)
+        ? stackToStartLiftHeights[stackPosition][maxStackHeight]
+        : calculateLiftHeight(calculatePickupHeight(stackPosition), maxStackHeight);
+  }
+
+  /**
+   * Returns a copy of the precomputed approach heights, indexed by stack position.
+   *
+   * @return approach heights for positions 0 to {@link #TABLE_SIZE} - 1
+   */
+  public float[] getApproachHeights() {
+    return Arrays.copyOf(approachHeights, TABLE_SIZE);
+  }
+
+  /**
+   * Returns a copy of the precomputed pickup heights, indexed by stack position.
+   *
+   * @return pickup heights for positions 0 to {@link #TABLE_SIZE} - 1
+   */
+  public float[] getPickupHeights() {
+    return Arrays.copyOf(pickupHeights, TABLE_SIZE);
+  }
+
+  private float computeApproachHeight(int stackPosition) {
+    return stackPosition * constants.cubeHeight() + constants.offset() + constants.absoluteFloor();
+  }
+
+  private float computePickupHeight(int stackPosition) {
+    return stackPosition * constants.cubeHeight()
+        + constants.absoluteFloor()
+        - stackPosition * 0.75F;
+  }
+
+  private static boolean inTable(int stackPosition) {
+    return stackPosition >= 0 && stackPosition < TABLE_SIZE;
+  }
 }
@@ -1,5 +1,6 @@
 package com.die_macher.pick_and_place.service;
 
+import com.die_macher.pick_and_place.config.PickAndPlaceTimings;
 import com.die_macher.pick_and_place.event.api.ImageReceivedEvent;
 import com.die_macher.pick_and_place.event.api.ImageRequestedEvent;
 import com.die_macher.pick_and_place.model.StackInfo;
@@ -18,15 +19,12 @@ import org.springframework.stereotype.Service;
 @Service
 public class PickAndPlaceOrchestrator {
   private static final Logger LOGGER = LoggerFactory.getLogger(PickAndPlaceOrchestrator.class);
-  private static final int COLOR_DETECTION_TIMEOUT_SECONDS = 10;
-  private static final int CAMERA_STABILIZATION_TIME_MS = 10000;
-  private static final int RETURN_STABILIZATION_TIME_MS = 10000;
-  private static final int INITIAL_STABILIZATION_TIME_MS = 25000;
 
   private final RobotMovementService robotMovementService;
   private final StackTracker stackTracker;
   private final ApplicationEventPublisher eventPublisher;
   private final ColorDetectionService colorDetectionService;
+  private final PickAndPlaceTimings timings;
   private final AtomicInteger eventIdCounter = new AtomicInteger(1);
 
   // Track pending color detections
@@ -38,11 +36,13 @@ public class PickAndPlaceOrchestrator {
       RobotMovementService robotMovementService,
       StackTracker stackTracker,
       ColorDetectionService colorDetectionService,
-      ApplicationEventPublisher eventPublisher) {
+      ApplicationEventPublisher eventPublisher,
+      PickAndPlaceTimings timings) {
     this.robotMovementService = robotMovementService;
     this.stackTracker = stackTracker;
     this.eventPublisher = eventPublisher;
     this.colorDetectionService = colorDetectionService;
+    this.timings = timings;
   }
 
   public void startPickAndPlace(int cubeStackCount) {
@@ -51,7 +51,7 @@ public class PickAndPlaceOrchestrator {
     try {
       robotMovementService.initialize();
       stackTracker.reset();
-      Thread.sleep(INITIAL_STABILIZATION_TIME_MS);
+      Thread.sleep(timings.initialStabilization().toMillis());
 
       for (int cubePosition = cubeStackCount; cubePosition > 0; cubePosition--) {
         processCube(cubePosition);
@@ -75,7 +75,7 @@ public class PickAndPlaceOrchestrator {
       robotMovementService.moveToCamera();
 
       // Wait for robot to stabilize
-      Thread.sleep(CAMERA_STABILIZATION_TIME_MS);
+      Thread.sleep(timings.cameraStabilization().toMillis());
 
       // Request color detection
       Color detectedColor = requestColorDetection();
@@ -88,7 +88,7 @@ public class PickAndPlaceOrchestrator {
           Math.max(stackTracker.getMaxStackHeight(), cubePosition));
 
       // Wait for robot to go to init position
-      Thread.sleep(RETURN_STABILIZATION_TIME_MS);
+      Thread.sleep(timings.returnStabilization().toMillis());
     } catch (Exception e) {
       LOGGER.error("Error processing cube at position {}", cubePosition, e);
       throw new RuntimeException("Failed to process cube", e);
@@ -104,7 +104,7 @@ public class PickAndPlaceOrchestrator {
     eventPublisher.publishEvent(new ImageRequestedEvent(this, eventId));
 
     try {
-      return colorFuture.get(COLOR_DETECTION_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+      return colorFuture.get(timings.colorDetectionTimeout().toMillis(), TimeUnit.MILLISECONDS);
     } catch (Exception e) {
       pendingDetections.remove(eventId);
       throw new RuntimeException("Color detection timeout or failed for cube " + eventId, e);
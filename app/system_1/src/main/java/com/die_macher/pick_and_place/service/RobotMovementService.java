@@ -88,7 +88,7 @@ public class RobotMovementService {
     setFastMovement();
 
     dobotService.setLiftHeight(
-        heightCalculator.calculateLiftHeight(config.positions().camera().z(), maxStackHeight),
+        heightCalculator.calculateCameraToStackLiftHeight(maxStackHeight),
         config.physicalConstants().maxHeight());
 
     Position targetPosition = getPositionForColor(color);
@@ -114,8 +114,7 @@ public class RobotMovementService {
     setFastMovement();
 
     dobotService.setLiftHeight(
-        heightCalculator.calculateLiftHeight(
-            heightCalculator.calculatePickupHeight(stackHeight), maxStackHeight),
+        heightCalculator.calculateStackToStartLiftHeight(stackHeight, maxStackHeight),
         config.physicalConstants().maxHeight());
 
     Position startPoint = config.positions().startPoint();
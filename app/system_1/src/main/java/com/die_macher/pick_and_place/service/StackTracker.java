@@ -3,37 +3,46 @@ package com.die_macher.pick_and_place.service;
 import com.die_macher.pick_and_place.model.StackInfo;
 import java.awt.*;
 import java.util.List;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
 import org.springframework.stereotype.Service;
 
+/**
+ * Tracks the height of every color stack. Heights live in an {@link AtomicIntegerArray} indexed by
+ * the position of the color in {@link #SUPPORTED_COLORS}, and the highest stack is maintained on
+ * every update, so several pipelines can add cubes concurrently without locking or boxing.
+ */
 @Service
 public class StackTracker {
   private static final List<Color> SUPPORTED_COLORS =
       List.of(Color.RED, Color.GREEN, Color.BLUE, Color.YELLOW);
 
-  private final Map<Color, Integer> colorStacks = new ConcurrentHashMap<>();
-
-  public StackTracker() {
-    // Initialize all stacks to 0
-    for (Color color : SUPPORTED_COLORS) {
-      colorStacks.put(color, 0);
-    }
-  }
+  private final AtomicIntegerArray colorStacks = new AtomicIntegerArray(SUPPORTED_COLORS.size());
+  private final AtomicInteger maxStackHeight = new AtomicInteger();
 
   public StackInfo addCube(Color color) {
-    int newHeight = colorStacks.merge(color, 1, Integer::sum);
+    int newHeight = colorStacks.incrementAndGet(indexOf(color));
+    maxStackHeight.accumulateAndGet(newHeight, Math::max);
     return new StackInfo(color, newHeight);
   }
 
+  /** Empties all stacks. Not meant to run concurrently with {@link #addCube(Color)}. */
   public void reset() {
-    colorStacks.replaceAll((k, v) -> 0);
+    for (int i = 0; i < colorStacks.length(); i++) {
+      colorStacks.set(i, 0);
+    }
+    maxStackHeight.set(0);
   }
 
   public int getMaxStackHeight() {
-    return colorStacks.values().stream()
-        .mapToInt(Integer::intValue)
-        .max()
-        .orElse(0); // Return 0 if map is empty
+    return maxStackHeight.get();
+  }
+
+  private static int indexOf(Color color) {
+    int index = SUPPORTED_COLORS.indexOf(color);
+    if (index < 0) {
+      throw new IllegalArgumentException("Unsupported color: " + color);
+    }
+    return index;
   }
 }
@@ -1,209 +1,285 @@
 package com.die_macher.awattar.client;
 
 import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.ArgumentMatchers.anyString;
-import static org.mockito.ArgumentMatchers.eq;
-import static org.mockito.Mockito.*;
 
 import com.die_macher.awattar.config.AwattarConfig;
-import com.die_macher.awattar.dto.MarketDataDto;
-import com.die_macher.awattar.dto.MarketPriceDto;
-import java.util.Arrays;
-import java.util.List;
+import com.die_macher.awattar.config.AwattarHttpClientConfig;
+import com.die_macher.awattar.model.MarketPriceSeries;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.GZIPOutputStream;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
-import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.ArgumentCaptor;
-import org.mockito.Mock;
-import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.http.HttpStatus;
-import org.springframework.http.ResponseEntity;
-import org.springframework.web.client.HttpClientErrorException;
-import org.springframework.web.client.ResourceAccessException;
-import org.springframework.web.client.RestTemplate;
-
-@ExtendWith(MockitoExtension.class)
-class AwattarApiClientTest {
-
-  @Mock private RestTemplate restTemplate;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 
-  @Mock private AwattarConfig config;
-
-  private AwattarApiClient apiClient;
+class AwattarApiClientTest {
 
-  private static final String API_BASE_URL = "https://api.awattar.at/v1/marketdata";
   private static final long START_MILLIS = 1609459200000L; // 2021-01-01 00:00:00
   private static final long END_MILLIS = START_MILLIS + 24 * 60 * 60 * 1000; // 24 hours later
+  private static final String SAMPLE_JSON =
+      "{\"object\":\"list\",\"data\":["
+          + "{\"start_timestamp\":1609459200000,\"end_timestamp\":1609462800000,"
+          + "\"marketprice\":42.42,\"unit\":\"Eur/MWh\"},"
+          + "{\"start_timestamp\":1609462800000,\"end_timestamp\":1609466400000,"
+          + "\"marketprice\":45.67,\"unit\":\"Eur/MWh\"}],"
+          + "\"url\":\"/de/v1/marketdata\"}";
+
+  private HttpServer server;
+  private AwattarConfig config;
+  private AwattarApiClient apiClient;
+  private final AtomicReference<String> lastQuery = new AtomicReference<>();
+  private final AtomicReference<String> lastAcceptEncoding = new AtomicReference<>();
 
   @BeforeEach
-  void setUp() {
-    when(config.getApiBaseUrl()).thenReturn(API_BASE_URL);
-    apiClient = new AwattarApiClient(restTemplate, config);
+  void setUp() throws IOException {
+    server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+    server.start();
+
+    config = new AwattarConfig();
+    config.setApiBaseUrl("http://localhost:" + server.getAddress().getPort() + "/v1/marketdata");
+    config.setRequestTimeout(Duration.ofMillis(500));
+    apiClient = createClient();
+  }
+
+  @AfterEach
+  void tearDown() {
+    server.stop(0);
+  }
+
+  private AwattarApiClient createClient() {
+    ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    return new AwattarApiClient(
+        new AwattarHttpClientConfig().awattarHttpClient(config), objectMapper, config);
+  }
+
+  private void respondWith(int status, byte[] body, boolean gzip) {
+    server.createContext(
+        "/v1/marketdata",
+        exchange -> {
+          lastQuery.set(exchange.getRequestURI().getQuery());
+          lastAcceptEncoding.set(exchange.getRequestHeaders().getFirst("Accept-Encoding"));
+          if (gzip) {
+            exchange.getResponseHeaders().add("Content-Encoding", "gzip");
+          }
+          exchange.getResponseHeaders().add("Content-Type", "application/json");
+          send(exchange, status, body);
+        });
+  }
+
+  private static void send(HttpExchange exchange, int status, byte[] body) throws IOException {
+    exchange.sendResponseHeaders(status, body.length == 0 ? -1 : body.length);
+    try (OutputStream out = exchange.getResponseBody()) {
+      out.write(body);
+    }
+  }
+
+  private static byte[] gzip(String text) throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+      out.write(text.getBytes(StandardCharsets.UTF_8));
+    }
+    return bytes.toByteArray();
   }
 
   @Test
   @DisplayName("Sollte Marktdaten erfolgreich abrufen, wenn API-Aufruf erfolgreich ist")
   void fetchMarketDataFor_WhenApiCallSucceeds_ShouldReturnMarketData() {
     // Arrange
-    MarketDataDto expectedData = createSampleMarketData();
-    ResponseEntity<MarketDataDto> responseEntity =
-        new ResponseEntity<>(expectedData, HttpStatus.OK);
-
-    String expectedUrl = API_BASE_URL + "?start=" + START_MILLIS + "&end=" + END_MILLIS;
-    when(restTemplate.getForEntity(eq(expectedUrl), eq(MarketDataDto.class)))
-        .thenReturn(responseEntity);
+    respondWith(200, SAMPLE_JSON.getBytes(StandardCharsets.UTF_8), false);
 
     // Act
-    MarketDataDto result = apiClient.fetchMarketDataFor(START_MILLIS);
+    MarketPriceSeries result = apiClient.fetchMarketDataFor(START_MILLIS);
 
     // Assert
     assertNotNull(result, "Das Ergebnis sollte nicht null sein");
-    assertEquals(expectedData, result, "Das Ergebnis sollte den erwarteten Daten entsprechen");
-    assertEquals(2, result.getData().size(), "Die Anzahl der Preisdaten sollte korrekt sein");
-
-    // Verify
-    verify(restTemplate).getForEntity(eq(expectedUrl), eq(MarketDataDto.class));
-    verify(config).getApiBaseUrl();
+    assertEquals("list", result.getObject());
+    assertEquals(2, result.size(), "Die Anzahl der Preisdaten sollte korrekt sein");
+    assertEquals("Eur/MWh", result.getUnit());
+    assertEquals(START_MILLIS, result.getStartTimestamp(0));
+    assertEquals(START_MILLIS + 2 * 60 * 60 * 1000, result.getEndTimestamp(1));
+    assertEquals(45.67, result.getMarketprice(1), 0.0);
   }
 
   @Test
   @DisplayName("Sollte URL mit korrekten Start- und Endparametern erstellen")
   void fetchMarketDataFor_ShouldCreateCorrectUrlWithStartAndEndParameters() {
     // Arrange
-    when(restTemplate.getForEntity(anyString(), eq(MarketDataDto.class)))
-        .thenReturn(new ResponseEntity<>(new MarketDataDto(), HttpStatus.OK));
+    respondWith(200, SAMPLE_JSON.getBytes(StandardCharsets.UTF_8), false);
 
     // Act
     apiClient.fetchMarketDataFor(START_MILLIS);
 
-    // Assert & Verify
-    ArgumentCaptor<String> urlCaptor = ArgumentCaptor.forClass(String.class);
-    verify(restTemplate).getForEntity(urlCaptor.capture(), eq(MarketDataDto.class));
-
-    String capturedUrl = urlCaptor.getValue();
-    assertTrue(
-        capturedUrl.contains("start=" + START_MILLIS),
-        "URL sollte den korrekten Start-Parameter enthalten");
-    assertTrue(
-        capturedUrl.contains("end=" + END_MILLIS),
-        "URL sollte den korrekten End-Parameter enthalten");
+    // Assert
+    assertEquals("start=" + START_MILLIS + "&end=" + END_MILLIS, lastQuery.get());
   }
 
   @Test
-  @DisplayName("Sollte null zurückgeben, wenn API-Aufruf eine HttpClientErrorException wirft")
-  void fetchMarketDataFor_WhenHttpClientErrorExceptionOccurs_ShouldReturnNull() {
+  @DisplayName("Sollte gzip-komprimierte Antworten anfordern und dekodieren")
+  void fetchMarketDataFor_WhenResponseIsGzipped_ShouldDecodeBody() throws IOException {
     // Arrange
-    String expectedUrl = API_BASE_URL + "?start=" + START_MILLIS + "&end=" + END_MILLIS;
-    when(restTemplate.getForEntity(eq(expectedUrl), eq(MarketDataDto.class)))
-        .thenThrow(new HttpClientErrorException(HttpStatus.NOT_FOUND));
+    respondWith(200, gzip(SAMPLE_JSON), true);
 
     // Act
-    MarketDataDto result = apiClient.fetchMarketDataFor(START_MILLIS);
+    MarketPriceSeries result = apiClient.fetchMarketDataFor(START_MILLIS);
 
     // Assert
-    assertNull(
-        result, "Das Ergebnis sollte null sein, wenn eine HttpClientErrorException auftritt");
-
-    // Verify
-    verify(restTemplate).getForEntity(eq(expectedUrl), eq(MarketDataDto.class));
+    assertEquals("gzip", lastAcceptEncoding.get());
+    assertNotNull(result);
+    assertEquals(2, result.size());
   }
 
   @Test
-  @DisplayName("Sollte null zurückgeben, wenn API-Aufruf eine ResourceAccessException wirft")
-  void fetchMarketDataFor_WhenResourceAccessExceptionOccurs_ShouldReturnNull() {
+  @DisplayName("Sollte unbekannte und verschachtelte Felder beim Streaming überspringen")
+  void fetchMarketDataFor_WhenResponseHasUnknownFields_ShouldSkipThem() {
     // Arrange
-    String expectedUrl = API_BASE_URL + "?start=" + START_MILLIS + "&end=" + END_MILLIS;
-    when(restTemplate.getForEntity(eq(expectedUrl), eq(MarketDataDto.class)))
-        .thenThrow(new ResourceAccessException("Connection refused"));
+    String json =
+        "{\"meta\":{\"source\":[1,2,{\"x\":null}]},\"object\":\"list\",\"data\":["
+            + "{\"extra\":{\"nested\":[3]},\"start_timestamp\":1609459200000,"
+            + "\"end_timestamp\":1609462800000,\"marketprice\":42.42,\"unit\":\"Eur/MWh\"}]}";
+    respondWith(200, json.getBytes(StandardCharsets.UTF_8), false);
 
     // Act
-    MarketDataDto result = apiClient.fetchMarketDataFor(START_MILLIS);
+    MarketPriceSeries result = apiClient.fetchMarketDataFor(START_MILLIS);
 
     // Assert
-    assertNull(result, "Das Ergebnis sollte null sein, wenn eine ResourceAccessException auftritt");
-
-    // Verify
-    verify(restTemplate).getForEntity(eq(expectedUrl), eq(MarketDataDto.class));
+    assertNotNull(result);
+    assertEquals("list", result.getObject());
+    assertEquals(1, result.size());
+    assertEquals(42.42, result.getMarketprice(0), 0.0);
   }
 
   @Test
-  @DisplayName("Sollte null zurückgeben, wenn API-Antwort einen null-Body hat")
-  void fetchMarketDataFor_WhenResponseBodyIsNull_ShouldReturnNull() {
+  @DisplayName("Sollte null zurückgeben, wenn die API einen Fehlerstatus liefert")
+  void fetchMarketDataFor_WhenApiReturnsErrorStatus_ShouldReturnNull() {
     // Arrange
-    ResponseEntity<MarketDataDto> responseEntity = new ResponseEntity<>(null, HttpStatus.OK);
-    String expectedUrl = API_BASE_URL + "?start=" + START_MILLIS + "&end=" + END_MILLIS;
-    when(restTemplate.getForEntity(eq(expectedUrl), eq(MarketDataDto.class)))
-        .thenReturn(responseEntity);
+    respondWith(404, new byte[0], false);
 
     // Act
-    MarketDataDto result = apiClient.fetchMarketDataFor(START_MILLIS);
+    MarketPriceSeries result = apiClient.fetchMarketDataFor(START_MILLIS);
 
     // Assert
-    assertNull(result, "Das Ergebnis sollte null sein, wenn der Response-Body null ist");
-
-    // Verify
-    verify(restTemplate).getForEntity(eq(expectedUrl), eq(MarketDataDto.class));
+    assertNull(result, "Das Ergebnis sollte null sein, wenn die API einen Fehler liefert");
   }
 
   @Test
-  @DisplayName("Sollte null zurückgeben, wenn eine allgemeine Exception auftritt")
-  void fetchMarketDataFor_WhenGeneralExceptionOccurs_ShouldReturnNull() {
+  @DisplayName("Sollte null zurückgeben, wenn keine Verbindung aufgebaut werden kann")
+  void fetchMarketDataFor_WhenConnectionRefused_ShouldReturnNull() throws IOException {
     // Arrange
-    String expectedUrl = API_BASE_URL + "?start=" + START_MILLIS + "&end=" + END_MILLIS;
-    when(restTemplate.getForEntity(eq(expectedUrl), eq(MarketDataDto.class)))
-        .thenThrow(new RuntimeException("Unerwarteter Fehler"));
+    int closedPort;
+    try (ServerSocket socket = new ServerSocket(0)) {
+      closedPort = socket.getLocalPort();
+    }
+    config.setApiBaseUrl("http://localhost:" + closedPort + "/v1/marketdata");
 
     // Act
-    MarketDataDto result = apiClient.fetchMarketDataFor(START_MILLIS);
+    MarketPriceSeries result = apiClient.fetchMarketDataFor(START_MILLIS);
 
     // Assert
-    assertNull(result, "Das Ergebnis sollte null sein, wenn eine allgemeine Exception auftritt");
+    assertNull(result, "Das Ergebnis sollte null sein, wenn die Verbindung abgelehnt wird");
+  }
 
-    // Verify
-    verify(restTemplate).getForEntity(eq(expectedUrl), eq(MarketDataDto.class));
+  @Test
+  @DisplayName("Sollte null zurückgeben, wenn API-Antwort einen leeren Body hat")
+  void fetchMarketDataFor_WhenResponseBodyIsEmpty_ShouldReturnNull() {
+    // Arrange
+    respondWith(200, new byte[0], false);
+
+    // Act
+    MarketPriceSeries result = apiClient.fetchMarketDataFor(START_MILLIS);
+
+    // Assert
+    assertNull(result, "Das Ergebnis sollte null sein, wenn der Response-Body leer ist");
   }
 
   @Test
-  @DisplayName("Sollte korrekte Endzeit berechnen (24 Stunden nach Startzeit)")
-  void fetchMarketDataFor_ShouldCalculateCorrectEndTime() {
+  @DisplayName("Sollte null zurückgeben, wenn die Antwort kein gültiges JSON ist")
+  void fetchMarketDataFor_WhenResponseIsInvalid_ShouldReturnNull() {
     // Arrange
-    when(restTemplate.getForEntity(anyString(), eq(MarketDataDto.class)))
-        .thenReturn(new ResponseEntity<>(new MarketDataDto(), HttpStatus.OK));
+    respondWith(200, "<html>maintenance</html>".getBytes(StandardCharsets.UTF_8), false);
 
     // Act
-    apiClient.fetchMarketDataFor(START_MILLIS);
+    MarketPriceSeries result = apiClient.fetchMarketDataFor(START_MILLIS);
 
-    // Assert & Verify
-    ArgumentCaptor<String> urlCaptor = ArgumentCaptor.forClass(String.class);
-    verify(restTemplate).getForEntity(urlCaptor.capture(), eq(MarketDataDto.class));
+    // Assert
+    assertNull(result, "Das Ergebnis sollte null sein, wenn die Antwort ungültig ist");
+  }
 
-    String capturedUrl = urlCaptor.getValue();
-    assertTrue(
-        capturedUrl.contains("end=" + END_MILLIS),
-        "URL sollte den korrekten End-Parameter enthalten (24 Stunden nach Start)");
+  @Test
+  @DisplayName("Sollte nach dem Request-Timeout abbrechen, wenn die API nicht antwortet")
+  void fetchMarketDataFor_WhenApiIsSlow_ShouldGiveUpAfterTimeout() {
+    // Arrange
+    server.createContext(
+        "/v1/marketdata",
+        exchange -> {
+          try {
+            Thread.sleep(5_000);
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+          exchange.close();
+        });
+
+    // Act
+    long started = System.nanoTime();
+    MarketPriceSeries result = apiClient.fetchMarketDataFor(START_MILLIS);
+    long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+
+    // Assert
+    assertNull(result, "Das Ergebnis sollte null sein, wenn das Timeout überschritten wird");
+    assertTrue(elapsedMillis < 3_000, "Der Aufruf sollte nach dem Timeout abbrechen");
   }
 
-  /** Hilfsmethode zum Erstellen von Beispiel-Marktdaten für Tests */
-  private MarketDataDto createSampleMarketData() {
-    MarketDataDto marketData = new MarketDataDto();
-    marketData.setObject("list");
+  @Test
+  @DisplayName("Sollte Marktdaten asynchron abrufen")
+  void fetchMarketDataForAsync_ShouldCompleteWithMarketData() throws Exception {
+    // Arrange
+    respondWith(200, SAMPLE_JSON.getBytes(StandardCharsets.UTF_8), false);
 
-    MarketPriceDto price1 = new MarketPriceDto();
-    price1.setStart_timestamp(START_MILLIS);
-    price1.setEnd_timestamp(START_MILLIS + 3600000); // 1 hour later
-    price1.setMarketprice(42.42);
-    price1.setUnit("EUR/MWh");
+    // Act
+    CompletableFuture<MarketPriceSeries> future = apiClient.fetchMarketDataForAsync(START_MILLIS);
 
-    MarketPriceDto price2 = new MarketPriceDto();
-    price2.setStart_timestamp(START_MILLIS + 3600000);
-    price2.setEnd_timestamp(START_MILLIS + 7200000); // 2 hours later
-    price2.setMarketprice(45.67);
-    price2.setUnit("EUR/MWh");
+    // Assert
+    assertEquals(2, future.get().size());
+  }
 
-    List<MarketPriceDto> priceList = Arrays.asList(price1, price2);
-    marketData.setData(priceList);
+  @Test
+  @DisplayName("Asynchroner Abruf sollte mit TimeoutException fehlschlagen")
+  void fetchMarketDataForAsync_WhenApiIsSlow_ShouldFailWithTimeout() {
+    // Arrange
+    server.createContext(
+        "/v1/marketdata",
+        exchange -> {
+          try {
+            Thread.sleep(5_000);
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+          exchange.close();
+        });
+
+    // Act
+    CompletableFuture<MarketPriceSeries> future = apiClient.fetchMarketDataForAsync(START_MILLIS);
 
-    return marketData;
+    // Assert
+    ExecutionException exception = assertThrows(ExecutionException.class, future::get);
+    assertTrue(
+        exception.getCause() instanceof TimeoutException
+            || exception.getCause() instanceof HttpTimeoutException,
+        "Die Ursache sollte ein Timeout sein");
   }
 }
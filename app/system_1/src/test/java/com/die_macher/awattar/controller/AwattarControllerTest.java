@@ -5,8 +5,10 @@ import static org.mockito.Mockito.*;
 
 import com.die_macher.awattar.model.MarketData;
 import com.die_macher.awattar.model.MarketData.MarketPrice;
+import com.die_macher.awattar.model.MarketDataStatus;
 import com.die_macher.awattar.model.OptimalProductionWindow;
 import com.die_macher.awattar.service.AwattarService;
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
@@ -16,6 +18,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
@@ -191,7 +194,7 @@ class AwattarControllerTest {
 
     // Act
     ResponseEntity<OptimalProductionWindow> response =
-        awattarController.getOptimalProductionWindow();
+        awattarController.getOptimalProductionWindow(null, true);
 
     // Assert
     assertEquals(HttpStatus.OK, response.getStatusCode(), "Der Status-Code sollte OK sein");
@@ -214,7 +217,7 @@ class AwattarControllerTest {
 
     // Act
     ResponseEntity<OptimalProductionWindow> response =
-        awattarController.getOptimalProductionWindow();
+        awattarController.getOptimalProductionWindow(null, true);
 
     // Assert
     assertEquals(
@@ -224,4 +227,110 @@ class AwattarControllerTest {
     // Verify
     verify(awattarService).getOptimalProductionWindow();
   }
+
+  @Test
+  @DisplayName("getOptimalProductionWindow sollte die angefragte Dauer an den Service weitergeben")
+  void getOptimalProductionWindow_WithDuration_ShouldUseRequestedDuration() {
+    // Arrange
+    when(awattarService.getOptimalProductionWindow(5, false)).thenReturn(optimalWindow);
+
+    // Act
+    ResponseEntity<OptimalProductionWindow> response =
+        awattarController.getOptimalProductionWindow(5, false);
+
+    // Assert
+    assertEquals(HttpStatus.OK, response.getStatusCode(), "Der Status-Code sollte OK sein");
+    assertEquals(optimalWindow, response.getBody());
+
+    // Verify
+    verify(awattarService, never()).getOptimalProductionWindow();
+  }
+
+  @Test
+  @DisplayName("getOptimalProductionWindow sollte 400 bei ungültiger Dauer zurückgeben")
+  void getOptimalProductionWindow_WithInvalidDuration_ShouldReturnBadRequest() {
+    // Act
+    ResponseEntity<OptimalProductionWindow> response =
+        awattarController.getOptimalProductionWindow(0, true);
+
+    // Assert
+    assertEquals(
+        HttpStatus.BAD_REQUEST,
+        response.getStatusCode(),
+        "Der Status-Code sollte BAD_REQUEST sein");
+    verifyNoInteractions(awattarService);
+  }
+
+  @Test
+  @DisplayName("getOptimalProductionWindow sollte 503 zurückgeben, solange Daten geladen werden")
+  void getOptimalProductionWindow_WhileLoading_ShouldReturnServiceUnavailable() {
+    // Arrange
+    when(awattarService.getOptimalProductionWindow()).thenReturn(null);
+    when(awattarService.getMarketDataStatus()).thenReturn(MarketDataStatus.PENDING);
+
+    // Act
+    ResponseEntity<OptimalProductionWindow> response =
+        awattarController.getOptimalProductionWindow(null, true);
+
+    // Assert
+    assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+    assertNotNull(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+    assertNull(response.getBody());
+  }
+
+  @Test
+  @DisplayName("getMarketDataStatus sollte den Ladezustand zurückgeben")
+  void getMarketDataStatus_ShouldReturnStatus() {
+    // Arrange
+    when(awattarService.getMarketDataStatus()).thenReturn(MarketDataStatus.READY);
+
+    // Act
+    ResponseEntity<MarketDataStatus> response = awattarController.getMarketDataStatus();
+
+    // Assert
+    assertEquals(HttpStatus.OK, response.getStatusCode());
+    assertEquals(MarketDataStatus.READY, response.getBody());
+  }
+
+  @Test
+  @DisplayName("getPriceHistory sollte gespeicherte Preise für den Zeitraum zurückgeben")
+  void getPriceHistory_WhenPricesStored_ShouldReturnOk() {
+    // Arrange
+    when(awattarService.getPriceHistory(anyLong(), anyLong())).thenReturn(List.of(marketPrice));
+
+    // Act
+    ResponseEntity<MarketData> response =
+        awattarController.getPriceHistory(LocalDate.of(2021, 1, 1), LocalDate.of(2021, 1, 31));
+
+    // Assert
+    assertEquals(HttpStatus.OK, response.getStatusCode());
+    assertNotNull(response.getBody());
+    assertEquals(List.of(marketPrice), response.getBody().getData());
+  }
+
+  @Test
+  @DisplayName("getPriceHistory sollte 404 zurückgeben, wenn keine Preise gespeichert sind")
+  void getPriceHistory_WhenNothingStored_ShouldReturnNotFound() {
+    // Arrange
+    when(awattarService.getPriceHistory(anyLong(), anyLong())).thenReturn(List.of());
+
+    // Act
+    ResponseEntity<MarketData> response =
+        awattarController.getPriceHistory(LocalDate.of(2021, 1, 1), LocalDate.of(2021, 1, 1));
+
+    // Assert
+    assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+  }
+
+  @Test
+  @DisplayName("getPriceHistory sollte 400 bei umgekehrtem Zeitraum zurückgeben")
+  void getPriceHistory_WhenRangeReversed_ShouldReturnBadRequest() {
+    // Act
+    ResponseEntity<MarketData> response =
+        awattarController.getPriceHistory(LocalDate.of(2021, 2, 1), LocalDate.of(2021, 1, 1));
+
+    // Assert
+    assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+    verifyNoInteractions(awattarService);
+  }
 }
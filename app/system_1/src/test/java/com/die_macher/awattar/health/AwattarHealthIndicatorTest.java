@@ -0,0 +1,54 @@
+package com.die_macher.awattar.health;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import com.die_macher.awattar.model.MarketDataStatus;
+import com.die_macher.awattar.service.AwattarService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+
+@ExtendWith(MockitoExtension.class)
+class AwattarHealthIndicatorTest {
+
+  @Mock private AwattarService awattarService;
+
+  @InjectMocks private AwattarHealthIndicator healthIndicator;
+
+  @Test
+  @DisplayName("Health is UP once market data is cached")
+  void health_WhenReady_ShouldBeUp() {
+    when(awattarService.getMarketDataStatus()).thenReturn(MarketDataStatus.READY);
+
+    Health health = healthIndicator.health();
+
+    assertEquals(Status.UP, health.getStatus());
+    assertEquals(MarketDataStatus.READY, health.getDetails().get("marketData"));
+  }
+
+  @Test
+  @DisplayName("Health is UNKNOWN while the startup loader is pending")
+  void health_WhenPending_ShouldBeUnknown() {
+    when(awattarService.getMarketDataStatus()).thenReturn(MarketDataStatus.PENDING);
+
+    assertEquals(Status.UNKNOWN, healthIndicator.health().getStatus());
+  }
+
+  @Test
+  @DisplayName("Health stays UP with details when the startup loader gave up")
+  void health_WhenFailed_ShouldStayUpWithDetails() {
+    when(awattarService.getMarketDataStatus()).thenReturn(MarketDataStatus.FAILED);
+
+    Health health = healthIndicator.health();
+
+    assertEquals(Status.UP, health.getStatus());
+    assertEquals(MarketDataStatus.FAILED, health.getDetails().get("marketData"));
+    assertNotNull(health.getDetails().get("error"));
+  }
+}
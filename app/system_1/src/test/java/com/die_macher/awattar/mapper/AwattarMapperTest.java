@@ -7,6 +7,7 @@ import com.die_macher.awattar.dto.MarketPriceDto;
 import com.die_macher.awattar.dto.OptimalProductionWindowDto;
 import com.die_macher.awattar.model.MarketData;
 import com.die_macher.awattar.model.MarketData.MarketPrice;
+import com.die_macher.awattar.model.MarketPriceSeries;
 import com.die_macher.awattar.model.OptimalProductionWindow;
 import java.util.Arrays;
 import java.util.List;
@@ -127,99 +128,40 @@ class AwattarMapperTest {
   }
 
   @Test
-  @DisplayName("toModel(MarketDataDto) sollte null zurückgeben, wenn MarketDataDto null ist")
-  void toModel_WhenMarketDataDtoIsNull_ShouldReturnNull() {
+  @DisplayName("toModel(MarketPriceSeries) sollte null zurückgeben, wenn die Serie null ist")
+  void toModel_WhenSeriesIsNull_ShouldReturnNull() {
     // Act
-    MarketData result = mapper.toModel((MarketDataDto) null);
+    MarketData result = mapper.toModel((MarketPriceSeries) null);
 
     // Assert
-    assertNull(result, "Das Ergebnis sollte null sein, wenn MarketDataDto null ist");
+    assertNull(result, "Das Ergebnis sollte null sein, wenn die Serie null ist");
   }
 
   @Test
-  @DisplayName("toModel(MarketDataDto) sollte korrekt konvertieren, wenn MarketDataDto gültig ist")
-  void toModel_WhenMarketDataDtoIsValid_ShouldConvertCorrectly() {
+  @DisplayName("toModel(MarketPriceSeries) sollte korrekt konvertieren, wenn die Serie gültig ist")
+  void toModel_WhenSeriesIsValid_ShouldConvertCorrectly() {
     // Arrange
-    MarketDataDto dto = createMarketDataDto();
+    MarketPriceSeries series =
+        MarketPriceSeries.builder(2)
+            .object(OBJECT_TYPE)
+            .unit(UNIT)
+            .add(START_TIMESTAMP, END_TIMESTAMP, MARKET_PRICE)
+            .add(END_TIMESTAMP, END_TIMESTAMP + 3600000L, MARKET_PRICE + 1)
+            .build();
 
     // Act
-    MarketData result = mapper.toModel(dto);
+    MarketData result = mapper.toModel(series);
 
     // Assert
     assertNotNull(result, "Das Ergebnis sollte nicht null sein");
-    assertEquals(
-        OBJECT_TYPE, result.getObject(), "Das Objekt-Feld sollte korrekt übertragen werden");
-    assertNotNull(result.getData(), "Die Daten-Liste sollte nicht null sein");
+    assertEquals(OBJECT_TYPE, result.getObject());
     assertEquals(2, result.getData().size(), "Die Anzahl der Preisdaten sollte korrekt sein");
-
-    MarketPrice firstPrice = result.getData().getFirst();
-    assertEquals(
-        START_TIMESTAMP,
-        firstPrice.getStartTimestamp(),
-        "Der Start-Timestamp sollte korrekt übertragen werden");
-    assertEquals(
-        END_TIMESTAMP,
-        firstPrice.getEndTimestamp(),
-        "Der End-Timestamp sollte korrekt übertragen werden");
-    assertEquals(
-        MARKET_PRICE,
-        firstPrice.getMarketprice(),
-        "Der Marktpreis sollte korrekt übertragen werden");
-    assertEquals(UNIT, firstPrice.getUnit(), "Die Einheit sollte korrekt übertragen werden");
-  }
-
-  @Test
-  @DisplayName(
-      "toModel(MarketDataDto) sollte korrekt konvertieren, wenn MarketDataDto.data null ist")
-  void toModel_WhenMarketDataDtoHasNullData_ShouldConvertCorrectly() {
-    // Arrange
-    MarketDataDto dto = new MarketDataDto();
-    dto.setObject(OBJECT_TYPE);
-    dto.setData(null);
-
-    // Act
-    MarketData result = mapper.toModel(dto);
-
-    // Assert
-    assertNotNull(result, "Das Ergebnis sollte nicht null sein");
-    assertEquals(
-        OBJECT_TYPE, result.getObject(), "Das Objekt-Feld sollte korrekt übertragen werden");
-    assertNull(result.getData(), "Die Daten-Liste sollte null sein");
-  }
-
-  @Test
-  @DisplayName("toModel(MarketPriceDto) sollte null zurückgeben, wenn MarketPriceDto null ist")
-  void toModel_WhenMarketPriceDtoIsNull_ShouldReturnNull() {
-    // Act
-    MarketPrice result = mapper.toModel((MarketPriceDto) null);
-
-    // Assert
-    assertNull(result, "Das Ergebnis sollte null sein, wenn MarketPriceDto null ist");
-  }
-
-  @Test
-  @DisplayName(
-      "toModel(MarketPriceDto) sollte korrekt konvertieren, wenn MarketPriceDto gültig ist")
-  void toModel_WhenMarketPriceDtoIsValid_ShouldConvertCorrectly() {
-    // Arrange
-    MarketPriceDto dto = createMarketPriceDto();
-
-    // Act
-    MarketPrice result = mapper.toModel(dto);
-
-    // Assert
-    assertNotNull(result, "Das Ergebnis sollte nicht null sein");
-    assertEquals(
-        START_TIMESTAMP,
-        result.getStartTimestamp(),
-        "Der Start-Timestamp sollte korrekt übertragen werden");
-    assertEquals(
-        END_TIMESTAMP,
-        result.getEndTimestamp(),
-        "Der End-Timestamp sollte korrekt übertragen werden");
-    assertEquals(
-        MARKET_PRICE, result.getMarketprice(), "Der Marktpreis sollte korrekt übertragen werden");
-    assertEquals(UNIT, result.getUnit(), "Die Einheit sollte korrekt übertragen werden");
+    MarketPrice first = result.getData().get(0);
+    assertEquals(START_TIMESTAMP, first.getStartTimestamp());
+    assertEquals(END_TIMESTAMP, first.getEndTimestamp());
+    assertEquals(MARKET_PRICE, first.getMarketprice(), 0.0001);
+    assertEquals(UNIT, first.getUnit());
+    assertSame(series, result.toSeries(), "Die Serie sollte weitergereicht werden");
   }
 
   @Test
@@ -321,25 +263,6 @@ class AwattarMapperTest {
     return price;
   }
 
-  private MarketDataDto createMarketDataDto() {
-    MarketDataDto dto = new MarketDataDto();
-    dto.setObject(OBJECT_TYPE);
-
-    List<MarketPriceDto> prices = Arrays.asList(createMarketPriceDto(), createMarketPriceDto());
-    dto.setData(prices);
-
-    return dto;
-  }
-
-  private MarketPriceDto createMarketPriceDto() {
-    MarketPriceDto dto = new MarketPriceDto();
-    dto.setStart_timestamp(START_TIMESTAMP);
-    dto.setEnd_timestamp(END_TIMESTAMP);
-    dto.setMarketprice(MARKET_PRICE);
-    dto.setUnit(UNIT);
-    return dto;
-  }
-
   private OptimalProductionWindow createOptimalProductionWindow() {
     List<MarketPrice> prices = Arrays.asList(createMarketPrice(), createMarketPrice());
 
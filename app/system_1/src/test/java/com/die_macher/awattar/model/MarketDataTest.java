@@ -99,6 +99,39 @@ class MarketDataTest {
     assertSame(expectedData, result);
   }
 
+  @Test
+  @DisplayName("toSeries sollte die geparste Serie wiederverwenden")
+  void testToSeriesReusesParsedSeries() {
+    // Vorbereitung
+    MarketPriceSeries series =
+        MarketPriceSeries.builder(1).object("list").add(3_600_000L, 7_200_000L, 42.0).build();
+
+    // Ausführung
+    MarketData marketData = MarketData.of(series);
+
+    // Überprüfung
+    assertSame(series, marketData.toSeries());
+    assertEquals("list", marketData.getObject());
+    assertEquals(42.0, marketData.getCurrentPrice().getMarketprice());
+  }
+
+  @Test
+  @DisplayName("toSeries sollte nach setData aus den neuen Preisen gebaut werden")
+  void testToSeriesFollowsReplacedData() {
+    // Vorbereitung
+    MarketData marketData =
+        MarketData.of(MarketPriceSeries.builder(1).add(3_600_000L, 7_200_000L, 42.0).build());
+    MarketData.MarketPrice price = new MarketData.MarketPrice();
+    price.setMarketprice(7.0);
+
+    // Ausführung
+    marketData.setData(List.of(price));
+
+    // Überprüfung
+    assertEquals(1, marketData.toSeries().size());
+    assertEquals(7.0, marketData.toSeries().getMarketprice(0));
+  }
+
   @Nested
   @DisplayName("MarketPrice Tests")
   class MarketPriceTest {
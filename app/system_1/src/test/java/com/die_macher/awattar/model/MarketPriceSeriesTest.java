@@ -0,0 +1,83 @@
+package com.die_macher.awattar.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.die_macher.awattar.model.MarketData.MarketPrice;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("MarketPriceSeries Tests")
+class MarketPriceSeriesTest {
+  private static final long HOUR = 3_600_000L;
+  private static final long START = 1609459200000L; // 2021-01-01 00:00:00
+
+  @Test
+  @DisplayName("Builder sollte über die Anfangskapazität hinaus wachsen")
+  void testBuilderGrowsBeyondExpectedSize() {
+    // Vorbereitung
+    MarketPriceSeries.Builder builder = MarketPriceSeries.builder(1).object("list");
+    for (int i = 0; i < 30; i++) {
+      builder.add(START + i * HOUR, START + (i + 1) * HOUR, 10.0 + i);
+    }
+
+    // Ausführung
+    MarketPriceSeries series = builder.build();
+
+    // Überprüfung
+    assertEquals(30, series.size());
+    assertEquals("list", series.getObject());
+    assertEquals(START + 29 * HOUR, series.getStartTimestamp(29));
+    assertEquals(START + 30 * HOUR, series.getEndTimestamp(29));
+    assertEquals(39.0, series.getMarketprice(29), 0.0);
+  }
+
+  @Test
+  @DisplayName("getPriceInEurPerKwh sollte EUR/MWh in EUR/kWh umrechnen")
+  void testPriceInEurPerKwh() {
+    // Vorbereitung
+    MarketPriceSeries series = MarketPriceSeries.builder(1).add(START, START + HOUR, 42.42).build();
+
+    // Ausführung & Überprüfung
+    assertEquals(0.04242, series.getPriceInEurPerKwh(0), 0.000001);
+  }
+
+  @Test
+  @DisplayName("of und toMarketPrices sollten verlustfrei ineinander überführbar sein")
+  void testRoundTripThroughMarketPrices() {
+    // Vorbereitung
+    List<MarketPrice> prices = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      MarketPrice price = new MarketPrice();
+      price.setStartTimestamp(START + i * HOUR);
+      price.setEndTimestamp(START + (i + 1) * HOUR);
+      price.setMarketprice(50.0 + i);
+      price.setUnit("Eur/MWh");
+      prices.add(price);
+    }
+
+    // Ausführung
+    List<MarketPrice> result = MarketPriceSeries.of(prices).toMarketPrices();
+
+    // Überprüfung
+    assertEquals(3, result.size());
+    for (int i = 0; i < 3; i++) {
+      assertEquals(prices.get(i).getStartTimestamp(), result.get(i).getStartTimestamp());
+      assertEquals(prices.get(i).getEndTimestamp(), result.get(i).getEndTimestamp());
+      assertEquals(prices.get(i).getMarketprice(), result.get(i).getMarketprice(), 0.0);
+      assertEquals("Eur/MWh", result.get(i).getUnit());
+    }
+  }
+
+  @Test
+  @DisplayName("of sollte für null eine leere Serie liefern")
+  void testOfNullIsEmpty() {
+    // Ausführung
+    MarketPriceSeries series = MarketPriceSeries.of(null);
+
+    // Überprüfung
+    assertTrue(series.isEmpty());
+    assertTrue(series.toMarketPrices().isEmpty());
+  }
+}
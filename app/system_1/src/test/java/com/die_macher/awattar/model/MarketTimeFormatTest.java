@@ -0,0 +1,56 @@
+package com.die_macher.awattar.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("MarketTimeFormat Tests")
+class MarketTimeFormatTest {
+
+  @Test
+  @DisplayName("format sollte volle Stunden in Wiener Ortszeit formatieren")
+  void testFormatFullHour() {
+    // Vorbereitung
+    long timestamp =
+        ZonedDateTime.of(2025, 7, 1, 13, 0, 0, 0, ZoneId.of("Europe/Vienna"))
+            .toInstant()
+            .toEpochMilli();
+
+    // Ausführung & Überprüfung
+    assertEquals("01.07.2025 13:00", MarketTimeFormat.format(timestamp));
+  }
+
+  @Test
+  @DisplayName("format sollte für dieselbe volle Stunde dieselbe Instanz liefern")
+  void testFormatCachesFullHours() {
+    // Vorbereitung
+    long timestamp =
+        ZonedDateTime.of(2025, 1, 15, 8, 0, 0, 0, ZoneId.of("Europe/Vienna"))
+            .toInstant()
+            .toEpochMilli();
+
+    // Ausführung
+    String first = MarketTimeFormat.format(timestamp);
+    String second = MarketTimeFormat.format(timestamp);
+
+    // Überprüfung
+    assertEquals("15.01.2025 08:00", first);
+    assertSame(first, second);
+  }
+
+  @Test
+  @DisplayName("format sollte auch Zeitpunkte innerhalb einer Stunde korrekt formatieren")
+  void testFormatWithinHour() {
+    // Vorbereitung
+    long timestamp =
+        ZonedDateTime.of(2025, 3, 30, 3, 45, 12, 0, ZoneId.of("Europe/Vienna"))
+            .toInstant()
+            .toEpochMilli();
+
+    // Ausführung & Überprüfung
+    assertEquals("30.03.2025 03:45", MarketTimeFormat.format(timestamp));
+  }
+}
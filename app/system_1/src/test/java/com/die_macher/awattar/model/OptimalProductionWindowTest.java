@@ -63,7 +63,7 @@ class OptimalProductionWindowTest {
   @DisplayName("getStartTimeFormatted sollte korrekt formatierte Startzeit zurückgeben")
   void testGetStartTimeFormatted() {
     // Vorbereitung
-    ZonedDateTime now = ZonedDateTime.now(ZoneId.of("Europe/Berlin"));
+    ZonedDateTime now = ZonedDateTime.now(ZoneId.of("Europe/Vienna"));
     long timestamp = now.toInstant().toEpochMilli();
     String expected = now.format(DateTimeFormatter.ofPattern("dd.MM.yyyy HH:mm"));
 
@@ -81,7 +81,7 @@ class OptimalProductionWindowTest {
   @DisplayName("getEndTimeFormatted sollte korrekt formatierte Endzeit zurückgeben")
   void testGetEndTimeFormatted() {
     // Vorbereitung
-    ZonedDateTime now = ZonedDateTime.now(ZoneId.of("Europe/Berlin"));
+    ZonedDateTime now = ZonedDateTime.now(ZoneId.of("Europe/Vienna"));
     long timestamp = now.toInstant().toEpochMilli();
     String expected = now.format(DateTimeFormatter.ofPattern("dd.MM.yyyy HH:mm"));
 
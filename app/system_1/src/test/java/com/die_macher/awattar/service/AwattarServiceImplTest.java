@@ -6,12 +6,13 @@ import static org.mockito.Mockito.*;
 
 import com.die_macher.awattar.client.AwattarApiClient;
 import com.die_macher.awattar.config.AwattarConfig;
-import com.die_macher.awattar.dto.MarketDataDto;
-import com.die_macher.awattar.dto.MarketPriceDto;
 import com.die_macher.awattar.mapper.AwattarMapper;
 import com.die_macher.awattar.model.MarketData;
 import com.die_macher.awattar.model.MarketData.MarketPrice;
+import com.die_macher.awattar.model.MarketDataStatus;
+import com.die_macher.awattar.model.MarketPriceSeries;
 import com.die_macher.awattar.model.OptimalProductionWindow;
+import java.nio.file.Path;
 import java.time.LocalTime;
 import java.time.ZonedDateTime;
 import java.time.temporal.ChronoUnit;
@@ -22,6 +23,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -38,7 +40,7 @@ class AwattarServiceImplTest {
 
   @InjectMocks private AwattarServiceImpl awattarService;
 
-  private MarketDataDto mockMarketDataDto;
+  private MarketPriceSeries mockSeries;
   private MarketData mockMarketData;
   private List<MarketPrice> mockPrices;
 
@@ -47,20 +49,17 @@ class AwattarServiceImplTest {
 
     lenient().when(config.getProductionHours()).thenReturn(3);
 
-    // Mock-Daten für MarketDataDto
-    mockMarketDataDto = new MarketDataDto();
-    mockMarketDataDto.setObject("marketdata");
-    List<MarketPriceDto> priceDtos = new ArrayList<>();
+    // Mock-Daten für MarketPriceSeries
+    MarketPriceSeries.Builder seriesBuilder =
+        MarketPriceSeries.builder(24).object("marketdata").unit("EUR/MWh");
     for (int i = 0; i < 24; i++) {
-      MarketPriceDto priceDto = new MarketPriceDto();
       ZonedDateTime time = ZonedDateTime.now().truncatedTo(ChronoUnit.HOURS).plusHours(i);
-      priceDto.setStart_timestamp(time.toInstant().toEpochMilli());
-      priceDto.setEnd_timestamp(time.plusHours(1).toInstant().toEpochMilli());
-      priceDto.setMarketprice(50.0 + i); // Unterschiedliche Preise
-      priceDto.setUnit("EUR/MWh");
-      priceDtos.add(priceDto);
+      seriesBuilder.add(
+          time.toInstant().toEpochMilli(),
+          time.plusHours(1).toInstant().toEpochMilli(),
+          50.0 + i); // Unterschiedliche Preise
     }
-    mockMarketDataDto.setData(priceDtos);
+    mockSeries = seriesBuilder.build();
 
     // Mock-Daten für MarketData
     mockMarketData = new MarketData();
@@ -78,14 +77,14 @@ class AwattarServiceImplTest {
     mockMarketData.setData(mockPrices);
 
     // Standard-Mapping-Verhalten
-    lenient().when(mapper.toModel(any(MarketDataDto.class))).thenReturn(mockMarketData);
+    lenient().when(mapper.toModel(any(MarketPriceSeries.class))).thenReturn(mockMarketData);
   }
 
   @Test
   @DisplayName("Test fetchCurrentMarketData - Erfolgsfall")
   void testFetchCurrentMarketData_Success() {
     // Arrange
-    when(apiClient.fetchMarketDataFor(anyLong())).thenReturn(mockMarketDataDto);
+    when(apiClient.fetchMarketDataFor(anyLong())).thenReturn(mockSeries);
 
     // Act
     MarketData result = awattarService.fetchCurrentMarketData();
@@ -94,14 +93,14 @@ class AwattarServiceImplTest {
     assertNotNull(result);
     assertEquals(mockMarketData, result);
     verify(apiClient, times(1)).fetchMarketDataFor(anyLong());
-    verify(mapper, times(1)).toModel(mockMarketDataDto);
+    verify(mapper, times(1)).toModel(mockSeries);
   }
 
   @Test
   @DisplayName("Test fetchTomorrowMarketData - Erfolgsfall")
   void testFetchTomorrowMarketData_Success() {
     // Arrange
-    when(apiClient.fetchMarketDataFor(anyLong())).thenReturn(mockMarketDataDto);
+    when(apiClient.fetchMarketDataFor(anyLong())).thenReturn(mockSeries);
 
     // Act
     MarketData result = awattarService.fetchTomorrowMarketData();
@@ -110,28 +109,28 @@ class AwattarServiceImplTest {
     assertNotNull(result);
     assertEquals(mockMarketData, result);
     verify(apiClient, times(1)).fetchMarketDataFor(anyLong());
-    verify(mapper, times(1)).toModel(mockMarketDataDto);
+    verify(mapper, times(1)).toModel(mockSeries);
   }
 
   @Test
   @DisplayName("Test updateMarketData - Erfolgsfall")
   void testUpdateMarketData_Success() {
     // Arrange
-    when(apiClient.fetchMarketDataFor(anyLong())).thenReturn(mockMarketDataDto);
+    when(apiClient.fetchMarketDataFor(anyLong())).thenReturn(mockSeries);
 
     // Act
     awattarService.updateMarketData();
 
     // Assert
     verify(apiClient, times(1)).fetchMarketDataFor(anyLong());
-    verify(mapper, times(1)).toModel(mockMarketDataDto);
+    verify(mapper, times(1)).toModel(mockSeries);
   }
 
   @Test
   @DisplayName("Test getOptimalProductionWindow - Wenn optimalWindow null ist")
   void testGetOptimalProductionWindow_WhenOptimalWindowIsNull() {
     // Arrange
-    when(apiClient.fetchMarketDataFor(anyLong())).thenReturn(mockMarketDataDto);
+    when(apiClient.fetchMarketDataFor(anyLong())).thenReturn(mockSeries);
 
     // Act
     OptimalProductionWindow result = awattarService.getOptimalProductionWindow();
@@ -139,14 +138,14 @@ class AwattarServiceImplTest {
     // Assert
     assertNotNull(result);
     verify(apiClient, times(1)).fetchMarketDataFor(anyLong());
-    verify(mapper, times(1)).toModel(mockMarketDataDto);
+    verify(mapper, times(1)).toModel(mockSeries);
   }
 
   @Test
   @DisplayName("Test getOptimalProductionWindow - Wenn optimalWindow bereits berechnet wurde")
   void testGetOptimalProductionWindow_WhenOptimalWindowAlreadyCalculated() {
     // Arrange
-    when(apiClient.fetchMarketDataFor(anyLong())).thenReturn(mockMarketDataDto);
+    when(apiClient.fetchMarketDataFor(anyLong())).thenReturn(mockSeries);
 
     awattarService.getOptimalProductionWindow();
 
@@ -159,14 +158,14 @@ class AwattarServiceImplTest {
     assertNotNull(result);
 
     verify(apiClient, never()).fetchMarketDataFor(anyLong());
-    verify(mapper, never()).toModel((MarketDataDto) any());
+    verify(mapper, never()).toModel((MarketPriceSeries) any());
   }
 
   @Test
   @DisplayName("Test getCurrentPartCost - Erfolgsfall")
   void testGetCurrentPartCost_Success() {
     // Arrange
-    when(apiClient.fetchMarketDataFor(anyLong())).thenReturn(mockMarketDataDto);
+    when(apiClient.fetchMarketDataFor(anyLong())).thenReturn(mockSeries);
     when(config.getEnergyPerPart()).thenReturn(0.2); // 0.2 kWh pro Teil
 
     // Act
@@ -175,7 +174,7 @@ class AwattarServiceImplTest {
     // Assert
     assertTrue(result > 0);
     verify(apiClient, times(1)).fetchMarketDataFor(anyLong());
-    verify(mapper, times(1)).toModel(mockMarketDataDto);
+    verify(mapper, times(1)).toModel(mockSeries);
   }
 
   @Test
@@ -183,7 +182,7 @@ class AwattarServiceImplTest {
   void testGetCurrentPartCost_WhenMarketDataIsNull() {
     // Arrange
     when(apiClient.fetchMarketDataFor(anyLong())).thenReturn(null);
-    when(mapper.toModel((MarketDataDto) null)).thenReturn(null);
+    when(mapper.toModel((MarketPriceSeries) null)).thenReturn(null);
 
     // Act
     double result = awattarService.getCurrentPartCost();
@@ -198,8 +197,8 @@ class AwattarServiceImplTest {
     // Arrange
     MarketData emptyData = new MarketData();
     emptyData.setData(Collections.emptyList());
-    when(apiClient.fetchMarketDataFor(anyLong())).thenReturn(mockMarketDataDto);
-    when(mapper.toModel(mockMarketDataDto)).thenReturn(emptyData);
+    when(apiClient.fetchMarketDataFor(anyLong())).thenReturn(mockSeries);
+    when(mapper.toModel(mockSeries)).thenReturn(emptyData);
 
     // Act
     double result = awattarService.getCurrentPartCost();
@@ -207,7 +206,7 @@ class AwattarServiceImplTest {
     // Assert
     assertEquals(-1, result);
     verify(apiClient, times(1)).fetchMarketDataFor(anyLong());
-    verify(mapper, times(1)).toModel(mockMarketDataDto);
+    verify(mapper, times(1)).toModel(mockSeries);
   }
 
   @Test
@@ -222,12 +221,12 @@ class AwattarServiceImplTest {
             if (data != null
                 && data.getData() != null
                 && data.getData().size() >= config.getProductionHours()) {
-              calculateOptimalProductionWindow();
+              calculateOptimalProductionWindow(data);
             }
           }
         };
 
-    when(apiClient.fetchMarketDataFor(anyLong())).thenReturn(mockMarketDataDto);
+    when(apiClient.fetchMarketDataFor(anyLong())).thenReturn(mockSeries);
 
     // Act
     testService.initOnStartup();
@@ -272,7 +271,7 @@ class AwattarServiceImplTest {
             while (!success && tries < maxTries) {
               MarketData data = fetchTomorrowMarketData();
               if (data.getData() != null && data.getData().size() >= config.getProductionHours()) {
-                calculateOptimalProductionWindow();
+                calculateOptimalProductionWindow(data);
                 success = true;
               } else {
                 tries++;
@@ -303,33 +302,73 @@ class AwattarServiceImplTest {
   }
 
   @Test
-  @DisplayName("Test calculateOptimalProductionWindow - Erfolgsfall")
-  void testCalculateOptimalProductionWindow_Success() {
+  @DisplayName("Test getOptimalProductionWindow mit Dauer - Zusammenhängendes Fenster")
+  void testGetOptimalProductionWindow_WithDuration_Contiguous() {
     // Arrange
-    ReflectionTestUtils.setField(awattarService, "cachedMarketData", mockMarketData);
+    mockPrices.get(10).setMarketprice(1.0);
+    mockPrices.get(11).setMarketprice(2.0);
+    awattarService.calculateOptimalProductionWindow(mockMarketData);
 
-    // Act - Methode über Reflection aufrufen
-    ReflectionTestUtils.invokeMethod(awattarService, "calculateOptimalProductionWindow");
+    // Act
+    OptimalProductionWindow result = awattarService.getOptimalProductionWindow(2, true);
 
-    // Assert - Prüfen, ob optimalWindow gesetzt wurde
-    OptimalProductionWindow window =
-        (OptimalProductionWindow) ReflectionTestUtils.getField(awattarService, "optimalWindow");
-    assertNotNull(window);
+    // Assert
+    assertNotNull(result);
+    assertEquals(mockPrices.get(10).getStartTimestamp(), result.getStartTimestamp());
+    assertEquals(mockPrices.get(11).getEndTimestamp(), result.getEndTimestamp());
+    verify(apiClient, never()).fetchMarketDataFor(anyLong());
   }
 
   @Test
-  @DisplayName("Test calculateOptimalProductionWindow - Wenn cachedMarketData null ist")
-  void testCalculateOptimalProductionWindow_WhenCachedMarketDataIsNull() {
+  @DisplayName("Test getOptimalProductionWindow mit Dauer - Günstigste Einzelstunden")
+  void testGetOptimalProductionWindow_WithDuration_NonContiguous() {
     // Arrange
-    ReflectionTestUtils.setField(awattarService, "cachedMarketData", null);
+    mockPrices.get(3).setMarketprice(1.0);
+    mockPrices.get(20).setMarketprice(2.0);
+    awattarService.calculateOptimalProductionWindow(mockMarketData);
 
-    // Act - Methode über Reflection aufrufen
-    ReflectionTestUtils.invokeMethod(awattarService, "calculateOptimalProductionWindow");
+    // Act
+    OptimalProductionWindow result = awattarService.getOptimalProductionWindow(2, false);
 
-    // Assert - optimalWindow sollte nicht gesetzt werden
+    // Assert
+    assertNotNull(result);
+    assertEquals(List.of(mockPrices.get(3), mockPrices.get(20)), result.getPrices());
+  }
+
+  @Test
+  @DisplayName("Test getOptimalProductionWindow mit Dauer - Dauer länger als verfügbare Daten")
+  void testGetOptimalProductionWindow_WithDuration_TooLong() {
+    // Arrange
+    awattarService.calculateOptimalProductionWindow(mockMarketData);
+
+    // Act & Assert
+    assertNull(awattarService.getOptimalProductionWindow(25, true));
+  }
+
+  @Test
+  @DisplayName("Test calculateOptimalProductionWindow - Erfolgsfall")
+  void testCalculateOptimalProductionWindow_Success() {
+    // Arrange
+    // Act
     OptimalProductionWindow window =
-        (OptimalProductionWindow) ReflectionTestUtils.getField(awattarService, "optimalWindow");
+        awattarService.calculateOptimalProductionWindow(mockMarketData);
+
+    // Assert - Das Fenster wird zusammen mit den Marktdaten veröffentlicht
+    assertNotNull(window);
+    assertSame(window, awattarService.getOptimalProductionWindow());
+    assertEquals(MarketDataStatus.READY, awattarService.getMarketDataStatus());
+    verify(apiClient, never()).fetchMarketDataFor(anyLong());
+  }
+
+  @Test
+  @DisplayName("Test calculateOptimalProductionWindow - Wenn die Marktdaten null sind")
+  void testCalculateOptimalProductionWindow_WhenMarketDataIsNull() {
+    // Act
+    OptimalProductionWindow window = awattarService.calculateOptimalProductionWindow(null);
+
+    // Assert - Es wird kein Fenster veröffentlicht
     assertNull(window);
+    assertEquals(MarketDataStatus.NOT_LOADED, awattarService.getMarketDataStatus());
   }
 
   @Test
@@ -338,15 +377,33 @@ class AwattarServiceImplTest {
     // Arrange
     MarketData insufficientData = new MarketData();
     insufficientData.setData(mockPrices.subList(0, 2)); // Nur 2 Einträge, aber 3 benötigt
-    ReflectionTestUtils.setField(awattarService, "cachedMarketData", insufficientData);
-
-    // Act - Methode über Reflection aufrufen
-    ReflectionTestUtils.invokeMethod(awattarService, "calculateOptimalProductionWindow");
 
-    // Assert - optimalWindow sollte nicht gesetzt werden
+    // Act
     OptimalProductionWindow window =
-        (OptimalProductionWindow) ReflectionTestUtils.getField(awattarService, "optimalWindow");
+        awattarService.calculateOptimalProductionWindow(insufficientData);
+
+    // Assert - Es wird kein Fenster veröffentlicht
     assertNull(window);
+    assertEquals(MarketDataStatus.NOT_LOADED, awattarService.getMarketDataStatus());
+  }
+
+  @Test
+  @DisplayName("Test calculateOptimalProductionWindow - Unzureichende Daten behalten den Stand")
+  void testCalculateOptimalProductionWindow_KeepsSnapshotOnInsufficientData() {
+    // Arrange
+    OptimalProductionWindow window =
+        awattarService.calculateOptimalProductionWindow(mockMarketData);
+    MarketData insufficientData = new MarketData();
+    insufficientData.setData(mockPrices.subList(0, 2));
+
+    // Act
+    awattarService.calculateOptimalProductionWindow(insufficientData);
+
+    // Assert - Fenster und Marktdaten bleiben zueinander passend
+    assertSame(window, awattarService.getOptimalProductionWindow());
+    assertEquals(
+        mockPrices.get(0).getStartTimestamp(),
+        awattarService.getOptimalProductionWindow(3, false).getStartTimestamp());
   }
 
   @Test
@@ -415,7 +472,7 @@ class AwattarServiceImplTest {
           }
         };
 
-    when(apiClient.fetchMarketDataFor(anyLong())).thenReturn(mockMarketDataDto);
+    when(apiClient.fetchMarketDataFor(anyLong())).thenReturn(mockSeries);
 
     // Act
     testService.initOnStartup();
@@ -449,8 +506,8 @@ class AwattarServiceImplTest {
     // Einen leeren MarketData zurückgeben, um die Schleife zu durchlaufen
     MarketData emptyData = new MarketData();
     emptyData.setData(Collections.emptyList());
-    when(apiClient.fetchMarketDataFor(anyLong())).thenReturn(mockMarketDataDto);
-    when(mapper.toModel(any(MarketDataDto.class))).thenReturn(emptyData);
+    when(apiClient.fetchMarketDataFor(anyLong())).thenReturn(mockSeries);
+    when(mapper.toModel(any(MarketPriceSeries.class))).thenReturn(emptyData);
 
     // Act
     testService.initOnStartup();
@@ -463,7 +520,6 @@ class AwattarServiceImplTest {
   void testCalculateProductionCost_WithNormalPriceList() {
     // Arrange
     when(config.getPartsPerHour()).thenReturn(10); // 10 Teile pro Stunde
-    when(config.getProductionHours()).thenReturn(3); // 3 Stunden Produktion
     when(config.getEnergyPerPart()).thenReturn(0.2); // 0.2 kWh pro Teil
 
     List<MarketPrice> prices = new ArrayList<>();
@@ -484,7 +540,7 @@ class AwattarServiceImplTest {
   void testFetchCurrentMarketData_WhenApiReturnsNull() {
     // Arrange
     when(apiClient.fetchMarketDataFor(anyLong())).thenReturn(null);
-    when(mapper.toModel((MarketDataDto) null)).thenReturn(null);
+    when(mapper.toModel((MarketPriceSeries) null)).thenReturn(null);
 
     // Act
     MarketData result = awattarService.fetchCurrentMarketData();
@@ -492,7 +548,7 @@ class AwattarServiceImplTest {
     // Assert
     assertNull(result);
     verify(apiClient, times(1)).fetchMarketDataFor(anyLong());
-    verify(mapper, times(1)).toModel((MarketDataDto) null);
+    verify(mapper, times(1)).toModel((MarketPriceSeries) null);
   }
 
   @Test
@@ -500,7 +556,7 @@ class AwattarServiceImplTest {
   void testFetchTomorrowMarketData_WhenApiReturnsNull() {
     // Arrange
     when(apiClient.fetchMarketDataFor(anyLong())).thenReturn(null);
-    when(mapper.toModel((MarketDataDto) null)).thenReturn(null);
+    when(mapper.toModel((MarketPriceSeries) null)).thenReturn(null);
 
     // Act
     MarketData result = awattarService.fetchTomorrowMarketData();
@@ -508,7 +564,7 @@ class AwattarServiceImplTest {
     // Assert
     assertNull(result);
     verify(apiClient, times(1)).fetchMarketDataFor(anyLong());
-    verify(mapper, times(1)).toModel((MarketDataDto) null);
+    verify(mapper, times(1)).toModel((MarketPriceSeries) null);
   }
 
   // Hilfsmethode für getNow() in AwattarServiceImpl hinzufügen
@@ -522,4 +578,97 @@ class AwattarServiceImplTest {
     // Assert
     assertNotNull(now);
   }
+
+  @Test
+  @DisplayName("Test initOnStartup - Status READY nach erfolgreichem Laden")
+  void testInitOnStartup_SetsStatusReady() {
+    // Arrange
+    AwattarServiceImpl testService =
+        new AwattarServiceImpl(apiClient, mapper, config) {
+          @Override
+          protected LocalTime getNow() {
+            return LocalTime.of(14, 0);
+          }
+        };
+    when(apiClient.fetchMarketDataFor(anyLong())).thenReturn(mockSeries);
+
+    // Act
+    testService.initOnStartup();
+
+    // Assert
+    assertEquals(MarketDataStatus.READY, testService.getMarketDataStatus());
+  }
+
+  @Test
+  @DisplayName("Test initOnStartup - Status FAILED wenn keine Daten geladen werden konnten")
+  void testInitOnStartup_SetsStatusFailed() {
+    // Arrange
+    AwattarServiceImpl testService =
+        new AwattarServiceImpl(apiClient, mapper, config) {
+          @Override
+          protected LocalTime getNow() {
+            return LocalTime.of(14, 0);
+          }
+
+          @Override
+          protected void sleepFor(long millis) {
+            // Keine Verzögerung im Test
+          }
+        };
+    MarketData emptyData = new MarketData();
+    emptyData.setData(Collections.emptyList());
+    when(apiClient.fetchMarketDataFor(anyLong())).thenReturn(mockSeries);
+    when(mapper.toModel(any(MarketPriceSeries.class))).thenReturn(emptyData);
+
+    // Act
+    testService.initOnStartup();
+
+    // Assert
+    assertEquals(MarketDataStatus.FAILED, testService.getMarketDataStatus());
+  }
+
+  @Test
+  @DisplayName("Test getOptimalProductionWindow - Während des Ladens wird nicht erneut abgefragt")
+  void testGetOptimalProductionWindow_WhilePending() {
+    // Arrange
+    ReflectionTestUtils.setField(awattarService, "status", MarketDataStatus.PENDING);
+
+    // Act
+    OptimalProductionWindow result = awattarService.getOptimalProductionWindow();
+
+    // Assert
+    assertNull(result);
+    verify(apiClient, never()).fetchMarketDataFor(anyLong());
+  }
+
+  @Test
+  @DisplayName("Test getMarketDataStatus - Initial NOT_LOADED")
+  void testGetMarketDataStatus_Initial() {
+    assertEquals(MarketDataStatus.NOT_LOADED, awattarService.getMarketDataStatus());
+  }
+
+  @Test
+  @DisplayName("Test getPriceHistory - Abgerufene Preise werden lokal gespeichert")
+  void testGetPriceHistory_ReturnsPersistedPrices(@TempDir Path tempDir) {
+    // Arrange
+    when(config.getStorePath()).thenReturn(tempDir.resolve("prices.bin").toString());
+    when(apiClient.fetchMarketDataFor(anyLong())).thenReturn(mockSeries);
+    AwattarServiceImpl storingService = new AwattarServiceImpl(apiClient, mapper, config);
+
+    // Act
+    storingService.fetchTomorrowMarketData();
+    List<MarketPrice> history = storingService.getPriceHistory(Long.MIN_VALUE, Long.MAX_VALUE);
+    storingService.shutdown();
+
+    // Assert
+    assertEquals(mockPrices.size(), history.size());
+    assertEquals(mockPrices.get(0).getStartTimestamp(), history.get(0).getStartTimestamp());
+    assertEquals(mockPrices.get(0).getMarketprice(), history.get(0).getMarketprice(), 0.0);
+  }
+
+  @Test
+  @DisplayName("Test getPriceHistory - Ohne Speicherpfad keine Historie")
+  void testGetPriceHistory_WithoutStore() {
+    assertTrue(awattarService.getPriceHistory(Long.MIN_VALUE, Long.MAX_VALUE).isEmpty());
+  }
 }
@@ -0,0 +1,169 @@
+package com.die_macher.awattar.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.die_macher.awattar.model.MarketData;
+import com.die_macher.awattar.model.MarketData.MarketPrice;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class CurrentPriceCacheTest {
+  private static final long HOUR = 3_600_000L;
+  private static final long START = 1_700_000_000_000L / HOUR * HOUR;
+
+  private MutableClock clock;
+  private AtomicInteger loads;
+  private List<Runnable> pendingRefreshes;
+  private MarketData horizon;
+  private CurrentPriceCache cache;
+
+  @BeforeEach
+  void setUp() {
+    clock = new MutableClock(START + 60_000L);
+    loads = new AtomicInteger();
+    pendingRefreshes = new ArrayList<>();
+    horizon = marketData(START, 24);
+    cache = createCache(() -> horizon);
+  }
+
+  private CurrentPriceCache createCache(Supplier<MarketData> source) {
+    return new CurrentPriceCache(
+        () -> {
+          loads.incrementAndGet();
+          return source.get();
+        },
+        clock,
+        pendingRefreshes::add);
+  }
+
+  private static MarketData marketData(long start, int hours) {
+    List<MarketPrice> prices = new ArrayList<>();
+    for (int i = 0; i < hours; i++) {
+      MarketPrice price = new MarketPrice();
+      price.setStartTimestamp(start + i * HOUR);
+      price.setEndTimestamp(start + (i + 1) * HOUR);
+      price.setMarketprice(100 + i);
+      prices.add(price);
+    }
+    MarketData marketData = new MarketData();
+    marketData.setData(prices);
+    return marketData;
+  }
+
+  @Test
+  @DisplayName("First lookup loads the horizon and returns it unchanged")
+  void currentMarketData_LoadsOnFirstAccess() {
+    MarketData result = cache.currentMarketData();
+
+    assertSame(horizon, result);
+    assertEquals(1, loads.get());
+  }
+
+  @Test
+  @DisplayName("Later lookups within the horizon are served from memory")
+  void currentMarketData_ServesFromCache() {
+    cache.currentMarketData();
+    clock.advance(30 * 60_000L);
+
+    MarketData result = cache.currentMarketData();
+
+    assertEquals(1, loads.get());
+    assertTrue(pendingRefreshes.isEmpty());
+    assertEquals(START, result.getCurrentPrice().getStartTimestamp());
+  }
+
+  @Test
+  @DisplayName("After the hour rolls over the cached horizon starts at the new hour")
+  void currentMarketData_SlicesFromCurrentHour() {
+    cache.currentMarketData();
+    clock.advance(5 * HOUR);
+
+    MarketData result = cache.currentMarketData();
+
+    assertEquals(START + 5 * HOUR, result.getCurrentPrice().getStartTimestamp());
+    assertEquals(19, result.getData().size());
+  }
+
+  @Test
+  @DisplayName("Stale data is served while a single background refresh is scheduled")
+  void currentMarketData_RefreshesStaleDataInBackground() {
+    cache.currentMarketData();
+    clock.advance(HOUR);
+    horizon = marketData(START + HOUR, 24);
+
+    MarketData stale = cache.currentMarketData();
+    cache.currentMarketData();
+
+    assertEquals(START + HOUR, stale.getCurrentPrice().getStartTimestamp());
+    assertEquals(1, loads.get());
+    assertEquals(1, pendingRefreshes.size());
+
+    pendingRefreshes.getFirst().run();
+
+    assertEquals(2, loads.get());
+    assertSame(horizon, cache.currentMarketData());
+  }
+
+  @Test
+  @DisplayName("Lookups outside the cached horizon load synchronously")
+  void currentMarketData_LoadsWhenHorizonExhausted() {
+    cache.currentMarketData();
+    clock.advance(25 * HOUR);
+    horizon = marketData(START + 25 * HOUR, 24);
+
+    MarketData result = cache.currentMarketData();
+
+    assertSame(horizon, result);
+    assertEquals(2, loads.get());
+  }
+
+  @Test
+  @DisplayName("Failed loads are not cached")
+  void currentMarketData_DoesNotCacheMissingData() {
+    CurrentPriceCache failingCache = createCache(() -> null);
+
+    assertNull(failingCache.currentMarketData());
+    assertNull(failingCache.currentMarketData());
+    assertEquals(2, loads.get());
+  }
+
+  private static final class MutableClock extends Clock {
+    private long millis;
+
+    MutableClock(long millis) {
+      this.millis = millis;
+    }
+
+    void advance(long delta) {
+      millis += delta;
+    }
+
+    @Override
+    public ZoneId getZone() {
+      return ZoneId.of("Europe/Vienna");
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+      return this;
+    }
+
+    @Override
+    public Instant instant() {
+      return Instant.ofEpochMilli(millis);
+    }
+
+    @Override
+    public long millis() {
+      return millis;
+    }
+  }
+}
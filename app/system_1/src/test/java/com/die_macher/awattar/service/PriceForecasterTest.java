@@ -0,0 +1,249 @@
+package com.die_macher.awattar.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+import com.die_macher.awattar.config.AwattarConfig;
+import com.die_macher.awattar.event.MarketDataUpdatedEvent;
+import com.die_macher.awattar.model.MarketData;
+import com.die_macher.awattar.model.MarketData.MarketPrice;
+import com.die_macher.awattar.model.PriceForecast;
+import com.die_macher.awattar.model.ProductionPlan;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class PriceForecasterTest {
+  private static final long HOUR = 3_600_000L;
+  private static final long DAY = 24 * HOUR;
+
+  /** Monday, 2025-01-13 00:00 in Vienna. */
+  private static final long START =
+      ZonedDateTime.of(2025, 1, 13, 0, 0, 0, 0, ZoneId.of("Europe/Vienna"))
+          .toInstant()
+          .toEpochMilli();
+
+  @Mock private AwattarService awattarService;
+
+  private AwattarConfig config;
+  private MutableClock clock;
+  private PriceForecaster forecaster;
+
+  @BeforeEach
+  void setUp() {
+    config = new AwattarConfig();
+    config.setPartsPerHour(5);
+    config.setEnergyPerPart(0.2);
+    config.setForecastDays(7);
+    clock = new MutableClock(START + 10 * 60_000L);
+    forecaster = new PriceForecaster(awattarService, config, clock);
+
+    // One week of history: 10 EUR/MWh at 03:00, 100 + hour otherwise
+    List<MarketPrice> history = new ArrayList<>();
+    for (long start = START - 7 * DAY; start < START; start += HOUR) {
+      int hourOfDay = (int) ((start - START + 7 * DAY) % DAY / HOUR);
+      history.add(price(start, hourOfDay == 3 ? 10 : 100 + hourOfDay));
+    }
+    lenient().when(awattarService.getPriceHistory(anyLong(), anyLong())).thenReturn(history);
+    lenient().when(awattarService.fetchCurrentMarketData()).thenReturn(marketData(START, 24, 50));
+  }
+
+  private static MarketPrice price(long start, double value) {
+    MarketPrice price = new MarketPrice();
+    price.setStartTimestamp(start);
+    price.setEndTimestamp(start + HOUR);
+    price.setMarketprice(value);
+    price.setUnit("Eur/MWh");
+    return price;
+  }
+
+  private static MarketData marketData(long start, int hours, double value) {
+    List<MarketPrice> prices = new ArrayList<>();
+    for (int i = 0; i < hours; i++) {
+      prices.add(price(start + i * HOUR, value));
+    }
+    MarketData marketData = new MarketData();
+    marketData.setData(prices);
+    return marketData;
+  }
+
+  @Test
+  @DisplayName("Published hours are followed by predictions from the weekday profile")
+  void forecast_CombinesPublishedAndPredictedHours() {
+    // When
+    PriceForecast forecast = forecaster.forecast(3);
+
+    // Then
+    List<PriceForecast.Hour> hours = forecast.getHours();
+    assertEquals(72, hours.size());
+    assertEquals(24, forecast.getPublishedHours());
+    assertEquals(START, hours.getFirst().getStartTimestamp());
+    assertEquals(50, hours.get(3).getMarketprice());
+    assertTrue(hours.get(3).isPublished());
+    assertEquals(10, hours.get(24 + 3).getMarketprice());
+    assertEquals(100 + 5, hours.get(48 + 5).getMarketprice());
+    assertFalse(hours.get(48 + 5).isPublished());
+  }
+
+  @Test
+  @DisplayName("Parts are allocated to the cheapest predicted hours with hourly capacity")
+  void plan_AllocatesCheapestHours() {
+    // When
+    ProductionPlan plan = forecaster.plan(12, 3);
+
+    // Then
+    List<ProductionPlan.Allocation> allocations = plan.getAllocations();
+    assertEquals(0, plan.getUnallocatedParts());
+    assertEquals(3, allocations.size());
+    assertEquals(START, allocations.get(0).getHour().getStartTimestamp());
+    assertEquals(2, allocations.get(0).getParts());
+    assertEquals(START + DAY + 3 * HOUR, allocations.get(1).getHour().getStartTimestamp());
+    assertEquals(5, allocations.get(1).getParts());
+    assertEquals(START + 2 * DAY + 3 * HOUR, allocations.get(2).getHour().getStartTimestamp());
+    assertEquals(2 * 0.2 * 0.05 + 10 * 0.2 * 0.01, plan.getEstimatedCost(), 1e-9);
+  }
+
+  @Test
+  @DisplayName("Parts beyond the horizon capacity are reported as unallocated")
+  void plan_ReportsUnallocatedParts() {
+    // When
+    ProductionPlan plan = forecaster.plan(7 * 24 * 5 + 3, 7);
+
+    // Then
+    assertEquals(3, plan.getUnallocatedParts());
+    assertEquals(7 * 24, plan.getAllocations().size());
+  }
+
+  @Test
+  @DisplayName("New prices update the horizon without reloading the history")
+  void onMarketDataUpdated_UpdatesHorizonIncrementally() {
+    // Given
+    forecaster.forecast(7);
+
+    // When
+    forecaster.onMarketDataUpdated(
+        new MarketDataUpdatedEvent(this, marketData(START + DAY, 24, 5)));
+    PriceForecast forecast = forecaster.forecast(7);
+
+    // Then
+    assertEquals(48, forecast.getPublishedHours());
+    assertEquals(5, forecast.getHours().get(24 + 3).getMarketprice());
+    verify(awattarService, times(1)).getPriceHistory(anyLong(), anyLong());
+    verify(awattarService, times(1)).fetchCurrentMarketData();
+  }
+
+  @Test
+  @DisplayName("The horizon rolls forward as hours pass")
+  void forecast_DropsPassedHours() {
+    // Given
+    forecaster.forecast(1);
+    clock.advance(2 * HOUR);
+
+    // When
+    PriceForecast forecast = forecaster.forecast(1);
+
+    // Then
+    assertEquals(START + 2 * HOUR, forecast.getHours().getFirst().getStartTimestamp());
+    assertEquals(24, forecast.getHours().size());
+    assertEquals(22, forecast.getPublishedHours());
+  }
+
+  @Test
+  @DisplayName("Events before the first forecast do not trigger any loading")
+  void onMarketDataUpdated_BeforeFirstForecast_IsIgnored() {
+    // When
+    forecaster.onMarketDataUpdated(new MarketDataUpdatedEvent(this, marketData(START, 24, 5)));
+
+    // Then
+    verifyNoInteractions(awattarService);
+  }
+
+  @Test
+  @DisplayName("History and current prices are loaded without holding the forecaster lock")
+  void forecast_LoadsPricesOutsideLock() {
+    // Given
+    when(awattarService.fetchCurrentMarketData())
+        .thenAnswer(
+            invocation -> {
+              assertFalse(Thread.holdsLock(forecaster));
+              return marketData(START, 24, 50);
+            });
+
+    // When
+    PriceForecast forecast = forecaster.forecast(1);
+
+    // Then
+    assertEquals(24, forecast.getPublishedHours());
+  }
+
+  @Test
+  @DisplayName("Prices published while the first forecast loads are not lost")
+  void forecast_KeepsUpdateReceivedWhileLoading() {
+    // Given
+    when(awattarService.fetchCurrentMarketData())
+        .thenAnswer(
+            invocation -> {
+              forecaster.onMarketDataUpdated(
+                  new MarketDataUpdatedEvent(this, marketData(START, 48, 40)));
+              return marketData(START, 24, 50);
+            });
+
+    // When
+    PriceForecast forecast = forecaster.forecast(2);
+
+    // Then
+    assertEquals(48, forecast.getPublishedHours());
+    assertEquals(40, forecast.getHours().getFirst().getMarketprice());
+  }
+
+  @Test
+  @DisplayName("Invalid horizons and part counts are rejected")
+  void plan_RejectsInvalidArguments() {
+    assertThrows(IllegalArgumentException.class, () -> forecaster.forecast(0));
+    assertThrows(IllegalArgumentException.class, () -> forecaster.forecast(8));
+    assertThrows(IllegalArgumentException.class, () -> forecaster.plan(0, 1));
+  }
+
+  private static final class MutableClock extends Clock {
+    private long millis;
+
+    MutableClock(long millis) {
+      this.millis = millis;
+    }
+
+    void advance(long delta) {
+      millis += delta;
+    }
+
+    @Override
+    public ZoneId getZone() {
+      return ZoneId.of("Europe/Vienna");
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+      return this;
+    }
+
+    @Override
+    public Instant instant() {
+      return Instant.ofEpochMilli(millis);
+    }
+
+    @Override
+    public long millis() {
+      return millis;
+    }
+  }
+}
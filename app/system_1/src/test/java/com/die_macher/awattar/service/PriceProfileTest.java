@@ -0,0 +1,75 @@
+package com.die_macher.awattar.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.die_macher.awattar.model.MarketData.MarketPrice;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class PriceProfileTest {
+  private static final long HOUR = 3_600_000L;
+  private static final long WEEK = 7 * 24 * HOUR;
+
+  /** Monday, 2025-01-06 00:00 in Vienna. */
+  private static final long MONDAY =
+      ZonedDateTime.of(2025, 1, 6, 0, 0, 0, 0, ZoneId.of("Europe/Vienna"))
+          .toInstant()
+          .toEpochMilli();
+
+  private static MarketPrice price(long start, double value) {
+    MarketPrice price = new MarketPrice();
+    price.setStartTimestamp(start);
+    price.setEndTimestamp(start + HOUR);
+    price.setMarketprice(value);
+    return price;
+  }
+
+  @Test
+  @DisplayName("Slots are indexed by weekday and hour of day in Vienna time")
+  void slotOf_UsesViennaWeekdayAndHour() {
+    assertEquals(0, PriceProfile.slotOf(MONDAY));
+    assertEquals(24 + 5, PriceProfile.slotOf(MONDAY + 29 * HOUR));
+    assertEquals(PriceProfile.SLOTS - 1, PriceProfile.slotOf(MONDAY + WEEK - HOUR));
+  }
+
+  @Test
+  @DisplayName("Observations of the same slot are smoothed towards the newest price")
+  void incorporate_SmoothsRepeatedSlots() {
+    PriceProfile profile = new PriceProfile();
+
+    profile.incorporate(List.of(price(MONDAY, 100)));
+    profile.incorporate(List.of(price(MONDAY + WEEK, 50)));
+
+    assertEquals(100 + PriceProfile.SMOOTHING * (50 - 100), profile.predict(MONDAY + 2 * WEEK));
+  }
+
+  @Test
+  @DisplayName("Hours at or before the watermark are not incorporated twice")
+  void incorporate_SkipsKnownHours() {
+    PriceProfile profile = new PriceProfile();
+    List<MarketPrice> day = List.of(price(MONDAY, 10), price(MONDAY + HOUR, 20));
+
+    assertEquals(2, profile.incorporate(day));
+    assertEquals(0, profile.incorporate(day));
+    assertEquals(
+        1, profile.incorporate(List.of(price(MONDAY + HOUR, 20), price(MONDAY + 2 * HOUR, 30))));
+
+    assertEquals(MONDAY + 2 * HOUR, profile.getWatermark());
+    assertEquals(10, profile.predict(MONDAY + WEEK));
+  }
+
+  @Test
+  @DisplayName("Unobserved slots fall back to the overall mean")
+  void predict_FallsBackToOverallMean() {
+    PriceProfile profile = new PriceProfile();
+    assertTrue(Double.isNaN(profile.predict(MONDAY)));
+
+    profile.incorporate(List.of(price(MONDAY, 10), price(MONDAY + HOUR, 30)));
+
+    assertFalse(profile.isEmpty());
+    assertEquals(20, profile.predict(MONDAY + 5 * HOUR));
+  }
+}
@@ -0,0 +1,240 @@
+package com.die_macher.awattar.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import com.die_macher.awattar.config.AwattarConfig;
+import com.die_macher.awattar.event.MarketDataUpdatedEvent;
+import com.die_macher.awattar.model.MarketData;
+import com.die_macher.awattar.model.MarketData.MarketPrice;
+import com.die_macher.awattar.model.ProductionJob;
+import com.die_macher.pick_and_place.service.api.PickAndPlaceService;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class ProductionSchedulerTest {
+  private static final long HOUR = 3_600_000L;
+  private static final long START = 1_700_000_000_000L / HOUR * HOUR;
+
+  @Mock private AwattarService awattarService;
+  @Mock private PickAndPlaceService pickAndPlaceService;
+  @Mock private ExecutorService productionExecutor;
+
+  private AwattarConfig config;
+  private ProductionScheduler scheduler;
+
+  @BeforeEach
+  void setUp() {
+    config = new AwattarConfig();
+    config.setPartsPerHour(5);
+    config.setEnergyPerPart(0.2);
+    scheduler = createScheduler(START);
+  }
+
+  private ProductionScheduler createScheduler(long nowMillis) {
+    Clock clock = Clock.fixed(Instant.ofEpochMilli(nowMillis), ZoneId.of("Europe/Vienna"));
+    return new ProductionScheduler(
+        awattarService, pickAndPlaceService, config, clock, productionExecutor);
+  }
+
+  private static MarketData marketData(double... prices) {
+    List<MarketPrice> data = new ArrayList<>();
+    for (int i = 0; i < prices.length; i++) {
+      MarketPrice price = new MarketPrice();
+      price.setStartTimestamp(START + i * HOUR);
+      price.setEndTimestamp(START + (i + 1) * HOUR);
+      price.setMarketprice(prices[i]);
+      price.setUnit("Eur/MWh");
+      data.add(price);
+    }
+    MarketData marketData = new MarketData();
+    marketData.setData(data);
+    return marketData;
+  }
+
+  @Test
+  @DisplayName("Job is planned into the cheapest hour")
+  void submit_PlansJobIntoCheapestHour() {
+    // Given
+    when(awattarService.fetchCurrentMarketData()).thenReturn(marketData(80, 20, 50));
+
+    // When
+    ProductionJob job = scheduler.submit(4);
+
+    // Then
+    assertEquals(ProductionJob.Status.PLANNED, job.getStatus());
+    assertEquals(START + HOUR, job.getPlannedStartTimestamp());
+    assertEquals(START + 2 * HOUR, job.getPlannedEndTimestamp());
+    assertEquals(4 * 0.2 * 0.02, job.getEstimatedCost(), 1e-9);
+  }
+
+  @Test
+  @DisplayName("Hourly capacity pushes the second job into the next cheapest hour")
+  void submit_RespectsHourlyCapacity() {
+    // Given
+    when(awattarService.fetchCurrentMarketData()).thenReturn(marketData(80, 20, 50));
+
+    // When
+    ProductionJob first = scheduler.submit(4);
+    ProductionJob second = scheduler.submit(3);
+
+    // Then
+    assertEquals(START + HOUR, first.getPlannedStartTimestamp());
+    assertEquals(START + 2 * HOUR, second.getPlannedStartTimestamp());
+    verify(awattarService, times(1)).fetchCurrentMarketData();
+  }
+
+  @Test
+  @DisplayName("Large job spans the cheapest run of consecutive hours")
+  void submit_LargeJobSpansConsecutiveHours() {
+    // Given
+    when(awattarService.fetchCurrentMarketData()).thenReturn(marketData(10, 90, 30, 30, 90));
+
+    // When
+    ProductionJob job = scheduler.submit(8);
+
+    // Then
+    assertEquals(START + 2 * HOUR, job.getPlannedStartTimestamp());
+    assertEquals(START + 4 * HOUR, job.getPlannedEndTimestamp());
+  }
+
+  @Test
+  @DisplayName("Job stays queued without prices and is planned once new prices arrive")
+  void onMarketDataUpdated_ReplansQueuedJobs() {
+    // Given
+    when(awattarService.fetchCurrentMarketData()).thenReturn(null);
+    ProductionJob job = scheduler.submit(2);
+    assertEquals(ProductionJob.Status.QUEUED, job.getStatus());
+
+    // When
+    scheduler.onMarketDataUpdated(new MarketDataUpdatedEvent(this, marketData(60, 40, 10)));
+
+    // Then
+    assertEquals(ProductionJob.Status.PLANNED, job.getStatus());
+    assertEquals(START + 2 * HOUR, job.getPlannedStartTimestamp());
+  }
+
+  @Test
+  @DisplayName("New prices move a planned job to the now cheaper hour")
+  void onMarketDataUpdated_MovesPlannedJob() {
+    // Given
+    when(awattarService.fetchCurrentMarketData()).thenReturn(marketData(80, 20, 50));
+    ProductionJob job = scheduler.submit(2);
+
+    // When
+    scheduler.onMarketDataUpdated(new MarketDataUpdatedEvent(this, marketData(80, 20, 5)));
+
+    // Then
+    assertEquals(START + 2 * HOUR, job.getPlannedStartTimestamp());
+  }
+
+  @Test
+  @DisplayName("Only due jobs are released to pick and place")
+  void releaseDueJobs_ReleasesOnlyDueJobs() {
+    // Given
+    doAnswer(
+            invocation -> {
+              invocation.<Runnable>getArgument(0).run();
+              return null;
+            })
+        .when(productionExecutor)
+        .execute(any(Runnable.class));
+    when(awattarService.fetchCurrentMarketData()).thenReturn(marketData(10, 20));
+    ProductionJob due = scheduler.submit(5);
+    ProductionJob later = scheduler.submit(3);
+
+    // When
+    scheduler.releaseDueJobs();
+
+    // Then
+    verify(pickAndPlaceService).startPickAndPlace(5);
+    verify(pickAndPlaceService, never()).startPickAndPlace(3);
+    assertEquals(ProductionJob.Status.COMPLETED, due.getStatus());
+    assertEquals(ProductionJob.Status.PLANNED, later.getStatus());
+  }
+
+  @Test
+  @DisplayName("Failed pick and place run marks the job as failed")
+  void releaseDueJobs_MarksFailedJob() {
+    // Given
+    doAnswer(
+            invocation -> {
+              invocation.<Runnable>getArgument(0).run();
+              return null;
+            })
+        .when(productionExecutor)
+        .execute(any(Runnable.class));
+    doThrow(new RuntimeException("robot offline")).when(pickAndPlaceService).startPickAndPlace(2);
+    when(awattarService.fetchCurrentMarketData()).thenReturn(marketData(10));
+    ProductionJob job = scheduler.submit(2);
+
+    // When
+    scheduler.releaseDueJobs();
+
+    // Then
+    assertEquals(ProductionJob.Status.FAILED, job.getStatus());
+  }
+
+  @Test
+  @DisplayName("Prices are fetched without holding the scheduler lock")
+  void submit_FetchesPricesOutsideLock() {
+    // Given
+    when(awattarService.fetchCurrentMarketData())
+        .thenAnswer(
+            invocation -> {
+              assertFalse(Thread.holdsLock(scheduler));
+              return marketData(80, 20, 50);
+            });
+
+    // When
+    ProductionJob job = scheduler.submit(4);
+
+    // Then
+    assertEquals(START + HOUR, job.getPlannedStartTimestamp());
+  }
+
+  @Test
+  @DisplayName("Only the most recently finished jobs are kept")
+  void releaseDueJobs_PrunesOldFinishedJobs() {
+    // Given
+    config.setRetainedFinishedJobs(1);
+    doAnswer(
+            invocation -> {
+              invocation.<Runnable>getArgument(0).run();
+              return null;
+            })
+        .when(productionExecutor)
+        .execute(any(Runnable.class));
+    doThrow(new RuntimeException("robot offline")).when(pickAndPlaceService).startPickAndPlace(1);
+    when(awattarService.fetchCurrentMarketData()).thenReturn(marketData(10, 20));
+    ProductionJob failed = scheduler.submit(1);
+    ProductionJob completed = scheduler.submit(2);
+    ProductionJob later = scheduler.submit(5);
+
+    // When
+    scheduler.releaseDueJobs();
+
+    // Then
+    assertEquals(ProductionJob.Status.FAILED, failed.getStatus());
+    assertEquals(List.of(completed, later), scheduler.getJobs());
+  }
+
+  @Test
+  @DisplayName("Invalid cube counts are rejected")
+  void submit_RejectsInvalidCubeCount() {
+    assertThrows(IllegalArgumentException.class, () -> scheduler.submit(0));
+    verifyNoInteractions(awattarService);
+  }
+}
@@ -0,0 +1,136 @@
+package com.die_macher.awattar.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.die_macher.awattar.model.MarketData;
+import com.die_macher.awattar.model.MarketData.MarketPrice;
+import com.die_macher.awattar.model.OptimalProductionWindow;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class ProductionWindowOptimizerTest {
+  private static final long HOUR = 3_600_000L;
+  private static final long START = 1_700_000_000_000L / HOUR * HOUR;
+
+  private static MarketData marketData(double... prices) {
+    List<MarketPrice> data = new ArrayList<>();
+    for (int i = 0; i < prices.length; i++) {
+      MarketPrice price = new MarketPrice();
+      price.setStartTimestamp(START + i * HOUR);
+      price.setEndTimestamp(START + (i + 1) * HOUR);
+      price.setMarketprice(prices[i]);
+      data.add(price);
+    }
+    MarketData marketData = new MarketData();
+    marketData.setData(data);
+    return marketData;
+  }
+
+  /** Cost of one kWh per production hour, i.e. the plain price sum in EUR/kWh. */
+  private static double oneKwhPerHour(List<MarketPrice> prices) {
+    return prices.stream().mapToDouble(MarketPrice::getPriceInEurPerKwh).sum();
+  }
+
+  @Test
+  @DisplayName("Cheapest contiguous window is found for every duration")
+  void cheapestContiguous_FindsBestWindowForEveryDuration() {
+    // Given
+    ProductionWindowOptimizer optimizer =
+        new ProductionWindowOptimizer(
+            marketData(50, 10, 90, 20, 20, 80), ProductionWindowOptimizerTest::oneKwhPerHour);
+
+    // When / Then
+    assertEquals(START + HOUR, optimizer.cheapestContiguous(1).getStartTimestamp());
+    assertEquals(START + 3 * HOUR, optimizer.cheapestContiguous(2).getStartTimestamp());
+    assertEquals(START + HOUR, optimizer.cheapestContiguous(3).getStartTimestamp());
+    assertEquals(START, optimizer.cheapestContiguous(6).getStartTimestamp());
+    assertEquals(START + 6 * HOUR, optimizer.cheapestContiguous(6).getEndTimestamp());
+  }
+
+  @Test
+  @DisplayName("Window cost and average price are derived from the selected hours")
+  void cheapestContiguous_CalculatesCostAndAveragePrice() {
+    // Given
+    ProductionWindowOptimizer optimizer =
+        new ProductionWindowOptimizer(
+            marketData(50, 10, 30, 90), ProductionWindowOptimizerTest::oneKwhPerHour);
+
+    // When
+    OptimalProductionWindow window = optimizer.cheapestContiguous(2);
+
+    // Then
+    assertEquals(0.04, window.getTotalCost(), 1e-9);
+    assertEquals(0.02, window.getPriceInEurPerKwh(), 1e-9);
+    assertEquals(2, window.getPrices().size());
+  }
+
+  @Test
+  @DisplayName("Earliest window wins when costs are equal")
+  void cheapestContiguous_PrefersEarliestWindowOnTie() {
+    // Given
+    ProductionWindowOptimizer optimizer =
+        new ProductionWindowOptimizer(
+            marketData(40, 40, 40, 40), ProductionWindowOptimizerTest::oneKwhPerHour);
+
+    // When / Then
+    assertEquals(START, optimizer.cheapestContiguous(2).getStartTimestamp());
+  }
+
+  @Test
+  @DisplayName("Cheapest hours are selected regardless of adjacency in chronological order")
+  void cheapestHours_SelectsNonContiguousHours() {
+    // Given
+    MarketData data = marketData(15, 90, 80, 5, 70, 10);
+    ProductionWindowOptimizer optimizer =
+        new ProductionWindowOptimizer(data, ProductionWindowOptimizerTest::oneKwhPerHour);
+
+    // When
+    OptimalProductionWindow window = optimizer.cheapestHours(3);
+
+    // Then
+    List<MarketPrice> prices = data.getData();
+    assertEquals(List.of(prices.get(0), prices.get(3), prices.get(5)), window.getPrices());
+    assertEquals(START, window.getStartTimestamp());
+    assertEquals(START + 6 * HOUR, window.getEndTimestamp());
+    assertEquals(0.03, window.getTotalCost(), 1e-9);
+  }
+
+  @Test
+  @DisplayName("Durations outside the available data return null")
+  void queries_ReturnNullForUnsupportedDurations() {
+    // Given
+    ProductionWindowOptimizer optimizer =
+        new ProductionWindowOptimizer(
+            marketData(10, 20), ProductionWindowOptimizerTest::oneKwhPerHour);
+
+    // When / Then
+    assertNull(optimizer.cheapestContiguous(0));
+    assertNull(optimizer.cheapestContiguous(3));
+    assertNull(optimizer.cheapestHours(3));
+    assertNull(new ProductionWindowOptimizer(null, prices -> 0).cheapestHours(1));
+  }
+
+  @Test
+  @DisplayName("Windows are only built for requested durations and then reused")
+  void queries_BuildRequestedWindowsOnce() {
+    // Given
+    AtomicInteger builtWindows = new AtomicInteger();
+    ProductionWindowOptimizer optimizer =
+        new ProductionWindowOptimizer(
+            marketData(50, 10, 90, 20, 20, 80),
+            prices -> builtWindows.incrementAndGet() + oneKwhPerHour(prices));
+
+    // When
+    OptimalProductionWindow first = optimizer.cheapestContiguous(2);
+    OptimalProductionWindow second = optimizer.cheapestContiguous(2);
+    optimizer.cheapestHours(2);
+    optimizer.cheapestHours(2);
+
+    // Then
+    assertSame(first, second);
+    assertEquals(2, builtWindows.get());
+  }
+}
@@ -0,0 +1,116 @@
+package com.die_macher.awattar.store;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.die_macher.awattar.model.MarketData.MarketPrice;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class PriceStoreTest {
+  private static final long HOUR = 3_600_000L;
+  private static final long START = 1_700_000_000_000L / HOUR * HOUR;
+
+  @TempDir Path tempDir;
+
+  private static List<MarketPrice> prices(int firstHour, int hours) {
+    List<MarketPrice> prices = new ArrayList<>();
+    for (int i = firstHour; i < firstHour + hours; i++) {
+      MarketPrice price = new MarketPrice();
+      price.setStartTimestamp(START + i * HOUR);
+      price.setEndTimestamp(START + (i + 1) * HOUR);
+      price.setMarketprice(40.5 + i);
+      price.setUnit("Eur/MWh");
+      prices.add(price);
+    }
+    return prices;
+  }
+
+  @Test
+  @DisplayName("Appended prices can be read back by time range")
+  void appendAndRead_ReturnsPricesInRange() throws IOException {
+    try (PriceStore store = PriceStore.open(tempDir.resolve("prices.bin"))) {
+      assertEquals(24, store.append(prices(0, 24)));
+
+      List<MarketPrice> result = store.read(START + 5 * HOUR, START + 8 * HOUR);
+
+      assertEquals(3, result.size());
+      assertEquals(START + 5 * HOUR, result.getFirst().getStartTimestamp());
+      assertEquals(START + 6 * HOUR, result.getFirst().getEndTimestamp());
+      assertEquals(45.5, result.getFirst().getMarketprice(), 0.0);
+      assertEquals(START + 7 * HOUR, result.getLast().getStartTimestamp());
+    }
+  }
+
+  @Test
+  @DisplayName("Already stored hours are not appended again")
+  void append_SkipsAlreadyStoredHours() throws IOException {
+    try (PriceStore store = PriceStore.open(tempDir.resolve("prices.bin"))) {
+      store.append(prices(0, 24));
+
+      int appended = store.append(prices(12, 24));
+
+      assertEquals(12, appended);
+      assertEquals(36, store.size());
+      assertEquals(36, store.read(Long.MIN_VALUE, Long.MAX_VALUE).size());
+    }
+  }
+
+  @Test
+  @DisplayName("Stored prices survive reopening the store")
+  void open_RestoresStoredPrices() throws IOException {
+    Path path = tempDir.resolve("prices.bin");
+    try (PriceStore store = PriceStore.open(path)) {
+      store.append(prices(0, 24));
+    }
+
+    try (PriceStore store = PriceStore.open(path)) {
+      assertEquals(24, store.size());
+      assertEquals(PriceStore.HEADER_SIZE + 24L * PriceStore.RECORD_SIZE, Files.size(path));
+      assertEquals(1, store.read(START + 23 * HOUR, START + 24 * HOUR).size());
+    }
+  }
+
+  @Test
+  @DisplayName("A partially written record is cut off when opening")
+  void open_TruncatesIncompleteRecord() throws IOException {
+    Path path = tempDir.resolve("prices.bin");
+    try (PriceStore store = PriceStore.open(path)) {
+      store.append(prices(0, 2));
+    }
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.APPEND)) {
+      channel.write(ByteBuffer.wrap(new byte[] {1, 2, 3}));
+    }
+
+    try (PriceStore store = PriceStore.open(path)) {
+      assertEquals(2, store.size());
+      assertEquals(1, store.append(prices(2, 1)));
+      assertEquals(3, store.read(Long.MIN_VALUE, Long.MAX_VALUE).size());
+    }
+  }
+
+  @Test
+  @DisplayName("Files without the store header are rejected")
+  void open_RejectsForeignFile() throws IOException {
+    Path path = tempDir.resolve("foreign.bin");
+    Files.write(path, "not a price store".getBytes());
+
+    assertThrows(IOException.class, () -> PriceStore.open(path));
+  }
+
+  @Test
+  @DisplayName("Reading an empty store returns no prices")
+  void read_EmptyStore() throws IOException {
+    try (PriceStore store = PriceStore.open(tempDir.resolve("nested/prices.bin"))) {
+      assertTrue(store.read(Long.MIN_VALUE, Long.MAX_VALUE).isEmpty());
+    }
+  }
+}
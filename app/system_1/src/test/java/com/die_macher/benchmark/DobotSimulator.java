@@ -0,0 +1,146 @@
+package com.die_macher.benchmark;
+
+import com.die_macher.pick_and_place.dobot.config.DobotSerialConnector;
+import com.die_macher.pick_and_place.dobot.protocol.DobotProtocol;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * In-process stand-in for the Dobot serial port. Every well-formed frame is answered with the
+ * acknowledgement a real Dobot Magician would send, so the complete command stack above the
+ * connector (commands, protocol framing, checksum validation) runs unchanged.
+ *
+ * <p>By default {@link #readData(int)} blocks for the requested timeout, just like {@link
+ * DobotSerialConnector}, so the benchmark reflects the real cost of a command round trip. A fixed
+ * response delay can be configured to model a faster serial link.
+ */
+class DobotSimulator extends DobotSerialConnector {
+  private static final int GET_DEVICE_SN = DobotProtocol.Commands.GET_DEVICE_SN.getValue();
+  private static final int DEVICE_NAME = DobotProtocol.Commands.GET_DEVICE_NAME.getValue();
+
+  private final long responseDelayMillis;
+  private boolean connected;
+  private byte[] pendingResponse;
+  private long queuedCommandIndex;
+  private long commandCount;
+
+  /**
+   * @param responseDelayMillis simulated time until a response is available, or a negative value
+   *     to block for the full read timeout like the serial connector does
+   */
+  DobotSimulator(long responseDelayMillis) {
+    this.responseDelayMillis = responseDelayMillis;
+  }
+
+  @Override
+  public synchronized boolean connect(String portName, int timeout) {
+    connected = true;
+    return true;
+  }
+
+  @Override
+  public synchronized void disconnect() {
+    connected = false;
+    pendingResponse = null;
+  }
+
+  @Override
+  public synchronized boolean reconnect() {
+    connected = true;
+    pendingResponse = null;
+    return true;
+  }
+
+  @Override
+  public synchronized void clearInputBuffer() {
+    pendingResponse = null;
+  }
+
+  @Override
+  public synchronized boolean isConnected() {
+    return connected;
+  }
+
+  @Override
+  public synchronized boolean sendData(byte[] data) {
+    if (!connected || !isValidFrame(data)) {
+      return false;
+    }
+
+    commandCount++;
+    pendingResponse = createResponse(data);
+    return true;
+  }
+
+  @Override
+  public byte[] readData(int timeout) {
+    try {
+      Thread.sleep(responseDelayMillis < 0 ? timeout : Math.min(responseDelayMillis, timeout));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return null;
+    }
+
+    synchronized (this) {
+      if (!connected) {
+        return null;
+      }
+
+      byte[] response = pendingResponse;
+      pendingResponse = null;
+      return response != null ? response : new byte[0];
+    }
+  }
+
+  synchronized long getCommandCount() {
+    return commandCount;
+  }
+
+  private static boolean isValidFrame(byte[] data) {
+    return data != null
+        && data.length >= DobotProtocol.Indices.MIN_MESSAGE_SIZE
+        && data[0] == DobotProtocol.HEADER[0]
+        && data[1] == DobotProtocol.HEADER[1]
+        && DobotProtocol.validateChecksum(data);
+  }
+
+  private byte[] createResponse(byte[] request) {
+    int commandId = request[DobotProtocol.Indices.COMMAND_INDEX] & 0xFF;
+    byte control = request[DobotProtocol.Indices.CONTROL_INDEX];
+    boolean isWrite = (control & DobotProtocol.ControlBits.READ_WRITE) != 0;
+    boolean isQueued = (control & DobotProtocol.ControlBits.IS_QUEUED) != 0;
+
+    byte[] payload;
+    if (commandId == GET_DEVICE_SN) {
+      payload = "SIM-DOBOT-0001".getBytes(StandardCharsets.UTF_8);
+    } else if (commandId == DEVICE_NAME && !isWrite) {
+      payload = "DobotSimulator".getBytes(StandardCharsets.UTF_8);
+    } else if (isQueued) {
+      // Queued commands are acknowledged with the 64-bit index they received in the queue
+      payload =
+          ByteBuffer.allocate(Long.BYTES)
+              .order(ByteOrder.LITTLE_ENDIAN)
+              .putLong(queuedCommandIndex++)
+              .array();
+    } else {
+      payload = new byte[0];
+    }
+
+    return frame(commandId, control, payload);
+  }
+
+  private static byte[] frame(int commandId, byte control, byte[] payload) {
+    byte[] message = new byte[DobotProtocol.Indices.PAYLOAD_INDEX + payload.length + 1];
+    message[0] = DobotProtocol.HEADER[0];
+    message[1] = DobotProtocol.HEADER[1];
+    message[DobotProtocol.Indices.LENGTH_INDEX] = (byte) (payload.length + 2);
+    message[DobotProtocol.Indices.COMMAND_INDEX] = (byte) commandId;
+    message[DobotProtocol.Indices.CONTROL_INDEX] = control;
+    System.arraycopy(payload, 0, message, DobotProtocol.Indices.PAYLOAD_INDEX, payload.length);
+    message[message.length - 1] =
+        DobotProtocol.calculateChecksum(Arrays.copyOf(message, message.length - 1));
+    return message;
+  }
+}
@@ -0,0 +1,129 @@
+package com.die_macher.benchmark;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import javax.imageio.ImageIO;
+
+/**
+ * Minimal replacement for the camera service running on the Raspberry Pi. It speaks the same
+ * framing as {@code TcpClientConfig} (4 byte big-endian length header followed by the payload) and
+ * answers every request with the next image of its rotation.
+ */
+class FakeCameraServer implements AutoCloseable {
+  private final ServerSocket serverSocket;
+  private final List<byte[]> images;
+  private final AtomicInteger nextImage = new AtomicInteger();
+
+  FakeCameraServer(List<byte[]> images) throws IOException {
+    if (images.isEmpty()) {
+      throw new IllegalArgumentException("At least one image is required");
+    }
+
+    this.images = List.copyOf(images);
+    this.serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+
+    Thread acceptThread = new Thread(this::acceptConnections, "fake-camera-server");
+    acceptThread.setDaemon(true);
+    acceptThread.start();
+  }
+
+  int getPort() {
+    return serverSocket.getLocalPort();
+  }
+
+  /**
+   * Loads all PNG and JPEG files of a directory in file name order.
+   *
+   * @param directory directory containing captured camera images
+   * @return the raw image files
+   */
+  static List<byte[]> loadImages(Path directory) throws IOException {
+    List<byte[]> images = new ArrayList<>();
+    try (Stream<Path> files = Files.list(directory)) {
+      for (Path file : files.sorted().toList()) {
+        String name = file.getFileName().toString().toLowerCase();
+        if (name.endsWith(".png") || name.endsWith(".jpg") || name.endsWith(".jpeg")) {
+          images.add(Files.readAllBytes(file));
+        }
+      }
+    }
+    return images;
+  }
+
+  /**
+   * Renders one solid image per supported cube color, used when no captured images are given.
+   *
+   * @param width image width in pixels
+   * @param height image height in pixels
+   * @return PNG encoded images for red, green, blue and yellow
+   */
+  static List<byte[]> generateImages(int width, int height) {
+    List<byte[]> images = new ArrayList<>();
+    for (Color color : List.of(Color.RED, Color.GREEN, Color.BLUE, Color.YELLOW)) {
+      BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+      Graphics2D graphics = image.createGraphics();
+      graphics.setColor(color);
+      graphics.fillRect(0, 0, width, height);
+      graphics.dispose();
+
+      try (ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+        ImageIO.write(image, "png", out);
+        images.add(out.toByteArray());
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+    return images;
+  }
+
+  private void acceptConnections() {
+    while (!serverSocket.isClosed()) {
+      try {
+        Socket socket = serverSocket.accept();
+        Thread handler = new Thread(() -> serve(socket), "fake-camera-connection");
+        handler.setDaemon(true);
+        handler.start();
+      } catch (IOException e) {
+        // Socket closed
+      }
+    }
+  }
+
+  private void serve(Socket socket) {
+    try (socket;
+        DataInputStream in = new DataInputStream(socket.getInputStream());
+        DataOutputStream out = new DataOutputStream(socket.getOutputStream())) {
+      while (true) {
+        byte[] request = new byte[in.readInt()];
+        in.readFully(request);
+
+        byte[] image = images.get(Math.floorMod(nextImage.getAndIncrement(), images.size()));
+        out.writeInt(image.length);
+        out.write(image);
+        out.flush();
+      }
+    } catch (IOException e) {
+      // Client disconnected
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    serverSocket.close();
+  }
+}
@@ -0,0 +1,108 @@
+package com.die_macher.benchmark;
+
+import java.util.Arrays;
+
+/**
+ * Records latency samples and reports percentiles plus a power-of-two bucketed distribution. A
+ * benchmark run produces at most a few hundred samples per phase, so all samples are kept and
+ * percentiles are exact.
+ */
+class LatencyHistogram {
+  private long[] samples = new long[64];
+  private int count;
+
+  synchronized void record(long nanos) {
+    if (count == samples.length) {
+      samples = Arrays.copyOf(samples, count * 2);
+    }
+    samples[count++] = nanos;
+  }
+
+  synchronized int count() {
+    return count;
+  }
+
+  synchronized Snapshot snapshot() {
+    long[] sorted = Arrays.copyOf(samples, count);
+    Arrays.sort(sorted);
+    return new Snapshot(sorted);
+  }
+
+  /** Immutable view of the samples recorded so far, sorted ascending. */
+  static final class Snapshot {
+    private final long[] sorted;
+
+    private Snapshot(long[] sorted) {
+      this.sorted = sorted;
+    }
+
+    int count() {
+      return sorted.length;
+    }
+
+    double minMillis() {
+      return sorted.length == 0 ? 0 : toMillis(sorted[0]);
+    }
+
+    double maxMillis() {
+      return sorted.length == 0 ? 0 : toMillis(sorted[sorted.length - 1]);
+    }
+
+    double meanMillis() {
+      return sorted.length == 0 ? 0 : toMillis(Arrays.stream(sorted).sum() / sorted.length);
+    }
+
+    double percentileMillis(double percentile) {
+      if (sorted.length == 0) {
+        return 0;
+      }
+      int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+      return toMillis(sorted[Math.clamp(rank - 1, 0, sorted.length - 1)]);
+    }
+
+    /**
+     * Renders the distribution with one line per power-of-two millisecond bucket.
+     *
+     * @param indent prefix for every line
+     * @return the rendered histogram
+     */
+    String render(String indent) {
+      if (sorted.length == 0) {
+        return indent + "(no samples)" + System.lineSeparator();
+      }
+
+      int[] buckets = new int[64];
+      int lowest = Integer.MAX_VALUE;
+      int highest = 0;
+      for (long nanos : sorted) {
+        int bucket = bucketOf(nanos);
+        buckets[bucket]++;
+        lowest = Math.min(lowest, bucket);
+        highest = Math.max(highest, bucket);
+      }
+
+      int widest = Arrays.stream(buckets).max().orElse(1);
+      StringBuilder result = new StringBuilder();
+      for (int bucket = lowest; bucket <= highest; bucket++) {
+        long upperMillis = 1L << bucket;
+        int bar = (int) Math.round(40.0 * buckets[bucket] / widest);
+        result
+            .append(indent)
+            .append(
+                String.format(
+                    "<= %8d ms | %-40s %d", upperMillis, "#".repeat(bar), buckets[bucket]))
+            .append(System.lineSeparator());
+      }
+      return result.toString();
+    }
+
+    private static int bucketOf(long nanos) {
+      long millis = Math.max(1, (nanos + 999_999) / 1_000_000);
+      return 64 - Long.numberOfLeadingZeros(millis - 1);
+    }
+
+    private static double toMillis(long nanos) {
+      return nanos / 1_000_000.0;
+    }
+  }
+}
@@ -0,0 +1,487 @@
+package com.die_macher.benchmark;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import ch.qos.logback.classic.Level;
+import com.die_macher.pick_and_place.config.PickAndPlaceTimings;
+import com.die_macher.pick_and_place.config.RobotConfiguration;
+import com.die_macher.pick_and_place.config.StringToPositionConverter;
+import com.die_macher.pick_and_place.dobot.config.DobotProperties;
+import com.die_macher.pick_and_place.dobot.service.DobotServiceImpl;
+import com.die_macher.pick_and_place.dobot.service.api.DobotService;
+import com.die_macher.pick_and_place.event.api.ImageReceivedEvent;
+import com.die_macher.pick_and_place.event.api.ImageRequestedEvent;
+import com.die_macher.pick_and_place.service.ColorDetectionService;
+import com.die_macher.pick_and_place.service.HeightCalculator;
+import com.die_macher.pick_and_place.service.PickAndPlaceOrchestrator;
+import com.die_macher.pick_and_place.service.RobotMovementService;
+import com.die_macher.pick_and_place.service.StackTracker;
+import com.die_macher.tcp_raspi.infrastructure.InboundEndpoint;
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.ConfigurationPropertySources;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.env.MutablePropertySources;
+import org.springframework.core.env.PropertiesPropertySource;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+import org.springframework.integration.support.MessageBuilder;
+
+/**
+ * End-to-end benchmark of the pick and place cycle without hardware. The real {@link
+ * PickAndPlaceOrchestrator}, {@link RobotMovementService}, {@link ColorDetectionService}, {@link
+ * DobotServiceImpl} and {@link InboundEndpoint} are wired to an in-process {@link DobotSimulator}
+ * and a {@link FakeCameraServer} that serves images over the Raspberry Pi TCP framing.
+ *
+ * <p>The benchmark is not part of the regular test run. Start it with {@code mvn test
+ * -Pbenchmark}; it accepts the following system properties:
+ *
+ * <ul>
+ *   <li>{@code benchmark.cubes} – cubes per pick and place run (default 4)
+ *   <li>{@code benchmark.runs} – number of runs (default 3)
+ *   <li>{@code benchmark.images} – directory with captured camera images; solid color images are
+ *       generated when absent
+ *   <li>{@code benchmark.image-width}, {@code benchmark.image-height} – size of generated images
+ *       (default 640x480)
+ *   <li>{@code benchmark.dobot.response-delay-ms} – simulated serial response time; by default the
+ *       simulator blocks for the full read timeout like the serial connector
+ *   <li>{@code benchmark.baseline} – results file of an earlier run to compare against
+ *   <li>{@code benchmark.timings} – {@code simulator} (default) skips the stabilization waits of
+ *       the real cell, so the phases measure the code; {@code production} uses the tuned timings
+ *       from {@code application.properties}
+ *   <li>{@code pick-and-place.timing.*} – overrides for single {@link PickAndPlaceTimings} in
+ *       either mode
+ * </ul>
+ *
+ * <p>Per-phase latency histograms are printed and written to {@code target/benchmark}, so a later
+ * run can use them as baseline.
+ */
+@Tag("benchmark")
+class PickAndPlaceBenchmark {
+  private static final Path RESULT_DIRECTORY = Path.of("target", "benchmark");
+  private static final String TIMING_PREFIX = "pick-and-place.timing.";
+
+  /** Phases of a single cube cycle as seen from the orchestrator. */
+  enum Phase {
+    PICKUP,
+    CAMERA,
+    DETECT,
+    PLACE,
+    RETURN,
+    CYCLE
+  }
+
+  @Test
+  void benchmarkPickAndPlaceCycle() throws Exception {
+    int cubes = Integer.getInteger("benchmark.cubes", 4);
+    int runs = Integer.getInteger("benchmark.runs", 3);
+    long responseDelayMillis = Long.getLong("benchmark.dobot.response-delay-ms", -1L);
+
+    Level previousLevel = setRootLogLevel(Level.WARN);
+    try {
+      Binder binder = createBinder();
+      RobotConfiguration robotConfiguration =
+          binder.bind("dobot.movement", RobotConfiguration.class).get();
+      PickAndPlaceTimings timings =
+          binder.bindOrCreate("pick-and-place.timing", PickAndPlaceTimings.class);
+
+      PhaseRecorder recorder = new PhaseRecorder();
+      DobotSimulator simulator = new DobotSimulator(responseDelayMillis);
+
+      try (FakeCameraServer cameraServer = new FakeCameraServer(loadImages());
+          CameraBridge cameraBridge = new CameraBridge(cameraServer.getPort(), recorder)) {
+        DobotServiceImpl dobotService = new DobotServiceImpl(dobotProperties(), simulator);
+        dobotService.initialize();
+
+        RobotMovementService movementService =
+            new TimedRobotMovementService(
+                dobotService,
+                robotConfiguration,
+                new HeightCalculator(robotConfiguration),
+                recorder);
+        PickAndPlaceOrchestrator orchestrator =
+            new PickAndPlaceOrchestrator(
+                movementService,
+                new StackTracker(),
+                new TimedColorDetectionService(recorder),
+                cameraBridge,
+                timings);
+        cameraBridge.connect(orchestrator);
+
+        long start = System.nanoTime();
+        for (int run = 0; run < runs; run++) {
+          orchestrator.startPickAndPlace(cubes);
+          recorder.finishCycle(System.nanoTime());
+        }
+        long elapsed = System.nanoTime() - start;
+
+        dobotService.cleanup();
+
+        Properties results = recorder.toProperties();
+        results.setProperty("cubes", String.valueOf(cubes * runs));
+        results.setProperty("elapsed.ms", String.valueOf(elapsed / 1_000_000));
+        results.setProperty("dobot.commands", String.valueOf(simulator.getCommandCount()));
+
+        report(recorder, results, timings);
+        assertEquals(cubes * runs, recorder.histogram(Phase.CYCLE).count());
+      }
+    } finally {
+      setRootLogLevel(previousLevel);
+    }
+  }
+
+  private static Binder createBinder() throws IOException {
+    MutablePropertySources sources = new MutablePropertySources();
+    sources.addLast(new PropertiesPropertySource("systemProperties", System.getProperties()));
+    String timings = System.getProperty("benchmark.timings", "simulator");
+    switch (timings) {
+      case "simulator" -> sources.addLast(simulatorTimings());
+      case "production" -> {}
+      default -> throw new IllegalArgumentException("Unknown benchmark.timings: " + timings);
+    }
+    sources.addLast(
+        new PropertiesPropertySource(
+            "applicationProperties",
+            PropertiesLoaderUtils.loadAllProperties("application.properties")));
+
+    ApplicationConversionService conversionService = new ApplicationConversionService();
+    conversionService.addConverter(new StringToPositionConverter());
+    return new Binder(ConfigurationPropertySources.from(sources), null, conversionService);
+  }
+
+  /**
+   * Timings for the simulator, which needs no time to settle. The detection timeout only guards
+   * against a lost image and is kept.
+   */
+  private static PropertiesPropertySource simulatorTimings() {
+    Properties properties = new Properties();
+    properties.setProperty(TIMING_PREFIX + "initial-stabilization", "0s");
+    properties.setProperty(TIMING_PREFIX + "camera-stabilization", "0s");
+    properties.setProperty(TIMING_PREFIX + "return-stabilization", "0s");
+    properties.setProperty(TIMING_PREFIX + "color-detection-timeout", "10s");
+    return new PropertiesPropertySource("simulatorTimings", properties);
+  }
+
+  private static DobotProperties dobotProperties() {
+    DobotProperties properties = new DobotProperties();
+    properties.setPortName("SIMULATOR");
+    properties.setTimeoutMillis(5000);
+    return properties;
+  }
+
+  private static List<byte[]> loadImages() throws IOException {
+    String directory = System.getProperty("benchmark.images");
+    if (directory != null && !directory.isBlank()) {
+      return FakeCameraServer.loadImages(Path.of(directory));
+    }
+
+    return FakeCameraServer.generateImages(
+        Integer.getInteger("benchmark.image-width", 640),
+        Integer.getInteger("benchmark.image-height", 480));
+  }
+
+  private static Level setRootLogLevel(Level level) {
+    ch.qos.logback.classic.Logger root =
+        (ch.qos.logback.classic.Logger) LoggerFactory.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME);
+    Level previous = root.getLevel();
+    root.setLevel(level);
+    return previous;
+  }
+
+  private static void report(
+      PhaseRecorder recorder, Properties results, PickAndPlaceTimings timings) throws IOException {
+    Properties baseline = loadBaseline();
+
+    StringBuilder out = new StringBuilder();
+    out.append(System.lineSeparator())
+        .append("Pick and place benchmark: ")
+        .append(results.getProperty("cubes"))
+        .append(" cubes, ")
+        .append(results.getProperty("dobot.commands"))
+        .append(" Dobot commands, ")
+        .append(results.getProperty("elapsed.ms"))
+        .append(" ms")
+        .append(System.lineSeparator())
+        .append("Timings: ")
+        .append(timings)
+        .append(System.lineSeparator())
+        .append(
+            String.format(
+                "%-8s %6s %10s %10s %10s %10s %10s %10s%n",
+                "phase", "n", "min", "p50", "p90", "p99", "max", "mean"));
+
+    for (Phase phase : Phase.values()) {
+      LatencyHistogram.Snapshot snapshot = recorder.histogram(phase).snapshot();
+      out.append(
+          String.format(
+              "%-8s %6d %10.1f %10.1f %10.1f %10.1f %10.1f %10.1f%s%n",
+              phase.name().toLowerCase(),
+              snapshot.count(),
+              snapshot.minMillis(),
+              snapshot.percentileMillis(50),
+              snapshot.percentileMillis(90),
+              snapshot.percentileMillis(99),
+              snapshot.maxMillis(),
+              snapshot.meanMillis(),
+              compareToBaseline(baseline, phase, snapshot)));
+    }
+
+    for (Phase phase : Phase.values()) {
+      out.append(phase.name().toLowerCase())
+          .append(" (ms)")
+          .append(System.lineSeparator())
+          .append(recorder.histogram(phase).snapshot().render("  "));
+    }
+
+    Files.createDirectories(RESULT_DIRECTORY);
+    String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+    Path resultFile = RESULT_DIRECTORY.resolve("pick-and-place-" + timestamp + ".properties");
+    try (OutputStream stream = Files.newOutputStream(resultFile)) {
+      results.store(stream, "Pick and place benchmark results (milliseconds)");
+    }
+    out.append("Results written to ").append(resultFile.toAbsolutePath());
+
+    System.out.println(out);
+  }
+
+  private static Properties loadBaseline() throws IOException {
+    String baselineFile = System.getProperty("benchmark.baseline");
+    if (baselineFile == null || baselineFile.isBlank()) {
+      return null;
+    }
+
+    Properties baseline = new Properties();
+    try (InputStream stream = Files.newInputStream(Path.of(baselineFile))) {
+      baseline.load(stream);
+    }
+    return baseline;
+  }
+
+  private static String compareToBaseline(
+      Properties baseline, Phase phase, LatencyHistogram.Snapshot snapshot) {
+    if (baseline == null) {
+      return "";
+    }
+
+    String previous = baseline.getProperty(phase.name().toLowerCase() + ".p50");
+    if (previous == null || Double.parseDouble(previous) == 0) {
+      return "   (no baseline)";
+    }
+
+    double change = (snapshot.percentileMillis(50) / Double.parseDouble(previous) - 1) * 100;
+    return String.format("   p50 %+.1f%% vs baseline", change);
+  }
+
+  /** Collects the phase timings reported by the instrumented collaborators. */
+  static final class PhaseRecorder {
+    private final Map<Phase, LatencyHistogram> histograms = new EnumMap<>(Phase.class);
+    private long cycleStart = -1;
+    private long cameraStart = -1;
+    private long returnStart = -1;
+
+    PhaseRecorder() {
+      for (Phase phase : Phase.values()) {
+        histograms.put(phase, new LatencyHistogram());
+      }
+    }
+
+    LatencyHistogram histogram(Phase phase) {
+      return histograms.get(phase);
+    }
+
+    void record(Phase phase, long startNanos) {
+      histograms.get(phase).record(System.nanoTime() - startNanos);
+    }
+
+    synchronized void startCycle(long now) {
+      finishCycle(now);
+      cycleStart = now;
+    }
+
+    synchronized void finishCycle(long now) {
+      if (returnStart >= 0) {
+        histograms.get(Phase.RETURN).record(now - returnStart);
+        returnStart = -1;
+      }
+      if (cycleStart >= 0) {
+        histograms.get(Phase.CYCLE).record(now - cycleStart);
+        cycleStart = -1;
+      }
+    }
+
+    synchronized void startCamera(long now) {
+      cameraStart = now;
+    }
+
+    synchronized void imageReceived(long now) {
+      if (cameraStart >= 0) {
+        histograms.get(Phase.CAMERA).record(now - cameraStart);
+        cameraStart = -1;
+      }
+    }
+
+    synchronized void startReturn(long now) {
+      returnStart = now;
+    }
+
+    Properties toProperties() {
+      Properties properties = new Properties();
+      for (Phase phase : Phase.values()) {
+        LatencyHistogram.Snapshot snapshot = histograms.get(phase).snapshot();
+        String prefix = phase.name().toLowerCase();
+        properties.setProperty(prefix + ".count", String.valueOf(snapshot.count()));
+        properties.setProperty(prefix + ".p50", format(snapshot.percentileMillis(50)));
+        properties.setProperty(prefix + ".p90", format(snapshot.percentileMillis(90)));
+        properties.setProperty(prefix + ".p99", format(snapshot.percentileMillis(99)));
+        properties.setProperty(prefix + ".max", format(snapshot.maxMillis()));
+        properties.setProperty(prefix + ".mean", format(snapshot.meanMillis()));
+      }
+      return properties;
+    }
+
+    private static String format(double millis) {
+      return String.format(Locale.ROOT, "%.3f", millis);
+    }
+  }
+
+  /** Movement service that reports pickup, place and the start of the camera and return phase. */
+  static final class TimedRobotMovementService extends RobotMovementService {
+    private final PhaseRecorder recorder;
+
+    TimedRobotMovementService(
+        DobotService dobotService,
+        RobotConfiguration config,
+        HeightCalculator heightCalculator,
+        PhaseRecorder recorder) {
+      super(dobotService, config, heightCalculator);
+      this.recorder = recorder;
+    }
+
+    @Override
+    public void pickupCube(int stackPosition) {
+      long start = System.nanoTime();
+      recorder.startCycle(start);
+      super.pickupCube(stackPosition);
+      recorder.record(Phase.PICKUP, start);
+    }
+
+    @Override
+    public void moveToCamera() {
+      recorder.startCamera(System.nanoTime());
+      super.moveToCamera();
+    }
+
+    @Override
+    public void placeCube(Color color, int stackHeight, int maxStackHeight) {
+      long start = System.nanoTime();
+      super.placeCube(color, stackHeight, maxStackHeight);
+      recorder.record(Phase.PLACE, start);
+      recorder.startReturn(System.nanoTime());
+    }
+  }
+
+  /** Color detection that reports the time spent analysing the image. */
+  static final class TimedColorDetectionService extends ColorDetectionService {
+    private final PhaseRecorder recorder;
+
+    TimedColorDetectionService(PhaseRecorder recorder) {
+      this.recorder = recorder;
+    }
+
+    @Override
+    public Color detectDominantColor(BufferedImage image) {
+      long start = System.nanoTime();
+      Color color = super.detectDominantColor(image);
+      recorder.record(Phase.DETECT, start);
+      return color;
+    }
+  }
+
+  /**
+   * Plays the role of the TCP outbound and inbound endpoints: image requests are sent to the fake
+   * camera server and the answers are handed to the real {@link InboundEndpoint} on a separate
+   * thread, like the Spring Integration receiving adapter does.
+   */
+  static final class CameraBridge implements ApplicationEventPublisher, AutoCloseable {
+    private static final byte[] IMAGE_REQUEST = "SEND_IMAGE".getBytes(StandardCharsets.UTF_8);
+
+    private final Socket socket;
+    private final DataInputStream in;
+    private final DataOutputStream out;
+    private final PhaseRecorder recorder;
+    private final InboundEndpoint inboundEndpoint = new InboundEndpoint(this);
+    private final ExecutorService inboundExecutor =
+        Executors.newSingleThreadExecutor(
+            runnable -> {
+              Thread thread = new Thread(runnable, "camera-inbound");
+              thread.setDaemon(true);
+              return thread;
+            });
+    private volatile PickAndPlaceOrchestrator orchestrator;
+
+    CameraBridge(int port, PhaseRecorder recorder) throws IOException {
+      this.socket = new Socket(InetAddress.getLoopbackAddress(), port);
+      this.socket.setTcpNoDelay(true);
+      this.in = new DataInputStream(socket.getInputStream());
+      this.out = new DataOutputStream(socket.getOutputStream());
+      this.recorder = recorder;
+    }
+
+    void connect(PickAndPlaceOrchestrator orchestrator) {
+      this.orchestrator = orchestrator;
+    }
+
+    @Override
+    public void publishEvent(Object event) {
+      if (event instanceof ImageRequestedEvent) {
+        inboundExecutor.execute(this::requestImage);
+      } else if (event instanceof ImageReceivedEvent imageReceived) {
+        recorder.imageReceived(System.nanoTime());
+        orchestrator.handleColorDetected(imageReceived);
+      }
+    }
+
+    private void requestImage() {
+      try {
+        out.writeInt(IMAGE_REQUEST.length);
+        out.write(IMAGE_REQUEST);
+        out.flush();
+
+        byte[] image = new byte[in.readInt()];
+        in.readFully(image);
+        inboundEndpoint.processImageMessage(MessageBuilder.withPayload(image).build());
+      } catch (IOException e) {
+        throw new IllegalStateException("Camera request failed", e);
+      }
+    }
+
+    @Override
+    public void close() throws IOException {
+      inboundExecutor.shutdownNow();
+      socket.close();
+    }
+  }
+}
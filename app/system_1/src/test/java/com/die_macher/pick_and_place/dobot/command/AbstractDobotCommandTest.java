@@ -7,6 +7,11 @@ import static org.mockito.Mockito.*;
 import com.die_macher.pick_and_place.dobot.config.DobotSerialConnector;
 import com.die_macher.pick_and_place.dobot.exception.DobotCommunicationException;
 import com.die_macher.pick_and_place.dobot.protocol.DobotProtocol;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -25,9 +30,20 @@ class AbstractDobotCommandTest {
 
   private TestDobotCommand command;
 
+  private SimpleMeterRegistry meterRegistry;
+
   @BeforeEach
   void setUp() {
     command = new TestDobotCommand();
+    meterRegistry = new SimpleMeterRegistry();
+    Metrics.globalRegistry.add(meterRegistry);
+  }
+
+  @AfterEach
+  void tearDown() {
+    Metrics.globalRegistry.remove(meterRegistry);
+    // Meters left in the global registry would be added to the next test's registry.
+    Metrics.globalRegistry.clear();
   }
 
   @Test
@@ -123,6 +139,58 @@ class AbstractDobotCommandTest {
     verify(connector).readData(anyInt());
   }
 
+  @Test
+  @DisplayName("Should record timer tagged with command, queued flag and outcome on success")
+  void testSuccessfulExecutionIsTimed() throws DobotCommunicationException {
+    // Arrange
+    byte[] validResponse = new byte[] {(byte) 0xAA, (byte) 0xAA, 0x02, 0x00, 0x00, 0x00};
+    when(connector.isConnected()).thenReturn(true);
+    when(connector.sendData(any(byte[].class))).thenReturn(true);
+    when(connector.readData(anyInt())).thenReturn(validResponse);
+
+    // Act
+    command.execute(connector);
+
+    // Assert
+    Timer timer =
+        meterRegistry
+            .find("dobot.command")
+            .tags("command", "GET_DEVICE_SN", "queued", "false", "outcome", "success")
+            .timer();
+    assertNotNull(timer, "Timer should be registered for the command");
+    assertEquals(1, timer.count());
+    assertNull(meterRegistry.find("dobot.command.failures").counter());
+  }
+
+  @Test
+  @DisplayName("Should count failures tagged with the failure outcome")
+  void testFailedExecutionIsCounted() {
+    // Arrange
+    when(connector.isConnected()).thenReturn(true);
+    when(connector.sendData(any(byte[].class))).thenReturn(true);
+    when(connector.readData(anyInt())).thenReturn(new byte[] {0x01, 0x02, 0x03, 0x04, 0x05, 0x06});
+
+    // Act
+    assertThrows(DobotCommunicationException.class, () -> command.execute(connector));
+
+    // Assert
+    Counter failures =
+        meterRegistry
+            .find("dobot.command.failures")
+            .tags("command", "GET_DEVICE_SN", "outcome", "invalid_response")
+            .counter();
+    assertNotNull(failures, "Failure counter should be registered");
+    assertEquals(1.0, failures.count());
+  }
+
+  @Test
+  @DisplayName("Should read queued flag from the control byte")
+  void testQueuedFlagIsReadFromControlByte() {
+    assertTrue(AbstractDobotCommand.isQueued(new byte[] {0, 0, 0, 0, 0x03}));
+    assertFalse(AbstractDobotCommand.isQueued(new byte[] {0, 0, 0, 0, 0x01}));
+    assertFalse(AbstractDobotCommand.isQueued(new byte[] {0x01, 0x02, 0x03}));
+  }
+
   /** Test implementation of AbstractDobotCommand for testing purposes. */
   private static class TestDobotCommand extends AbstractDobotCommand<String> {
 
@@ -39,6 +39,15 @@ class DobotCommandExecutorTest {
 
   // ===== Helper Methods =====
   private void mockSuccessfulCommunication(DobotProtocol.Commands commandId, byte[] payload) {
+    byte[] completeMessage = createResponse(commandId, payload);
+
+    // Mock connector behavior
+    when(connector.isConnected()).thenReturn(true);
+    when(connector.sendData(any(byte[].class))).thenReturn(true);
+    doAnswer(invocation -> completeMessage).when(connector).readData(anyInt());
+  }
+
+  private byte[] createResponse(DobotProtocol.Commands commandId, byte[] payload) {
     byte[] response = new byte[DobotProtocol.Indices.MIN_MESSAGE_SIZE + payload.length - 1];
 
     // Set Header
@@ -64,11 +73,7 @@ class DobotCommandExecutorTest {
     byte[] completeMessage = new byte[response.length + 1];
     System.arraycopy(response, 0, completeMessage, 0, response.length);
     completeMessage[completeMessage.length - 1] = checksum;
-
-    // Mock connector behavior
-    when(connector.isConnected()).thenReturn(true);
-    when(connector.sendData(any(byte[].class))).thenReturn(true);
-    doAnswer(invocation -> completeMessage).when(connector).readData(anyInt());
+    return completeMessage;
   }
 
   private void verifyCommunication() {
@@ -192,4 +197,57 @@ class DobotCommandExecutorTest {
     assertTrue(result, "Should return true for successful vacuum state change");
     verifyCommunication();
   }
+
+  // ===== Recovery =====
+  @Test
+  @DisplayName("Should resync and retry idempotent command after corrupted response")
+  void shouldRetryIdempotentCommandAfterCorruptedResponse() throws DobotCommunicationException {
+    byte[] validResponse =
+        createResponse(DobotProtocol.Commands.GET_DEVICE_SN, DEVICE_SN.getBytes());
+    byte[] corruptedResponse = validResponse.clone();
+    corruptedResponse[corruptedResponse.length - 1]++;
+
+    when(connector.isConnected()).thenReturn(true);
+    when(connector.sendData(any(byte[].class))).thenReturn(true);
+    when(connector.readData(anyInt())).thenReturn(corruptedResponse, validResponse);
+
+    String result = commandExecutor.getDeviceSN();
+
+    assertEquals(DEVICE_SN, result, "Should return the serial number of the second attempt");
+    verify(connector, times(2)).sendData(any(byte[].class));
+    verify(connector).clearInputBuffer();
+    verify(connector, never()).reconnect();
+  }
+
+  @Test
+  @DisplayName("Should not retry queued command")
+  void shouldNotRetryQueuedCommand() {
+    when(connector.isConnected()).thenReturn(true);
+    when(connector.sendData(any(byte[].class))).thenReturn(true);
+    when(connector.readData(anyInt())).thenReturn(new byte[0]);
+
+    assertThrows(
+        DobotCommunicationException.class,
+        () -> commandExecutor.moveToPosition(PTPModes.MOVJ_XYZ, 1f, 2f, 3f, 4f, true));
+
+    verify(connector).sendData(any(byte[].class));
+    verify(connector).clearInputBuffer();
+  }
+
+  @Test
+  @DisplayName("Should reopen port after consecutive failures")
+  void shouldReconnectAfterConsecutiveFailures() {
+    when(connector.isConnected()).thenReturn(true);
+    when(connector.sendData(any(byte[].class))).thenReturn(true);
+    when(connector.readData(anyInt())).thenReturn(null);
+    when(connector.reconnect()).thenReturn(true);
+
+    DobotCommunicationException exception =
+        assertThrows(DobotCommunicationException.class, () -> commandExecutor.getDeviceSN());
+
+    assertEquals(DobotCommunicationException.ErrorType.NO_RESPONSE, exception.getErrorType());
+    verify(connector, times(3)).sendData(any(byte[].class));
+    verify(connector, times(3)).clearInputBuffer();
+    verify(connector).reconnect();
+  }
 }
@@ -5,6 +5,8 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
 import com.fazecast.jSerialComm.SerialPort;
+import com.fazecast.jSerialComm.SerialPortDataListener;
+import com.fazecast.jSerialComm.SerialPortEvent;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
@@ -15,6 +17,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.MockedStatic;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -212,6 +215,66 @@ class DobotSerialConnectorTest {
     }
   }
 
+  @Test
+  @DisplayName("Should notify connection lost listener when write fails")
+  void testSendDataFailureNotifiesListener() throws IOException {
+    // Arrange
+    OutputStream mockOutputStream = mock(OutputStream.class);
+    doThrow(new IOException("Device removed")).when(mockOutputStream).write(any(byte[].class));
+    AtomicBoolean notified = new AtomicBoolean(false);
+    connector.setConnectionLostListener(() -> notified.set(true));
+
+    try (MockedStatic<SerialPort> serialPortMockedStatic = mockStatic(SerialPort.class)) {
+      serialPortMockedStatic.when(() -> SerialPort.getCommPort(any())).thenReturn(serialPort);
+      serialPortMockedStatic
+          .when(SerialPort::getCommPorts)
+          .thenReturn(new SerialPort[] {serialPort});
+
+      when(serialPort.openPort()).thenReturn(true);
+      when(serialPort.isOpen()).thenReturn(true);
+      when(serialPort.getInputStream()).thenReturn(inputStream);
+      when(serialPort.getOutputStream()).thenReturn(mockOutputStream);
+      connector.connect("COM3", 1000);
+
+      // Act
+      connector.sendData(new byte[] {0x01});
+
+      // Assert
+      assertTrue(notified.get(), "Listener should be notified about the lost port");
+    }
+  }
+
+  @Test
+  @DisplayName("Should notify connection lost listener on driver disconnect event")
+  void testDisconnectEventNotifiesListener() {
+    // Arrange
+    AtomicBoolean notified = new AtomicBoolean(false);
+    connector.setConnectionLostListener(() -> notified.set(true));
+    ArgumentCaptor<SerialPortDataListener> dataListener =
+        ArgumentCaptor.forClass(SerialPortDataListener.class);
+
+    try (MockedStatic<SerialPort> serialPortMockedStatic = mockStatic(SerialPort.class)) {
+      serialPortMockedStatic.when(() -> SerialPort.getCommPort(any())).thenReturn(serialPort);
+      serialPortMockedStatic
+          .when(SerialPort::getCommPorts)
+          .thenReturn(new SerialPort[] {serialPort});
+
+      when(serialPort.openPort()).thenReturn(true);
+      when(serialPort.getInputStream()).thenReturn(inputStream);
+      when(serialPort.getOutputStream()).thenReturn(outputStream);
+      connector.connect("COM3", 1000);
+      verify(serialPort).addDataListener(dataListener.capture());
+
+      // Act
+      int eventType = SerialPort.LISTENING_EVENT_PORT_DISCONNECTED;
+      dataListener.getValue().serialEvent(new SerialPortEvent(serialPort, eventType));
+
+      // Assert
+      assertEquals(eventType, dataListener.getValue().getListeningEvents());
+      assertTrue(notified.get(), "Listener should be notified about the disconnect");
+    }
+  }
+
   @Test
   @DisplayName("Should fail to send data when not connected")
   void testSendDataWhenNotConnected() {
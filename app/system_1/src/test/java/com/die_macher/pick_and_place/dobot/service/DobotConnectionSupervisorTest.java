@@ -0,0 +1,153 @@
+package com.die_macher.pick_and_place.dobot.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import com.die_macher.pick_and_place.dobot.command.DobotCommandExecutor;
+import com.die_macher.pick_and_place.dobot.config.DobotProperties;
+import com.die_macher.pick_and_place.dobot.config.DobotSerialConnector;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("DobotConnectionSupervisor Tests")
+class DobotConnectionSupervisorTest {
+
+  @Mock private DobotSerialConnector connector;
+
+  private DobotProperties properties;
+  private DobotCommandExecutor commandExecutor;
+  private AtomicInteger restoreCalls;
+  private DobotConnectionSupervisor supervisor;
+
+  @BeforeEach
+  void setUp() {
+    properties = new DobotProperties();
+    properties.setPortName("COM3");
+    properties.setTimeoutMillis(5000);
+    properties.getReconnect().setInitialDelayMillis(10);
+    properties.getReconnect().setMaxDelayMillis(40);
+
+    commandExecutor = new DobotCommandExecutor(connector, properties);
+    restoreCalls = new AtomicInteger();
+    supervisor =
+        new DobotConnectionSupervisor(
+            connector,
+            commandExecutor,
+            properties,
+            () -> {
+              restoreCalls.incrementAndGet();
+              return true;
+            });
+  }
+
+  @AfterEach
+  void tearDown() {
+    supervisor.shutdown();
+  }
+
+  @Test
+  @DisplayName("Should reopen port and restore state after connection loss")
+  void shouldReconnectAfterConnectionLoss() {
+    // Given
+    when(connector.connect("COM3", 5000)).thenReturn(true);
+
+    // When
+    supervisor.connectionLost();
+
+    // Then
+    waitForRecovery();
+    verify(connector).disconnect();
+    verify(connector).connect("COM3", 5000);
+    assertEquals(1, restoreCalls.get());
+  }
+
+  @Test
+  @DisplayName("Should retry with backoff until the port can be reopened")
+  void shouldRetryUntilPortIsAvailable() {
+    // Given
+    when(connector.connect(anyString(), anyInt())).thenReturn(false, false, true);
+
+    // When
+    supervisor.connectionLost();
+
+    // Then
+    waitForRecovery();
+    verify(connector, times(3)).connect("COM3", 5000);
+    assertEquals(1, restoreCalls.get());
+  }
+
+  @Test
+  @DisplayName("Should start only one recovery for repeated loss notifications")
+  void shouldIgnoreLossNotificationsWhileRecovering() {
+    // Given
+    when(connector.connect(anyString(), anyInt())).thenReturn(true);
+
+    // When
+    supervisor.connectionLost();
+    supervisor.connectionLost();
+    supervisor.connectionLost();
+
+    // Then
+    waitForRecovery();
+    verify(connector, times(1)).connect("COM3", 5000);
+    assertEquals(1, restoreCalls.get());
+  }
+
+  @Test
+  @DisplayName("Should start recovery when the connector reports a lost port")
+  void shouldListenForConnectorNotifications() {
+    // Given
+    when(connector.connect(anyString(), anyInt())).thenReturn(true);
+    ArgumentCaptor<Runnable> listener = ArgumentCaptor.forClass(Runnable.class);
+    supervisor.start();
+    verify(connector).setConnectionLostListener(listener.capture());
+
+    // When
+    listener.getValue().run();
+
+    // Then
+    waitForRecovery();
+    verify(connector).connect("COM3", 5000);
+  }
+
+  @Test
+  @DisplayName("Should not reopen the port while a command holds the executor")
+  void shouldWaitForCommandInFlight() {
+    // Given
+    when(connector.connect(anyString(), anyInt())).thenReturn(true);
+
+    // When
+    synchronized (commandExecutor) {
+      // A command keeps the executor until its response has arrived
+      supervisor.connectionLost();
+
+      // Then
+      verify(connector, after(200).never()).disconnect();
+      verify(connector, never()).connect(anyString(), anyInt());
+    }
+    waitForRecovery();
+    verify(connector).connect("COM3", 5000);
+    assertEquals(1, restoreCalls.get());
+  }
+
+  /**
+   * Waits without touching the connector: verifying its synchronized methods with a timeout would
+   * hold the mock's monitor and block the supervisor thread.
+   */
+  private void waitForRecovery() {
+    long deadline = System.currentTimeMillis() + 2000;
+    while (supervisor.isRecovering() && System.currentTimeMillis() < deadline) {
+      Thread.onSpinWait();
+    }
+    assertFalse(supervisor.isRecovering(), "Recovery should have finished");
+  }
+}
@@ -8,6 +8,7 @@ import com.die_macher.pick_and_place.dobot.config.DobotProperties;
 import com.die_macher.pick_and_place.dobot.config.DobotSerialConnector;
 import com.die_macher.pick_and_place.dobot.exception.DobotCommunicationException;
 import com.die_macher.pick_and_place.dobot.protocol.api.PTPModes;
+import java.lang.reflect.Method;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -44,6 +45,13 @@ class DobotServiceTest {
     }
   }
 
+  private boolean restoreConnection() throws Exception {
+    // Der Supervisor ruft restoreConnection nach einem Reconnect auf
+    Method method = DobotServiceImpl.class.getDeclaredMethod("restoreConnection");
+    method.setAccessible(true);
+    return (boolean) method.invoke(dobotService);
+  }
+
   @Test
   @DisplayName("Sollte erfolgreich zum Dobot verbinden")
   void testConnectToDobot() throws DobotCommunicationException {
@@ -441,6 +449,66 @@ class DobotServiceTest {
     assertFalse(result);
   }
 
+  @Test
+  @DisplayName("Sollte abgelehnte Parameter nach einem Reconnect nicht erneut senden")
+  void testRestoreConnectionSkipsRejectedParameters() throws Exception {
+    // Arrange
+    when(commandExecutor.setDefaultHomeCommand(1.0F, 1.0F, 1.0F, 0.0F, true)).thenReturn(false);
+    when(commandExecutor.getDeviceSN()).thenReturn("SN12345");
+    when(commandExecutor.executeQueue()).thenReturn(true);
+
+    // Act
+    boolean result = dobotService.setDefaultHome(1.0F, 1.0F, 1.0F, 0.0F);
+    boolean restored = restoreConnection();
+
+    // Assert
+    assertFalse(result);
+    assertTrue(restored);
+    verify(commandExecutor, never()).setDefaultHomeCommand(1.0F, 1.0F, 1.0F, 0.0F, false);
+  }
+
+  @Test
+  @DisplayName("Sollte akzeptierte Parameter nach einem Reconnect erneut senden")
+  void testRestoreConnectionResendsAcceptedParameters() throws Exception {
+    // Arrange
+    when(commandExecutor.setDefaultHomeCommand(1.0F, 1.0F, 1.0F, 0.0F, true)).thenReturn(true);
+    when(commandExecutor.setLiftHeight(50.0F, 150.0F, true)).thenReturn(true);
+    when(commandExecutor.getDeviceSN()).thenReturn("SN12345");
+    when(commandExecutor.setDefaultHomeCommand(1.0F, 1.0F, 1.0F, 0.0F, false)).thenReturn(true);
+    when(commandExecutor.setLiftHeight(50.0F, 150.0F, false)).thenReturn(true);
+    when(commandExecutor.executeQueue()).thenReturn(true);
+
+    // Act
+    dobotService.setDefaultHome(1.0F, 1.0F, 1.0F, 0.0F);
+    dobotService.setLiftHeight(50.0F, 150.0F);
+    boolean restored = restoreConnection();
+
+    // Assert
+    assertTrue(restored);
+    assertTrue(dobotService.isInitialized());
+    verify(commandExecutor).setDefaultHomeCommand(1.0F, 1.0F, 1.0F, 0.0F, false);
+    verify(commandExecutor).setLiftHeight(50.0F, 150.0F, false);
+    verify(commandExecutor).executeQueue();
+  }
+
+  @Test
+  @DisplayName("Sollte den Reconnect scheitern lassen, wenn der Dobot Parameter ablehnt")
+  void testRestoreConnectionFailsWhenParametersRejected() throws Exception {
+    // Arrange
+    when(commandExecutor.setLiftHeight(50.0F, 150.0F, true)).thenReturn(true);
+    when(commandExecutor.getDeviceSN()).thenReturn("SN12345");
+    when(commandExecutor.setLiftHeight(50.0F, 150.0F, false)).thenReturn(false);
+
+    // Act
+    dobotService.setLiftHeight(50.0F, 150.0F);
+    boolean restored = restoreConnection();
+
+    // Assert
+    assertFalse(restored);
+    assertFalse(dobotService.isInitialized());
+    verify(commandExecutor, never()).executeQueue();
+  }
+
   @Test
   @DisplayName("Sollte den Gerätenamen erfolgreich setzen")
   void testSetDeviceName() throws DobotCommunicationException {
@@ -4,6 +4,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.when;
 
 import com.die_macher.pick_and_place.config.RobotConfiguration;
+import com.die_macher.pick_and_place.model.Position;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -19,18 +20,25 @@ class HeightCalculatorTest {
 
   @Mock private RobotConfiguration.PhysicalConstants physicalConstants;
 
+  @Mock private RobotConfiguration.RobotPositions positions;
+
   private HeightCalculator heightCalculator;
 
   // Test constants
   private static final float CUBE_HEIGHT = 10.0f;
   private static final float OFFSET = 5.0f;
   private static final float ABSOLUTE_FLOOR = 2.0f;
+  private static final float CAMERA_HEIGHT = 25.0f;
 
   @BeforeEach
   void setUp() {
     // Setup mock behavior
     when(robotConfiguration.physicalConstants()).thenReturn(physicalConstants);
     when(physicalConstants.cubeHeight()).thenReturn(CUBE_HEIGHT);
+    when(physicalConstants.offset()).thenReturn(OFFSET);
+    when(physicalConstants.absoluteFloor()).thenReturn(ABSOLUTE_FLOOR);
+    when(robotConfiguration.positions()).thenReturn(positions);
+    when(positions.camera()).thenReturn(new Position(0, 0, CAMERA_HEIGHT, 0));
 
     // Initialize the service under test
     heightCalculator = new HeightCalculator(robotConfiguration);
@@ -39,9 +47,6 @@ class HeightCalculatorTest {
   @Test
   @DisplayName("Should calculate approach height correctly for stack position 0")
   void shouldCalculateApproachHeightForPositionZero() {
-    when(physicalConstants.offset()).thenReturn(OFFSET);
-    when(physicalConstants.absoluteFloor()).thenReturn(ABSOLUTE_FLOOR);
-
     // Given
     int stackPosition = 0;
     float expectedHeight = 0 * CUBE_HEIGHT + OFFSET + ABSOLUTE_FLOOR; // 0 + 5 + 2 = 7.0
@@ -55,9 +60,6 @@ class HeightCalculatorTest {
   @Test
   @DisplayName("Should calculate approach height correctly for positive stack position")
   void shouldCalculateApproachHeightForPositivePosition() {
-    when(physicalConstants.offset()).thenReturn(OFFSET);
-    when(physicalConstants.absoluteFloor()).thenReturn(ABSOLUTE_FLOOR);
-
     // Given
     int stackPosition = 3;
     float expectedHeight = 3 * CUBE_HEIGHT + OFFSET + ABSOLUTE_FLOOR; // 30 + 5 + 2 = 37.0
@@ -72,9 +74,6 @@ class HeightCalculatorTest {
   @Test
   @DisplayName("Should calculate approach height correctly for negative stack position")
   void shouldCalculateApproachHeightForNegativePosition() {
-    when(physicalConstants.offset()).thenReturn(OFFSET);
-    when(physicalConstants.absoluteFloor()).thenReturn(ABSOLUTE_FLOOR);
-
     // Given
     int stackPosition = -2;
     float expectedHeight = -2 * CUBE_HEIGHT + OFFSET + ABSOLUTE_FLOOR; // -20 + 5 + 2 = -13.0
@@ -89,8 +88,6 @@ class HeightCalculatorTest {
   @Test
   @DisplayName("Should calculate pickup height correctly for stack position 0")
   void shouldCalculatePickupHeightForPositionZero() {
-    when(physicalConstants.absoluteFloor()).thenReturn(ABSOLUTE_FLOOR);
-
     // Given
     int stackPosition = 0;
     float expectedHeight = 0 * CUBE_HEIGHT + ABSOLUTE_FLOOR; // 0 + 2 = 2.0
@@ -105,8 +102,6 @@ class HeightCalculatorTest {
   @Test
   @DisplayName("Should calculate pickup height correctly for negative stack position")
   void shouldCalculatePickupHeightForNegativePosition() {
-    when(physicalConstants.absoluteFloor()).thenReturn(ABSOLUTE_FLOOR);
-
     // Given
     int stackPosition = -1;
     float expectedHeight =
@@ -184,13 +179,91 @@ class HeightCalculatorTest {
   @Test
   @DisplayName("Should verify constructor initializes constants correctly")
   void shouldInitializeConstantsCorrectly() {
-    when(physicalConstants.offset()).thenReturn(OFFSET);
-    when(physicalConstants.absoluteFloor()).thenReturn(ABSOLUTE_FLOOR);
-
     // Then - verify that calculations work (implicitly tests constructor)
     float approachHeight = heightCalculator.calculateApproachHeight(1);
     float expectedApproachHeight = 1 * CUBE_HEIGHT + OFFSET + ABSOLUTE_FLOOR; // 10 + 5 + 2 = 17.0
 
     assertEquals(expectedApproachHeight, approachHeight, 0.001f);
   }
+
+  @Test
+  @DisplayName("Should expose precomputed approach and pickup heights for every table position")
+  void shouldPrecomputeHeightTables() {
+    // When
+    float[] approachHeights = heightCalculator.getApproachHeights();
+    float[] pickupHeights = heightCalculator.getPickupHeights();
+
+    // Then
+    assertEquals(HeightCalculator.TABLE_SIZE, approachHeights.length);
+    for (int position = 0; position < HeightCalculator.TABLE_SIZE; position++) {
+      assertEquals(position * CUBE_HEIGHT + OFFSET + ABSOLUTE_FLOOR, approachHeights[position]);
+      assertEquals(
+          position * CUBE_HEIGHT + ABSOLUTE_FLOOR - position * 0.75F, pickupHeights[position]);
+    }
+  }
+
+  @Test
+  @DisplayName("Should return copies of the height tables")
+  void shouldNotExposeInternalTables() {
+    // Given
+    float[] approachHeights = heightCalculator.getApproachHeights();
+
+    // When
+    approachHeights[0] = -1f;
+
+    // Then
+    assertEquals(OFFSET + ABSOLUTE_FLOOR, heightCalculator.getApproachHeights()[0]);
+  }
+
+  @Test
+  @DisplayName("Should match arithmetic at the table boundary")
+  void shouldFallBackToArithmeticBeyondTable() {
+    // Given
+    int stackPosition = HeightCalculator.TABLE_SIZE;
+
+    // When & Then
+    assertEquals(
+        stackPosition * CUBE_HEIGHT + OFFSET + ABSOLUTE_FLOOR,
+        heightCalculator.calculateApproachHeight(stackPosition),
+        0.001f);
+    assertEquals(
+        stackPosition * CUBE_HEIGHT + ABSOLUTE_FLOOR - stackPosition * 0.75F,
+        heightCalculator.calculatePickupHeight(stackPosition),
+        0.001f);
+  }
+
+  @Test
+  @DisplayName("Should look up the lift height from the camera to a stack")
+  void shouldCalculateCameraToStackLiftHeight() {
+    // Given
+    int maxStackHeight = 3;
+    float expectedHeight = (maxStackHeight * CUBE_HEIGHT + CUBE_HEIGHT) - CAMERA_HEIGHT; // 15
+
+    // When & Then
+    assertEquals(
+        expectedHeight, heightCalculator.calculateCameraToStackLiftHeight(maxStackHeight), 0.001f);
+    assertEquals(
+        heightCalculator.calculateLiftHeight(CAMERA_HEIGHT, 40),
+        heightCalculator.calculateCameraToStackLiftHeight(40),
+        0.001f);
+  }
+
+  @Test
+  @DisplayName("Should look up the lift height from a stack back to the start")
+  void shouldCalculateStackToStartLiftHeight() {
+    // Given
+    int stackPosition = 1;
+    int maxStackHeight = 4;
+    float pickupHeight = heightCalculator.calculatePickupHeight(stackPosition);
+
+    // When & Then
+    assertEquals(
+        heightCalculator.calculateLiftHeight(pickupHeight, maxStackHeight),
+        heightCalculator.calculateStackToStartLiftHeight(stackPosition, maxStackHeight),
+        0.001f);
+    assertEquals(
+        heightCalculator.calculateLiftHeight(heightCalculator.calculatePickupHeight(20), 25),
+        heightCalculator.calculateStackToStartLiftHeight(20, 25),
+        0.001f);
+  }
 }
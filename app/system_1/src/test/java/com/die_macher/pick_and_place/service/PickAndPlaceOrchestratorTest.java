@@ -4,6 +4,7 @@ import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.*;
 
+import com.die_macher.pick_and_place.config.PickAndPlaceTimings;
 import com.die_macher.pick_and_place.event.api.ImageReceivedEvent;
 import java.awt.*;
 import java.awt.image.BufferedImage;
@@ -31,7 +32,11 @@ class PickAndPlaceOrchestratorTest {
   void setUp() {
     orchestrator =
         new PickAndPlaceOrchestrator(
-            robotMovementService, stackTracker, colorDetectionService, eventPublisher);
+            robotMovementService,
+            stackTracker,
+            colorDetectionService,
+            eventPublisher,
+            PickAndPlaceTimings.defaults());
   }
 
   @Test
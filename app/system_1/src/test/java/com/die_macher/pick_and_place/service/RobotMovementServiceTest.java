@@ -134,7 +134,9 @@ class RobotMovementServiceTest {
     when(heightCalculator.calculatePickupHeight(stackHeight)).thenReturn(10.0f);
     when(config.physicalConstants()).thenReturn(physicalConstants);
     when(physicalConstants.maxHeight()).thenReturn(200.0f);
-    when(positions.camera()).thenReturn(cameraPoint);
+    when(heightCalculator.calculateCameraToStackLiftHeight(maxStackHeight)).thenReturn(40.0f);
+    when(heightCalculator.calculateStackToStartLiftHeight(stackHeight, maxStackHeight))
+        .thenReturn(60.0f);
 
     // When
     robotMovementService.placeCube(color, stackHeight, maxStackHeight);
@@ -143,6 +145,8 @@ class RobotMovementServiceTest {
     verify(dobotService).stopExecuteQueue();
     verify(dobotService).clearQueue();
     verify(dobotService).setVacuumState(false);
+    verify(dobotService).setLiftHeight(40.0f, 200.0f);
+    verify(dobotService).setLiftHeight(60.0f, 200.0f);
     verify(dobotService, times(1))
         .moveToPosition(eq(PTPModes.MOVL_XYZ), anyFloat(), anyFloat(), anyFloat(), anyFloat());
     verify(dobotService, times(2))
@@ -159,7 +163,6 @@ class RobotMovementServiceTest {
     when(config.slowMovement()).thenReturn(slowMovement);
     when(positions.startPoint()).thenReturn(startPoint);
     when(positions.red()).thenReturn(redPosition);
-    when(positions.camera()).thenReturn(cameraPoint);
 
     when(positions.green()).thenReturn(new Position(200, 100, 20, 0));
     when(positions.blue()).thenReturn(new Position(200, 150, 20, 0));
@@ -4,6 +4,11 @@ import static org.junit.jupiter.api.Assertions.*;
 
 import com.die_macher.pick_and_place.model.StackInfo;
 import java.awt.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -67,4 +72,73 @@ class StackTrackerTest {
     // Then
     assertEquals(1, result.currentHeight());
   }
+
+  @Test
+  @DisplayName("Should track the highest stack across colors")
+  void shouldTrackMaxStackHeight() {
+    // Given
+    assertEquals(0, stackTracker.getMaxStackHeight());
+
+    // When
+    stackTracker.addCube(Color.RED);
+    stackTracker.addCube(Color.BLUE);
+    stackTracker.addCube(Color.BLUE);
+    stackTracker.addCube(Color.YELLOW);
+
+    // Then
+    assertEquals(2, stackTracker.getMaxStackHeight());
+  }
+
+  @Test
+  @DisplayName("Should reset the highest stack")
+  void shouldResetMaxStackHeight() {
+    // Given
+    stackTracker.addCube(Color.GREEN);
+
+    // When
+    stackTracker.reset();
+
+    // Then
+    assertEquals(0, stackTracker.getMaxStackHeight());
+  }
+
+  @Test
+  @DisplayName("Should reject unsupported colors")
+  void shouldRejectUnsupportedColor() {
+    assertThrows(IllegalArgumentException.class, () -> stackTracker.addCube(Color.BLACK));
+  }
+
+  @Test
+  @DisplayName("Should count concurrent additions exactly")
+  void shouldHandleConcurrentAdditions() throws Exception {
+    // Given
+    int threads = 4;
+    int cubesPerThread = 1_000;
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+    // When
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int t = 0; t < threads; t++) {
+        Color color = t % 2 == 0 ? Color.RED : Color.GREEN;
+        futures.add(
+            executor.submit(
+                () -> {
+                  for (int i = 0; i < cubesPerThread; i++) {
+                    stackTracker.addCube(color);
+                  }
+                }));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+
+    // Then
+    assertEquals(2 * cubesPerThread, stackTracker.getMaxStackHeight());
+    assertEquals(2 * cubesPerThread + 1, stackTracker.addCube(Color.RED).currentHeight());
+    assertEquals(2 * cubesPerThread + 1, stackTracker.addCube(Color.GREEN).currentHeight());
+  }
 }
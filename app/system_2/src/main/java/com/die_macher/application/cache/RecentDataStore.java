@@ -0,0 +1,189 @@
+package com.die_macher.application.cache;
+
+import com.die_macher.infrastructure.config.properties.RecentDataProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * In-memory hot tier holding the most recent records of each series as they are ingested. Each
+ * series is a bounded ring buffer ordered by timestamp, trimmed to the retention window.
+ *
+ * <p>A range can only be answered from memory if the buffer saw every record of it: the range must
+ * start inside the retention window, and after the store was created and after the newest record
+ * the ring had to drop for capacity. Otherwise {@link #find} returns nothing and the caller queries
+ * InfluxDB.
+ *
+ * @param <T> the record type
+ */
+public class RecentDataStore<T> {
+
+  private final Map<String, Ring<T>> series = new ConcurrentHashMap<>();
+  private final Function<T, Instant> timestampOf;
+  private final long retentionMillis;
+  private final int capacity;
+  private final Clock clock;
+  private final long createdAt;
+  private final Counter hits;
+  private final Counter misses;
+
+  /**
+   * Creates a store and registers hit and miss counters for it.
+   *
+   * @param name store name used as metrics tag
+   * @param properties retention and capacity
+   * @param meterRegistry registry for the metrics
+   * @param timestampOf extracts the timestamp of a record
+   */
+  public RecentDataStore(
+      String name,
+      RecentDataProperties properties,
+      MeterRegistry meterRegistry,
+      Function<T, Instant> timestampOf) {
+    this(name, properties, meterRegistry, timestampOf, Clock.systemUTC());
+  }
+
+  RecentDataStore(
+      String name,
+      RecentDataProperties properties,
+      MeterRegistry meterRegistry,
+      Function<T, Instant> timestampOf,
+      Clock clock) {
+    this.clock = clock;
+    this.createdAt = clock.millis();
+    this.timestampOf = timestampOf;
+    this.retentionMillis = properties.getRetention().toMillis();
+    this.capacity = properties.getMaxRecordsPerSeries();
+    this.hits = queryCounter(name, "hit", meterRegistry);
+    this.misses = queryCounter(name, "miss", meterRegistry);
+  }
+
+  private static Counter queryCounter(String name, String result, MeterRegistry meterRegistry) {
+    return Counter.builder("recent.data.queries")
+        .description("Range queries answered from or missed by the in-memory hot tier")
+        .tag("store", name)
+        .tag("result", result)
+        .register(meterRegistry);
+  }
+
+  /**
+   * Adds an ingested record to the given series.
+   *
+   * @param record the record
+   * @param seriesNames the series the record belongs to, for example its sensor and measurement
+   */
+  public void record(T record, String... seriesNames) {
+    long time = timestampOf.apply(record).toEpochMilli();
+    long cutoff = clock.millis() - retentionMillis;
+    for (String name : seriesNames) {
+      series.computeIfAbsent(name, n -> new Ring<>(capacity, createdAt)).add(time, record, cutoff);
+    }
+  }
+
+  /**
+   * Returns the records of a series in {@code [start, end)} if memory holds the complete range.
+   *
+   * @param seriesName the series
+   * @param start inclusive range start
+   * @param end exclusive range end
+   * @return the records in timestamp order, or empty if the range must be queried from InfluxDB
+   */
+  public Optional<List<T>> find(String seriesName, Instant start, Instant end) {
+    long from = start.toEpochMilli();
+    long cutoff = clock.millis() - retentionMillis;
+    Optional<List<T>> result;
+    if (from < cutoff) {
+      result = Optional.empty();
+    } else {
+      Ring<T> ring = series.get(seriesName);
+      if (ring == null) {
+        result = from >= createdAt ? Optional.of(List.of()) : Optional.empty();
+      } else {
+        result = ring.range(from, end.toEpochMilli(), cutoff);
+      }
+    }
+    (result.isPresent() ? hits : misses).increment();
+    return result;
+  }
+
+  /** Fixed-size ring of records in timestamp order. */
+  private static final class Ring<T> {
+    private final long[] times;
+    private final Object[] records;
+    private int head;
+    private int size;
+
+    /** Every record of the series at or after this time is in the ring. */
+    private long completeSince;
+
+    private Ring(int capacity, long completeSince) {
+      this.times = new long[capacity];
+      this.records = new Object[capacity];
+      this.completeSince = completeSince;
+    }
+
+    synchronized void add(long time, T record, long cutoff) {
+      trim(cutoff);
+      if (size == times.length) {
+        evictOldest();
+      }
+      // Records usually arrive in order; late ones are moved into place.
+      int position = size;
+      while (position > 0 && times[index(position - 1)] > time) {
+        times[index(position)] = times[index(position - 1)];
+        records[index(position)] = records[index(position - 1)];
+        position--;
+      }
+      times[index(position)] = time;
+      records[index(position)] = record;
+      size++;
+    }
+
+    @SuppressWarnings("unchecked")
+    synchronized Optional<List<T>> range(long from, long to, long cutoff) {
+      trim(cutoff);
+      if (from < completeSince) {
+        return Optional.empty();
+      }
+      int low = 0;
+      int high = size;
+      while (low < high) {
+        int mid = (low + high) >>> 1;
+        if (times[index(mid)] < from) {
+          low = mid + 1;
+        } else {
+          high = mid;
+        }
+      }
+      List<T> result = new ArrayList<>();
+      for (int i = low; i < size && times[index(i)] < to; i++) {
+        result.add((T) records[index(i)]);
+      }
+      return Optional.of(result);
+    }
+
+    private void trim(long cutoff) {
+      while (size > 0 && times[head] < cutoff) {
+        evictOldest();
+      }
+    }
+
+    private void evictOldest() {
+      completeSince = Math.max(completeSince, times[head] + 1);
+      records[head] = null;
+      head = index(1);
+      size--;
+    }
+
+    private int index(int offset) {
+      return (head + offset) % times.length;
+    }
+  }
+}
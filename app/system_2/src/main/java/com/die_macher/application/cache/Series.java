@@ -0,0 +1,15 @@
+package com.die_macher.application.cache;
+
+/** Names of the series the historical caches and the hot tier are keyed by. */
+public final class Series {
+
+  public static final String SENSOR_DATA = "sensor_data";
+  public static final String ROBOT_DATA = "robot_data";
+  public static final String PRICE_DATA = "price_data";
+
+  private Series() {}
+
+  public static String sensor(String sensorId) {
+    return SENSOR_DATA + "/" + sensorId;
+  }
+}
@@ -0,0 +1,178 @@
+package com.die_macher.application.cache;
+
+import com.die_macher.infrastructure.config.properties.TimeBucketCacheProperties;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Caches range query results in fixed, aligned time buckets per series, so overlapping ranges such
+ * as a dashboard polling "the last hour" reuse what earlier requests loaded. Only buckets that are
+ * not cached yet are queried, consecutive ones with a single query, and buckets that are still
+ * receiving data are always queried and never cached.
+ *
+ * <p>Missing buckets are claimed atomically before they are loaded, so concurrent requests share a
+ * load in flight instead of querying the same bucket twice; a failed load is removed from the
+ * cache. The result lists records bucket by bucket, in query order within each bucket.
+ *
+ * <p>Buckets are reloaded a fixed time after they were loaded, however often they are read, so
+ * data written late into a settled bucket shows up after at most that time.
+ *
+ * @param <T> the record type
+ */
+public class TimeBucketCache<T> {
+
+  /** Loads all records with a timestamp in {@code [start, end)}. */
+  @FunctionalInterface
+  public interface RangeLoader<T> {
+    CompletableFuture<List<T>> load(Instant start, Instant end);
+  }
+
+  private record BucketKey(String series, long start) {}
+
+  private final AsyncCache<BucketKey, List<T>> buckets;
+  private final Function<T, Instant> timestampOf;
+  private final long bucketMillis;
+  private final long settleMillis;
+  private final Clock clock;
+
+  /**
+   * Creates a cache and registers its statistics as {@code cache.*} metrics.
+   *
+   * @param name cache name used as metrics tag
+   * @param properties bucket size and bounds
+   * @param meterRegistry registry for the cache metrics
+   * @param timestampOf extracts the timestamp a record is bucketed by
+   */
+  public TimeBucketCache(
+      String name,
+      TimeBucketCacheProperties properties,
+      MeterRegistry meterRegistry,
+      Function<T, Instant> timestampOf) {
+    this(name, properties, meterRegistry, timestampOf, Clock.systemUTC());
+  }
+
+  TimeBucketCache(
+      String name,
+      TimeBucketCacheProperties properties,
+      MeterRegistry meterRegistry,
+      Function<T, Instant> timestampOf,
+      Clock clock) {
+    this.bucketMillis = properties.getBucketSize().toMillis();
+    if (bucketMillis <= 0) {
+      throw new IllegalArgumentException("Bucket size must be positive");
+    }
+    this.settleMillis = properties.getSettleTime().toMillis();
+    this.timestampOf = timestampOf;
+    this.clock = clock;
+    this.buckets =
+        Caffeine.newBuilder()
+            .maximumSize(properties.getMaxBuckets())
+            .expireAfterWrite(properties.getExpireAfterWrite())
+            .ticker(() -> TimeUnit.MILLISECONDS.toNanos(clock.millis()))
+            .recordStats()
+            .buildAsync();
+    CaffeineCacheMetrics.monitor(meterRegistry, buckets, name);
+  }
+
+  /**
+   * Returns the records of a series in {@code [start, end)}, loading missing buckets.
+   *
+   * @param series identifies the series, for example measurement and sensor
+   * @param start inclusive range start
+   * @param end exclusive range end
+   * @param loader queries the data source for a range
+   * @return the records of the range
+   */
+  public CompletableFuture<List<T>> get(
+      String series, Instant start, Instant end, RangeLoader<T> loader) {
+    long from = Math.floorDiv(start.toEpochMilli(), bucketMillis) * bucketMillis;
+    long to = end.toEpochMilli();
+    long settled = clock.millis() - settleMillis;
+
+    List<BucketKey> keys = new ArrayList<>();
+    long bucket = from;
+    for (; bucket < to && bucket + bucketMillis <= settled; bucket += bucketMillis) {
+      keys.add(new BucketKey(series, bucket));
+    }
+    CompletableFuture<Map<BucketKey, List<T>>> cached =
+        buckets.getAll(keys, (missing, executor) -> loadMissing(missing, loader));
+    // The newest buckets may still change and are loaded every time.
+    CompletableFuture<List<T>> recent =
+        bucket < to
+            ? loader.load(Instant.ofEpochMilli(bucket), end)
+            : CompletableFuture.completedFuture(List.of());
+
+    long startMillis = start.toEpochMilli();
+    return cached.thenCombine(
+        recent,
+        (byBucket, latest) -> {
+          List<T> result = new ArrayList<>();
+          for (BucketKey key : keys) {
+            addInRange(result, byBucket.get(key), startMillis, to);
+          }
+          addInRange(result, latest, startMillis, to);
+          return result;
+        });
+  }
+
+  /**
+   * Loads the buckets this call claimed, one query per run of consecutive buckets. Every claimed
+   * bucket gets an entry, so empty buckets are cached as well.
+   */
+  private CompletableFuture<Map<BucketKey, List<T>>> loadMissing(
+      Set<? extends BucketKey> missing, RangeLoader<T> loader) {
+    String series = missing.iterator().next().series();
+    long[] starts = missing.stream().mapToLong(BucketKey::start).sorted().toArray();
+    List<CompletableFuture<List<T>>> runs = new ArrayList<>();
+    int runStart = 0;
+    for (int i = 1; i <= starts.length; i++) {
+      if (i == starts.length || starts[i] != starts[i - 1] + bucketMillis) {
+        runs.add(
+            loader.load(
+                Instant.ofEpochMilli(starts[runStart]),
+                Instant.ofEpochMilli(starts[i - 1] + bucketMillis)));
+        runStart = i;
+      }
+    }
+    return CompletableFuture.allOf(runs.toArray(CompletableFuture[]::new))
+        .thenApply(
+            ignored -> {
+              Map<BucketKey, List<T>> byBucket = new HashMap<>();
+              for (long bucket : starts) {
+                byBucket.put(new BucketKey(series, bucket), new ArrayList<>());
+              }
+              for (CompletableFuture<List<T>> run : runs) {
+                for (T record : run.join()) {
+                  long time = timestampOf.apply(record).toEpochMilli();
+                  long bucket = Math.floorDiv(time, bucketMillis) * bucketMillis;
+                  List<T> records = byBucket.get(new BucketKey(series, bucket));
+                  if (records != null) {
+                    records.add(record);
+                  }
+                }
+              }
+              return byBucket;
+            });
+  }
+
+  private void addInRange(List<T> result, List<T> records, long startMillis, long endMillis) {
+    for (T record : records) {
+      long time = timestampOf.apply(record).toEpochMilli();
+      if (time >= startMillis && time < endMillis) {
+        result.add(record);
+      }
+    }
+  }
+}
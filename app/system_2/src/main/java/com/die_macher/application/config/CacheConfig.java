@@ -0,0 +1,26 @@
+package com.die_macher.application.config;
+
+import org.springframework.boot.autoconfigure.cache.CacheManagerCustomizer;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Enables the {@code @Cacheable} historical queries. The Caffeine caches are declared and bounded
+ * under {@code spring.cache.*}; Spring Boot publishes their statistics as {@code cache.*} metrics
+ * per cache name.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+  /**
+   * The cached queries return {@code CompletableFuture}s. In async mode the cache stores their
+   * results once they complete and drops futures that fail, instead of caching the future itself.
+   */
+  @Bean
+  public CacheManagerCustomizer<CaffeineCacheManager> asyncCacheModeCustomizer() {
+    return cacheManager -> cacheManager.setAsyncCacheMode(true);
+  }
+}
@@ -0,0 +1,72 @@
+package com.die_macher.application.config;
+
+import com.die_macher.infrastructure.config.properties.ExecutorProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Executors for the blocking I/O of the outbound adapters, so InfluxDB queries and MQTT publishing
+ * never run on the common fork-join pool. Each executor has a bounded queue and rejects work once
+ * it is saturated; pool usage and rejections are published under {@code executor.*} with the
+ * executor name as tag.
+ */
+@Configuration
+public class ExecutorConfig {
+
+  private final ExecutorProperties properties;
+  private final MeterRegistry meterRegistry;
+
+  public ExecutorConfig(ExecutorProperties properties, MeterRegistry meterRegistry) {
+    this.properties = properties;
+    this.meterRegistry = meterRegistry;
+  }
+
+  @Bean
+  public ExecutorService persistenceExecutor() {
+    return createExecutor("persistence", properties.getPersistence());
+  }
+
+  @Bean
+  public ExecutorService messagingExecutor() {
+    return createExecutor("messaging", properties.getMessaging());
+  }
+
+  private ExecutorService createExecutor(String name, ExecutorProperties.Pool pool) {
+    ThreadFactory threadFactory =
+        pool.isVirtualThreads()
+            ? Thread.ofVirtual().name(name + "-", 0).factory()
+            : Thread.ofPlatform().name(name + "-", 0).daemon().factory();
+    Counter rejected =
+        Counter.builder("executor.rejected")
+            .description("Tasks rejected because the executor was saturated")
+            .tag("name", name)
+            .register(meterRegistry);
+
+    ThreadPoolExecutor executor =
+        new ThreadPoolExecutor(
+            pool.isVirtualThreads() ? pool.getMaxSize() : pool.getCoreSize(),
+            pool.getMaxSize(),
+            pool.getKeepAlive().toMillis(),
+            TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(pool.getQueueCapacity()),
+            threadFactory,
+            (task, saturated) -> {
+              rejected.increment();
+              throw new RejectedExecutionException("Executor " + name + " is saturated");
+            });
+    if (pool.isVirtualThreads()) {
+      // Virtual threads are cheap to create, so idle ones are not kept around.
+      executor.allowCoreThreadTimeOut(true);
+    }
+    return ExecutorServiceMetrics.monitor(meterRegistry, executor, name);
+  }
+}
@@ -0,0 +1,34 @@
+package com.die_macher.application.config;
+
+import com.die_macher.application.cache.RecentDataStore;
+import com.die_macher.domain.model.robot.RobotData;
+import com.die_macher.domain.model.sensor.SensorData;
+import com.die_macher.infrastructure.config.properties.RecentDataProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/** In-memory hot tiers for the data System 2 ingests itself. */
+@Configuration
+public class RecentDataConfig {
+
+  private final RecentDataProperties properties;
+  private final MeterRegistry meterRegistry;
+
+  public RecentDataConfig(RecentDataProperties properties, MeterRegistry meterRegistry) {
+    this.properties = properties;
+    this.meterRegistry = meterRegistry;
+  }
+
+  @Bean
+  public RecentDataStore<SensorData> recentSensorData() {
+    return new RecentDataStore<>(
+        "recentSensorData", properties, meterRegistry, SensorData::timestamp);
+  }
+
+  @Bean
+  public RecentDataStore<RobotData> recentRobotData() {
+    return new RecentDataStore<>(
+        "recentRobotData", properties, meterRegistry, RobotData::timestamp);
+  }
+}
@@ -1,12 +1,17 @@
 package com.die_macher.application.service;
 
+import com.die_macher.application.cache.Series;
+import com.die_macher.application.cache.TimeBucketCache;
 import com.die_macher.domain.model.price.PriceData;
 import com.die_macher.domain.port.inbound.HistoricalPriceDataProvider;
 import com.die_macher.domain.port.outbound.PriceDataRepository;
+import com.die_macher.infrastructure.config.properties.TimeBucketCacheProperties;
+import io.micrometer.core.instrument.MeterRegistry;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 
@@ -14,17 +19,31 @@ import org.springframework.stereotype.Service;
 public class HistoricalPriceDataService implements HistoricalPriceDataProvider {
 
   private final PriceDataRepository priceDataRepository;
+  private final TimeBucketCache<PriceData> historicalPriceData;
 
-  public HistoricalPriceDataService(PriceDataRepository priceDataRepository) {
+  public HistoricalPriceDataService(
+      PriceDataRepository priceDataRepository,
+      TimeBucketCacheProperties cacheProperties,
+      MeterRegistry meterRegistry) {
     this.priceDataRepository = priceDataRepository;
+    this.historicalPriceData =
+        new TimeBucketCache<>(
+            "historicalPriceData", cacheProperties, meterRegistry, PriceData::startTimestamp);
   }
 
   @Override
-  @Cacheable(value = "historicalPriceData", key = "#start + '_' + #end")
   public CompletableFuture<List<PriceData>> getHistoricalData(Instant start, Instant end) {
     validateTimeRange(start, end);
 
-    return priceDataRepository.findByTimeRange(start, end);
+    return historicalPriceData.get(
+        Series.PRICE_DATA, start, end, priceDataRepository::findByTimeRange);
+  }
+
+  @Override
+  public Stream<PriceData> streamHistoricalData(Instant start, Instant end) {
+    validateTimeRange(start, end);
+
+    return priceDataRepository.streamByTimeRange(start, end);
   }
 
   @Override
@@ -1,29 +1,56 @@
 package com.die_macher.application.service;
 
+import com.die_macher.application.cache.RecentDataStore;
+import com.die_macher.application.cache.Series;
+import com.die_macher.application.cache.TimeBucketCache;
 import com.die_macher.domain.model.robot.RobotData;
 import com.die_macher.domain.port.inbound.HistoricalRobotDataProvider;
 import com.die_macher.domain.port.outbound.RobotDataRepository;
+import com.die_macher.infrastructure.config.properties.TimeBucketCacheProperties;
+import io.micrometer.core.instrument.MeterRegistry;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
-import org.springframework.cache.annotation.Cacheable;
+import java.util.stream.Stream;
 import org.springframework.stereotype.Service;
 
 @Service
 public class HistoricalRobotDataService implements HistoricalRobotDataProvider {
   private final RobotDataRepository robotDataRepository;
+  private final RecentDataStore<RobotData> recentRobotData;
+  private final TimeBucketCache<RobotData> historicalRobotData;
 
-  public HistoricalRobotDataService(RobotDataRepository robotDataRepository) {
+  public HistoricalRobotDataService(
+      RobotDataRepository robotDataRepository,
+      RecentDataStore<RobotData> recentRobotData,
+      TimeBucketCacheProperties cacheProperties,
+      MeterRegistry meterRegistry) {
     this.robotDataRepository = robotDataRepository;
+    this.recentRobotData = recentRobotData;
+    this.historicalRobotData =
+        new TimeBucketCache<>(
+            "historicalRobotData", cacheProperties, meterRegistry, RobotData::timestamp);
   }
 
   @Override
-  @Cacheable(value = "historicalRobotData", key = "#start + '_' + #end")
   public CompletableFuture<List<RobotData>> getHistoricalData(Instant start, Instant end) {
     validateTimeRange(start, end);
 
-    return robotDataRepository.findByTimeRange(start, end);
+    Optional<List<RobotData>> recent = recentRobotData.find(Series.ROBOT_DATA, start, end);
+    if (recent.isPresent()) {
+      return CompletableFuture.completedFuture(recent.get());
+    }
+    return historicalRobotData.get(
+        Series.ROBOT_DATA, start, end, robotDataRepository::findByTimeRange);
+  }
+
+  @Override
+  public Stream<RobotData> streamHistoricalData(Instant start, Instant end) {
+    validateTimeRange(start, end);
+
+    return robotDataRepository.streamByTimeRange(start, end);
   }
 
   private void validateTimeRange(Instant start, Instant end) {
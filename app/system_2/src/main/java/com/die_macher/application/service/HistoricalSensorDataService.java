@@ -1,13 +1,20 @@
 package com.die_macher.application.service;
 
+import com.die_macher.application.cache.RecentDataStore;
+import com.die_macher.application.cache.Series;
+import com.die_macher.application.cache.TimeBucketCache;
 import com.die_macher.domain.model.sensor.SensorData;
 import com.die_macher.domain.model.sensor.SensorType;
 import com.die_macher.domain.port.inbound.HistoricalSensorDataProvider;
 import com.die_macher.domain.port.outbound.SensorDataRepository;
+import com.die_macher.infrastructure.config.properties.TimeBucketCacheProperties;
+import io.micrometer.core.instrument.MeterRegistry;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 
@@ -15,21 +22,52 @@ import org.springframework.stereotype.Service;
 public class HistoricalSensorDataService implements HistoricalSensorDataProvider {
 
   private final SensorDataRepository sensorDataRepository;
+  private final RecentDataStore<SensorData> recentSensorData;
+  private final TimeBucketCache<SensorData> historicalSensorData;
 
-  public HistoricalSensorDataService(SensorDataRepository sensorDataRepository) {
+  public HistoricalSensorDataService(
+      SensorDataRepository sensorDataRepository,
+      RecentDataStore<SensorData> recentSensorData,
+      TimeBucketCacheProperties cacheProperties,
+      MeterRegistry meterRegistry) {
     this.sensorDataRepository = sensorDataRepository;
+    this.recentSensorData = recentSensorData;
+    this.historicalSensorData =
+        new TimeBucketCache<>(
+            "historicalSensorData", cacheProperties, meterRegistry, SensorData::timestamp);
   }
 
   @Override
-  @Cacheable(value = "historicalSensorData", key = "#sensorId + '_' + #start + '_' + #end")
   public CompletableFuture<List<SensorData>> getHistoricalData(
       String sensorId, Instant start, Instant end) {
     validateTimeRange(start, end);
 
+    boolean singleSensor = sensorId != null && !sensorId.trim().isEmpty();
+    String series = singleSensor ? Series.sensor(sensorId) : Series.SENSOR_DATA;
+    Optional<List<SensorData>> recent = recentSensorData.find(series, start, end);
+    if (recent.isPresent()) {
+      return CompletableFuture.completedFuture(recent.get());
+    }
+
+    if (singleSensor) {
+      return historicalSensorData.get(
+          series,
+          start,
+          end,
+          (from, to) -> sensorDataRepository.findBySensorIdAndTimeRange(sensorId, from, to));
+    } else {
+      return historicalSensorData.get(series, start, end, sensorDataRepository::findByTimeRange);
+    }
+  }
+
+  @Override
+  public Stream<SensorData> streamHistoricalData(String sensorId, Instant start, Instant end) {
+    validateTimeRange(start, end);
+
     if (sensorId != null && !sensorId.trim().isEmpty()) {
-      return sensorDataRepository.findBySensorIdAndTimeRange(sensorId, start, end);
+      return sensorDataRepository.streamBySensorIdAndTimeRange(sensorId, start, end);
     } else {
-      return sensorDataRepository.findByTimeRange(start, end);
+      return sensorDataRepository.streamByTimeRange(start, end);
     }
   }
 
@@ -1,5 +1,7 @@
 package com.die_macher.application.service;
 
+import com.die_macher.application.cache.RecentDataStore;
+import com.die_macher.application.cache.Series;
 import com.die_macher.domain.exception.DataProcessingException;
 import com.die_macher.domain.model.robot.RobotData;
 import com.die_macher.domain.port.inbound.RobotDataProcessor;
@@ -16,17 +18,22 @@ public class RobotDataService implements RobotDataProcessor {
   private static final Logger LOGGER = LoggerFactory.getLogger(RobotDataService.class);
   private final RobotDataRepository robotDataRepository;
   private final MessagePublisher messagePublisher;
+  private final RecentDataStore<RobotData> recentRobotData;
 
   public RobotDataService(
-      RobotDataRepository robotDataRepository, MessagePublisher messagePublisher) {
+      RobotDataRepository robotDataRepository,
+      MessagePublisher messagePublisher,
+      RecentDataStore<RobotData> recentRobotData) {
     this.robotDataRepository = robotDataRepository;
     this.messagePublisher = messagePublisher;
+    this.recentRobotData = recentRobotData;
   }
 
   @Override
   public CompletableFuture<Void> storeRobotData(RobotData robotData) {
     return robotDataRepository
         .save(robotData)
+        .thenRun(() -> recentRobotData.record(robotData, Series.ROBOT_DATA))
         .exceptionally(
             throwable -> {
               LOGGER.error("Failed to store robot data", throwable);
@@ -1,5 +1,7 @@
 package com.die_macher.application.service;
 
+import com.die_macher.application.cache.RecentDataStore;
+import com.die_macher.application.cache.Series;
 import com.die_macher.domain.exception.DataProcessingException;
 import com.die_macher.domain.model.sensor.SensorData;
 import com.die_macher.domain.model.sensor.SensorType;
@@ -19,11 +21,15 @@ public class SensorDataService implements SensorDataProcessor {
   private static final Logger LOGGER = LoggerFactory.getLogger(SensorDataService.class);
   private final SensorDataRepository sensorDataRepository;
   private final MessagePublisher messagePublisher;
+  private final RecentDataStore<SensorData> recentSensorData;
 
   public SensorDataService(
-      SensorDataRepository sensorDataRepository, MessagePublisher messagePublisher) {
+      SensorDataRepository sensorDataRepository,
+      MessagePublisher messagePublisher,
+      RecentDataStore<SensorData> recentSensorData) {
     this.sensorDataRepository = sensorDataRepository;
     this.messagePublisher = messagePublisher;
+    this.recentSensorData = recentSensorData;
   }
 
   @Override
@@ -32,6 +38,7 @@ public class SensorDataService implements SensorDataProcessor {
 
     return sensorDataRepository
         .save(sensorData)
+        .thenRun(() -> remember(sensorData))
         .exceptionally(
             throwable -> {
               LOGGER.error("Failed to store sensor data: {}", sensorData.sensorId(), throwable);
@@ -57,6 +64,7 @@ public class SensorDataService implements SensorDataProcessor {
   public CompletableFuture<Void> processBatch(List<SensorData> sensorDataList) {
     return sensorDataRepository
         .saveBatch(sensorDataList)
+        .thenRun(() -> sensorDataList.forEach(this::remember))
         .thenCompose(
             v -> {
               List<CompletableFuture<Void>> publishFutures =
@@ -65,6 +73,10 @@ public class SensorDataService implements SensorDataProcessor {
             });
   }
 
+  private void remember(SensorData sensorData) {
+    recentSensorData.record(sensorData, Series.sensor(sensorData.sensorId()), Series.SENSOR_DATA);
+  }
+
   private void validateSensorData(SensorData sensorData) {
     if (sensorData.value() == null) {
       throw new IllegalArgumentException("Sensor value cannot be null");
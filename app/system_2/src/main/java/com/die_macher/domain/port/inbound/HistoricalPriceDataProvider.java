@@ -4,11 +4,18 @@ import com.die_macher.domain.model.price.PriceData;
 import java.time.Instant;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
 
 public interface HistoricalPriceDataProvider {
 
   CompletableFuture<List<PriceData>> getHistoricalData(Instant start, Instant end);
 
+  /**
+   * Streams historical prices instead of collecting them, for ranges too large to hold in memory.
+   * The stream must be closed.
+   */
+  Stream<PriceData> streamHistoricalData(Instant start, Instant end);
+
   CompletableFuture<PriceData> getAggregatedData(
       String field, Instant start, Instant end, String interval);
 }
@@ -4,7 +4,14 @@ import com.die_macher.domain.model.robot.RobotData;
 import java.time.Instant;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
 
 public interface HistoricalRobotDataProvider {
   CompletableFuture<List<RobotData>> getHistoricalData(Instant start, Instant end);
+
+  /**
+   * Streams historical robot data instead of collecting it, for ranges too large to hold in
+   * memory. The stream must be closed.
+   */
+  Stream<RobotData> streamHistoricalData(Instant start, Instant end);
 }
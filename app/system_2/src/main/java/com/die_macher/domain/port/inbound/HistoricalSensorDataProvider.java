@@ -5,11 +5,18 @@ import com.die_macher.domain.model.sensor.SensorType;
 import java.time.Instant;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
 
 public interface HistoricalSensorDataProvider {
   CompletableFuture<List<SensorData>> getHistoricalData(
       String sensorId, Instant start, Instant end);
 
+  /**
+   * Streams historical readings instead of collecting them, for ranges too large to hold in
+   * memory. The stream must be closed.
+   */
+  Stream<SensorData> streamHistoricalData(String sensorId, Instant start, Instant end);
+
   CompletableFuture<SensorData> getAggregatedData(
       String sensorId, SensorType sensorType, Instant start, Instant end, String interval);
 }
@@ -4,12 +4,16 @@ import com.die_macher.domain.model.price.PriceData;
 import java.time.Instant;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
 
 public interface PriceDataRepository {
   CompletableFuture<Void> save(PriceData priceData);
 
   CompletableFuture<List<PriceData>> findByTimeRange(Instant start, Instant end);
 
+  /** Streams prices while they are read; the stream must be closed. */
+  Stream<PriceData> streamByTimeRange(Instant start, Instant end);
+
   CompletableFuture<PriceData> aggregatePriceData(
       String field, Instant start, Instant end, String interval);
 }
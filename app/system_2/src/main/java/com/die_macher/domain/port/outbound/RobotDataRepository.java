@@ -4,9 +4,13 @@ import com.die_macher.domain.model.robot.RobotData;
 import java.time.Instant;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
 
 public interface RobotDataRepository {
   CompletableFuture<Void> save(RobotData robotData);
 
   CompletableFuture<List<RobotData>> findByTimeRange(Instant start, Instant end);
+
+  /** Streams robot data while it is read; the stream must be closed. */
+  Stream<RobotData> streamByTimeRange(Instant start, Instant end);
 }
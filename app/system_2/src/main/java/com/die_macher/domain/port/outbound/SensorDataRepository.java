@@ -5,6 +5,7 @@ import com.die_macher.domain.model.sensor.SensorType;
 import java.time.Instant;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
 
 public interface SensorDataRepository {
   CompletableFuture<Void> save(SensorData sensorData);
@@ -14,6 +15,12 @@ public interface SensorDataRepository {
 
   CompletableFuture<List<SensorData>> findByTimeRange(Instant start, Instant end);
 
+  /** Streams readings of one sensor while they are read; the stream must be closed. */
+  Stream<SensorData> streamBySensorIdAndTimeRange(String sensorId, Instant start, Instant end);
+
+  /** Streams readings of all sensors while they are read; the stream must be closed. */
+  Stream<SensorData> streamByTimeRange(Instant start, Instant end);
+
   CompletableFuture<Void> saveBatch(List<SensorData> sensorDataList);
 
   CompletableFuture<SensorData> aggregateSensorData(
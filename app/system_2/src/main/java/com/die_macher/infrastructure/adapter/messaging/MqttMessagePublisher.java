@@ -4,8 +4,11 @@ import com.die_macher.domain.port.outbound.MessagePublisher;
 import com.die_macher.infrastructure.config.properties.MqttProperties;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.integration.support.MessageBuilder;
 import org.springframework.messaging.MessageChannel;
 import org.springframework.stereotype.Component;
@@ -17,43 +20,52 @@ public class MqttMessagePublisher implements MessagePublisher {
   private final MessageChannel mqttOutboundChannel;
   private final ObjectMapper objectMapper;
   private final MqttProperties mqttProperties;
+  private final Executor publishExecutor;
 
   public MqttMessagePublisher(
       MessageChannel mqttOutboundChannel,
       ObjectMapper objectMapper,
-      MqttProperties mqttProperties) {
+      MqttProperties mqttProperties,
+      @Qualifier("messagingExecutor") Executor publishExecutor) {
     this.mqttOutboundChannel = mqttOutboundChannel;
     this.objectMapper = objectMapper;
     this.mqttProperties = mqttProperties;
+    this.publishExecutor = publishExecutor;
   }
 
   @Override
   public CompletableFuture<Void> publish(Object payload) {
-    return CompletableFuture.runAsync(
-        () -> {
-          try {
-            String jsonPayload = objectMapper.writeValueAsString(payload);
-            String topic = buildDynamicTopicName(payload);
+    try {
+      return CompletableFuture.runAsync(() -> send(payload), publishExecutor);
+    } catch (RejectedExecutionException e) {
+      LOGGER.warn("MQTT publish queue is full, dropping payload: {}", payload);
+      return CompletableFuture.failedFuture(new RuntimeException("MQTT publish rejected", e));
+    }
+  }
+
+  private void send(Object payload) {
+    try {
+      String jsonPayload = objectMapper.writeValueAsString(payload);
+      String topic = buildDynamicTopicName(payload);
 
-            var message =
-                MessageBuilder.withPayload(jsonPayload)
-                    .setHeader("mqtt_topic", topic)
-                    .setHeader("mqtt_qos", mqttProperties.getBroker().getQos())
-                    .setHeader("mqtt_retained", false)
-                    .build();
+      var message =
+          MessageBuilder.withPayload(jsonPayload)
+              .setHeader("mqtt_topic", topic)
+              .setHeader("mqtt_qos", mqttProperties.getBroker().getQos())
+              .setHeader("mqtt_retained", false)
+              .build();
 
-            boolean sent = mqttOutboundChannel.send(message, 5000);
-            if (!sent) {
-              throw new RuntimeException("Failed to send MQTT message within timeout");
-            }
+      boolean sent = mqttOutboundChannel.send(message, 5000);
+      if (!sent) {
+        throw new RuntimeException("Failed to send MQTT message within timeout");
+      }
 
-            LOGGER.debug("Published sensor data to MQTT topic: {}", topic);
+      LOGGER.debug("Published sensor data to MQTT topic: {}", topic);
 
-          } catch (Exception e) {
-            LOGGER.error("Failed to publish MQTT message for payload: {}", payload, e);
-            throw new RuntimeException("MQTT publish failed", e);
-          }
-        });
+    } catch (Exception e) {
+      LOGGER.error("Failed to publish MQTT message for payload: {}", payload, e);
+      throw new RuntimeException("MQTT publish failed", e);
+    }
   }
 
   private String buildDynamicTopicName(Object payload) {
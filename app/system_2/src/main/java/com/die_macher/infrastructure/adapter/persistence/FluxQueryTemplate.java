@@ -0,0 +1,162 @@
+package com.die_macher.infrastructure.adapter.persistence;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A Flux query whose variable parts are {@code params.<name>} references, compiled once and bound
+ * to typed values per call. Values never become part of the query text: they are either sent as
+ * query parameters, so the text stays the same for every call, or substituted as escaped Flux
+ * string literals for servers without parameter support.
+ *
+ * <p>All parameters are strings, as InfluxDB passes them. Convert them in the template where
+ * another type is needed, e.g. {@code range(start: time(v: params.start))} or {@code
+ * aggregateWindow(every: duration(v: params.every), ...)}.
+ */
+public final class FluxQueryTemplate {
+
+  private static final Pattern PARAMETER = Pattern.compile("params\\.([A-Za-z_][A-Za-z0-9_]*)");
+  private static final Pattern DURATION =
+      Pattern.compile("(?:\\d+(?:y|mo|w|d|h|m|s|ms|us|\u00b5s|ns))+");
+
+  private final String flux;
+  private final List<String> segments;
+  private final List<String> references;
+  private final Set<String> parameters;
+
+  private FluxQueryTemplate(String flux) {
+    this.flux = flux;
+    List<String> segments = new ArrayList<>();
+    List<String> references = new ArrayList<>();
+    Matcher matcher = PARAMETER.matcher(flux);
+    int end = 0;
+    while (matcher.find()) {
+      segments.add(flux.substring(end, matcher.start()));
+      references.add(matcher.group(1));
+      end = matcher.end();
+    }
+    segments.add(flux.substring(end));
+    this.segments = List.copyOf(segments);
+    this.references = List.copyOf(references);
+    this.parameters = Collections.unmodifiableSet(new LinkedHashSet<>(references));
+  }
+
+  /**
+   * Compiles a Flux query. Meant for constants, so each query is parsed only once.
+   *
+   * @param flux the query, referring to its parameters as {@code params.<name>}
+   * @return the compiled template
+   */
+  public static FluxQueryTemplate compile(String flux) {
+    return new FluxQueryTemplate(flux);
+  }
+
+  /**
+   * Starts binding values for one execution of this query.
+   *
+   * @return a builder that requires every parameter to be bound
+   */
+  public Builder bind() {
+    return new Builder();
+  }
+
+  /** Collects the values of one execution and checks them against the template. */
+  public final class Builder {
+
+    private final Map<String, Object> values = new LinkedHashMap<>();
+
+    private Builder() {}
+
+    public Builder string(String name, String value) {
+      return put(name, Objects.requireNonNull(value, () -> "Missing value for " + name));
+    }
+
+    /** Binds an instant as RFC 3339 timestamp, to be read with {@code time(v: ...)}. */
+    public Builder time(String name, Instant value) {
+      Objects.requireNonNull(value, () -> "Missing value for " + name);
+      return put(name, value.toString());
+    }
+
+    /**
+     * Binds a Flux duration such as {@code 5m} or {@code 1h30m}, to be read with {@code duration(v:
+     * ...)}.
+     *
+     * @throws IllegalArgumentException if the value is not a duration
+     */
+    public Builder duration(String name, String value) {
+      if (value == null || !DURATION.matcher(value).matches()) {
+        throw new IllegalArgumentException("Invalid duration for " + name + ": " + value);
+      }
+      return put(name, value);
+    }
+
+    /**
+     * Finishes binding.
+     *
+     * @return the query with its values
+     * @throws IllegalStateException if a parameter has not been bound
+     */
+    public FluxQuery build() {
+      if (values.size() != parameters.size()) {
+        Set<String> missing = new LinkedHashSet<>(parameters);
+        missing.removeAll(values.keySet());
+        throw new IllegalStateException("Unbound query parameters: " + missing);
+      }
+      return new FluxQuery(FluxQueryTemplate.this, Collections.unmodifiableMap(values));
+    }
+
+    private Builder put(String name, String value) {
+      if (!parameters.contains(name)) {
+        throw new IllegalStateException("Query has no parameter " + name);
+      }
+      values.put(name, value);
+      return this;
+    }
+  }
+
+  /**
+   * A template together with the values of one execution.
+   *
+   * @param template the compiled query
+   * @param parameters the bound values by parameter name
+   */
+  public record FluxQuery(FluxQueryTemplate template, Map<String, Object> parameters) {
+
+    /** Returns the query text with {@code params} references, identical for every execution. */
+    public String flux() {
+      return template.flux;
+    }
+
+    /** Returns the query text with every reference replaced by its escaped value. */
+    public String inline() {
+      StringBuilder query = new StringBuilder(template.flux.length() + 64);
+      for (int i = 0; i < template.references.size(); i++) {
+        query.append(template.segments.get(i));
+        appendLiteral(query, (String) parameters.get(template.references.get(i)));
+      }
+      return query.append(template.segments.getLast()).toString();
+    }
+
+    private static void appendLiteral(StringBuilder query, String value) {
+      query.append('"');
+      for (int i = 0; i < value.length(); i++) {
+        char c = value.charAt(i);
+        boolean interpolation = c == '$' && i + 1 < value.length() && value.charAt(i + 1) == '{';
+        if (c == '"' || c == '\\' || interpolation) {
+          query.append('\\');
+        }
+        query.append(c);
+      }
+      query.append('"');
+    }
+  }
+}
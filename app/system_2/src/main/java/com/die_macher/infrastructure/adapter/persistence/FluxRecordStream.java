@@ -0,0 +1,132 @@
+package com.die_macher.infrastructure.adapter.persistence;
+
+import com.die_macher.domain.exception.DataQueryException;
+import com.influxdb.Cancellable;
+import com.influxdb.query.FluxRecord;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Hands the records of an asynchronous, callback based query over to a {@link Stream}. The queue
+ * between them is bounded, so a slow consumer holds up the thread reading the response instead of
+ * buffering the whole result. Closing the stream cancels the query.
+ *
+ * <p>Pass {@link #onNext}, {@link #onError} and {@link #onComplete} to {@code QueryApi.query} and
+ * consume {@link #stream()} on another thread.
+ */
+final class FluxRecordStream {
+
+  private static final Object COMPLETE = new Object();
+  private static final long OFFER_TIMEOUT_MILLIS = 100;
+
+  private record Failure(Throwable error) {}
+
+  private final BlockingQueue<Object> queue;
+  private volatile Cancellable cancellable;
+  private volatile boolean closed;
+
+  FluxRecordStream(int capacity) {
+    this.queue = new ArrayBlockingQueue<>(capacity);
+  }
+
+  void onNext(Cancellable cancellable, FluxRecord record) {
+    this.cancellable = cancellable;
+    if (closed) {
+      cancellable.cancel();
+      return;
+    }
+    offer(record);
+  }
+
+  void onError(Throwable error) {
+    offer(new Failure(error));
+  }
+
+  void onComplete() {
+    offer(COMPLETE);
+  }
+
+  /** Waits for space in the queue, giving up once the consumer has closed the stream. */
+  private void offer(Object item) {
+    try {
+      while (!closed) {
+        if (queue.offer(item, OFFER_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+          return;
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * Returns the records as they arrive. Query errors are rethrown while iterating.
+   *
+   * @return a stream that must be closed
+   */
+  Stream<FluxRecord> stream() {
+    Iterator<FluxRecord> iterator =
+        new Iterator<>() {
+          private Object next;
+
+          @Override
+          public boolean hasNext() {
+            if (next == null) {
+              next = take();
+            }
+            return next != COMPLETE;
+          }
+
+          @Override
+          public FluxRecord next() {
+            if (!hasNext()) {
+              throw new NoSuchElementException();
+            }
+            FluxRecord record = (FluxRecord) next;
+            next = null;
+            return record;
+          }
+        };
+    return StreamSupport.stream(
+            Spliterators.spliteratorUnknownSize(
+                iterator, Spliterator.ORDERED | Spliterator.NONNULL),
+            false)
+        .onClose(this::close);
+  }
+
+  private Object take() {
+    Object item;
+    try {
+      item = queue.take();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      close();
+      throw new DataQueryException("Interrupted while reading query results", e);
+    }
+    if (item instanceof Failure failure) {
+      // Later calls must not wait for records that will never come.
+      queue.offer(COMPLETE);
+      if (failure.error() instanceof RuntimeException e) {
+        throw e;
+      }
+      throw new DataQueryException("Query execution failed", failure.error());
+    }
+    return item;
+  }
+
+  private void close() {
+    closed = true;
+    Cancellable current = cancellable;
+    if (current != null) {
+      current.cancel();
+    }
+    queue.clear();
+  }
+}
@@ -0,0 +1,267 @@
+package com.die_macher.infrastructure.adapter.persistence;
+
+import com.die_macher.domain.exception.DataPersistenceException;
+import com.die_macher.infrastructure.config.properties.InfluxDbProperties;
+import com.influxdb.client.InfluxDBClient;
+import com.influxdb.client.WriteApiBlocking;
+import com.influxdb.client.domain.WritePrecision;
+import com.influxdb.exceptions.InfluxException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Spools points to a local write-ahead log and replays them into InfluxDB in line-protocol batches
+ * from a single background thread. Writes only append to the memory-mapped spool, so their latency
+ * does not depend on InfluxDB, and spooled points survive outages and restarts.
+ *
+ * <p>A batch is sent once {@code influxdb.write.batch-size} points are spooled or {@code
+ * influxdb.write.flush-interval} after the previous batch, whichever comes first. Transient errors
+ * (network errors, 429 and 5xx) are retried with exponential backoff and jitter until InfluxDB is
+ * reachable again; the spool checkpoint only moves past a batch once it has been written. Points
+ * may therefore be written twice after a crash, which InfluxDB treats as an overwrite of the same
+ * point. Any other failure would repeat on every attempt, so such a batch is dropped and counted
+ * as failed rather than blocking the spool behind it. Only when the spool reaches {@code
+ * influxdb.write.spool.max-size} are writes rejected.
+ */
+@Component
+public class InfluxDbBatchWriter {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(InfluxDbBatchWriter.class);
+  private static final long SHUTDOWN_TIMEOUT_MILLIS = 30_000;
+
+  private final WriteApiBlocking writeApi;
+  private final String bucket;
+  private final String organization;
+  private final InfluxDbProperties.Write settings;
+  private final InfluxDbWriteSpool spool;
+  private final Thread drainer;
+
+  private final Timer successfulFlushes;
+  private final Timer failedFlushes;
+  private final Counter writtenPoints;
+  private final Counter failedPoints;
+  private final Counter rejectedPoints;
+  private final Counter retries;
+
+  private volatile boolean running = true;
+
+  public InfluxDbBatchWriter(
+      InfluxDBClient influxDBClient, InfluxDbProperties properties, MeterRegistry meterRegistry) {
+    this.writeApi = influxDBClient.getWriteApiBlocking();
+    this.bucket = properties.getBucket();
+    this.organization = properties.getOrganization();
+    this.settings = properties.getWrite();
+    this.spool = openSpool(settings.getSpool());
+    this.drainer = Thread.ofPlatform().name("influxdb-spool-drainer").daemon().unstarted(this::run);
+
+    Gauge.builder("influxdb.write.spool.pending", spool, InfluxDbWriteSpool::pendingEntries)
+        .description("Spooled points not yet written to InfluxDB")
+        .register(meterRegistry);
+    Gauge.builder("influxdb.write.spool.size", spool, InfluxDbWriteSpool::sizeInBytes)
+        .description("Disk space used by the InfluxDB write spool")
+        .baseUnit("bytes")
+        .register(meterRegistry);
+    this.successfulFlushes = flushTimer("success", meterRegistry);
+    this.failedFlushes = flushTimer("failure", meterRegistry);
+    this.writtenPoints = pointCounter("written", meterRegistry);
+    this.failedPoints = pointCounter("failed", meterRegistry);
+    this.rejectedPoints = pointCounter("rejected", meterRegistry);
+    this.retries =
+        Counter.builder("influxdb.write.retries")
+            .description("Retried InfluxDB batch writes")
+            .register(meterRegistry);
+  }
+
+  private static InfluxDbWriteSpool openSpool(InfluxDbProperties.Spool settings) {
+    Path directory = Path.of(settings.getDirectory());
+    try {
+      return new InfluxDbWriteSpool(
+          directory, settings.getSegmentSize().toBytes(), settings.getMaxSize().toBytes());
+    } catch (IOException e) {
+      throw new IllegalStateException("Cannot open InfluxDB write spool in " + directory, e);
+    }
+  }
+
+  private static Timer flushTimer(String outcome, MeterRegistry meterRegistry) {
+    return Timer.builder("influxdb.write.flush")
+        .description("Time to write one batch to InfluxDB, including retries")
+        .tag("outcome", outcome)
+        .publishPercentileHistogram()
+        .register(meterRegistry);
+  }
+
+  private static Counter pointCounter(String result, MeterRegistry meterRegistry) {
+    return Counter.builder("influxdb.write.points")
+        .description("Points handled by the InfluxDB batch writer")
+        .tag("result", result)
+        .register(meterRegistry);
+  }
+
+  @PostConstruct
+  public void start() {
+    drainer.start();
+  }
+
+  /**
+   * Stops draining after the batch in progress and closes the spool. Points still spooled are
+   * written after the next start.
+   */
+  @PreDestroy
+  public void stop() {
+    running = false;
+    LockSupport.unpark(drainer);
+    try {
+      drainer.join(SHUTDOWN_TIMEOUT_MILLIS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    spool.close();
+  }
+
+  /**
+   * Appends a line-protocol record to the spool and wakes the drainer once a full batch is pending.
+   *
+   * @param precision precision of the timestamp in the record
+   * @param line the record in line protocol
+   * @return a future that completes once the record has been spooled
+   */
+  public CompletableFuture<Void> write(WritePrecision precision, String line) {
+    try {
+      if (!spool.append(precision, line)) {
+        rejectedPoints.increment();
+        return CompletableFuture.failedFuture(
+            new DataPersistenceException("InfluxDB write spool is full", null));
+      }
+      if (spool.pendingEntries() >= settings.getBatchSize()) {
+        LockSupport.unpark(drainer);
+      }
+      return CompletableFuture.completedFuture(null);
+    } catch (IOException e) {
+      rejectedPoints.increment();
+      return CompletableFuture.failedFuture(
+          new DataPersistenceException("Failed to spool point", e));
+    }
+  }
+
+  private void run() {
+    int batchSize = settings.getBatchSize();
+    long intervalNanos = settings.getFlushInterval().toNanos();
+    InfluxDbWriteSpool.Position cursor = spool.checkpoint();
+    long lastFlush = System.nanoTime();
+    while (running) {
+      InfluxDbWriteSpool.Batch batch = spool.read(cursor, batchSize);
+      long wait = intervalNanos - (System.nanoTime() - lastFlush);
+      if (batch.size() < batchSize && wait > 0) {
+        spool.sync();
+        LockSupport.parkNanos(wait);
+        continue;
+      }
+      if (!batch.isEmpty() && !flush(batch)) {
+        // Stopped while InfluxDB was unreachable; the batch stays spooled.
+        return;
+      }
+      cursor = batch.next();
+      lastFlush = System.nanoTime();
+    }
+  }
+
+  /** Writes a batch and moves the spool checkpoint past it, unless stopped while retrying. */
+  private boolean flush(InfluxDbWriteSpool.Batch batch) {
+    Map<WritePrecision, List<String>> byPrecision = new EnumMap<>(WritePrecision.class);
+    for (InfluxDbWriteSpool.Entry entry : batch.entries()) {
+      byPrecision.computeIfAbsent(entry.precision(), p -> new ArrayList<>()).add(entry.line());
+    }
+    for (Map.Entry<WritePrecision, List<String>> lines : byPrecision.entrySet()) {
+      if (!writeWithRetry(lines.getKey(), lines.getValue())) {
+        return false;
+      }
+    }
+    try {
+      spool.commit(batch);
+    } catch (IOException e) {
+      // The batch is replayed after a restart, which only overwrites the same points.
+      LOGGER.error("Failed to store InfluxDB spool checkpoint", e);
+    }
+    return true;
+  }
+
+  private boolean writeWithRetry(WritePrecision precision, List<String> lines) {
+    long started = System.nanoTime();
+    for (int attempt = 0; ; attempt++) {
+      try {
+        writeApi.writeRecords(bucket, organization, precision, lines);
+        successfulFlushes.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        writtenPoints.increment(lines.size());
+        return true;
+      } catch (RuntimeException e) {
+        if (!isRetryable(e)) {
+          // Retrying cannot help, so the points are dropped instead of blocking the spool.
+          LOGGER.error("Dropping {} points that cannot be written to InfluxDB", lines.size(), e);
+          failedFlushes.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+          failedPoints.increment(lines.size());
+          return true;
+        }
+        if (!running) {
+          return false;
+        }
+        long backoff = backoffMillis(attempt);
+        LOGGER.warn(
+            "InfluxDB write of {} points failed (attempt {}), retrying in {} ms: {}",
+            lines.size(),
+            attempt + 1,
+            backoff,
+            e.getMessage());
+        retries.increment();
+        sleepUnlessStopped(TimeUnit.MILLISECONDS.toNanos(backoff));
+      }
+    }
+  }
+
+  /** Parks for the whole backoff; writes wake the drainer whenever a full batch is pending. */
+  private void sleepUnlessStopped(long nanos) {
+    long deadline = System.nanoTime() + nanos;
+    for (long remaining = nanos; running && remaining > 0; ) {
+      LockSupport.parkNanos(remaining);
+      remaining = deadline - System.nanoTime();
+    }
+  }
+
+  /** Exponential backoff capped at the configured maximum, randomized in its upper half. */
+  private long backoffMillis(int attempt) {
+    long base = settings.getRetryBackoff().toMillis();
+    long max = settings.getMaxRetryBackoff().toMillis();
+    long exponential = Math.min(max, base << Math.min(attempt, 20));
+    return exponential / 2 + ThreadLocalRandom.current().nextLong(exponential / 2 + 1);
+  }
+
+  /** Retries network errors, throttling and server errors; anything else fails the same again. */
+  private static boolean isRetryable(RuntimeException e) {
+    if (e instanceof InfluxException influxException) {
+      int status = influxException.status();
+      return status == 0 || status == 429 || status >= 500;
+    }
+    for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+      if (cause instanceof IOException) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
@@ -2,69 +2,99 @@ package com.die_macher.infrastructure.adapter.persistence;
 
 import com.die_macher.domain.exception.DataPersistenceException;
 import com.die_macher.domain.exception.DataQueryException;
+import com.die_macher.infrastructure.adapter.persistence.FluxQueryTemplate.FluxQuery;
 import com.die_macher.infrastructure.adapter.web.exception.DataNotFoundException;
 import com.die_macher.infrastructure.config.properties.InfluxDbProperties;
 import com.influxdb.client.InfluxDBClient;
 import com.influxdb.client.QueryApi;
-import com.influxdb.client.WriteApiBlocking;
-import com.influxdb.client.write.Point;
 import com.influxdb.query.FluxRecord;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.BiConsumer;
 import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 import lombok.Getter;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public class InfluxDbGenericRepository<T> {
 
+  /** Encoding buffer per calling thread, reused for every record. */
+  private static final ThreadLocal<LineProtocolWriter> LINE_WRITER =
+      ThreadLocal.withInitial(LineProtocolWriter::new);
+
+  /** Records read ahead of a streaming consumer before the response reader waits. */
+  private static final int STREAM_BUFFER_RECORDS = 1_024;
+
   private final InfluxDBClient influxDBClient;
 
+  private final InfluxDbBatchWriter batchWriter;
+
+  private final Executor queryExecutor;
+
   @Getter private final String bucket;
 
   private final String organization;
 
-  public InfluxDbGenericRepository(InfluxDBClient influxDBClient, InfluxDbProperties properties) {
+  private final boolean parameterizedQueries;
+
+  public InfluxDbGenericRepository(
+      InfluxDBClient influxDBClient,
+      InfluxDbProperties properties,
+      InfluxDbBatchWriter batchWriter,
+      @Qualifier("persistenceExecutor") Executor queryExecutor) {
     this.influxDBClient = influxDBClient;
+    this.batchWriter = batchWriter;
+    this.queryExecutor = queryExecutor;
     this.bucket = properties.getBucket();
     this.organization = properties.getOrganization();
+    this.parameterizedQueries = properties.getQuery().isParameterized();
   }
 
-  public CompletableFuture<Void> save(T entity, Function<T, Point> pointMapper) {
-    return CompletableFuture.runAsync(
-        () -> {
-          try {
-            WriteApiBlocking writeApi = influxDBClient.getWriteApiBlocking();
-            Point point = pointMapper.apply(entity);
-            writeApi.writePoint(bucket, organization, point);
-          } catch (Exception e) {
-            throw new DataPersistenceException("Failed to save entity", e);
-          }
-        });
+  public CompletableFuture<Void> save(T entity, BiConsumer<T, LineProtocolWriter> encoder) {
+    try {
+      return write(entity, encoder, LINE_WRITER.get());
+    } catch (Exception e) {
+      return CompletableFuture.failedFuture(
+          new DataPersistenceException("Failed to save entity", e));
+    }
   }
 
-  public CompletableFuture<Void> saveBatch(List<T> entities, Function<T, Point> pointMapper) {
-    return CompletableFuture.runAsync(
-        () -> {
-          try {
-            WriteApiBlocking writeApi = influxDBClient.getWriteApiBlocking();
-            List<Point> points = entities.stream().map(pointMapper).toList();
-            writeApi.writePoints(bucket, organization, points);
-          } catch (Exception e) {
-            throw new DataPersistenceException("Failed to save batch", e);
-          }
-        });
+  public CompletableFuture<Void> saveBatch(
+      List<T> entities, BiConsumer<T, LineProtocolWriter> encoder) {
+    try {
+      LineProtocolWriter writer = LINE_WRITER.get();
+      CompletableFuture<?>[] results = new CompletableFuture<?>[entities.size()];
+      for (int i = 0; i < results.length; i++) {
+        results[i] = write(entities.get(i), encoder, writer);
+      }
+      return CompletableFuture.allOf(results);
+    } catch (Exception e) {
+      return CompletableFuture.failedFuture(
+          new DataPersistenceException("Failed to save batch", e));
+    }
+  }
+
+  private CompletableFuture<Void> write(
+      T entity, BiConsumer<T, LineProtocolWriter> encoder, LineProtocolWriter writer) {
+    encoder.accept(entity, writer);
+    if (!writer.hasFields()) {
+      // InfluxDB rejects records without fields; there is nothing to write.
+      return CompletableFuture.completedFuture(null);
+    }
+    return batchWriter.write(writer.getPrecision(), writer.toString());
   }
 
-  public CompletableFuture<List<T>> query(String fluxQuery, Function<FluxRecord, T> recordMapper) {
-    return CompletableFuture.supplyAsync(
+  public CompletableFuture<List<T>> query(
+      FluxQuery fluxQuery, Function<FluxRecord, T> recordMapper) {
+    return supplyAsync(
         () -> {
-          try {
-            QueryApi queryApi = influxDBClient.getQueryApi();
-            return queryApi.query(fluxQuery, organization).stream()
-                .flatMap(table -> table.getRecords().stream())
-                .map(recordMapper)
-                .toList();
+          try (Stream<FluxRecord> records = queryStream(fluxQuery)) {
+            return records.map(recordMapper).toList();
           } catch (Exception e) {
             throw new DataQueryException("Query execution failed", e);
           }
@@ -72,13 +102,12 @@ public class InfluxDbGenericRepository<T> {
   }
 
   public <T> CompletableFuture<T> querySingle(
-      String fluxQuery, Function<FluxRecord, T> recordMapper) {
-    return CompletableFuture.supplyAsync(
+      FluxQuery fluxQuery, Function<FluxRecord, T> recordMapper) {
+    return supplyAsync(
         () -> {
-          try {
-            QueryApi queryApi = influxDBClient.getQueryApi();
-            return queryApi.query(fluxQuery, organization).stream()
-                .flatMap(table -> table.getRecords().stream())
+          // Closing the stream after the first record cancels the rest of the response.
+          try (Stream<FluxRecord> records = queryStream(fluxQuery)) {
+            return records
                 .findFirst()
                 .map(recordMapper)
                 .orElseThrow(() -> new DataNotFoundException("No result found for single query"));
@@ -89,4 +118,49 @@ public class InfluxDbGenericRepository<T> {
           }
         });
   }
+
+  /**
+   * Runs a query and maps its records while the response is being read, so the result never has
+   * to fit into memory at once. The client reads the response on its own thread and hands the
+   * records over through a bounded buffer. The stream must be closed, for example with
+   * try-with-resources; closing it cancels the rest of the response.
+   *
+   * @param fluxQuery the bound Flux query
+   * @param recordMapper maps one record to the result type
+   * @return a lazily populated stream of results
+   */
+  public Stream<T> stream(FluxQuery fluxQuery, Function<FluxRecord, T> recordMapper) {
+    try {
+      return queryStream(fluxQuery).map(recordMapper);
+    } catch (Exception e) {
+      throw new DataQueryException("Query execution failed", e);
+    }
+  }
+
+  private Stream<FluxRecord> queryStream(FluxQuery fluxQuery) {
+    QueryApi queryApi = influxDBClient.getQueryApi();
+    FluxRecordStream records = new FluxRecordStream(STREAM_BUFFER_RECORDS);
+    if (parameterizedQueries) {
+      queryApi.query(
+          fluxQuery.flux(),
+          organization,
+          records::onNext,
+          records::onError,
+          records::onComplete,
+          fluxQuery.parameters());
+    } else {
+      queryApi.query(
+          fluxQuery.inline(), organization, records::onNext, records::onError, records::onComplete);
+    }
+    return records.stream();
+  }
+
+  private <R> CompletableFuture<R> supplyAsync(Supplier<R> query) {
+    try {
+      return CompletableFuture.supplyAsync(query, queryExecutor);
+    } catch (RejectedExecutionException e) {
+      return CompletableFuture.failedFuture(
+          new DataQueryException("Too many concurrent queries", e));
+    }
+  }
 }
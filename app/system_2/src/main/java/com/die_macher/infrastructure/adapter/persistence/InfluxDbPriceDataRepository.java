@@ -2,10 +2,12 @@ package com.die_macher.infrastructure.adapter.persistence;
 
 import com.die_macher.domain.model.price.PriceData;
 import com.die_macher.domain.port.outbound.PriceDataRepository;
+import com.die_macher.infrastructure.adapter.persistence.FluxQueryTemplate.FluxQuery;
 import com.die_macher.infrastructure.adapter.persistence.mapper.PriceDataMapper;
 import java.time.Instant;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
 import org.springframework.stereotype.Repository;
 
 @Repository
@@ -15,6 +17,26 @@ public class InfluxDbPriceDataRepository implements PriceDataRepository {
   private final PriceDataMapper mapper;
   private static final String MEASUREMENT = "price_data";
 
+  private static final FluxQueryTemplate TIME_RANGE_QUERY =
+      FluxQueryTemplate.compile(
+          """
+          from(bucket: params.bucket)
+            |> range(start: time(v: params.start), stop: time(v: params.stop))
+            |> filter(fn: (r) => r["_measurement"] == params.measurement)
+            |> pivot(rowKey:["_time"], columnKey: ["_field"], valueColumn: "_value")
+          """);
+
+  private static final FluxQueryTemplate AGGREGATE_QUERY =
+      FluxQueryTemplate.compile(
+          """
+          from(bucket: params.bucket)
+            |> range(start: time(v: params.start), stop: time(v: params.stop))
+            |> filter(fn: (r) => r["_measurement"] == params.measurement)
+            |> filter(fn: (r) => r["_field"] == params.field)
+            |> aggregateWindow(every: duration(v: params.every), fn: mean, createEmpty: false)
+            |> pivot(rowKey:["_time"], columnKey: ["_field"], valueColumn: "_value")
+          """);
+
   public InfluxDbPriceDataRepository(
       InfluxDbGenericRepository<PriceData> genericRepository, PriceDataMapper mapper) {
     this.genericRepository = genericRepository;
@@ -23,40 +45,42 @@ public class InfluxDbPriceDataRepository implements PriceDataRepository {
 
   @Override
   public CompletableFuture<Void> save(PriceData priceData) {
-    return genericRepository.save(priceData, mapper::toPoint);
+    return genericRepository.save(priceData, mapper::writeLine);
   }
 
   @Override
   public CompletableFuture<List<PriceData>> findByTimeRange(Instant start, Instant end) {
-    String query =
-        String.format(
-            """
-            from(bucket: "%s")
-              |> range(start: %s, stop: %s)
-              |> filter(fn: (r) => r["_measurement"] == "%s")
-              |> pivot(rowKey:["_time"], columnKey: ["_field"], valueColumn: "_value")
-            """,
-            genericRepository.getBucket(), start, end, MEASUREMENT);
-
-    return genericRepository.query(query, mapper::fromFluxRecord);
+    return genericRepository.query(timeRangeQuery(start, end), mapper::fromFluxRecord);
+  }
+
+  @Override
+  public Stream<PriceData> streamByTimeRange(Instant start, Instant end) {
+    return genericRepository.stream(timeRangeQuery(start, end), mapper::fromFluxRecord);
   }
 
   @Override
   public CompletableFuture<PriceData> aggregatePriceData(
       String field, Instant start, Instant end, String interval) {
-
-    String query =
-        String.format(
-            """
-        from(bucket: "%s")
-          |> range(start: %s, stop: %s)
-          |> filter(fn: (r) => r["_measurement"] == "%s")
-          |> filter(fn: (r) => r["_field"] == "%s")
-          |> aggregateWindow(every: %s, fn: mean, createEmpty: false)
-          |> pivot(rowKey:["_time"], columnKey: ["_field"], valueColumn: "_value")
-        """,
-            genericRepository.getBucket(), start, end, MEASUREMENT, field, interval);
-
+    FluxQuery query =
+        AGGREGATE_QUERY
+            .bind()
+            .string("bucket", genericRepository.getBucket())
+            .time("start", start)
+            .time("stop", end)
+            .string("measurement", MEASUREMENT)
+            .string("field", field)
+            .duration("every", interval)
+            .build();
     return genericRepository.querySingle(query, mapper::fromFluxRecord);
   }
+
+  private FluxQuery timeRangeQuery(Instant start, Instant end) {
+    return TIME_RANGE_QUERY
+        .bind()
+        .string("bucket", genericRepository.getBucket())
+        .time("start", start)
+        .time("stop", end)
+        .string("measurement", MEASUREMENT)
+        .build();
+  }
 }
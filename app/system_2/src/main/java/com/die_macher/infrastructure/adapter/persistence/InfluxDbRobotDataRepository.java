@@ -2,10 +2,12 @@ package com.die_macher.infrastructure.adapter.persistence;
 
 import com.die_macher.domain.model.robot.RobotData;
 import com.die_macher.domain.port.outbound.RobotDataRepository;
+import com.die_macher.infrastructure.adapter.persistence.FluxQueryTemplate.FluxQuery;
 import com.die_macher.infrastructure.adapter.persistence.mapper.RobotDataMapper;
 import java.time.Instant;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
 import org.springframework.stereotype.Repository;
 
 @Repository
@@ -15,6 +17,15 @@ public class InfluxDbRobotDataRepository implements RobotDataRepository {
   private final RobotDataMapper mapper;
   private static final String MEASUREMENT = "robot_data";
 
+  private static final FluxQueryTemplate TIME_RANGE_QUERY =
+      FluxQueryTemplate.compile(
+          """
+          from(bucket: params.bucket)
+            |> range(start: time(v: params.start), stop: time(v: params.stop))
+            |> filter(fn: (r) => r["_measurement"] == params.measurement)
+            |> pivot(rowKey:["_time"], columnKey: ["_field"], valueColumn: "_value")
+          """);
+
   public InfluxDbRobotDataRepository(
       InfluxDbGenericRepository<RobotData> genericRepository, RobotDataMapper mapper) {
     this.genericRepository = genericRepository;
@@ -23,21 +34,26 @@ public class InfluxDbRobotDataRepository implements RobotDataRepository {
 
   @Override
   public CompletableFuture<Void> save(RobotData robotData) {
-    return genericRepository.save(robotData, mapper::toPoint);
+    return genericRepository.save(robotData, mapper::writeLine);
   }
 
   @Override
   public CompletableFuture<List<RobotData>> findByTimeRange(Instant start, Instant end) {
-    String query =
-        String.format(
-            """
-                        from(bucket: "%s")
-                          |> range(start: %s, stop: %s)
-                          |> filter(fn: (r) => r["_measurement"] == "%s")
-                          |> pivot(rowKey:["_time"], columnKey: ["_field"], valueColumn: "_value")
-                        """,
-            genericRepository.getBucket(), start, end, MEASUREMENT);
-
-    return genericRepository.query(query, mapper::fromFluxRecord);
+    return genericRepository.query(timeRangeQuery(start, end), mapper::fromFluxRecord);
+  }
+
+  @Override
+  public Stream<RobotData> streamByTimeRange(Instant start, Instant end) {
+    return genericRepository.stream(timeRangeQuery(start, end), mapper::fromFluxRecord);
+  }
+
+  private FluxQuery timeRangeQuery(Instant start, Instant end) {
+    return TIME_RANGE_QUERY
+        .bind()
+        .string("bucket", genericRepository.getBucket())
+        .time("start", start)
+        .time("stop", end)
+        .string("measurement", MEASUREMENT)
+        .build();
   }
 }
@@ -3,10 +3,12 @@ package com.die_macher.infrastructure.adapter.persistence;
 import com.die_macher.domain.model.sensor.SensorData;
 import com.die_macher.domain.model.sensor.SensorType;
 import com.die_macher.domain.port.outbound.SensorDataRepository;
+import com.die_macher.infrastructure.adapter.persistence.FluxQueryTemplate.FluxQuery;
 import com.die_macher.infrastructure.adapter.persistence.mapper.SensorDataMapper;
 import java.time.Instant;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
 import org.springframework.stereotype.Repository;
 
 @Repository
@@ -16,6 +18,38 @@ public class InfluxDbSensorDataRepository implements SensorDataRepository {
   private final SensorDataMapper mapper;
   private static final String MEASUREMENT = "sensor_data";
 
+  private static final FluxQueryTemplate TIME_RANGE_QUERY =
+      FluxQueryTemplate.compile(
+          """
+          from(bucket: params.bucket)
+            |> range(start: time(v: params.start), stop: time(v: params.stop))
+            |> filter(fn: (r) => r["_measurement"] == params.measurement)
+            |> pivot(rowKey:["_time"], columnKey: ["_field"], valueColumn: "_value")
+          """);
+
+  private static final FluxQueryTemplate SENSOR_QUERY =
+      FluxQueryTemplate.compile(
+          """
+          from(bucket: params.bucket)
+            |> range(start: time(v: params.start), stop: time(v: params.stop))
+            |> filter(fn: (r) => r["_measurement"] == params.measurement)
+            |> filter(fn: (r) => r["sensor_id"] == params.sensorId)
+            |> pivot(rowKey:["_time"], columnKey: ["_field"], valueColumn: "_value")
+          """);
+
+  private static final FluxQueryTemplate AGGREGATE_QUERY =
+      FluxQueryTemplate.compile(
+          """
+          from(bucket: params.bucket)
+            |> range(start: time(v: params.start), stop: time(v: params.stop))
+            |> filter(fn: (r) => r["_measurement"] == params.measurement)
+            |> filter(fn: (r) => r["sensor_id"] == params.sensorId)
+            |> filter(fn: (r) => r["type"] == params.type)
+            |> filter(fn: (r) => r["_field"] == "value")
+            |> aggregateWindow(every: duration(v: params.every), fn: mean, createEmpty: false)
+            |> pivot(rowKey:["_time"], columnKey: ["_field"], valueColumn: "_value")
+          """);
+
   public InfluxDbSensorDataRepository(
       InfluxDbGenericRepository<SensorData> genericRepository, SensorDataMapper mapper) {
     this.genericRepository = genericRepository;
@@ -24,71 +58,71 @@ public class InfluxDbSensorDataRepository implements SensorDataRepository {
 
   @Override
   public CompletableFuture<Void> save(SensorData sensorData) {
-    return genericRepository.save(sensorData, mapper::toPoint);
+    return genericRepository.save(sensorData, mapper::writeLine);
   }
 
   @Override
   public CompletableFuture<Void> saveBatch(List<SensorData> sensorDataList) {
-    return genericRepository.saveBatch(sensorDataList, mapper::toPoint);
+    return genericRepository.saveBatch(sensorDataList, mapper::writeLine);
   }
 
   @Override
   public CompletableFuture<List<SensorData>> findBySensorIdAndTimeRange(
       String sensorId, Instant start, Instant end) {
-
-    String query =
-        String.format(
-            """
-            from(bucket: "%s")
-              |> range(start: %s, stop: %s)
-              |> filter(fn: (r) => r["_measurement"] == "%s")
-              |> filter(fn: (r) => r["sensor_id"] == "%s")
-              |> pivot(rowKey:["_time"], columnKey: ["_field"], valueColumn: "_value")
-            """,
-            genericRepository.getBucket(), start, end, MEASUREMENT, sensorId);
-
-    return genericRepository.query(query, mapper::fromFluxRecord);
+    return genericRepository.query(sensorQuery(sensorId, start, end), mapper::fromFluxRecord);
   }
 
   @Override
   public CompletableFuture<List<SensorData>> findByTimeRange(Instant start, Instant end) {
-    String query =
-        String.format(
-            """
-            from(bucket: "%s")
-              |> range(start: %s, stop: %s)
-              |> filter(fn: (r) => r["_measurement"] == "%s")
-              |> pivot(rowKey:["_time"], columnKey: ["_field"], valueColumn: "_value")
-            """,
-            genericRepository.getBucket(), start, end, MEASUREMENT);
-
-    return genericRepository.query(query, mapper::fromFluxRecord);
+    return genericRepository.query(timeRangeQuery(start, end), mapper::fromFluxRecord);
+  }
+
+  @Override
+  public Stream<SensorData> streamBySensorIdAndTimeRange(
+      String sensorId, Instant start, Instant end) {
+    return genericRepository.stream(sensorQuery(sensorId, start, end), mapper::fromFluxRecord);
+  }
+
+  @Override
+  public Stream<SensorData> streamByTimeRange(Instant start, Instant end) {
+    return genericRepository.stream(timeRangeQuery(start, end), mapper::fromFluxRecord);
   }
 
   @Override
   public CompletableFuture<SensorData> aggregateSensorData(
       String sensorId, SensorType sensorType, Instant start, Instant end, String interval) {
+    FluxQuery query =
+        AGGREGATE_QUERY
+            .bind()
+            .string("bucket", genericRepository.getBucket())
+            .time("start", start)
+            .time("stop", end)
+            .string("measurement", MEASUREMENT)
+            .string("sensorId", sensorId)
+            .string("type", sensorType.name())
+            .duration("every", interval)
+            .build();
+    return genericRepository.querySingle(query, mapper::fromFluxRecord);
+  }
 
-    String query =
-        String.format(
-            """
-        from(bucket: "%s")
-          |> range(start: %s, stop: %s)
-          |> filter(fn: (r) => r["_measurement"] == "%s")
-          |> filter(fn: (r) => r["sensor_id"] == "%s")
-          |> filter(fn: (r) => r["type"] == "%s")
-          |> filter(fn: (r) => r["_field"] == "value")
-          |> aggregateWindow(every: %s, fn: mean, createEmpty: false)
-          |> pivot(rowKey:["_time"], columnKey: ["_field"], valueColumn: "_value")
-        """,
-            genericRepository.getBucket(),
-            start,
-            end,
-            MEASUREMENT,
-            sensorId,
-            sensorType.name(),
-            interval);
+  private FluxQuery sensorQuery(String sensorId, Instant start, Instant end) {
+    return SENSOR_QUERY
+        .bind()
+        .string("bucket", genericRepository.getBucket())
+        .time("start", start)
+        .time("stop", end)
+        .string("measurement", MEASUREMENT)
+        .string("sensorId", sensorId)
+        .build();
+  }
 
-    return genericRepository.querySingle(query, mapper::fromFluxRecord);
+  private FluxQuery timeRangeQuery(Instant start, Instant end) {
+    return TIME_RANGE_QUERY
+        .bind()
+        .string("bucket", genericRepository.getBucket())
+        .time("start", start)
+        .time("stop", end)
+        .string("measurement", MEASUREMENT)
+        .build();
   }
 }
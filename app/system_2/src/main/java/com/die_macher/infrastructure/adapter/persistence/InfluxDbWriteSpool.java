@@ -0,0 +1,400 @@
+package com.die_macher.infrastructure.adapter.persistence;
+
+import com.influxdb.client.domain.WritePrecision;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Append-only spool of line-protocol records, split into memory-mapped segment files. Producers
+ * append under a short lock; a single reader replays records from its last checkpoint, which is
+ * persisted once they have been written to InfluxDB. Segments the checkpoint has passed are
+ * deleted.
+ *
+ * <p>Each record is stored as its length, a CRC32C checksum, the ordinal of its {@link
+ * WritePrecision} and the UTF-8 line. Memory-mapped writes may reach the disk in any order, so
+ * recovery stops at the first record whose checksum does not match and clears everything after it
+ * in the last segment. Later appends therefore never leave parts of a torn record behind them.
+ */
+final class InfluxDbWriteSpool implements Closeable {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(InfluxDbWriteSpool.class);
+  private static final String SEGMENT_SUFFIX = ".seg";
+  private static final String CHECKPOINT_FILE = "checkpoint";
+  private static final int CHECKSUM_OFFSET = Integer.BYTES;
+  private static final int PRECISION_OFFSET = CHECKSUM_OFFSET + Integer.BYTES;
+  static final int HEADER_BYTES = PRECISION_OFFSET + 1;
+  private static final WritePrecision[] PRECISIONS = WritePrecision.values();
+
+  /** A spooled line together with the precision of its timestamp. */
+  record Entry(WritePrecision precision, String line) {}
+
+  /** Location in the spool, the offset being relative to the start of the segment. */
+  record Position(long segment, int offset) {}
+
+  /** Records read from the spool and the position right after the last of them. */
+  record Batch(List<Entry> entries, Position next) {
+    boolean isEmpty() {
+      return entries.isEmpty();
+    }
+
+    int size() {
+      return entries.size();
+    }
+  }
+
+  private static final class Segment {
+    private final long id;
+    private final Path path;
+    private final MappedByteBuffer buffer;
+
+    /** End of the written records; everything before it is immutable. */
+    private volatile int limit;
+
+    /** Set once the writer has moved on to the next segment, after the final limit. */
+    private volatile boolean sealed;
+
+    private Segment(long id, Path path, MappedByteBuffer buffer) {
+      this.id = id;
+      this.path = path;
+      this.buffer = buffer;
+    }
+  }
+
+  private final Path directory;
+  private final int segmentSize;
+  private final long maxSize;
+  private final NavigableMap<Long, Segment> segments = new ConcurrentSkipListMap<>();
+  private final AtomicLong pending = new AtomicLong();
+
+  private volatile Segment head;
+  private Position checkpoint;
+  private boolean closed;
+
+  /**
+   * Opens the spool in the given directory, recovering segments and the checkpoint left by a
+   * previous run.
+   *
+   * @param directory directory holding the segment files
+   * @param segmentSize size of one segment file in bytes
+   * @param maxSize maximum size of all segment files in bytes
+   * @throws IOException if the directory or the segments cannot be opened
+   */
+  InfluxDbWriteSpool(Path directory, long segmentSize, long maxSize) throws IOException {
+    if (segmentSize <= HEADER_BYTES || segmentSize > Integer.MAX_VALUE) {
+      throw new IllegalArgumentException("Invalid spool segment size: " + segmentSize);
+    }
+    if (maxSize < segmentSize) {
+      throw new IllegalArgumentException("Spool must hold at least one segment: " + maxSize);
+    }
+    this.directory = directory;
+    this.segmentSize = (int) segmentSize;
+    this.maxSize = maxSize;
+    Files.createDirectories(directory);
+    recover();
+  }
+
+  private void recover() throws IOException {
+    checkpoint = readCheckpoint();
+    List<Long> ids;
+    try (Stream<Path> files = Files.list(directory)) {
+      ids =
+          files
+              .map(path -> path.getFileName().toString())
+              .filter(name -> name.endsWith(SEGMENT_SUFFIX))
+              .map(name -> name.substring(0, name.length() - SEGMENT_SUFFIX.length()))
+              .map(Long::parseLong)
+              .sorted()
+              .toList();
+    }
+
+    for (long id : ids) {
+      if (id < checkpoint.segment()) {
+        Files.deleteIfExists(segmentPath(id));
+        continue;
+      }
+      Segment segment = map(id);
+      int from = id == checkpoint.segment() ? checkpoint.offset() : 0;
+      segment.limit = scan(segment, from);
+      segment.sealed = true;
+      segments.put(id, segment);
+    }
+
+    if (segments.isEmpty()) {
+      head = map(checkpoint.segment());
+      segments.put(head.id, head);
+    } else {
+      head = segments.lastEntry().getValue();
+      head.sealed = false;
+      clearTail(head);
+    }
+    Segment first = segments.get(checkpoint.segment());
+    if (first == null) {
+      checkpoint = new Position(segments.firstKey(), 0);
+    } else if (checkpoint.offset() > first.limit) {
+      checkpoint = new Position(first.id, first.limit);
+    }
+    if (pending.get() > 0) {
+      LOGGER.info("Recovered {} spooled InfluxDB records from {}", pending.get(), directory);
+    }
+  }
+
+  /** Finds the end of the valid records in a segment and counts those at or after {@code from}. */
+  private int scan(Segment segment, int from) {
+    ByteBuffer buffer = segment.buffer;
+    int offset = 0;
+    while (offset + HEADER_BYTES <= buffer.capacity()) {
+      int length = buffer.getInt(offset);
+      int precision = buffer.get(offset + PRECISION_OFFSET);
+      if (length <= 0
+          || length > buffer.capacity() - offset - HEADER_BYTES
+          || precision < 0
+          || precision >= PRECISIONS.length
+          || buffer.getInt(offset + CHECKSUM_OFFSET) != checksum(buffer, offset, length)) {
+        break;
+      }
+      if (offset >= from) {
+        pending.incrementAndGet();
+      }
+      offset += HEADER_BYTES + length;
+    }
+    return offset;
+  }
+
+  /**
+   * Appends a record to the current segment, starting a new one when it is full.
+   *
+   * @param precision precision of the timestamp in the line
+   * @param line the record in line protocol
+   * @return {@code false} if the spool has reached its maximum size
+   * @throws IOException if the spool is closed or a new segment cannot be created
+   */
+  boolean append(WritePrecision precision, String line) throws IOException {
+    byte[] bytes = line.getBytes(StandardCharsets.UTF_8);
+    int size = HEADER_BYTES + bytes.length;
+    if (size > segmentSize) {
+      throw new IOException("Record of " + size + " bytes does not fit into a spool segment");
+    }
+    CRC32C crc = new CRC32C();
+    crc.update(precision.ordinal());
+    crc.update(bytes);
+
+    synchronized (this) {
+      if (closed) {
+        throw new IOException("Spool is closed");
+      }
+      Segment segment = head;
+      int offset = segment.limit;
+      if (offset + size > segment.buffer.capacity()) {
+        if ((long) (segments.size() + 1) * segmentSize > maxSize) {
+          return false;
+        }
+        segment = roll();
+        offset = 0;
+      }
+      segment.buffer.put(offset + HEADER_BYTES, bytes);
+      segment.buffer.put(offset + PRECISION_OFFSET, (byte) precision.ordinal());
+      segment.buffer.putInt(offset + CHECKSUM_OFFSET, (int) crc.getValue());
+      segment.buffer.putInt(offset, bytes.length);
+      segment.limit = offset + size;
+    }
+    pending.incrementAndGet();
+    return true;
+  }
+
+  private Segment roll() throws IOException {
+    Segment previous = head;
+    previous.buffer.force();
+    Segment next = map(previous.id + 1);
+    segments.put(next.id, next);
+    head = next;
+    previous.sealed = true;
+    return next;
+  }
+
+  /**
+   * Reads up to {@code maxEntries} records starting at the given position. Only the single drain
+   * thread may call this.
+   *
+   * @param from position to read from, usually the last checkpoint or the previous batch end
+   * @param maxEntries maximum number of records to return
+   * @return the records and the position after them
+   */
+  Batch read(Position from, int maxEntries) {
+    List<Entry> entries = new ArrayList<>(Math.min(maxEntries, 1024));
+    long id = from.segment();
+    int offset = from.offset();
+    while (entries.size() < maxEntries) {
+      Segment segment = segments.get(id);
+      if (segment == null) {
+        break;
+      }
+      boolean sealed = segment.sealed;
+      int limit = segment.limit;
+      if (offset >= limit) {
+        Map.Entry<Long, Segment> next = segments.higherEntry(id);
+        if (!sealed || next == null) {
+          break;
+        }
+        id = next.getKey();
+        offset = 0;
+        continue;
+      }
+      int length = segment.buffer.getInt(offset);
+      WritePrecision precision = PRECISIONS[segment.buffer.get(offset + PRECISION_OFFSET)];
+      byte[] bytes = new byte[length];
+      segment.buffer.get(offset + HEADER_BYTES, bytes);
+      entries.add(new Entry(precision, new String(bytes, StandardCharsets.UTF_8)));
+      offset += HEADER_BYTES + length;
+    }
+    return new Batch(entries, new Position(id, offset));
+  }
+
+  /**
+   * Returns the position after the last record written to InfluxDB.
+   *
+   * @return the persisted checkpoint
+   */
+  synchronized Position checkpoint() {
+    return checkpoint;
+  }
+
+  /**
+   * Persists the end of a batch that has been written to InfluxDB and deletes the segments before
+   * it.
+   *
+   * @param batch the written batch
+   * @throws IOException if the checkpoint cannot be stored
+   */
+  void commit(Batch batch) throws IOException {
+    Position position = batch.next();
+    writeCheckpoint(position);
+    synchronized (this) {
+      checkpoint = position;
+    }
+    pending.addAndGet(-batch.size());
+
+    for (Segment segment : List.copyOf(segments.headMap(position.segment(), false).values())) {
+      segments.remove(segment.id);
+      try {
+        Files.deleteIfExists(segment.path);
+      } catch (IOException e) {
+        // Some platforms refuse to delete mapped files; the next start removes them.
+        LOGGER.debug("Could not delete spool segment {}: {}", segment.path, e.getMessage());
+      }
+    }
+  }
+
+  /** Flushes appended records of the current segment to disk. */
+  void sync() {
+    head.buffer.force();
+  }
+
+  long pendingEntries() {
+    return pending.get();
+  }
+
+  long sizeInBytes() {
+    long size = 0;
+    for (Segment segment : segments.values()) {
+      size += segment.buffer.capacity();
+    }
+    return size;
+  }
+
+  @Override
+  public synchronized void close() {
+    if (!closed) {
+      closed = true;
+      head.buffer.force();
+    }
+  }
+
+  /** Checksum over the precision and the line of the record at the given offset. */
+  private static int checksum(ByteBuffer buffer, int offset, int length) {
+    CRC32C crc = new CRC32C();
+    crc.update(buffer.slice(offset + PRECISION_OFFSET, 1 + length));
+    return (int) crc.getValue();
+  }
+
+  /**
+   * Zeroes the segment after its last valid record. Only words that are not zero yet are written,
+   * so the untouched part of a sparse segment file stays unallocated.
+   */
+  private static void clearTail(Segment segment) {
+    MappedByteBuffer buffer = segment.buffer;
+    int offset = segment.limit;
+    boolean cleared = false;
+    while (offset < buffer.capacity()) {
+      if (offset % Long.BYTES == 0 && offset + Long.BYTES <= buffer.capacity()) {
+        if (buffer.getLong(offset) != 0) {
+          buffer.putLong(offset, 0);
+          cleared = true;
+        }
+        offset += Long.BYTES;
+      } else {
+        if (buffer.get(offset) != 0) {
+          buffer.put(offset, (byte) 0);
+          cleared = true;
+        }
+        offset++;
+      }
+    }
+    if (cleared) {
+      buffer.force();
+      LOGGER.warn("Discarded a torn record at the end of spool segment {}", segment.path);
+    }
+  }
+
+  private Segment map(long id) throws IOException {
+    Path path = segmentPath(id);
+    try (FileChannel channel =
+        FileChannel.open(
+            path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+      long size = Math.max(channel.size(), segmentSize);
+      return new Segment(id, path, channel.map(FileChannel.MapMode.READ_WRITE, 0, size));
+    }
+  }
+
+  private Path segmentPath(long id) {
+    return directory.resolve(String.format("%020d%s", id, SEGMENT_SUFFIX));
+  }
+
+  private Position readCheckpoint() throws IOException {
+    Path path = directory.resolve(CHECKPOINT_FILE);
+    if (!Files.exists(path)) {
+      return new Position(0, 0);
+    }
+    ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(path));
+    return new Position(buffer.getLong(), buffer.getInt());
+  }
+
+  private void writeCheckpoint(Position position) throws IOException {
+    ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES + Integer.BYTES);
+    buffer.putLong(position.segment()).putInt(position.offset());
+    Path temporary = directory.resolve(CHECKPOINT_FILE + ".tmp");
+    Files.write(temporary, buffer.array());
+    Files.move(
+        temporary,
+        directory.resolve(CHECKPOINT_FILE),
+        StandardCopyOption.REPLACE_EXISTING,
+        StandardCopyOption.ATOMIC_MOVE);
+  }
+}
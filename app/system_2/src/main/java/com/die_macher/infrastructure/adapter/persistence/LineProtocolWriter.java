@@ -0,0 +1,184 @@
+package com.die_macher.infrastructure.adapter.persistence;
+
+import com.influxdb.client.domain.WritePrecision;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Builds one InfluxDB line-protocol record at a time in a reusable buffer, escaping measurement,
+ * tags and fields as it goes. Encoding straight into the buffer avoids the boxed field values, the
+ * per-point maps and the second serialization pass of {@link com.influxdb.client.write.Point}.
+ *
+ * <p>Start each record with {@link #measurement(String)}, add tags before fields and finish with
+ * an optional timestamp. Like {@code Point}, empty tags and {@code null} or non-finite fields are
+ * skipped. Tags are collected until the first field and then written once per key, sorted by key
+ * as InfluxDB recommends. Instances are not thread-safe.
+ */
+public final class LineProtocolWriter {
+
+  private final StringBuilder line = new StringBuilder(256);
+  private final TreeMap<String, String> pendingTags = new TreeMap<>();
+  private WritePrecision precision = WritePrecision.NS;
+  private boolean hasFields;
+
+  /**
+   * Discards the previous record and starts a new one.
+   *
+   * @param name the measurement name
+   * @return this writer
+   */
+  public LineProtocolWriter measurement(String name) {
+    line.setLength(0);
+    pendingTags.clear();
+    precision = WritePrecision.NS;
+    hasFields = false;
+    for (int i = 0; i < name.length(); i++) {
+      char c = name.charAt(i);
+      if (c == ',' || c == ' ') {
+        line.append('\\');
+      }
+      appendEscapedNewline(c);
+    }
+    return this;
+  }
+
+  /**
+   * Sets a tag, replacing a value the same key got from {@link #tags(Map)}.
+   *
+   * @param key the tag key
+   * @param value the tag value, skipped if empty
+   * @return this writer
+   */
+  public LineProtocolWriter tag(String key, String value) {
+    if (hasFields) {
+      throw new IllegalStateException("Tags must be written before fields");
+    }
+    if (value != null && !value.isEmpty()) {
+      pendingTags.put(key, value);
+    }
+    return this;
+  }
+
+  /**
+   * Adds free-form tags such as entity metadata. Keys already set by {@link #tag(String, String)}
+   * keep their explicit value, so metadata cannot duplicate or override them.
+   *
+   * @param tags the tags to add
+   * @return this writer
+   */
+  public LineProtocolWriter tags(Map<String, String> tags) {
+    if (hasFields) {
+      throw new IllegalStateException("Tags must be written before fields");
+    }
+    tags.forEach(
+        (key, value) -> {
+          if (value != null && !value.isEmpty()) {
+            pendingTags.putIfAbsent(key, value);
+          }
+        });
+    return this;
+  }
+
+  public LineProtocolWriter field(String key, double value) {
+    if (!Double.isFinite(value)) {
+      return this;
+    }
+    startField(key);
+    line.append(value);
+    return this;
+  }
+
+  public LineProtocolWriter field(String key, Double value) {
+    return value == null ? this : field(key, value.doubleValue());
+  }
+
+  public LineProtocolWriter field(String key, String value) {
+    if (value == null) {
+      return this;
+    }
+    startField(key);
+    line.append('"');
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if (c == '"' || c == '\\') {
+        line.append('\\');
+      }
+      line.append(c);
+    }
+    line.append('"');
+    return this;
+  }
+
+  /**
+   * Ends the record with a timestamp. Records without timestamp get the server time.
+   *
+   * @param time the timestamp
+   * @param precision the unit of the timestamp
+   * @return this writer
+   */
+  public LineProtocolWriter timestamp(long time, WritePrecision precision) {
+    appendTags();
+    line.append(' ').append(time);
+    this.precision = precision;
+    return this;
+  }
+
+  /**
+   * Returns whether the current record has at least one field. InfluxDB rejects records without.
+   *
+   * @return {@code true} if a field has been written
+   */
+  public boolean hasFields() {
+    return hasFields;
+  }
+
+  public WritePrecision getPrecision() {
+    return precision;
+  }
+
+  /** Returns the current record in line protocol. */
+  @Override
+  public String toString() {
+    return line.toString();
+  }
+
+  private void startField(String key) {
+    appendTags();
+    line.append(hasFields ? ',' : ' ');
+    hasFields = true;
+    appendKey(key);
+    line.append('=');
+  }
+
+  private void appendTags() {
+    if (pendingTags.isEmpty()) {
+      return;
+    }
+    pendingTags.forEach(
+        (key, value) -> {
+          line.append(',');
+          appendKey(key);
+          line.append('=');
+          appendKey(value);
+        });
+    pendingTags.clear();
+  }
+
+  private void appendKey(String key) {
+    for (int i = 0; i < key.length(); i++) {
+      char c = key.charAt(i);
+      if (c == ',' || c == '=' || c == ' ') {
+        line.append('\\');
+      }
+      appendEscapedNewline(c);
+    }
+  }
+
+  private void appendEscapedNewline(char c) {
+    if (c == '\n') {
+      line.append("\\n");
+    } else {
+      line.append(c);
+    }
+  }
+}
@@ -1,8 +1,8 @@
 package com.die_macher.infrastructure.adapter.persistence.mapper;
 
 import com.die_macher.domain.model.price.PriceData;
+import com.die_macher.infrastructure.adapter.persistence.LineProtocolWriter;
 import com.influxdb.client.domain.WritePrecision;
-import com.influxdb.client.write.Point;
 import com.influxdb.query.FluxRecord;
 import java.time.Instant;
 import java.util.HashMap;
@@ -13,18 +13,14 @@ import org.springframework.stereotype.Component;
 @Component
 public class PriceDataMapper {
 
-  public Point toPoint(PriceData priceData) {
-    Point point =
-        Point.measurement("price_data")
-            .addField("total_cost", priceData.totalCost())
-            .addField("price_per_kwh", priceData.priceInEurPerKwh())
-            .addField("start_time_formatted", priceData.startTimeFormatted())
-            .addField("end_time_formatted", priceData.endTimeFormatted())
-            .time(priceData.startTimestamp().toEpochMilli(), WritePrecision.MS);
-
-    priceData.metadata().forEach(point::addTag);
-
-    return point;
+  public void writeLine(PriceData priceData, LineProtocolWriter line) {
+    line.measurement("price_data")
+        .tags(priceData.metadata())
+        .field("total_cost", priceData.totalCost())
+        .field("price_per_kwh", priceData.priceInEurPerKwh())
+        .field("start_time_formatted", priceData.startTimeFormatted())
+        .field("end_time_formatted", priceData.endTimeFormatted())
+        .timestamp(priceData.startTimestamp().toEpochMilli(), WritePrecision.MS);
   }
 
   public PriceData fromFluxRecord(FluxRecord record) {
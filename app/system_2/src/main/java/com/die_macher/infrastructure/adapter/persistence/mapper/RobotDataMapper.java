@@ -3,8 +3,8 @@ package com.die_macher.infrastructure.adapter.persistence.mapper;
 import com.die_macher.domain.model.robot.RobotData;
 import com.die_macher.domain.model.robot.RobotStatus;
 import com.die_macher.domain.model.robot.RobotTask;
+import com.die_macher.infrastructure.adapter.persistence.LineProtocolWriter;
 import com.influxdb.client.domain.WritePrecision;
-import com.influxdb.client.write.Point;
 import com.influxdb.query.FluxRecord;
 import java.time.Instant;
 import java.util.HashMap;
@@ -15,17 +15,13 @@ import org.springframework.stereotype.Component;
 @Component
 public class RobotDataMapper {
 
-  public Point toPoint(RobotData robotData) {
-    Point point =
-        Point.measurement("robot_data")
-            .addField("robot_status", robotData.robotStatus().name())
-            .addField("robot_task", robotData.robotTask().name())
-            .addField("color", robotData.color())
-            .time(robotData.timestamp().toEpochMilli(), WritePrecision.MS);
-
-    robotData.metadata().forEach(point::addTag);
-
-    return point;
+  public void writeLine(RobotData robotData, LineProtocolWriter line) {
+    line.measurement("robot_data")
+        .tags(robotData.metadata())
+        .field("robot_status", robotData.robotStatus().name())
+        .field("robot_task", robotData.robotTask().name())
+        .field("color", robotData.color())
+        .timestamp(robotData.timestamp().toEpochMilli(), WritePrecision.MS);
   }
 
   public RobotData fromFluxRecord(FluxRecord record) {
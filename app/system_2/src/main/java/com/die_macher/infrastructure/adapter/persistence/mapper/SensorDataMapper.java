@@ -2,8 +2,8 @@ package com.die_macher.infrastructure.adapter.persistence.mapper;
 
 import com.die_macher.domain.model.sensor.SensorData;
 import com.die_macher.domain.model.sensor.SensorType;
+import com.die_macher.infrastructure.adapter.persistence.LineProtocolWriter;
 import com.influxdb.client.domain.WritePrecision;
-import com.influxdb.client.write.Point;
 import com.influxdb.query.FluxRecord;
 import java.time.Instant;
 import java.util.HashMap;
@@ -14,18 +14,14 @@ import org.springframework.stereotype.Component;
 @Component
 public class SensorDataMapper {
 
-  public Point toPoint(SensorData sensorData) {
-    Point point =
-        Point.measurement("sensor_data")
-            .addTag("sensor_id", sensorData.sensorId())
-            .addTag("type", sensorData.type().name())
-            .addField("value", sensorData.value())
-            .addField("unit", sensorData.unit())
-            .time(sensorData.timestamp().toEpochMilli(), WritePrecision.MS);
-
-    sensorData.metadata().forEach(point::addTag);
-
-    return point;
+  public void writeLine(SensorData sensorData, LineProtocolWriter line) {
+    line.measurement("sensor_data")
+        .tag("sensor_id", sensorData.sensorId())
+        .tag("type", sensorData.type().name())
+        .tags(sensorData.metadata())
+        .field("value", sensorData.value())
+        .field("unit", sensorData.unit())
+        .timestamp(sensorData.timestamp().toEpochMilli(), WritePrecision.MS);
   }
 
   public SensorData fromFluxRecord(FluxRecord record) {
@@ -0,0 +1,65 @@
+package com.die_macher.infrastructure.adapter.web.controller;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.util.Iterator;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * Writes a stream of records as newline-delimited JSON while it is being read, so large historical
+ * ranges are neither collected nor serialized as a whole. The first record is flushed right away;
+ * after that the response buffer decides when data reaches the socket.
+ */
+@Component
+public class NdjsonResponseWriter {
+
+  private final ObjectMapper objectMapper;
+  private final ObjectWriter writer;
+
+  public NdjsonResponseWriter(ObjectMapper objectMapper) {
+    this.objectMapper = objectMapper;
+    // Flushing every record would send one chunk per line.
+    this.writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+  }
+
+  /**
+   * Creates a response that opens the stream once the body is written, maps and writes each record
+   * and closes the stream afterwards. Nothing is opened for a response that is never written, for
+   * example after an async timeout. Errors while opening, such as an invalid range, still reach
+   * the exception handlers because no data has been sent at that point.
+   *
+   * @param records opens the records to write
+   * @param toResponse maps a record to its response DTO
+   * @return a streaming NDJSON response
+   */
+  public <T, R> ResponseEntity<StreamingResponseBody> write(
+      Supplier<Stream<T>> records, Function<T, R> toResponse) {
+    StreamingResponseBody body =
+        out -> {
+          try (Stream<T> stream = records.get();
+              JsonGenerator generator = objectMapper.createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            Iterator<T> iterator = stream.iterator();
+            boolean first = true;
+            while (iterator.hasNext()) {
+              writer.writeValue(generator, toResponse.apply(iterator.next()));
+              generator.writeRaw('\n');
+              if (first) {
+                generator.flush();
+                first = false;
+              }
+            }
+          }
+        };
+    return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+  }
+}
@@ -6,9 +6,11 @@ import java.time.Instant;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @CrossOrigin(origins = "http://localhost:3000")
@@ -17,9 +19,13 @@ import org.springframework.web.bind.annotation.*;
 public class PriceDataController {
 
   private final HistoricalPriceDataProvider historicalPriceDataProvider;
+  private final NdjsonResponseWriter ndjsonResponseWriter;
 
-  public PriceDataController(HistoricalPriceDataProvider historicalPriceDataProvider) {
+  public PriceDataController(
+      HistoricalPriceDataProvider historicalPriceDataProvider,
+      NdjsonResponseWriter ndjsonResponseWriter) {
     this.historicalPriceDataProvider = historicalPriceDataProvider;
+    this.ndjsonResponseWriter = ndjsonResponseWriter;
   }
 
   @GetMapping
@@ -32,6 +38,16 @@ public class PriceDataController {
         .thenApply(data -> ResponseEntity.ok(data.stream().map(PriceDataResponse::from).toList()));
   }
 
+  @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+  public ResponseEntity<StreamingResponseBody> streamHistoricalPriceData(
+      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant start,
+      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant end) {
+
+    return ndjsonResponseWriter.write(
+        () -> historicalPriceDataProvider.streamHistoricalData(start, end),
+        PriceDataResponse::from);
+  }
+
   @GetMapping("/aggregated")
   public CompletableFuture<ResponseEntity<PriceDataResponse>> getAggregatedPriceData(
       @RequestParam String field,
@@ -11,9 +11,11 @@ import java.time.Instant;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @CrossOrigin(origins = "http://localhost:3000")
@@ -23,12 +25,15 @@ public class RobotDataController {
 
   private final HistoricalRobotDataProvider historicalRobotDataProvider;
   private final TcpMonitoringClientProvider tcpMonitoringClientProvider;
+  private final NdjsonResponseWriter ndjsonResponseWriter;
 
   public RobotDataController(
       HistoricalRobotDataProvider historicalRobotDataProvider,
-      TcpMonitoringClientProvider tcpMonitoringClientProvider) {
+      TcpMonitoringClientProvider tcpMonitoringClientProvider,
+      NdjsonResponseWriter ndjsonResponseWriter) {
     this.historicalRobotDataProvider = historicalRobotDataProvider;
     this.tcpMonitoringClientProvider = tcpMonitoringClientProvider;
+    this.ndjsonResponseWriter = ndjsonResponseWriter;
   }
 
   @GetMapping
@@ -41,6 +46,16 @@ public class RobotDataController {
         .thenApply(data -> ResponseEntity.ok(data.stream().map(RobotDataResponse::from).toList()));
   }
 
+  @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+  public ResponseEntity<StreamingResponseBody> streamHistoricalRobotData(
+      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant start,
+      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant end) {
+
+    return ndjsonResponseWriter.write(
+        () -> historicalRobotDataProvider.streamHistoricalData(start, end),
+        RobotDataResponse::from);
+  }
+
   @PostMapping("/cube")
   public CompletableFuture<ResponseEntity<Void>> postHistoricalRobotData(
       @RequestParam @Min(1) @Max(5) int cubeCount) {
@@ -7,9 +7,11 @@ import java.time.Instant;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @CrossOrigin(origins = "http://localhost:3000")
@@ -18,9 +20,13 @@ import org.springframework.web.bind.annotation.*;
 public class SensorDataController {
 
   private final HistoricalSensorDataProvider historicalSensorDataProvider;
+  private final NdjsonResponseWriter ndjsonResponseWriter;
 
-  public SensorDataController(HistoricalSensorDataProvider historicalSensorDataProvider) {
+  public SensorDataController(
+      HistoricalSensorDataProvider historicalSensorDataProvider,
+      NdjsonResponseWriter ndjsonResponseWriter) {
     this.historicalSensorDataProvider = historicalSensorDataProvider;
+    this.ndjsonResponseWriter = ndjsonResponseWriter;
   }
 
   @GetMapping
@@ -33,6 +39,16 @@ public class SensorDataController {
         .thenApply(data -> ResponseEntity.ok(data.stream().map(SensorDataResponse::from).toList()));
   }
 
+  @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+  public ResponseEntity<StreamingResponseBody> streamHistoricalData(
+      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant start,
+      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant end) {
+
+    return ndjsonResponseWriter.write(
+        () -> historicalSensorDataProvider.streamHistoricalData(null, start, end),
+        SensorDataResponse::from);
+  }
+
   @GetMapping("/{sensorId}")
   public CompletableFuture<ResponseEntity<List<SensorDataResponse>>> getSensorData(
       @PathVariable String sensorId,
@@ -44,6 +60,17 @@ public class SensorDataController {
         .thenApply(data -> ResponseEntity.ok(data.stream().map(SensorDataResponse::from).toList()));
   }
 
+  @GetMapping(value = "/{sensorId}", produces = MediaType.APPLICATION_NDJSON_VALUE)
+  public ResponseEntity<StreamingResponseBody> streamSensorData(
+      @PathVariable String sensorId,
+      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant start,
+      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant end) {
+
+    return ndjsonResponseWriter.write(
+        () -> historicalSensorDataProvider.streamHistoricalData(sensorId, start, end),
+        SensorDataResponse::from);
+  }
+
   @GetMapping("/aggregated")
   public CompletableFuture<ResponseEntity<SensorDataResponse>> getAggregatedData(
       @RequestParam String sensorId,
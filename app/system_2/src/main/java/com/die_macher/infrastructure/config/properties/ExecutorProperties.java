@@ -0,0 +1,45 @@
+package com.die_macher.infrastructure.config.properties;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import java.time.Duration;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.NestedConfigurationProperty;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "executors")
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class ExecutorProperties {
+
+  /** Executor for InfluxDB queries. */
+  @Valid @NestedConfigurationProperty private Pool persistence = new Pool();
+
+  /** Executor for MQTT publishing. */
+  @Valid @NestedConfigurationProperty private Pool messaging = new Pool();
+
+  /**
+   * Settings for one bounded executor. With virtual threads, {@code maxSize} limits how many tasks
+   * run at once and {@code coreSize} is ignored.
+   */
+  @Data
+  public static class Pool {
+    private boolean virtualThreads = false;
+
+    @Min(1)
+    private int coreSize = 4;
+
+    @Min(1)
+    private int maxSize = 16;
+
+    @Min(1)
+    private int queueCapacity = 1000;
+
+    private Duration keepAlive = Duration.ofSeconds(60);
+  }
+}
@@ -7,6 +7,7 @@ import lombok.NoArgsConstructor;
 import org.jetbrains.annotations.NotNull;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
 
 @Configuration
 @ConfigurationProperties(prefix = "influxdb")
@@ -25,4 +26,36 @@ public class InfluxDbProperties {
 
   private Duration connectionTimeout = Duration.ofSeconds(10);
   private Duration readTimeout = Duration.ofSeconds(30);
+
+  private Write write = new Write();
+  private Query query = new Query();
+
+  /** Settings for the batching write pipeline. */
+  @Data
+  public static class Write {
+    private int batchSize = 5000;
+    private Duration flushInterval = Duration.ofSeconds(1);
+    private Duration retryBackoff = Duration.ofMillis(200);
+    private Duration maxRetryBackoff = Duration.ofSeconds(10);
+    private Spool spool = new Spool();
+  }
+
+  /** Settings for read queries. */
+  @Data
+  public static class Query {
+    /**
+     * Sends query values as InfluxDB query parameters instead of inlining them as literals. Only
+     * InfluxDB Cloud supports parameters; keep the default for InfluxDB OSS, which rejects such
+     * queries and gets the values as escaped literals instead.
+     */
+    private boolean parameterized = false;
+  }
+
+  /** Settings for the local spool that buffers writes while InfluxDB is unreachable. */
+  @Data
+  public static class Spool {
+    private String directory = "spool/influxdb";
+    private DataSize segmentSize = DataSize.ofMegabytes(64);
+    private DataSize maxSize = DataSize.ofGigabytes(2);
+  }
 }
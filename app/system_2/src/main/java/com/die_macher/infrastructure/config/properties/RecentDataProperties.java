@@ -0,0 +1,24 @@
+package com.die_macher.infrastructure.config.properties;
+
+import jakarta.validation.constraints.Min;
+import java.time.Duration;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "caches.recent")
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class RecentDataProperties {
+
+  /** How far back ingested records are kept in memory. */
+  private Duration retention = Duration.ofMinutes(15);
+
+  /** Maximum number of records kept per series. */
+  @Min(1)
+  private int maxRecordsPerSeries = 20_000;
+}
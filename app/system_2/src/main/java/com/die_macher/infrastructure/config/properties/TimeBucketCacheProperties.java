@@ -0,0 +1,29 @@
+package com.die_macher.infrastructure.config.properties;
+
+import jakarta.validation.constraints.Min;
+import java.time.Duration;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "caches.time-buckets")
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class TimeBucketCacheProperties {
+
+  /** Width of one cached bucket. */
+  private Duration bucketSize = Duration.ofMinutes(5);
+
+  /** Buckets ending less than this before now may still receive data and are not cached. */
+  private Duration settleTime = Duration.ofMinutes(1);
+
+  @Min(1)
+  private long maxBuckets = 10_000;
+
+  /** Cached buckets are reloaded this long after they were loaded, bounding how stale they get. */
+  private Duration expireAfterWrite = Duration.ofMinutes(10);
+}
@@ -0,0 +1,141 @@
+package com.die_macher.application.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.die_macher.infrastructure.config.properties.RecentDataProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class RecentDataStoreTest {
+  private static final String SERIES = "sensor_data/1";
+  private static final Instant STARTUP = Instant.parse("2024-01-01T12:00:00Z");
+  private static final int CAPACITY = 3;
+
+  private record Point(Instant time) {}
+
+  private MutableClock clock;
+  private SimpleMeterRegistry meterRegistry;
+  private RecentDataStore<Point> store;
+
+  @BeforeEach
+  void setUp() {
+    RecentDataProperties properties = new RecentDataProperties();
+    properties.setRetention(Duration.ofMinutes(15));
+    properties.setMaxRecordsPerSeries(CAPACITY);
+    clock = new MutableClock(STARTUP);
+    meterRegistry = new SimpleMeterRegistry();
+    store = new RecentDataStore<>("test", properties, meterRegistry, Point::time, clock);
+    clock.advance(Duration.ofMinutes(10));
+  }
+
+  private static Point at(long seconds) {
+    return new Point(STARTUP.plusSeconds(seconds));
+  }
+
+  private Optional<List<Point>> find(long startSeconds, long endSeconds) {
+    return store.find(SERIES, STARTUP.plusSeconds(startSeconds), STARTUP.plusSeconds(endSeconds));
+  }
+
+  private double queries(String result) {
+    return meterRegistry.get("recent.data.queries").tag("result", result).counter().count();
+  }
+
+  @Test
+  @DisplayName("Records appended in order are returned for the requested range")
+  void find_ReturnsRecordsAppendedInOrder() {
+    store.record(at(10), SERIES);
+    store.record(at(20), SERIES);
+    store.record(at(30), SERIES);
+
+    assertEquals(Optional.of(List.of(at(10), at(20), at(30))), find(0, 60));
+    assertEquals(Optional.of(List.of(at(20))), find(11, 30));
+    assertEquals(2.0, queries("hit"));
+  }
+
+  @Test
+  @DisplayName("Late records are moved into timestamp order")
+  void find_SortsRecordsAppendedOutOfOrder() {
+    store.record(at(30), SERIES);
+    store.record(at(10), SERIES);
+    store.record(at(20), SERIES);
+
+    assertEquals(Optional.of(List.of(at(10), at(20), at(30))), find(0, 60));
+  }
+
+  @Test
+  @DisplayName("Records evicted for capacity make ranges reaching back to them miss")
+  void find_MissesRangeBeforeEvictedRecord() {
+    store.record(at(10), SERIES);
+    store.record(at(20), SERIES);
+    store.record(at(30), SERIES);
+    store.record(at(40), SERIES);
+
+    assertEquals(Optional.empty(), find(0, 60));
+    assertEquals(Optional.empty(), find(10, 60));
+    assertEquals(Optional.of(List.of(at(20), at(30), at(40))), find(11, 60));
+    assertEquals(1.0, queries("hit"));
+    assertEquals(2.0, queries("miss"));
+  }
+
+  @Test
+  @DisplayName("A range starting before the store was created misses")
+  void find_MissesRangeBeforeCreation() {
+    store.record(at(10), SERIES);
+
+    assertEquals(Optional.empty(), find(-1, 60));
+    assertEquals(Optional.of(List.of(at(10))), find(0, 60));
+  }
+
+  @Test
+  @DisplayName("A series without records since startup is known to be empty")
+  void find_ReturnsEmptySeriesAfterStartup() {
+    assertEquals(Optional.of(List.of()), find(0, 60));
+    assertEquals(Optional.empty(), find(-60, 60));
+  }
+
+  @Test
+  @DisplayName("A range starting before the retention window misses")
+  void find_MissesRangeBeforeRetention() {
+    store.record(at(10), SERIES);
+    clock.advance(Duration.ofMinutes(10));
+
+    assertEquals(Optional.empty(), find(0, 60));
+    assertEquals(Optional.of(List.of()), find(300, 360));
+  }
+
+  private static final class MutableClock extends Clock {
+    private Instant instant;
+
+    MutableClock(Instant instant) {
+      this.instant = instant;
+    }
+
+    void advance(Duration duration) {
+      instant = instant.plus(duration);
+    }
+
+    @Override
+    public ZoneId getZone() {
+      return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+      return this;
+    }
+
+    @Override
+    public Instant instant() {
+      return instant;
+    }
+  }
+}
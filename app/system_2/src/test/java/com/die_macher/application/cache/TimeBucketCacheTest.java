@@ -0,0 +1,201 @@
+package com.die_macher.application.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.die_macher.infrastructure.config.properties.TimeBucketCacheProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class TimeBucketCacheTest {
+  private static final String SERIES = "sensor_data/1";
+  private static final Instant NOW = Instant.parse("2024-01-01T12:00:00Z");
+
+  private record Point(Instant time) {}
+
+  private record Load(Instant start, Instant end) {}
+
+  private final List<Load> loads = new ArrayList<>();
+
+  private MutableClock clock;
+  private TimeBucketCache<Point> cache;
+
+  @BeforeEach
+  void setUp() {
+    TimeBucketCacheProperties properties = new TimeBucketCacheProperties();
+    properties.setBucketSize(Duration.ofMinutes(10));
+    properties.setSettleTime(Duration.ofMinutes(1));
+    properties.setExpireAfterWrite(Duration.ofMinutes(10));
+    clock = new MutableClock(NOW);
+    cache =
+        new TimeBucketCache<>("test", properties, new SimpleMeterRegistry(), Point::time, clock);
+  }
+
+  private static Instant minutes(long offset) {
+    return NOW.plus(Duration.ofMinutes(offset));
+  }
+
+  /** Returns one point per minute of the range, like a sensor reporting every minute. */
+  private CompletableFuture<List<Point>> load(Instant start, Instant end) {
+    loads.add(new Load(start, end));
+    return CompletableFuture.completedFuture(
+        Stream.iterate(start, time -> time.isBefore(end), time -> time.plusSeconds(60))
+            .map(Point::new)
+            .toList());
+  }
+
+  private List<Point> get(long startOffset, long endOffset) {
+    return cache.get(SERIES, minutes(startOffset), minutes(endOffset), this::load).join();
+  }
+
+  @Test
+  @DisplayName("Whole aligned buckets are loaded and the result is trimmed to the range")
+  void get_LoadsAlignedBucketsAndTrimsEdges() {
+    List<Point> points = get(-53, -21);
+
+    assertEquals(List.of(new Load(minutes(-60), minutes(-20))), loads);
+    assertEquals(32, points.size());
+    assertEquals(minutes(-53), points.getFirst().time());
+    assertEquals(minutes(-22), points.getLast().time());
+  }
+
+  @Test
+  @DisplayName("Cached buckets are reused and each run of missing buckets is loaded once")
+  void get_LoadsOnlyMissingRuns() {
+    get(-50, -40);
+    loads.clear();
+
+    List<Point> points = get(-70, -30);
+
+    assertEquals(
+        List.of(new Load(minutes(-70), minutes(-50)), new Load(minutes(-40), minutes(-30))),
+        loads);
+    assertEquals(40, points.size());
+    assertEquals(minutes(-70), points.getFirst().time());
+    assertEquals(minutes(-31), points.getLast().time());
+
+    loads.clear();
+    assertEquals(points, get(-70, -30));
+    assertTrue(loads.isEmpty());
+  }
+
+  @Test
+  @DisplayName("A bucket is cached once it ended at least the settle time ago")
+  void get_CachesBucketOnlyAfterSettleTime() {
+    get(-11, 0);
+    get(-11, 0);
+
+    assertEquals(
+        List.of(
+            new Load(minutes(-20), minutes(-10)),
+            new Load(minutes(-10), minutes(0)),
+            new Load(minutes(-10), minutes(0))),
+        loads);
+
+    clock.advance(Duration.ofMinutes(1));
+    loads.clear();
+    get(-11, 0);
+    List<Point> points = get(-11, 0);
+
+    assertEquals(List.of(new Load(minutes(-10), minutes(0))), loads);
+    assertEquals(11, points.size());
+  }
+
+  @Test
+  @DisplayName("A bucket that changed after it was cached is reloaded once it expires")
+  void get_ReloadsChangedBucketAfterExpiry() {
+    List<Point> stored = new ArrayList<>(List.of(new Point(minutes(-45))));
+    TimeBucketCache.RangeLoader<Point> loader =
+        (start, end) ->
+            CompletableFuture.completedFuture(
+                stored.stream()
+                    .filter(point -> !point.time().isBefore(start) && point.time().isBefore(end))
+                    .toList());
+    cache.get(SERIES, minutes(-50), minutes(-40), loader).join();
+
+    // Written late into the settled bucket, then polled before and at expiry
+    stored.add(new Point(minutes(-44)));
+    clock.advance(Duration.ofMinutes(5));
+    assertEquals(1, cache.get(SERIES, minutes(-50), minutes(-40), loader).join().size());
+    clock.advance(Duration.ofMinutes(5));
+
+    assertEquals(stored, cache.get(SERIES, minutes(-50), minutes(-40), loader).join());
+  }
+
+  @Test
+  @DisplayName("A failed load is not cached and the next request loads again")
+  void get_RemovesFailedLoad() {
+    CompletableFuture<List<Point>> failed =
+        cache.get(
+            SERIES,
+            minutes(-30),
+            minutes(-20),
+            (start, end) -> CompletableFuture.failedFuture(new IllegalStateException("down")));
+
+    assertThrows(CompletionException.class, failed::join);
+    assertEquals(10, get(-30, -20).size());
+    assertEquals(1, loads.size());
+  }
+
+  @Test
+  @DisplayName("Concurrent requests for the same buckets share one load")
+  void get_SharesLoadInFlight() {
+    CompletableFuture<List<Point>> pending = new CompletableFuture<>();
+    CompletableFuture<List<Point>> first =
+        cache.get(
+            SERIES,
+            minutes(-30),
+            minutes(-20),
+            (start, end) -> {
+              loads.add(new Load(start, end));
+              return pending;
+            });
+    CompletableFuture<List<Point>> second =
+        cache.get(SERIES, minutes(-30), minutes(-20), this::load);
+
+    assertFalse(second.isDone());
+    pending.complete(List.of(new Point(minutes(-25))));
+
+    assertEquals(List.of(new Load(minutes(-30), minutes(-20))), loads);
+    assertEquals(List.of(new Point(minutes(-25))), first.join());
+    assertEquals(first.join(), second.join());
+  }
+
+  private static final class MutableClock extends Clock {
+    private Instant instant;
+
+    MutableClock(Instant instant) {
+      this.instant = instant;
+    }
+
+    void advance(Duration duration) {
+      instant = instant.plus(duration);
+    }
+
+    @Override
+    public ZoneId getZone() {
+      return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+      return this;
+    }
+
+    @Override
+    public Instant instant() {
+      return instant;
+    }
+  }
+}
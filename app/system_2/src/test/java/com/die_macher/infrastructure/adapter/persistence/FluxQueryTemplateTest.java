@@ -0,0 +1,130 @@
+package com.die_macher.infrastructure.adapter.persistence;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.die_macher.infrastructure.adapter.persistence.FluxQueryTemplate.FluxQuery;
+import java.time.Instant;
+import java.util.Map;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class FluxQueryTemplateTest {
+
+  private static final String FLUX =
+      """
+      from(bucket: params.bucket)
+        |> range(start: time(v: params.start))
+        |> filter(fn: (r) => r["sensor_id"] == params.sensorId or r["host"] == params.sensorId)
+        |> aggregateWindow(every: duration(v: params.every), fn: mean)
+      """;
+
+  private static final FluxQueryTemplate TEMPLATE = FluxQueryTemplate.compile(FLUX);
+
+  private static final String HOSTILE = "x\") |> drop(columns: [\"_value\"]) // \\ ${token}\n";
+
+  private static FluxQuery bind(String sensorId) {
+    return TEMPLATE
+        .bind()
+        .string("bucket", "data")
+        .time("start", Instant.parse("2025-06-01T00:00:00Z"))
+        .string("sensorId", sensorId)
+        .duration("every", "1h30m")
+        .build();
+  }
+
+  @Test
+  @DisplayName("Parameterized queries keep the template text and pass values unchanged")
+  void flux_KeepsTextAndPassesRawValues() {
+    FluxQuery query = bind(HOSTILE);
+
+    assertEquals(FLUX, query.flux());
+    assertEquals(
+        Map.of(
+            "bucket", "data",
+            "start", "2025-06-01T00:00:00Z",
+            "sensorId", HOSTILE,
+            "every", "1h30m"),
+        query.parameters());
+  }
+
+  @Test
+  @DisplayName("Inlined string values are escaped so they cannot leave their literal")
+  void inline_EscapesHostileString() {
+    String inline = bind(HOSTILE).inline();
+
+    String literal = "\"x\\\") |> drop(columns: [\\\"_value\\\"]) // \\\\ \\${token}\n\"";
+    assertEquals(
+        """
+        from(bucket: "data")
+          |> range(start: time(v: "2025-06-01T00:00:00Z"))
+          |> filter(fn: (r) => r["sensor_id"] == %1$s or r["host"] == %1$s)
+          |> aggregateWindow(every: duration(v: "1h30m"), fn: mean)
+        """
+            .formatted(literal),
+        inline);
+  }
+
+  @Test
+  @DisplayName("A dollar sign is only escaped where it would start an interpolation")
+  void inline_EscapesOnlyInterpolation() {
+    String inline = bind("cost in $ and ${x} and $").inline();
+
+    assertTrue(inline.contains("\"cost in $ and \\${x} and $\""));
+  }
+
+  @Test
+  @DisplayName("Instants are bound as RFC 3339 timestamps")
+  void time_BindsRfc3339() {
+    FluxQuery query =
+        FluxQueryTemplate.compile("range(start: time(v: params.start))")
+            .bind()
+            .time("start", Instant.ofEpochMilli(1_700_000_000_123L))
+            .build();
+
+    assertEquals("2023-11-14T22:13:20.123Z", query.parameters().get("start"));
+    assertEquals("range(start: time(v: \"2023-11-14T22:13:20.123Z\"))", query.inline());
+  }
+
+  @Test
+  @DisplayName("Durations are checked against the Flux duration syntax")
+  void duration_RejectsAnythingButDurations() {
+    FluxQueryTemplate template = FluxQueryTemplate.compile("duration(v: params.every)");
+
+    assertEquals(
+        "duration(v: \"1d12h30m15s500ms10us5\u00b5s1ns\")",
+        template.bind().duration("every", "1d12h30m15s500ms10us5\u00b5s1ns").build().inline());
+    assertEquals(
+        "duration(v: \"2mo1w\")", template.bind().duration("every", "2mo1w").build().inline());
+    for (String value : new String[] {"", "5", "m", "-5m", "5m)", "5m\n", "1h \") |> drop()"}) {
+      assertThrows(
+          IllegalArgumentException.class,
+          () -> template.bind().duration("every", value),
+          "Accepted " + value);
+    }
+    assertThrows(IllegalArgumentException.class, () -> template.bind().duration("every", null));
+  }
+
+  @Test
+  @DisplayName("Unknown, missing and null parameters are rejected")
+  void bind_RejectsIncompleteBindings() {
+    assertThrows(IllegalStateException.class, () -> TEMPLATE.bind().string("other", "x"));
+    assertThrows(NullPointerException.class, () -> TEMPLATE.bind().string("bucket", null));
+    assertThrows(NullPointerException.class, () -> TEMPLATE.bind().time("start", null));
+
+    IllegalStateException missing =
+        assertThrows(
+            IllegalStateException.class, () -> TEMPLATE.bind().string("bucket", "data").build());
+    assertTrue(missing.getMessage().contains("start"));
+    assertTrue(missing.getMessage().contains("sensorId"));
+  }
+
+  @Test
+  @DisplayName("A template without parameters is returned as is")
+  void compile_WithoutParameters() {
+    FluxQuery query = FluxQueryTemplate.compile("buckets()").bind().build();
+
+    assertEquals("buckets()", query.flux());
+    assertEquals("buckets()", query.inline());
+    assertTrue(query.parameters().isEmpty());
+  }
+}
@@ -0,0 +1,124 @@
+package com.die_macher.infrastructure.adapter.persistence;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import com.die_macher.domain.exception.DataQueryException;
+import com.influxdb.Cancellable;
+import com.influxdb.query.FluxRecord;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class FluxRecordStreamTest {
+  private static final long TIMEOUT_SECONDS = 5;
+
+  private Cancellable cancellable;
+
+  @BeforeEach
+  void setUp() {
+    cancellable = mock(Cancellable.class);
+  }
+
+  private static FluxRecord record(int table) {
+    return new FluxRecord(table);
+  }
+
+  private static Thread produce(FluxRecordStream records, int count, CountDownLatch done) {
+    return Thread.ofPlatform()
+        .start(
+            () -> {
+              for (int i = 0; i < count; i++) {
+                records.onNext(mock(Cancellable.class), record(i));
+              }
+              records.onComplete();
+              done.countDown();
+            });
+  }
+
+  @Test
+  @DisplayName("Records produced on another thread arrive in order through a small buffer")
+  void stream_HandsOverRecordsInOrder() throws InterruptedException {
+    FluxRecordStream records = new FluxRecordStream(2);
+    CountDownLatch done = new CountDownLatch(1);
+    produce(records, 100, done);
+
+    try (Stream<FluxRecord> stream = records.stream()) {
+      List<Integer> tables = stream.map(FluxRecord::getTable).toList();
+
+      assertEquals(100, tables.size());
+      assertEquals(0, tables.getFirst());
+      assertEquals(99, tables.getLast());
+    }
+    assertTrue(done.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+  }
+
+  @Test
+  @DisplayName("The producer waits while the buffer is full")
+  void onNext_BlocksWhileBufferIsFull() throws InterruptedException {
+    FluxRecordStream records = new FluxRecordStream(1);
+    CountDownLatch done = new CountDownLatch(1);
+    produce(records, 3, done);
+
+    assertFalse(done.await(200, TimeUnit.MILLISECONDS));
+    try (Stream<FluxRecord> stream = records.stream()) {
+      assertEquals(3, stream.count());
+    }
+    assertTrue(done.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+  }
+
+  @Test
+  @DisplayName("Closing the stream cancels the query and releases a waiting producer")
+  void close_CancelsQuery() throws InterruptedException {
+    FluxRecordStream records = new FluxRecordStream(1);
+    CountDownLatch done = new CountDownLatch(1);
+    records.onNext(cancellable, record(0));
+    Thread producer =
+        Thread.ofPlatform()
+            .start(
+                () -> {
+                  records.onNext(cancellable, record(1));
+                  records.onNext(cancellable, record(2));
+                  done.countDown();
+                });
+
+    try (Stream<FluxRecord> stream = records.stream()) {
+      assertEquals(0, stream.findFirst().orElseThrow().getTable());
+    }
+
+    assertTrue(done.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+    producer.join();
+    verify(cancellable, atLeastOnce()).cancel();
+  }
+
+  @Test
+  @DisplayName("A query error is rethrown to the consumer after the records before it")
+  void stream_RethrowsQueryError() {
+    FluxRecordStream records = new FluxRecordStream(4);
+    records.onNext(cancellable, record(0));
+    records.onError(new IllegalStateException("connection reset"));
+
+    try (Stream<FluxRecord> stream = records.stream()) {
+      var iterator = stream.iterator();
+      assertEquals(0, iterator.next().getTable());
+      assertThrows(IllegalStateException.class, iterator::hasNext);
+      assertFalse(iterator.hasNext());
+    }
+  }
+
+  @Test
+  @DisplayName("Checked query errors are wrapped")
+  void stream_WrapsCheckedError() {
+    FluxRecordStream records = new FluxRecordStream(4);
+    records.onError(new IOException("timeout"));
+
+    try (Stream<FluxRecord> stream = records.stream()) {
+      assertThrows(DataQueryException.class, stream::count);
+    }
+  }
+}
@@ -0,0 +1,224 @@
+package com.die_macher.infrastructure.adapter.persistence;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import com.die_macher.infrastructure.config.properties.InfluxDbProperties;
+import com.influxdb.client.InfluxDBClient;
+import com.influxdb.client.WriteApiBlocking;
+import com.influxdb.client.domain.WritePrecision;
+import com.influxdb.exceptions.InfluxException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+class InfluxDbBatchWriterTest {
+  private static final String BUCKET = "bucket";
+  private static final String ORGANIZATION = "organization";
+  private static final String FIRST = "cpu,host=a value=1 1700000000";
+  private static final String SECOND = "cpu,host=b value=2 1700000001";
+  private static final long TIMEOUT_MILLIS = 5_000;
+
+  @TempDir Path tempDir;
+
+  private WriteApiBlocking writeApi;
+  private InfluxDBClient client;
+  private InfluxDbProperties properties;
+  private SimpleMeterRegistry meterRegistry;
+  private InfluxDbBatchWriter writer;
+
+  @BeforeEach
+  void setUp() {
+    writeApi = mock(WriteApiBlocking.class);
+    client = mock(InfluxDBClient.class);
+    when(client.getWriteApiBlocking()).thenReturn(writeApi);
+
+    properties = new InfluxDbProperties();
+    properties.setBucket(BUCKET);
+    properties.setOrganization(ORGANIZATION);
+    InfluxDbProperties.Write write = properties.getWrite();
+    write.setFlushInterval(Duration.ofMillis(10));
+    write.setRetryBackoff(Duration.ofMillis(1));
+    write.setMaxRetryBackoff(Duration.ofMillis(5));
+    write.getSpool().setDirectory(tempDir.toString());
+    write.getSpool().setSegmentSize(DataSize.ofKilobytes(64));
+    write.getSpool().setMaxSize(DataSize.ofKilobytes(256));
+
+    startWriter();
+  }
+
+  private void startWriter() {
+    meterRegistry = new SimpleMeterRegistry();
+    writer = new InfluxDbBatchWriter(client, properties, meterRegistry);
+    writer.start();
+  }
+
+  @AfterEach
+  void tearDown() {
+    writer.stop();
+  }
+
+  private static InfluxException influxError(int status) {
+    return new InfluxException("HTTP " + status) {
+      @Override
+      public int status() {
+        return status;
+      }
+    };
+  }
+
+  private void verifyWritten(String line, int times) {
+    verify(writeApi, timeout(TIMEOUT_MILLIS).times(times))
+        .writeRecords(eq(BUCKET), eq(ORGANIZATION), eq(WritePrecision.S), eq(List.of(line)));
+  }
+
+  private long pendingAfterStop() throws IOException {
+    writer.stop();
+    try (InfluxDbWriteSpool spool =
+        new InfluxDbWriteSpool(
+            tempDir,
+            DataSize.ofKilobytes(64).toBytes(),
+            DataSize.ofKilobytes(256).toBytes())) {
+      return spool.pendingEntries();
+    }
+  }
+
+  private double points(String result) {
+    return meterRegistry.get("influxdb.write.points").tag("result", result).counter().count();
+  }
+
+  @Test
+  @DisplayName("A batch failing with a server error is retried until it is written")
+  void write_RetriesServerErrorUntilWritten() throws IOException {
+    doThrow(influxError(503))
+        .doThrow(influxError(429))
+        .doNothing()
+        .when(writeApi)
+        .writeRecords(anyString(), anyString(), any(), anyList());
+
+    assertTrue(writer.write(WritePrecision.S, FIRST).isDone());
+
+    verifyWritten(FIRST, 3);
+    assertEquals(0, pendingAfterStop());
+    assertEquals(1.0, points("written"));
+    assertEquals(2.0, meterRegistry.get("influxdb.write.retries").counter().count());
+  }
+
+  @Test
+  @DisplayName("A batch failing with a network error is retried until it is written")
+  void write_RetriesNetworkErrorUntilWritten() throws IOException {
+    doThrow(new UncheckedIOException(new IOException("Connection reset")))
+        .doNothing()
+        .when(writeApi)
+        .writeRecords(anyString(), anyString(), any(), anyList());
+
+    writer.write(WritePrecision.S, FIRST);
+
+    verifyWritten(FIRST, 2);
+    assertEquals(0, pendingAfterStop());
+    assertEquals(0.0, points("failed"));
+  }
+
+  @Test
+  @DisplayName("A batch rejected with a client error is dropped and later points are written")
+  void write_DropsBatchRejectedByInfluxDb() throws IOException {
+    doThrow(influxError(400))
+        .doNothing()
+        .when(writeApi)
+        .writeRecords(anyString(), anyString(), any(), anyList());
+
+    writer.write(WritePrecision.S, FIRST);
+    verifyWritten(FIRST, 1);
+    writer.write(WritePrecision.S, SECOND);
+    verifyWritten(SECOND, 1);
+
+    verifyWritten(FIRST, 1);
+    assertEquals(0, pendingAfterStop());
+    assertEquals(1.0, points("failed"));
+    assertEquals(1.0, points("written"));
+  }
+
+  @Test
+  @DisplayName("A batch failing inside the client is dropped instead of retried forever")
+  void write_DropsBatchFailingInClient() throws IOException {
+    doThrow(new IllegalArgumentException("Unexpected record"))
+        .doNothing()
+        .when(writeApi)
+        .writeRecords(anyString(), anyString(), any(), anyList());
+
+    writer.write(WritePrecision.S, FIRST);
+    verifyWritten(FIRST, 1);
+    writer.write(WritePrecision.S, SECOND);
+    verifyWritten(SECOND, 1);
+
+    verifyWritten(FIRST, 1);
+    assertEquals(0, pendingAfterStop());
+    assertEquals(1.0, points("failed"));
+    assertEquals(0.0, meterRegistry.get("influxdb.write.retries").counter().count());
+  }
+
+  @Test
+  @DisplayName("Points still failing when the writer stops stay spooled for the next start")
+  void stop_KeepsUnwrittenPointsSpooled() throws IOException {
+    doThrow(influxError(503))
+        .when(writeApi)
+        .writeRecords(anyString(), anyString(), any(), anyList());
+
+    writer.write(WritePrecision.S, FIRST);
+    verify(writeApi, timeout(TIMEOUT_MILLIS).atLeast(2))
+        .writeRecords(anyString(), anyString(), any(), anyList());
+
+    assertEquals(1, pendingAfterStop());
+  }
+
+  @Test
+  @DisplayName("A full batch is written without waiting for the flush interval")
+  void write_FlushesFullBatchBeforeInterval() {
+    writer.stop();
+    properties.getWrite().setFlushInterval(Duration.ofMinutes(1));
+    properties.getWrite().setBatchSize(2);
+    startWriter();
+
+    writer.write(WritePrecision.S, FIRST);
+    verify(writeApi, after(200).never()).writeRecords(anyString(), anyString(), any(), anyList());
+    writer.write(WritePrecision.S, SECOND);
+
+    verify(writeApi, timeout(TIMEOUT_MILLIS))
+        .writeRecords(BUCKET, ORGANIZATION, WritePrecision.S, List.of(FIRST, SECOND));
+  }
+
+  @Test
+  @DisplayName("Writes arriving during a retry backoff do not shorten it")
+  void write_KeepsRetryBackoffWhileBatchIsPending() {
+    writer.stop();
+    properties.getWrite().setBatchSize(1);
+    properties.getWrite().setRetryBackoff(Duration.ofMillis(400));
+    properties.getWrite().setMaxRetryBackoff(Duration.ofMillis(400));
+    startWriter();
+    doThrow(influxError(503))
+        .when(writeApi)
+        .writeRecords(anyString(), anyString(), any(), anyList());
+
+    writer.write(WritePrecision.S, FIRST);
+    verify(writeApi, timeout(TIMEOUT_MILLIS))
+        .writeRecords(anyString(), anyString(), any(), anyList());
+    for (int i = 0; i < 10; i++) {
+      writer.write(WritePrecision.S, SECOND);
+    }
+
+    verify(writeApi, after(100).times(1)).writeRecords(anyString(), anyString(), any(), anyList());
+  }
+}
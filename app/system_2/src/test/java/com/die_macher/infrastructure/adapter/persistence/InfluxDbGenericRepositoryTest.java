@@ -0,0 +1,162 @@
+package com.die_macher.infrastructure.adapter.persistence;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import com.die_macher.infrastructure.adapter.persistence.FluxQueryTemplate.FluxQuery;
+import com.die_macher.infrastructure.config.properties.InfluxDbProperties;
+import com.influxdb.Cancellable;
+import com.influxdb.client.InfluxDBClient;
+import com.influxdb.client.QueryApi;
+import com.influxdb.query.FluxRecord;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+class InfluxDbGenericRepositoryTest {
+  private static final String ORGANIZATION = "organization";
+
+  private static final FluxQuery QUERY =
+      FluxQueryTemplate.compile("from(bucket: params.bucket)")
+          .bind()
+          .string("bucket", "data\"")
+          .build();
+
+  private InfluxDBClient client;
+  private QueryApi queryApi;
+  private Cancellable cancellable;
+
+  @BeforeEach
+  void setUp() {
+    client = mock(InfluxDBClient.class);
+    queryApi = mock(QueryApi.class);
+    cancellable = mock(Cancellable.class);
+    when(client.getQueryApi()).thenReturn(queryApi);
+  }
+
+  private InfluxDbGenericRepository<String> repository(boolean parameterized) {
+    InfluxDbProperties properties = new InfluxDbProperties();
+    properties.setBucket("data");
+    properties.setOrganization(ORGANIZATION);
+    properties.getQuery().setParameterized(parameterized);
+    return new InfluxDbGenericRepository<>(
+        client, properties, mock(InfluxDbBatchWriter.class), Runnable::run);
+  }
+
+  private static BiConsumer<Cancellable, FluxRecord> onNext() {
+    return any();
+  }
+
+  private static Consumer<Throwable> onError() {
+    return any();
+  }
+
+  private static Runnable onComplete() {
+    return any();
+  }
+
+  /** Answers a callback query with the given number of records, then completes it. */
+  private Answer<Void> respondWith(int records) {
+    return invocation -> {
+      BiConsumer<Cancellable, FluxRecord> onNext = invocation.getArgument(2);
+      for (int i = 0; i < records; i++) {
+        onNext.accept(cancellable, new FluxRecord(0));
+      }
+      invocation.<Runnable>getArgument(4).run();
+      return null;
+    };
+  }
+
+  private static Void fail(InvocationOnMock invocation) {
+    invocation.<Consumer<Throwable>>getArgument(3).accept(new IllegalStateException("down"));
+    return null;
+  }
+
+  @Test
+  @DisplayName("Without parameter support the values are inlined as escaped literals")
+  void query_InlinesValues() {
+    doAnswer(respondWith(2))
+        .when(queryApi)
+        .query(
+            eq("from(bucket: \"data\\\"\")"),
+            eq(ORGANIZATION),
+            onNext(),
+            onError(),
+            onComplete());
+
+    List<String> result = repository(false).query(QUERY, r -> "mapped").join();
+
+    assertEquals(List.of("mapped", "mapped"), result);
+  }
+
+  @Test
+  @DisplayName("Parameterized queries send the template text and the values separately")
+  void query_SendsParameters() {
+    doAnswer(respondWith(1))
+        .when(queryApi)
+        .query(
+            eq("from(bucket: params.bucket)"),
+            eq(ORGANIZATION),
+            onNext(),
+            onError(),
+            onComplete(),
+            anyMap());
+
+    assertEquals(List.of("mapped"), repository(true).query(QUERY, r -> "mapped").join());
+
+    ArgumentCaptor<Map<String, Object>> parameters = ArgumentCaptor.captor();
+    verify(queryApi)
+        .query(anyString(), anyString(), onNext(), onError(), onComplete(), parameters.capture());
+    assertEquals(Map.of("bucket", "data\""), parameters.getValue());
+    verify(queryApi, never()).query(anyString(), anyString(), onNext(), onError(), onComplete());
+  }
+
+  @Test
+  @DisplayName("Inlined queries send no parameters")
+  void query_InlinedQuerySendsNoParameters() {
+    doAnswer(respondWith(1))
+        .when(queryApi)
+        .query(anyString(), anyString(), onNext(), onError(), onComplete());
+
+    repository(false).query(QUERY, r -> "mapped").join();
+
+    verify(queryApi, never())
+        .query(anyString(), anyString(), onNext(), onError(), onComplete(), anyMap());
+  }
+
+  @Test
+  @DisplayName("A failed query fails the result")
+  void query_PropagatesQueryError() {
+    doAnswer(InfluxDbGenericRepositoryTest::fail)
+        .when(queryApi)
+        .query(anyString(), anyString(), onNext(), onError(), onComplete());
+
+    assertThrows(Exception.class, () -> repository(false).query(QUERY, r -> "mapped").join());
+  }
+
+  @Test
+  @DisplayName("Closing a stream early cancels the query")
+  void stream_CancelsQueryOnClose() {
+    doAnswer(respondWith(3))
+        .when(queryApi)
+        .query(anyString(), anyString(), onNext(), onError(), onComplete());
+
+    try (Stream<String> records = repository(false).stream(QUERY, r -> "mapped")) {
+      assertEquals("mapped", records.findFirst().orElseThrow());
+    }
+
+    verify(cancellable).cancel();
+  }
+}
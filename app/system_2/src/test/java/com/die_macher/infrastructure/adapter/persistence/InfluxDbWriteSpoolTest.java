@@ -0,0 +1,183 @@
+package com.die_macher.infrastructure.adapter.persistence;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.influxdb.client.domain.WritePrecision;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class InfluxDbWriteSpoolTest {
+  private static final int SEGMENT_SIZE = 128;
+  private static final long MAX_SIZE = 1024;
+  private static final Path FIRST_SEGMENT = Path.of("00000000000000000000.seg");
+
+  @TempDir Path tempDir;
+
+  private InfluxDbWriteSpool open() throws IOException {
+    return new InfluxDbWriteSpool(tempDir, SEGMENT_SIZE, MAX_SIZE);
+  }
+
+  private static String line(int i) {
+    return "cpu,host=h" + i + " value=" + i + " " + (1_700_000_000L + i);
+  }
+
+  private static List<String> lines(InfluxDbWriteSpool.Batch batch) {
+    return batch.entries().stream().map(InfluxDbWriteSpool.Entry::line).toList();
+  }
+
+  private static int recordSize(String line) {
+    return InfluxDbWriteSpool.HEADER_BYTES + line.getBytes(StandardCharsets.UTF_8).length;
+  }
+
+  private long segmentFiles() throws IOException {
+    try (Stream<Path> files = Files.list(tempDir)) {
+      return files.filter(path -> path.toString().endsWith(".seg")).count();
+    }
+  }
+
+  private void overwrite(int offset, ByteBuffer bytes) throws IOException {
+    try (FileChannel channel =
+        FileChannel.open(tempDir.resolve(FIRST_SEGMENT), StandardOpenOption.WRITE)) {
+      channel.write(bytes, offset);
+    }
+  }
+
+  @Test
+  @DisplayName("Appended records are read back in order with their precision")
+  void appendAndRead_ReturnsRecordsInOrder() throws IOException {
+    try (InfluxDbWriteSpool spool = open()) {
+      assertTrue(spool.append(WritePrecision.S, line(1)));
+      assertTrue(spool.append(WritePrecision.MS, line(2)));
+
+      InfluxDbWriteSpool.Batch batch = spool.read(spool.checkpoint(), 10);
+
+      assertEquals(List.of(line(1), line(2)), lines(batch));
+      assertEquals(WritePrecision.S, batch.entries().get(0).precision());
+      assertEquals(WritePrecision.MS, batch.entries().get(1).precision());
+      assertEquals(2, spool.pendingEntries());
+    }
+  }
+
+  @Test
+  @DisplayName("A reopened spool resumes after the checkpoint, across segments")
+  void open_RecoversCheckpointAndSegments() throws IOException {
+    try (InfluxDbWriteSpool spool = open()) {
+      for (int i = 0; i < 12; i++) {
+        assertTrue(spool.append(WritePrecision.S, line(i)));
+      }
+      spool.commit(spool.read(spool.checkpoint(), 5));
+    }
+    assertTrue(segmentFiles() > 1);
+
+    try (InfluxDbWriteSpool spool = open()) {
+      assertEquals(7, spool.pendingEntries());
+
+      InfluxDbWriteSpool.Batch batch = spool.read(spool.checkpoint(), 100);
+
+      assertEquals(7, batch.size());
+      assertEquals(line(5), lines(batch).getFirst());
+      assertEquals(line(11), lines(batch).getLast());
+    }
+  }
+
+  @Test
+  @DisplayName("Recovery stops at a record whose payload does not match its checksum")
+  void open_StopsAtTornRecord() throws IOException {
+    try (InfluxDbWriteSpool spool = open()) {
+      spool.append(WritePrecision.S, line(1));
+      spool.append(WritePrecision.S, line(2));
+      spool.append(WritePrecision.S, line(3));
+    }
+    // Only the header of the second record reached the disk, the third one is complete.
+    int second = recordSize(line(1));
+    overwrite(second + InfluxDbWriteSpool.HEADER_BYTES, ByteBuffer.wrap(new byte[] {0}));
+
+    try (InfluxDbWriteSpool spool = open()) {
+      assertEquals(1, spool.pendingEntries());
+      assertEquals(List.of(line(1)), lines(spool.read(spool.checkpoint(), 10)));
+
+      // Same size as the torn record, so it ends exactly where the third record started.
+      assertTrue(spool.append(WritePrecision.S, line(4)));
+      assertEquals(List.of(line(1), line(4)), lines(spool.read(spool.checkpoint(), 10)));
+    }
+
+    try (InfluxDbWriteSpool spool = open()) {
+      assertEquals(2, spool.pendingEntries());
+      assertEquals(List.of(line(1), line(4)), lines(spool.read(spool.checkpoint(), 10)));
+    }
+  }
+
+  @Test
+  @DisplayName("Recovery ignores a length that was written without its record")
+  void open_IgnoresHalfWrittenRecord() throws IOException {
+    try (InfluxDbWriteSpool spool = open()) {
+      spool.append(WritePrecision.S, line(1));
+    }
+    overwrite(recordSize(line(1)), ByteBuffer.allocate(Integer.BYTES).putInt(0, 20));
+
+    try (InfluxDbWriteSpool spool = open()) {
+      assertEquals(1, spool.pendingEntries());
+
+      assertTrue(spool.append(WritePrecision.S, line(2)));
+      assertEquals(List.of(line(1), line(2)), lines(spool.read(spool.checkpoint(), 10)));
+    }
+  }
+
+  @Test
+  @DisplayName("Full segments are rolled over and deleted once committed")
+  void commit_DeletesPassedSegments() throws IOException {
+    try (InfluxDbWriteSpool spool = open()) {
+      for (int i = 0; i < 12; i++) {
+        spool.append(WritePrecision.S, line(i));
+      }
+      long segments = segmentFiles();
+      assertTrue(segments > 2);
+      assertEquals(segments * SEGMENT_SIZE, spool.sizeInBytes());
+
+      InfluxDbWriteSpool.Batch batch = spool.read(spool.checkpoint(), 100);
+      assertEquals(12, batch.size());
+      spool.commit(batch);
+
+      assertEquals(1, segmentFiles());
+      assertEquals(SEGMENT_SIZE, spool.sizeInBytes());
+      assertEquals(0, spool.pendingEntries());
+      assertEquals(batch.next(), spool.checkpoint());
+    }
+  }
+
+  @Test
+  @DisplayName("Appends are refused once the spool reaches its maximum size")
+  void append_RefusesWhenFull() throws IOException {
+    try (InfluxDbWriteSpool spool = open()) {
+      int appended = 0;
+      while (spool.append(WritePrecision.S, line(appended))) {
+        appended++;
+      }
+      assertEquals(MAX_SIZE / SEGMENT_SIZE, segmentFiles());
+      assertEquals(appended, spool.pendingEntries());
+      assertFalse(spool.append(WritePrecision.S, line(0)));
+
+      spool.commit(spool.read(spool.checkpoint(), appended));
+
+      assertTrue(spool.append(WritePrecision.S, line(0)));
+    }
+  }
+
+  @Test
+  @DisplayName("Records larger than a segment are rejected")
+  void append_RejectsOversizedRecord() throws IOException {
+    try (InfluxDbWriteSpool spool = open()) {
+      assertThrows(IOException.class, () -> spool.append(WritePrecision.S, "x".repeat(200)));
+    }
+  }
+}
@@ -0,0 +1,97 @@
+package com.die_macher.infrastructure.adapter.persistence;
+
+import com.die_macher.domain.model.sensor.SensorData;
+import com.die_macher.domain.model.sensor.SensorType;
+import com.die_macher.infrastructure.adapter.persistence.mapper.SensorDataMapper;
+import com.influxdb.client.domain.WritePrecision;
+import com.influxdb.client.write.Point;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares encoding a batch of 10k sensor readings through influxdb-client {@link Point}s with
+ * {@link SensorDataMapper#writeLine}. Run {@link #main(String[])} after {@code mvn test-compile};
+ * the GC profiler reports the allocation rate per batch next to the average time.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LineProtocolEncodingBenchmark {
+
+  private static final int BATCH_SIZE = 10_000;
+
+  private final SensorDataMapper mapper = new SensorDataMapper();
+  private final LineProtocolWriter writer = new LineProtocolWriter();
+  private List<SensorData> batch;
+
+  @Setup
+  public void createBatch() {
+    Instant start = Instant.parse("2025-06-01T00:00:00Z");
+    batch = new ArrayList<>(BATCH_SIZE);
+    for (int i = 0; i < BATCH_SIZE; i++) {
+      batch.add(
+          SensorData.builder()
+              .sensorId("sensor-" + (i % 16))
+              .type(i % 2 == 0 ? SensorType.TEMPERATURE : SensorType.HUMIDITY)
+              .value(20.0 + (i % 100) / 10.0)
+              .unit(i % 2 == 0 ? "°C" : "%")
+              .timestamp(start.plusMillis(i * 100L))
+              .metadata(Map.of("location", "hall 1", "line", "A"))
+              .build());
+    }
+  }
+
+  /** The previous encoding: build a {@code Point} per reading and let the client serialize it. */
+  @Benchmark
+  public void point(Blackhole blackhole) {
+    for (SensorData sensorData : batch) {
+      Point point =
+          Point.measurement("sensor_data")
+              .addTag("sensor_id", sensorData.sensorId())
+              .addTag("type", sensorData.type().name())
+              .addField("value", sensorData.value())
+              .addField("unit", sensorData.unit())
+              .time(sensorData.timestamp().toEpochMilli(), WritePrecision.MS);
+      sensorData.metadata().forEach(point::addTag);
+      blackhole.consume(point.toLineProtocol());
+    }
+  }
+
+  @Benchmark
+  public void lineProtocolWriter(Blackhole blackhole) {
+    for (SensorData sensorData : batch) {
+      mapper.writeLine(sensorData, writer);
+      blackhole.consume(writer.toString());
+    }
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(
+            new OptionsBuilder()
+                .include(LineProtocolEncodingBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build())
+        .run();
+  }
+}
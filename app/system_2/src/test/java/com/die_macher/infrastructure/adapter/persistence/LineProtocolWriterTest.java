@@ -0,0 +1,116 @@
+package com.die_macher.infrastructure.adapter.persistence;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.influxdb.client.domain.WritePrecision;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class LineProtocolWriterTest {
+
+  private final LineProtocolWriter writer = new LineProtocolWriter();
+
+  @Test
+  @DisplayName("A record has sorted tags, fields and a timestamp with its precision")
+  void write_BuildsCompleteRecord() {
+    writer
+        .measurement("cpu")
+        .tag("zone", "b")
+        .tag("host", "a")
+        .field("value", 1.5)
+        .field("unit", "%")
+        .timestamp(1_700_000_000_000L, WritePrecision.MS);
+
+    assertEquals("cpu,host=a,zone=b value=1.5,unit=\"%\" 1700000000000", writer.toString());
+    assertEquals(WritePrecision.MS, writer.getPrecision());
+    assertTrue(writer.hasFields());
+  }
+
+  @Test
+  @DisplayName("Explicit tags win over metadata with the same key, whatever the order")
+  void tags_KeepExplicitTags() {
+    Map<String, String> metadata = new LinkedHashMap<>();
+    metadata.put("type", "FORGED");
+    metadata.put("sensor_id", "other");
+    metadata.put("location", "hall");
+
+    writer
+        .measurement("sensor_data")
+        .tag("sensor_id", "s1")
+        .tags(metadata)
+        .tag("type", "TEMPERATURE")
+        .field("value", 1.0);
+
+    assertEquals(
+        "sensor_data,location=hall,sensor_id=s1,type=TEMPERATURE value=1.0", writer.toString());
+  }
+
+  @Test
+  @DisplayName("Empty tags and missing or non-finite fields are skipped")
+  void write_SkipsEmptyValues() {
+    writer
+        .measurement("m")
+        .tag("empty", "")
+        .tag("missing", null)
+        .tags(Map.of("blank", ""))
+        .field("nan", Double.NaN)
+        .field("none", (Double) null)
+        .field("text", (String) null);
+
+    assertEquals("m", writer.toString());
+    assertFalse(writer.hasFields());
+  }
+
+  @Test
+  @DisplayName("Tags after the first field are rejected")
+  void tag_AfterFieldIsRejected() {
+    writer.measurement("m").field("value", 1.0);
+
+    assertThrows(IllegalStateException.class, () -> writer.tag("host", "a"));
+    assertThrows(IllegalStateException.class, () -> writer.tags(Map.of("host", "a")));
+  }
+
+  @Test
+  @DisplayName("A new measurement discards the previous record and its pending tags")
+  void measurement_ResetsRecord() {
+    writer.measurement("first").tag("host", "a").tags(Map.of("line", "A"));
+    writer.measurement("second").field("value", 2.0);
+
+    assertEquals("second value=2.0", writer.toString());
+    assertEquals(WritePrecision.NS, writer.getPrecision());
+  }
+
+  @Test
+  @DisplayName("Measurements escape commas, spaces and newlines only")
+  void measurement_EscapesSpecialCharacters() {
+    writer.measurement("a b,c=d\"e\\f\ng").field("v", 1.0);
+
+    assertEquals("a\\ b\\,c=d\"e\\f\\ng v=1.0", writer.toString());
+  }
+
+  @Test
+  @DisplayName("Tag keys and values escape commas, equals signs, spaces and newlines")
+  void tag_EscapesSpecialCharacters() {
+    writer.measurement("m").tag("k e,y=", "v a,l=u\"e\\\n").field("v", 1.0);
+
+    assertEquals("m,k\\ e\\,y\\==v\\ a\\,l\\=u\"e\\\\n v=1.0", writer.toString());
+  }
+
+  @Test
+  @DisplayName("Field keys are escaped like tag keys")
+  void field_EscapesKey() {
+    writer.measurement("m").field("f i,e=l\"d\\\n", 1.0);
+
+    assertEquals("m f\\ i\\,e\\=l\"d\\\\n=1.0", writer.toString());
+  }
+
+  @Test
+  @DisplayName("String fields escape quotes and backslashes and keep everything else")
+  void field_EscapesStringValue() {
+    writer.measurement("m").field("text", "say \"hi\", a=b \\ done");
+
+    assertEquals("m text=\"say \\\"hi\\\", a=b \\\\ done\"", writer.toString());
+  }
+}
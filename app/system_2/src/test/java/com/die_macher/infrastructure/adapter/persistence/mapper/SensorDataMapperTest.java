@@ -0,0 +1,38 @@
+package com.die_macher.infrastructure.adapter.persistence.mapper;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.die_macher.domain.model.sensor.SensorData;
+import com.die_macher.domain.model.sensor.SensorType;
+import com.die_macher.infrastructure.adapter.persistence.LineProtocolWriter;
+import java.time.Instant;
+import java.util.Map;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class SensorDataMapperTest {
+
+  private final SensorDataMapper mapper = new SensorDataMapper();
+
+  @Test
+  @DisplayName("Metadata cannot duplicate or override the sensor id and type tags")
+  void writeLine_IgnoresReservedMetadataKeys() {
+    SensorData sensorData =
+        SensorData.builder()
+            .sensorId("sensor-1")
+            .type(SensorType.TEMPERATURE)
+            .value(21.5)
+            .unit("C")
+            .timestamp(Instant.ofEpochMilli(1_700_000_000_000L))
+            .metadata(Map.of("sensor_id", "spoofed", "type", "HUMIDITY", "location", "hall 1"))
+            .build();
+    LineProtocolWriter line = new LineProtocolWriter();
+
+    mapper.writeLine(sensorData, line);
+
+    assertEquals(
+        "sensor_data,location=hall\\ 1,sensor_id=sensor-1,type=TEMPERATURE"
+            + " value=21.5,unit=\"C\" 1700000000000",
+        line.toString());
+  }
+}
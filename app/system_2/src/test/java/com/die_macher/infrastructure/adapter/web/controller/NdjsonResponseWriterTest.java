@@ -0,0 +1,69 @@
+package com.die_macher.infrastructure.adapter.web.controller;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+class NdjsonResponseWriterTest {
+
+  record Reading(String id, int value) {}
+
+  private final NdjsonResponseWriter writer = new NdjsonResponseWriter(new ObjectMapper());
+  private final AtomicBoolean opened = new AtomicBoolean();
+  private final AtomicBoolean closed = new AtomicBoolean();
+
+  private Stream<Integer> open(Integer... values) {
+    opened.set(true);
+    return Stream.of(values).onClose(() -> closed.set(true));
+  }
+
+  private static String body(ResponseEntity<StreamingResponseBody> response) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    response.getBody().writeTo(out);
+    return out.toString(StandardCharsets.UTF_8);
+  }
+
+  @Test
+  @DisplayName("The stream is opened when the body is written and closed afterwards")
+  void write_OpensStreamLazily() throws IOException {
+    ResponseEntity<StreamingResponseBody> response =
+        writer.write(() -> open(1, 2), value -> new Reading("s" + value, value));
+
+    assertFalse(opened.get());
+    assertEquals(MediaType.APPLICATION_NDJSON, response.getHeaders().getContentType());
+
+    assertEquals("{\"id\":\"s1\",\"value\":1}\n{\"id\":\"s2\",\"value\":2}\n", body(response));
+    assertTrue(closed.get());
+  }
+
+  @Test
+  @DisplayName("An empty stream produces an empty body")
+  void write_EmptyStream() throws IOException {
+    assertEquals("", body(writer.write(this::open, value -> new Reading("s", value))));
+    assertTrue(closed.get());
+  }
+
+  @Test
+  @DisplayName("The stream is closed when mapping a record fails")
+  void write_ClosesStreamOnError() {
+    ResponseEntity<StreamingResponseBody> response =
+        writer.write(
+            () -> open(1),
+            value -> {
+              throw new IllegalStateException("unmappable");
+            });
+
+    assertThrows(IllegalStateException.class, () -> body(response));
+    assertTrue(closed.get());
+  }
+}
@@ -0,0 +1,111 @@
+package com.die_macher.infrastructure.adapter.web.controller;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.die_macher.domain.model.sensor.SensorData;
+import com.die_macher.domain.model.sensor.SensorType;
+import com.die_macher.domain.port.inbound.HistoricalSensorDataProvider;
+import com.die_macher.infrastructure.adapter.web.exception.GlobalExceptionHandler;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+class SensorDataControllerTest {
+  private static final String SENSOR_ID = "sensor-1";
+  private static final Instant START = Instant.parse("2024-01-01T00:00:00Z");
+  private static final Instant END = Instant.parse("2024-01-01T01:00:00Z");
+
+  private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+  private HistoricalSensorDataProvider historicalSensorDataProvider;
+  private MockMvc mockMvc;
+
+  @BeforeEach
+  void setUp() {
+    historicalSensorDataProvider = mock(HistoricalSensorDataProvider.class);
+    SensorDataController controller =
+        new SensorDataController(
+            historicalSensorDataProvider, new NdjsonResponseWriter(objectMapper));
+    mockMvc =
+        MockMvcBuilders.standaloneSetup(controller)
+            .setControllerAdvice(new GlobalExceptionHandler())
+            .build();
+  }
+
+  private static SensorData reading(Instant timestamp) {
+    return new SensorData(SENSOR_ID, SensorType.TEMPERATURE, 21.5, "C", timestamp, null);
+  }
+
+  private MvcResult getSensorData(MediaType accept) throws Exception {
+    return mockMvc
+        .perform(
+            get("/api/v1/sensor-data/{sensorId}", SENSOR_ID)
+                .param("start", START.toString())
+                .param("end", END.toString())
+                .accept(accept))
+        .andExpect(request().asyncStarted())
+        .andReturn();
+  }
+
+  @Test
+  @DisplayName("Accept application/x-ndjson streams one JSON document per line and closes it")
+  void streamSensorData_WritesNdjson() throws Exception {
+    AtomicBoolean closed = new AtomicBoolean();
+    when(historicalSensorDataProvider.streamHistoricalData(SENSOR_ID, START, END))
+        .thenReturn(
+            Stream.of(reading(START), reading(START.plusSeconds(60)))
+                .onClose(() -> closed.set(true)));
+
+    MvcResult result = getSensorData(MediaType.APPLICATION_NDJSON);
+    String body =
+        mockMvc
+            .perform(asyncDispatch(result))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+
+    String[] lines = body.split("\n");
+    assertEquals(2, lines.length);
+    assertEquals(SENSOR_ID, objectMapper.readTree(lines[0]).get("sensorId").asText());
+    assertEquals("2024-01-01T00:01:00Z", objectMapper.readTree(lines[1]).get("timestamp").asText());
+    assertTrue(closed.get());
+    verify(historicalSensorDataProvider, never()).getHistoricalData(any(), any(), any());
+  }
+
+  @Test
+  @DisplayName("Without the NDJSON Accept header the range is answered as a JSON array")
+  void getSensorData_DefaultsToJsonArray() throws Exception {
+    when(historicalSensorDataProvider.getHistoricalData(SENSOR_ID, START, END))
+        .thenReturn(CompletableFuture.completedFuture(List.of(reading(START))));
+
+    MvcResult result = getSensorData(MediaType.APPLICATION_JSON);
+    mockMvc
+        .perform(asyncDispatch(result))
+        .andExpect(status().isOk())
+        .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+        .andExpect(jsonPath("$[0].sensorId").value(SENSOR_ID));
+
+    verify(historicalSensorDataProvider, never()).streamHistoricalData(any(), any(), any());
+  }
+}